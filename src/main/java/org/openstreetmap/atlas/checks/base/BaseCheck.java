@@ -8,7 +8,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -20,6 +19,7 @@ import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.ManMadeTag;
 import org.openstreetmap.atlas.tags.filters.TaggableFilter;
 import org.openstreetmap.atlas.utilities.collections.Iterables;
@@ -62,7 +62,7 @@ public abstract class BaseCheck<T> implements Check, Serializable
     private final List<String> countries;
     private final Map<String, List<String>> flagLanguageMap;
     // OSM Identifiers are used to keep track of flagged features
-    private transient Set<T> flaggedIdentifiers = null;
+    private transient volatile FlaggedIdentifiers<T> flaggedIdentifiers = null;
     private final Locale locale;
     private final String name = this.getClass().getSimpleName();
     // geo filter specific to this check
@@ -390,13 +390,14 @@ public abstract class BaseCheck<T> implements Check, Serializable
         return Collections.emptyList();
     }
 
+    /**
+     * @return the identifiers flagged through {@link #markAsFlagged(Object)} and
+     *         {@link #markAsFlagged(long)}. Pairs and type tagged OSM identifiers are not part of
+     *         this set.
+     */
     protected Set<T> getFlaggedIdentifiers()
     {
-        if (this.flaggedIdentifiers == null)
-        {
-            this.flaggedIdentifiers = ConcurrentHashMap.newKeySet();
-        }
-        return this.flaggedIdentifiers;
+        return this.flaggedIdentifiers();
     }
 
     protected String getTaskIdentifier(final AtlasObject object)
@@ -461,14 +462,106 @@ public abstract class BaseCheck<T> implements Check, Serializable
         }
     }
 
+    /**
+     * Checks whether a type tagged OSM identifier was flagged with
+     * {@link #markAsFlagged(ItemType, long)}. Unlike {@link #getUniqueOSMIdentifier(AtlasObject)}
+     * strings, the identifier is kept as a primitive pair.
+     *
+     * @param type
+     *            the {@link ItemType} of the object
+     * @param osmIdentifier
+     *            the OSM identifier of the object
+     * @return {@code true} if the identifier was flagged
+     */
+    protected final boolean isFlagged(final ItemType type, final long osmIdentifier)
+    {
+        return this.flaggedIdentifiers().containsOsmIdentifier(type, osmIdentifier);
+    }
+
+    /**
+     * Checks whether a primitive identifier was flagged, without boxing it.
+     *
+     * @param identifier
+     *            the identifier to check
+     * @return {@code true} if the identifier was flagged
+     */
+    protected final boolean isFlagged(final long identifier)
+    {
+        return this.flaggedIdentifiers().containsLong(identifier);
+    }
+
+    /**
+     * Checks whether an ordered pair of identifiers was flagged with
+     * {@link #markAsFlagged(long, long)}.
+     *
+     * @param first
+     *            the first identifier of the pair
+     * @param second
+     *            the second identifier of the pair
+     * @return {@code true} if the pair was flagged
+     */
+    protected final boolean isFlagged(final long first, final long second)
+    {
+        return this.flaggedIdentifiers().containsPair(first, second);
+    }
+
     protected final boolean isFlagged(final T identifier)
     {
         return this.getFlaggedIdentifiers().contains(identifier);
     }
 
-    protected final void markAsFlagged(final T identifier)
+    /**
+     * Marks an identifier as flagged. This is atomic, so checks that run in parallel can use the
+     * return value instead of a separate {@link #isFlagged(Object)} call to de-duplicate.
+     *
+     * @param identifier
+     *            the identifier to mark
+     * @return {@code true} if the identifier was not flagged before
+     */
+    protected final boolean markAsFlagged(final T identifier)
+    {
+        return this.getFlaggedIdentifiers().add(identifier);
+    }
+
+    /**
+     * Marks a type tagged OSM identifier as flagged.
+     *
+     * @param type
+     *            the {@link ItemType} of the object
+     * @param osmIdentifier
+     *            the OSM identifier of the object
+     * @return {@code true} if the identifier was not flagged before
+     */
+    protected final boolean markAsFlagged(final ItemType type, final long osmIdentifier)
+    {
+        return this.flaggedIdentifiers().addOsmIdentifier(type, osmIdentifier);
+    }
+
+    /**
+     * Marks a primitive identifier as flagged, without boxing it.
+     *
+     * @param identifier
+     *            the identifier to mark
+     * @return {@code true} if the identifier was not flagged before
+     */
+    protected final boolean markAsFlagged(final long identifier)
     {
-        this.getFlaggedIdentifiers().add(identifier);
+        return this.flaggedIdentifiers().addLong(identifier);
+    }
+
+    /**
+     * Marks an ordered pair of identifiers as flagged. Callers order the pair themselves when it
+     * has no direction.
+     *
+     * @param first
+     *            the first identifier of the pair
+     * @param second
+     *            the second identifier of the pair
+     * @return {@code true} if the pair was not flagged before
+     */
+    protected final boolean markAsFlagged(final long first, final long second)
+    {
+        return this.flaggedIdentifiers().addPair(first, second);
     }
 
     protected final boolean useExternalData()
@@ -499,4 +592,20 @@ public abstract class BaseCheck<T> implements Check, Serializable
     {
         return String.format("%s.%s", name, key);
     }
+
+    private FlaggedIdentifiers<T> flaggedIdentifiers()
+    {
+        // Initialization is synchronized so that checks running in parallel share the same set
+        if (this.flaggedIdentifiers == null)
+        {
+            synchronized (this)
+            {
+                if (this.flaggedIdentifiers == null)
+                {
+                    this.flaggedIdentifiers = new FlaggedIdentifiers<>();
+                }
+            }
+        }
+        return this.flaggedIdentifiers;
+    }
 }
@@ -1,13 +1,17 @@
 package org.openstreetmap.atlas.checks.base;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.checks.maproulette.data.Challenge;
 import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.geography.atlas.items.complex.ComplexEntity;
 import org.openstreetmap.atlas.geography.atlas.items.complex.Finder;
@@ -21,6 +25,8 @@ import org.openstreetmap.atlas.geography.atlas.items.complex.Finder;
  */
 public interface Check extends Serializable
 {
+    Set<ItemType> ALL_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.allOf(ItemType.class));
+
     /**
      * The check for the atlas object
      *
@@ -74,11 +80,37 @@ public interface Check extends Serializable
      */
     String getCheckName();
 
+    /**
+     * Declares whether this check can process the objects of a single atlas from several threads
+     * at once. A parallel safe check must not keep any per-object state other than its flagged
+     * identifiers, and its flags must not depend on the order in which objects are processed,
+     * meaning that any de-duplication through {@code markAsFlagged}/{@code isFlagged} has to give
+     * the same result in any order. By default checks are not parallel safe.
+     *
+     * @return {@code true} if the check can be run in parallel over its objects
+     */
+    default boolean isParallelSafe()
+    {
+        return false;
+    }
+
     /**
      * Helper for debugging. Implement in check to log info after check is run.
      */
     void logStatus();
 
+    /**
+     * Gets the tag keys an {@link AtlasEntity} must have (at least one of) for this check to be
+     * able to flag it. This lets the engine skip entities without calling
+     * {@link #validCheckForObject(AtlasObject)}. An empty set means there is no such requirement.
+     *
+     * @return a {@link Set} of OSM tag keys
+     */
+    default Set<String> requiredTagKeys()
+    {
+        return Collections.emptySet();
+    }
+
     /**
      * Checks to see whether the check is valid for the given country.
      *
@@ -88,6 +120,26 @@ public interface Check extends Serializable
      */
     boolean validCheckForCountry(String country);
 
+    /**
+     * Checks whether an {@link AtlasEntity} matches the {@link #validEntityTypes()} and
+     * {@link #requiredTagKeys()} declared by this check. This is a cheap pre-filter, and it does
+     * not replace {@link #validCheckForObject(AtlasObject)}.
+     *
+     * @param entity
+     *            the {@link AtlasEntity} to test
+     * @return {@code true} if the entity could be flagged by this check
+     */
+    default boolean validCheckForEntity(final AtlasEntity entity)
+    {
+        if (!this.validEntityTypes().contains(entity.getType()))
+        {
+            return false;
+        }
+        final Set<String> requiredTagKeys = this.requiredTagKeys();
+        return requiredTagKeys.isEmpty()
+                || requiredTagKeys.stream().anyMatch(key -> entity.getTag(key).isPresent());
+    }
+
     /**
      * Checks to see whether the supplied object class type is valid for this particular check
      *
@@ -97,4 +149,17 @@ public interface Check extends Serializable
      */
     boolean validCheckForObject(AtlasObject object);
 
+    /**
+     * Gets the {@link ItemType}s of the {@link AtlasEntity}s this check can flag. Entities of any
+     * other type are never offered to the check, so the engine can iterate only the matching
+     * entities of an {@link Atlas}. {@link ComplexEntity}s found by the {@link #finder()} are not
+     * affected. By default all types are valid.
+     *
+     * @return a {@link Set} of {@link ItemType}s
+     */
+    default Set<ItemType> validEntityTypes()
+    {
+        return ALL_ENTITY_TYPES;
+    }
+
 }
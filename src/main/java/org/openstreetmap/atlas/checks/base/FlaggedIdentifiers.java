@@ -0,0 +1,141 @@
+package org.openstreetmap.atlas.checks.base;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openstreetmap.atlas.checks.utility.ConcurrentLongSet;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
+
+/**
+ * The identifiers flagged by a {@link BaseCheck}. {@link Long} identifiers, the most common ones,
+ * are kept in a primitive {@link ConcurrentLongSet} instead of being boxed, and any other
+ * identifier is kept in a concurrent hash set. Pairs of identifiers and type tagged OSM
+ * identifiers have their own primitive stores, so that checks do not need to format them as
+ * {@link String}s. Only the single identifiers are part of the {@link Set} view.
+ *
+ * @param <T>
+ *            the type for the flagged identifiers
+ * @author agent
+ */
+final class FlaggedIdentifiers<T> extends AbstractSet<T>
+{
+    private final Set<T> objects = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLongSet longs = ConcurrentLongSet.longs();
+    private final ConcurrentLongSet pairs = ConcurrentLongSet.pairs();
+    private final ConcurrentLongSet osmIdentifiers = ConcurrentLongSet.pairs();
+
+    @Override
+    public boolean add(final T identifier)
+    {
+        if (identifier instanceof Long)
+        {
+            return this.longs.add((Long) identifier);
+        }
+        return this.objects.add(identifier);
+    }
+
+    public boolean addLong(final long identifier)
+    {
+        return this.longs.add(identifier);
+    }
+
+    public boolean addOsmIdentifier(final ItemType type, final long osmIdentifier)
+    {
+        return this.osmIdentifiers.add(type.ordinal(), osmIdentifier);
+    }
+
+    public boolean addPair(final long first, final long second)
+    {
+        return this.pairs.add(first, second);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.objects.clear();
+        this.longs.clear();
+        this.pairs.clear();
+        this.osmIdentifiers.clear();
+    }
+
+    @Override
+    public boolean contains(final Object identifier)
+    {
+        if (identifier instanceof Long)
+        {
+            return this.longs.contains((Long) identifier);
+        }
+        return this.objects.contains(identifier);
+    }
+
+    public boolean containsLong(final long identifier)
+    {
+        return this.longs.contains(identifier);
+    }
+
+    public boolean containsOsmIdentifier(final ItemType type, final long osmIdentifier)
+    {
+        return this.osmIdentifiers.contains(type.ordinal(), osmIdentifier);
+    }
+
+    public boolean containsPair(final long first, final long second)
+    {
+        return this.pairs.contains(first, second);
+    }
+
+    /**
+     * @return an iterator over a snapshot of the single identifiers, the {@link Long} ones being
+     *         boxed on the way
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator()
+    {
+        final List<T> snapshot = new ArrayList<>(this.objects);
+        this.longs.forEach(identifier -> snapshot.add((T) Long.valueOf(identifier)));
+        final Iterator<T> iterator = snapshot.iterator();
+        return new Iterator<T>()
+        {
+            private T last;
+
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next()
+            {
+                this.last = iterator.next();
+                return this.last;
+            }
+
+            @Override
+            public void remove()
+            {
+                FlaggedIdentifiers.this.remove(this.last);
+            }
+        };
+    }
+
+    @Override
+    public boolean remove(final Object identifier)
+    {
+        if (identifier instanceof Long)
+        {
+            return this.longs.remove((Long) identifier);
+        }
+        return this.objects.remove(identifier);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.objects.size() + this.longs.size();
+    }
+}
@@ -4,17 +4,15 @@ import static org.openstreetmap.atlas.geography.geojson.GeoJsonConstants.FEATURE
 import static org.openstreetmap.atlas.geography.geojson.GeoJsonConstants.PROPERTIES;
 import static org.openstreetmap.atlas.geography.geojson.GeoJsonUtils.IDENTIFIER;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.zip.GZIPInputStream;
+import java.util.stream.Stream;
 
+import org.openstreetmap.atlas.checks.utility.FileUtility;
+import org.openstreetmap.atlas.checks.utility.FileUtility.LogOutputFileType;
 import org.openstreetmap.atlas.streaming.resource.File;
 import org.openstreetmap.atlas.utilities.collections.Iterables;
 import org.slf4j.Logger;
@@ -43,37 +41,38 @@ public class AtlasChecksLogDiffSubCommand extends JSONFlagDiffSubCommand
                 "log");
     }
 
+    @Override
+    protected boolean isInputFile(final File file)
+    {
+        return super.isInputFile(file) || FileUtility.getOptionalLogOutputType(file)
+                .filter(LogOutputFileType.BINARY_FLAGS::equals).isPresent();
+    }
+
     @Override
     protected Map<String, Map<Set<String>, JsonObject>> mapFeatures(final File file)
     {
         final Map<String, Map<Set<String>, JsonObject>> checkFeatureMap = new HashMap<>();
-        try (InputStreamReader inputStreamReader = file.isGzipped()
-                ? new InputStreamReader(
-                        new GZIPInputStream(Files.newInputStream(file.toAbsolutePath())))
-                : new FileReader(file.getPathString()))
+        final LogOutputFileType fileType = FileUtility.getOptionalLogOutputType(file)
+                .orElse(file.isGzipped() ? LogOutputFileType.COMPRESSED_LOG
+                        : LogOutputFileType.LOG);
+        // Read each flag from the log or binary flag file
+        try (Stream<JsonObject> flags = FileUtility.getFlags(file, fileType))
         {
-            try (BufferedReader reader = new BufferedReader(inputStreamReader))
+            flags.forEach(source ->
             {
-                String line;
-                // Read each line (flag) from the log file
-                while ((line = reader.readLine()) != null)
+                // Get the check name
+                final String checkName = source.get(PROPERTIES).getAsJsonObject().get(GENERATOR)
+                        .getAsString();
+                // Add the check name as a key
+                checkFeatureMap.putIfAbsent(checkName, new HashMap<>());
+                // Add the geoJSON as a value
+                if (checkFeatureMap.get(checkName).containsKey(this.getIdentifiers(source)))
                 {
-                    // Parse the json
-                    final JsonObject source = getGson().fromJson(line, JsonObject.class);
-                    // Get the check name
-                    final String checkName = source.get(PROPERTIES).getAsJsonObject().get(GENERATOR)
-                            .getAsString();
-                    // Add the check name as a key
-                    checkFeatureMap.putIfAbsent(checkName, new HashMap<>());
-                    // Add the geoJSON as a value
-                    if (checkFeatureMap.get(checkName).containsKey(this.getIdentifiers(source)))
-                    {
-                        logger.info("Duplicate flag found in {}: {}", file.getAbsolutePathString(),
-                                source);
-                    }
-                    checkFeatureMap.get(checkName).put(this.getIdentifiers(source), source);
+                    logger.info("Duplicate flag found in {}: {}", file.getAbsolutePathString(),
+                            source);
                 }
-            }
+                checkFeatureMap.get(checkName).put(this.getIdentifiers(source), source);
+            });
         }
         catch (final IOException exception)
         {
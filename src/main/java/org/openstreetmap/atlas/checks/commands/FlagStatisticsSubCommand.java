@@ -5,13 +5,9 @@ import static org.openstreetmap.atlas.checks.constants.CommonConstants.EMPTY_STR
 import static org.openstreetmap.atlas.checks.constants.CommonConstants.LINE_SEPARATOR;
 import static org.openstreetmap.atlas.geography.geojson.GeoJsonConstants.PROPERTIES;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.nio.file.FileSystems;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -19,11 +15,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
 import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
+import org.openstreetmap.atlas.checks.utility.FileUtility;
 import org.openstreetmap.atlas.streaming.resource.File;
 import org.openstreetmap.atlas.utilities.command.abstractcommand.AbstractAtlasShellToolsCommand;
 import org.openstreetmap.atlas.utilities.command.abstractcommand.CommandOutputDelegate;
@@ -33,7 +30,6 @@ import org.openstreetmap.atlas.utilities.scalars.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 /**
@@ -67,7 +63,6 @@ public class FlagStatisticsSubCommand extends AbstractAtlasShellToolsCommand
     private static final String TOTAL = "Total";
     private static final String SUM_SUFFIX = "(sum)";
     private static final Logger logger = LoggerFactory.getLogger(ConfigurationResolver.class);
-    private final Gson gson = new Gson();
     private final OptionAndArgumentDelegate optionAndArgumentDelegate;
     private final CommandOutputDelegate outputDelegate;
 
@@ -522,11 +517,9 @@ public class FlagStatisticsSubCommand extends AbstractAtlasShellToolsCommand
 
         // Check all files in the folder and all sub-folders
         return new File(path, FileSystems.getDefault()).listFilesRecursively().parallelStream()
-                // Filter the files to only include log files, either gzipped or uncompressed
-                .filter(file -> FilenameUtils
-                        .getExtension(file.isGzipped() ? FilenameUtils.getBaseName(file.getName())
-                                : file.getName())
-                        .equalsIgnoreCase("log"))
+                // Filter the files to only include flag files: logs, either gzipped or
+                // uncompressed, and binary flags
+                .filter(file -> FileUtility.getOptionalLogOutputType(file).isPresent())
                 .map(file ->
                 {
                     final Map<String, Map<String, Counter>> countryCheckMap = new HashMap<>();
@@ -536,30 +529,20 @@ public class FlagStatisticsSubCommand extends AbstractAtlasShellToolsCommand
                     // Add the country to the map
                     countryCheckMap.putIfAbsent(country, new HashMap<>());
 
-                    // Read the log file
-                    try (InputStreamReader inputStreamReader = file.isGzipped()
-                            ? new InputStreamReader(new GZIPInputStream(
-                                    Files.newInputStream(file.toAbsolutePath())))
-                            : new FileReader(file.getPathString()))
+                    // Read each flag from the file
+                    try (Stream<JsonObject> flags = FileUtility.getFlags(file,
+                            FileUtility.getOptionalLogOutputType(file).get()))
                     {
-                        try (BufferedReader reader = new BufferedReader(inputStreamReader))
+                        flags.forEach(source ->
                         {
-                            String line;
-                            // Read each line (flag) from the log file
-                            while ((line = reader.readLine()) != null)
-                            {
-                                // Parse the json
-                                final JsonObject source = this.gson.fromJson(line,
-                                        JsonObject.class);
-                                // Get the check name
-                                final String checkName = source.get(PROPERTIES).getAsJsonObject()
-                                        .get(GENERATOR).getAsString();
-                                // Add the check to the map
-                                countryCheckMap.get(country).putIfAbsent(checkName, new Counter());
-                                // Increment the counter for the check/country
-                                countryCheckMap.get(country).get(checkName).increment();
-                            }
-                        }
+                            // Get the check name
+                            final String checkName = source.get(PROPERTIES).getAsJsonObject()
+                                    .get(GENERATOR).getAsString();
+                            // Add the check to the map
+                            countryCheckMap.get(country).putIfAbsent(checkName, new Counter());
+                            // Increment the counter for the check/country
+                            countryCheckMap.get(country).get(checkName).increment();
+                        });
                     }
                     catch (final IOException exception)
                     {
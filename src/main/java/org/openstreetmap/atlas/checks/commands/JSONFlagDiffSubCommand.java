@@ -12,6 +12,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FilenameUtils;
+import org.openstreetmap.atlas.checks.utility.FileUtility;
 import org.openstreetmap.atlas.streaming.resource.File;
 import org.openstreetmap.atlas.streaming.writers.JsonWriter;
 import org.openstreetmap.atlas.utilities.runtime.Command;
@@ -204,6 +205,19 @@ public abstract class JSONFlagDiffSubCommand implements FlexibleSubCommand
         return sourceSize;
     }
 
+    /**
+     * Checks whether a file holds flags this command reads, by default files with the extension
+     * given to the constructor that are not hidden
+     *
+     * @param file
+     *            Input file
+     * @return true if the file is to be read
+     */
+    protected boolean isInputFile(final File file)
+    {
+        return !FileUtility.isHidden(file) && this.checkFileExtension(file);
+    }
+
     /**
      * Parses an atlas-checks flag file and maps each flag to its id.
      *
@@ -256,7 +270,7 @@ public abstract class JSONFlagDiffSubCommand implements FlexibleSubCommand
     }
 
     /**
-     * Given a folder, gathers all files that have a file extension matching {@link #fileExtension}.
+     * Given a folder, gathers all files this command reads, see {@link #isInputFile(File)}.
      *
      * @param file
      *            a folder with the files to gather.
@@ -264,15 +278,13 @@ public abstract class JSONFlagDiffSubCommand implements FlexibleSubCommand
      */
     private Set<File> getFilesOfType(final File file)
     {
-        final String fileName = file.isGzipped() ? FilenameUtils.getBaseName(file.getName())
-                : file.getName();
-        if (FilenameUtils.getExtension(fileName).equalsIgnoreCase(this.fileExtension))
+        if (this.isInputFile(file))
         {
             return Collections.singleton(file);
         }
         else if (file.isDirectory())
         {
-            return file.listFilesRecursively().stream().filter(this::checkFileExtension)
+            return file.listFilesRecursively().stream().filter(this::isInputFile)
                     .collect(Collectors.toSet());
         }
         return new HashSet<>();
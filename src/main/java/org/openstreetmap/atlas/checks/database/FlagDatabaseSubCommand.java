@@ -18,11 +18,11 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
@@ -44,7 +44,6 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 /**
  * Upload Atlas Checks flags into a Postgres database.
@@ -196,15 +195,15 @@ public class FlagDatabaseSubCommand extends AbstractAtlasShellToolsCommand
                 optionalHandledFileType.ifPresent(logOutputFileType ->
                 {
 
-                    try (BufferedReader reader = FileUtility.getReader(file, logOutputFileType);
+                    try (Stream<JsonObject> flags = FileUtility.getFlags(file, logOutputFileType);
                             PreparedStatement flagSqlStatement = databaseConnection
                                     .prepareStatement(CREATE_FLAG_SQL,
                                             Statement.RETURN_GENERATED_KEYS);
                             PreparedStatement featureSqlStatement = databaseConnection
                                     .prepareStatement(CREATE_FEATURE_SQL))
                     {
-                        final List<String> lines = reader.lines().collect(Collectors.toList());
-                        this.processCheckFlags(lines, flagSqlStatement, featureSqlStatement);
+                        this.processCheckFlags(flags::iterator, flagSqlStatement,
+                                featureSqlStatement);
                     }
                     catch (final IOException error)
                     {
@@ -307,25 +306,24 @@ public class FlagDatabaseSubCommand extends AbstractAtlasShellToolsCommand
     /**
      * This function handles parsing each CheckFlag, and batching flag features into the database
      *
-     * @param lines
-     *            a List of stringified CheckFlags read in from line-delimited json
+     * @param flags
+     *            the CheckFlags, as read from line-delimited json or binary flag files
      * @param flagSqlStatement
      *            Flag PreparedStatement
      * @param featureSqlStatement
      *            Feature PreparedStatement
      */
-    public void processCheckFlags(final List<String> lines,
+    public void processCheckFlags(final Iterable<JsonObject> flags,
             final PreparedStatement flagSqlStatement, final PreparedStatement featureSqlStatement)
     {
         int counter = 0;
         try
         {
-            for (final String line : lines)
+            for (final JsonObject parsedFlag : flags)
             {
-                final JsonObject parsedFlag = new JsonParser().parse(line).getAsJsonObject();
                 final JsonArray features = this
                         .filterOutPointsFromGeojson(parsedFlag.get(FEATURES).getAsJsonArray());
-                final CheckFlag flag = gson.fromJson(line, CheckFlag.class);
+                final CheckFlag flag = gson.fromJson(parsedFlag, CheckFlag.class);
                 final int flagRecordId;
 
                 // First check if the number of features in our batch is less than the maximum
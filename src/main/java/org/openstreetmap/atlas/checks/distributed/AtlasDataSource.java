@@ -191,6 +191,37 @@ public class AtlasDataSource implements Serializable, AutoCloseable
         this.atlas = atlas;
     }
 
+    /**
+     * Finds the size of the files {@link #load(String, String)} would load, without loading
+     * them.
+     *
+     * @param input
+     *            location of the {@link Atlas} source
+     * @param country
+     *            country of the {@link Atlas}
+     * @return total size in bytes of the source files, 0 if there are none
+     */
+    public long sourceSize(final String input, final String country)
+    {
+        final PathFilter pbfFilter = new OsmPbfFilePathFilter();
+        final PathFilter atlasFilter = new CountrySpecificAtlasFilePathFilter(country);
+
+        final Optional<Resource> resource = this.loadHelper.collectSourceFile(input, pbfFilter,
+                atlasFilter);
+        if (resource.isPresent())
+        {
+            return resource.get().length();
+        }
+        final String directory = this.pathResolver.resolvePath(input, country);
+        List<Resource> resources = this.loadHelper.collectSourceFiles(directory, true,
+                atlasFilter);
+        if (resources.isEmpty())
+        {
+            resources = this.loadHelper.collectSourceFiles(directory, true, pbfFilter);
+        }
+        return resources.stream().mapToLong(Resource::length).sum();
+    }
+
     /**
      * Checks if logger is null, then sets and return the logger value.
      *
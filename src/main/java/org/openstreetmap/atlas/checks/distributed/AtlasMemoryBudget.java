@@ -0,0 +1,245 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.scalars.Duration;
+import org.openstreetmap.atlas.utilities.time.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for the atlases loaded by the tasks of a JVM. Before loading its atlas, a task
+ * reserves an estimate of the memory the atlas and its checks will take, and blocks until the
+ * reservation fits the budget along with the reservations of the other running tasks. This keeps
+ * an executor from loading more expanded atlases at once than it can hold. A reservation larger
+ * than the whole budget is admitted once nothing else is reserved, so that it can still run,
+ * alone.
+ * <p>
+ * The estimate is made from the size of the serialized atlas before loading, and can be refined
+ * from the entity counts of the loaded atlas with {@link Reservation#resize(long)}. It includes the
+ * largest size of the {@link GeometryCache} of the atlas.
+ *
+ * @author agent
+ */
+public final class AtlasMemoryBudget
+{
+    // Name of the metric reporting how long a task waited for its reservation
+    public static final String WAIT_METRIC_NAME = "Atlas memory budget wait";
+    // Rough ratio between the memory taken by a loaded atlas and the size of its files
+    private static final long SERIALIZED_SIZE_MULTIPLIER = 4L;
+    // Rough memory taken per entity by the check state, like the flagged identifier sets
+    private static final long BYTES_PER_ENTITY = 64L;
+    private static final Logger logger = LoggerFactory.getLogger(AtlasMemoryBudget.class);
+    private static AtlasMemoryBudget executorBudget;
+
+    private final long maximumBytes;
+    private long reservedBytes = 0L;
+    private long peakBytes = 0L;
+    private long admissions = 0L;
+    private long waitingAdmissions = 0L;
+    private long waitMilliseconds = 0L;
+
+    /**
+     * A memory reservation of a task, released when closed
+     *
+     * @author agent
+     */
+    public final class Reservation implements AutoCloseable
+    {
+        private long bytes;
+        private final Duration wait;
+
+        private Reservation(final long bytes, final Duration wait)
+        {
+            this.bytes = bytes;
+            this.wait = wait;
+        }
+
+        public long bytes()
+        {
+            synchronized (AtlasMemoryBudget.this)
+            {
+                return this.bytes;
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            AtlasMemoryBudget.this.release(this);
+        }
+
+        /**
+         * Replaces the reserved size with a better estimate, usually made once the atlas is
+         * loaded. This never blocks, as the memory is already in use.
+         *
+         * @param newBytes
+         *            the new size to reserve
+         */
+        public void resize(final long newBytes)
+        {
+            AtlasMemoryBudget.this.resize(this, newBytes);
+        }
+
+        /**
+         * @return the time the task waited for this reservation to be admitted
+         */
+        public Duration waitTime()
+        {
+            return this.wait;
+        }
+    }
+
+    /**
+     * @param atlas
+     *            a loaded {@link Atlas}
+     * @param serializedBytes
+     *            size of the files the atlas was loaded from
+     * @return the estimated memory taken by the atlas and the state of its checks
+     */
+    public static long estimate(final Atlas atlas, final long serializedBytes)
+    {
+        final long entities = atlas.numberOfNodes() + atlas.numberOfEdges()
+                + atlas.numberOfAreas() + atlas.numberOfLines() + atlas.numberOfPoints()
+                + atlas.numberOfRelations();
+        return estimate(serializedBytes) + entities * BYTES_PER_ENTITY;
+    }
+
+    /**
+     * @param serializedBytes
+     *            size of the files an atlas will be loaded from
+     * @return the estimated memory taken by the atlas once loaded, and by its full
+     *         {@link GeometryCache}
+     */
+    public static long estimate(final long serializedBytes)
+    {
+        return serializedBytes * SERIALIZED_SIZE_MULTIPLIER + GeometryCache.maximumBytes();
+    }
+
+    /**
+     * Gets the budget shared by all the tasks of this JVM, creating it if needed. Changing the
+     * maximum size replaces the budget.
+     *
+     * @param maximumBytes
+     *            maximum total memory in bytes the running tasks may reserve
+     * @return the {@link AtlasMemoryBudget} of this JVM
+     */
+    public static synchronized AtlasMemoryBudget executorBudget(final long maximumBytes)
+    {
+        if (executorBudget == null || executorBudget.maximumBytes != maximumBytes)
+        {
+            executorBudget = new AtlasMemoryBudget(maximumBytes);
+        }
+        return executorBudget;
+    }
+
+    /**
+     * Constructs a standalone budget. Prefer {@link #executorBudget(long)} to share it.
+     *
+     * @param maximumBytes
+     *            maximum total memory in bytes the running tasks may reserve
+     */
+    public AtlasMemoryBudget(final long maximumBytes)
+    {
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * Reserves memory, waiting until the reservation fits in the budget.
+     *
+     * @param bytes
+     *            the memory to reserve
+     * @return the {@link Reservation}, to close once the memory is not used anymore
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    public synchronized Reservation acquire(final long bytes) throws InterruptedException
+    {
+        final Time start = Time.now();
+        boolean waited = false;
+        while (this.reservedBytes > 0 && this.reservedBytes + bytes > this.maximumBytes)
+        {
+            if (!waited)
+            {
+                logger.debug("Waiting for {} bytes, {} of {} bytes are reserved.", bytes,
+                        this.reservedBytes, this.maximumBytes);
+                waited = true;
+            }
+            this.wait();
+        }
+        final Duration wait = start.elapsedSince();
+        this.admissions++;
+        if (waited)
+        {
+            this.waitingAdmissions++;
+            this.waitMilliseconds += wait.asMilliseconds();
+        }
+        this.reserve(bytes);
+        return new Reservation(bytes, wait);
+    }
+
+    /**
+     * @return the number of reservations admitted so far
+     */
+    public synchronized long admissions()
+    {
+        return this.admissions;
+    }
+
+    /**
+     * @return the largest total memory reserved at once so far
+     */
+    public synchronized long peak()
+    {
+        return this.peakBytes;
+    }
+
+    /**
+     * @return the memory currently reserved
+     */
+    public synchronized long reserved()
+    {
+        return this.reservedBytes;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format(
+                "%s/%s bytes reserved, %s bytes peak, %s admissions, %s waited for %s ms",
+                this.reservedBytes, this.maximumBytes, this.peakBytes, this.admissions,
+                this.waitingAdmissions, this.waitMilliseconds);
+    }
+
+    /**
+     * @return the total time tasks waited for their reservations so far
+     */
+    public synchronized Duration totalWaitTime()
+    {
+        return Duration.milliseconds(this.waitMilliseconds);
+    }
+
+    private synchronized void release(final Reservation reservation)
+    {
+        this.reservedBytes -= reservation.bytes;
+        reservation.bytes = 0L;
+        this.notifyAll();
+    }
+
+    private void reserve(final long bytes)
+    {
+        this.reservedBytes += bytes;
+        this.peakBytes = Math.max(this.peakBytes, this.reservedBytes);
+    }
+
+    private synchronized void resize(final Reservation reservation, final long newBytes)
+    {
+        final long difference = newBytes - reservation.bytes;
+        this.reserve(difference);
+        reservation.bytes = newBytes;
+        if (difference < 0)
+        {
+            this.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.io.Serializable;
+
+import org.openstreetmap.atlas.utilities.scalars.Duration;
+
+/**
+ * Limits on the work a single {@link RunnableCheck} may do on one atlas (a shard or a country).
+ * When a limit is hit the check is abandoned: it stops checking objects, but the flags it already
+ * posted are kept. Budgets are immutable, and unlimited by default.
+ *
+ * @author agent
+ */
+public final class CheckBudget implements Serializable
+{
+    /**
+     * The limits a check can exceed
+     */
+    public enum Limit
+    {
+        RUN_TIME,
+        FLAGS,
+        ENTITY_TIME
+    }
+
+    public static final CheckBudget UNLIMITED = new CheckBudget(Long.MAX_VALUE, Long.MAX_VALUE,
+            Long.MAX_VALUE);
+    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000L;
+    private static final long serialVersionUID = -2519806474307613357L;
+
+    private final long maximumRunTimeNanos;
+    private final long maximumFlags;
+    private final long maximumEntityTimeNanos;
+
+    private static long nanoseconds(final Duration duration)
+    {
+        final long milliseconds = duration.asMilliseconds();
+        return milliseconds >= Long.MAX_VALUE / NANOSECONDS_PER_MILLISECOND ? Long.MAX_VALUE
+                : milliseconds * NANOSECONDS_PER_MILLISECOND;
+    }
+
+    private CheckBudget(final long maximumRunTimeNanos, final long maximumFlags,
+            final long maximumEntityTimeNanos)
+    {
+        this.maximumRunTimeNanos = maximumRunTimeNanos;
+        this.maximumFlags = maximumFlags;
+        this.maximumEntityTimeNanos = maximumEntityTimeNanos;
+    }
+
+    /**
+     * @return the maximum time in nanoseconds a check may spend on a single object
+     */
+    public long getMaximumEntityTimeNanos()
+    {
+        return this.maximumEntityTimeNanos;
+    }
+
+    /**
+     * @return the maximum number of flags a check may post
+     */
+    public long getMaximumFlags()
+    {
+        return this.maximumFlags;
+    }
+
+    /**
+     * @return the maximum wall clock time in nanoseconds a check may run for, counted from the
+     *         start of the checks of the atlas
+     */
+    public long getMaximumRunTimeNanos()
+    {
+        return this.maximumRunTimeNanos;
+    }
+
+    /**
+     * @return {@code true} if none of the limits is set
+     */
+    public boolean isUnlimited()
+    {
+        return this.maximumRunTimeNanos == Long.MAX_VALUE && this.maximumFlags == Long.MAX_VALUE
+                && this.maximumEntityTimeNanos == Long.MAX_VALUE;
+    }
+
+    /**
+     * @param maximumEntityTime
+     *            the maximum {@link Duration} a check may spend on a single object
+     * @return a copy of this budget with the limit set
+     */
+    public CheckBudget withMaximumEntityTime(final Duration maximumEntityTime)
+    {
+        return new CheckBudget(this.maximumRunTimeNanos, this.maximumFlags,
+                nanoseconds(maximumEntityTime));
+    }
+
+    /**
+     * @param maximumFlags
+     *            the maximum number of flags a check may post
+     * @return a copy of this budget with the limit set
+     */
+    public CheckBudget withMaximumFlags(final long maximumFlags)
+    {
+        return new CheckBudget(this.maximumRunTimeNanos, maximumFlags,
+                this.maximumEntityTimeNanos);
+    }
+
+    /**
+     * @param maximumRunTime
+     *            the maximum wall clock {@link Duration} a check may run for on an atlas
+     * @return a copy of this budget with the limit set
+     */
+    public CheckBudget withMaximumRunTime(final Duration maximumRunTime)
+    {
+        return new CheckBudget(nanoseconds(maximumRunTime), this.maximumFlags,
+                this.maximumEntityTimeNanos);
+    }
+}
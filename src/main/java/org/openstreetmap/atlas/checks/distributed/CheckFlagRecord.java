@@ -0,0 +1,276 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKBWriter;
+import org.openstreetmap.atlas.checks.event.CheckFlagEvent;
+import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.flag.FlaggedObject;
+import org.openstreetmap.atlas.geography.Located;
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.PolyLine;
+import org.openstreetmap.atlas.geography.Polygon;
+import org.openstreetmap.atlas.geography.Rectangle;
+import org.openstreetmap.atlas.geography.converters.jts.JtsPointConverter;
+import org.openstreetmap.atlas.geography.converters.jts.JtsPolyLineConverter;
+import org.openstreetmap.atlas.geography.converters.jts.JtsPolygonConverter;
+
+/**
+ * A {@link CheckFlag} as a row of the Parquet output, a bean so that it can be encoded into a typed
+ * Spark Dataset. The geometries of the flagged points, lines and areas are held as one WKB
+ * geometry, and their bounds as separate columns so that queries can filter on them without
+ * decoding the geometry. Areas are written as polygons, although flags hold them as closed lines.
+ * Flagged relations contribute their OSM identifiers but no geometry, like in the Check GeoJson
+ * output.
+ *
+ * @author agent
+ */
+public class CheckFlagRecord implements Serializable
+{
+    /**
+     * The check column, a partition of the output
+     */
+    public static final String CHECK = "check";
+
+    /**
+     * The country column, a partition of the output
+     */
+    public static final String COUNTRY = "country";
+
+    // Item type of the flagged areas
+    private static final String AREA = "Area";
+    private static final int MINIMUM_POLYGON_SIZE = 3;
+    private static final JtsPointConverter POINT_CONVERTER = new JtsPointConverter();
+    private static final JtsPolygonConverter POLYGON_CONVERTER = new JtsPolygonConverter();
+    private static final JtsPolyLineConverter POLYLINE_CONVERTER = new JtsPolyLineConverter();
+    private static final long serialVersionUID = -3126541894726032781L;
+
+    private String check;
+    private String country;
+    private byte[] geometry;
+    private String identifier;
+    private List<String> identifiers;
+    private String instructions;
+    private Double maximumLatitude;
+    private Double maximumLongitude;
+    private Double minimumLatitude;
+    private Double minimumLongitude;
+    private List<Long> osmIdentifiers;
+
+    /**
+     * Converts a flag into a record
+     *
+     * @param country
+     *            ISO code of the country the flag was produced for
+     * @param event
+     *            {@link CheckFlagEvent} holding the flag and the name of its check
+     * @return the {@link CheckFlagRecord} of the flag
+     */
+    public static CheckFlagRecord from(final String country, final CheckFlagEvent event)
+    {
+        final CheckFlag flag = event.getCheckFlag();
+        final CheckFlagRecord record = new CheckFlagRecord();
+        record.setCheck(event.getCheckName());
+        record.setCountry(country);
+        record.setIdentifier(flag.getIdentifier());
+        record.setIdentifiers(flag.getUniqueIdentifiers().stream().sorted()
+                .collect(Collectors.toList()));
+        record.setInstructions(flag.getInstructions());
+        record.setOsmIdentifiers(flag.getFlaggedObjects().stream()
+                .map(FlaggedObject::getProperties).filter(Objects::nonNull)
+                .map(properties -> properties.get(FlaggedObject.OSM_IDENTIFIER_TAG))
+                .filter(Objects::nonNull).map(Long::valueOf).distinct().sorted()
+                .collect(Collectors.toList()));
+
+        final List<Located> located = new ArrayList<>();
+        final List<Geometry> geometries = new ArrayList<>();
+        for (final FlaggedObject flaggedObject : flag.getFlaggedObjects())
+        {
+            final Iterable<Location> shape = flaggedObject.getGeometry();
+            if (shape instanceof Location)
+            {
+                located.add((Location) shape);
+                geometries.add(POINT_CONVERTER.convert((Location) shape));
+            }
+            else if (shape instanceof PolyLine && isArea(flaggedObject))
+            {
+                // Polygons are PolyLines, so they have to be told apart first
+                final Optional<Polygon> polygon = polygon((PolyLine) shape);
+                located.add((PolyLine) shape);
+                geometries.add(polygon.isPresent() ? POLYGON_CONVERTER.convert(polygon.get())
+                        : POLYLINE_CONVERTER.convert((PolyLine) shape));
+            }
+            else if (shape instanceof PolyLine)
+            {
+                located.add((PolyLine) shape);
+                geometries.add(POLYLINE_CONVERTER.convert((PolyLine) shape));
+            }
+        }
+        if (!located.isEmpty())
+        {
+            final Rectangle bounds = Rectangle.forLocated(located);
+            record.setMinimumLatitude(bounds.lowerLeft().getLatitude().asDegrees());
+            record.setMinimumLongitude(bounds.lowerLeft().getLongitude().asDegrees());
+            record.setMaximumLatitude(bounds.upperRight().getLatitude().asDegrees());
+            record.setMaximumLongitude(bounds.upperRight().getLongitude().asDegrees());
+            record.setGeometry(
+                    new WKBWriter().write(new GeometryFactory().buildGeometry(geometries)));
+        }
+        return record;
+    }
+
+    private static boolean isArea(final FlaggedObject flaggedObject)
+    {
+        return flaggedObject.getGeometry() instanceof Polygon
+                || flaggedObject.getProperties() != null && AREA
+                        .equals(flaggedObject.getProperties().get(FlaggedObject.ITEM_TYPE_TAG));
+    }
+
+    /**
+     * @return the polygon of an area, given as a polygon or a closed loop, if it has enough
+     *         locations to be one
+     */
+    private static Optional<Polygon> polygon(final PolyLine shape)
+    {
+        if (shape instanceof Polygon)
+        {
+            return Optional.of((Polygon) shape);
+        }
+        final List<Location> locations = new ArrayList<>();
+        shape.forEach(locations::add);
+        // Polygons close themselves
+        if (locations.size() > 1 && locations.get(0).equals(locations.get(locations.size() - 1)))
+        {
+            locations.remove(locations.size() - 1);
+        }
+        return locations.size() >= MINIMUM_POLYGON_SIZE ? Optional.of(new Polygon(locations))
+                : Optional.empty();
+    }
+
+    public String getCheck()
+    {
+        return this.check;
+    }
+
+    public String getCountry()
+    {
+        return this.country;
+    }
+
+    /**
+     * @return the WKB of the flagged geometries, {@code null} if no point, line or area was
+     *         flagged
+     */
+    public byte[] getGeometry()
+    {
+        return this.geometry;
+    }
+
+    public String getIdentifier()
+    {
+        return this.identifier;
+    }
+
+    /**
+     * @return the sorted {@link CheckFlag#getUniqueIdentifiers()} of the flag
+     */
+    public List<String> getIdentifiers()
+    {
+        return this.identifiers;
+    }
+
+    public String getInstructions()
+    {
+        return this.instructions;
+    }
+
+    public Double getMaximumLatitude()
+    {
+        return this.maximumLatitude;
+    }
+
+    public Double getMaximumLongitude()
+    {
+        return this.maximumLongitude;
+    }
+
+    public Double getMinimumLatitude()
+    {
+        return this.minimumLatitude;
+    }
+
+    public Double getMinimumLongitude()
+    {
+        return this.minimumLongitude;
+    }
+
+    /**
+     * @return the sorted, distinct OSM identifiers of the flagged objects
+     */
+    public List<Long> getOsmIdentifiers()
+    {
+        return this.osmIdentifiers;
+    }
+
+    public void setCheck(final String check)
+    {
+        this.check = check;
+    }
+
+    public void setCountry(final String country)
+    {
+        this.country = country;
+    }
+
+    public void setGeometry(final byte[] geometry)
+    {
+        this.geometry = geometry;
+    }
+
+    public void setIdentifier(final String identifier)
+    {
+        this.identifier = identifier;
+    }
+
+    public void setIdentifiers(final List<String> identifiers)
+    {
+        this.identifiers = identifiers;
+    }
+
+    public void setInstructions(final String instructions)
+    {
+        this.instructions = instructions;
+    }
+
+    public void setMaximumLatitude(final Double maximumLatitude)
+    {
+        this.maximumLatitude = maximumLatitude;
+    }
+
+    public void setMaximumLongitude(final Double maximumLongitude)
+    {
+        this.maximumLongitude = maximumLongitude;
+    }
+
+    public void setMinimumLatitude(final Double minimumLatitude)
+    {
+        this.minimumLatitude = minimumLatitude;
+    }
+
+    public void setMinimumLongitude(final Double minimumLongitude)
+    {
+        this.minimumLongitude = minimumLongitude;
+    }
+
+    public void setOsmIdentifiers(final List<Long> osmIdentifiers)
+    {
+        this.osmIdentifiers = osmIdentifiers;
+    }
+}
@@ -0,0 +1,254 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.hadoop.fs.PathFilter;
+import org.openstreetmap.atlas.checks.base.Check;
+import org.openstreetmap.atlas.checks.event.MetricEvent;
+import org.openstreetmap.atlas.generator.tools.filesystem.FileSystemHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Average run times of checks, read from the {@link MetricEvent} files of previous runs (see
+ * {@link org.openstreetmap.atlas.checks.event.MetricFileGenerator}). It is used to schedule the
+ * checks of a task longest first (LPT), so that the slowest checks start right away instead of
+ * producing a long tail at the end of the task. Checks without history are assumed to be as slow
+ * as the slowest known check. An empty history keeps the given order.
+ *
+ * @author agent
+ */
+public final class CheckRunTimeHistory implements Serializable
+{
+    private static final String METRICS_FILE_LABEL = IntegrityCheckSparkJob.METRICS_FILENAME
+            .substring(0, IntegrityCheckSparkJob.METRICS_FILENAME.lastIndexOf('.'));
+    private static final String METRICS_FILE_EXTENSION = IntegrityCheckSparkJob.METRICS_FILENAME
+            .substring(IntegrityCheckSparkJob.METRICS_FILENAME.lastIndexOf('.'));
+    private static final Logger logger = LoggerFactory.getLogger(CheckRunTimeHistory.class);
+    private static final long serialVersionUID = 2867193587611842371L;
+
+    private final Map<String, Double> averageRunTimes;
+    private final double slowestRunTime;
+
+    /**
+     * @return a {@link CheckRunTimeHistory} without any run times
+     */
+    public static CheckRunTimeHistory empty()
+    {
+        return new CheckRunTimeHistory(Collections.emptyMap());
+    }
+
+    /**
+     * Reads all the metric files found recursively in a folder. Only the run times of the given
+     * checks are kept, as the metric files also hold metrics that are not check run times, such as
+     * exceeded budgets or memory waits, which would otherwise be scheduled as phantom checks.
+     *
+     * @param folder
+     *            path of the metric output folder of a previous run
+     * @param configuration
+     *            Spark context (or configuration) as a key-value map
+     * @param checkNames
+     *            names of the checks to read the run times of
+     * @return the {@link CheckRunTimeHistory} of the checks found in the metric files
+     */
+    public static CheckRunTimeHistory load(final String folder,
+            final Map<String, String> configuration, final Set<String> checkNames)
+    {
+        final Map<String, double[]> totals = new HashMap<>();
+        final PathFilter metricFilter = path -> path.getName().contains(METRICS_FILE_LABEL)
+                && path.getName().endsWith(METRICS_FILE_EXTENSION);
+        try
+        {
+            FileSystemHelper.streamPathsRecursively(folder, configuration, metricFilter, 0)
+                    .forEach(metricFile -> accumulate(metricFile.lines(), checkNames::contains,
+                            totals));
+        }
+        catch (final Exception e)
+        {
+            logger.warn("Unable to read check run time history from {}.", folder, e);
+        }
+        return fromTotals(totals);
+    }
+
+    /**
+     * Parses lines in the {@link MetricEvent} csv format. Headers and malformed lines are
+     * skipped.
+     *
+     * @param lines
+     *            lines of one or more metric files
+     * @return the {@link CheckRunTimeHistory} of all the metrics found in the lines
+     */
+    public static CheckRunTimeHistory parse(final Iterable<String> lines)
+    {
+        return parse(lines, name -> true);
+    }
+
+    /**
+     * Parses lines in the {@link MetricEvent} csv format, keeping the run times of the given
+     * checks only. Headers and malformed lines are skipped.
+     *
+     * @param lines
+     *            lines of one or more metric files
+     * @param checkNames
+     *            names of the checks to read the run times of
+     * @return the {@link CheckRunTimeHistory} of the checks found in the lines
+     */
+    public static CheckRunTimeHistory parse(final Iterable<String> lines,
+            final Set<String> checkNames)
+    {
+        return parse(lines, checkNames::contains);
+    }
+
+    private static void accumulate(final Iterable<String> lines, final Predicate<String> isCheck,
+            final Map<String, double[]> totals)
+    {
+        for (final String line : lines)
+        {
+            final int separator = line.lastIndexOf(',');
+            if (separator <= 0 || MetricEvent.header().equals(line)
+                    || !isCheck.test(line.substring(0, separator)))
+            {
+                continue;
+            }
+            try
+            {
+                final double runTime = Double.parseDouble(line.substring(separator + 1).trim());
+                final double[] total = totals.computeIfAbsent(line.substring(0, separator),
+                        name -> new double[2]);
+                total[0] += runTime;
+                total[1]++;
+            }
+            catch (final NumberFormatException e)
+            {
+                logger.debug("Skipping malformed metric line {}.", line);
+            }
+        }
+    }
+
+    private static CheckRunTimeHistory fromTotals(final Map<String, double[]> totals)
+    {
+        final Map<String, Double> averages = new HashMap<>();
+        totals.forEach((name, total) -> averages.put(name, total[0] / total[1]));
+        return new CheckRunTimeHistory(averages);
+    }
+
+    private static CheckRunTimeHistory parse(final Iterable<String> lines,
+            final Predicate<String> isCheck)
+    {
+        final Map<String, double[]> totals = new HashMap<>();
+        accumulate(lines, isCheck, totals);
+        return fromTotals(totals);
+    }
+
+    private CheckRunTimeHistory(final Map<String, Double> averageRunTimes)
+    {
+        this.averageRunTimes = averageRunTimes;
+        this.slowestRunTime = averageRunTimes.values().stream().mapToDouble(Double::doubleValue)
+                .max().orElse(0.0);
+    }
+
+    /**
+     * @param checkName
+     *            name of a check
+     * @return the average run time of the check in milliseconds, if known
+     */
+    public Optional<Double> averageRunTime(final String checkName)
+    {
+        return Optional.ofNullable(this.averageRunTimes.get(checkName));
+    }
+
+    public boolean isEmpty()
+    {
+        return this.averageRunTimes.isEmpty();
+    }
+
+    /**
+     * Orders checks by decreasing expected run time. Checks with the same expected run time keep
+     * their relative order.
+     *
+     * @param checks
+     *            the {@link Check}s to order
+     * @param <T>
+     *            the type of check
+     * @return a new {@link List} of the checks, longest first
+     */
+    public <T extends Check> List<T> longestFirst(final Collection<T> checks)
+    {
+        final List<T> ordered = new ArrayList<>(checks);
+        ordered.sort(Comparator.comparingDouble(this::expectedRunTime).reversed());
+        return ordered;
+    }
+
+    /**
+     * Splits checks into groups of balanced expected run time, assigning each check, longest
+     * first, to the group with the least expected run time so far. Without history this is the
+     * round robin split of {@link FusedRunnableChecks#partition(Collection, int)}.
+     *
+     * @param checks
+     *            the {@link Check}s to split
+     * @param groups
+     *            maximum number of groups
+     * @param <T>
+     *            the type of check
+     * @return a {@link List} of non empty groups, the longest group first
+     */
+    public <T extends Check> List<List<T>> partition(final Collection<T> checks, final int groups)
+    {
+        if (this.isEmpty())
+        {
+            return FusedRunnableChecks.partition(checks, groups);
+        }
+        final int groupCount = Math.max(1, Math.min(groups, checks.size()));
+        final List<List<T>> partitions = new ArrayList<>(groupCount);
+        final double[] loads = new double[groupCount];
+        for (int index = 0; index < groupCount; index++)
+        {
+            partitions.add(new ArrayList<>());
+        }
+        for (final T check : this.longestFirst(checks))
+        {
+            int lightest = 0;
+            for (int index = 1; index < groupCount; index++)
+            {
+                if (loads[index] < loads[lightest] || loads[index] == loads[lightest]
+                        && partitions.get(index).size() < partitions.get(lightest).size())
+                {
+                    lightest = index;
+                }
+            }
+            partitions.get(lightest).add(check);
+            loads[lightest] += this.expectedRunTime(check);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    /**
+     * Caps the number of threads to run checks with at the available cores when there is a
+     * history to schedule the checks with. Otherwise every check gets its own thread.
+     *
+     * @param runnables
+     *            the number of runnables to execute
+     * @return the size of the pool to run them in
+     */
+    public int poolSize(final int runnables)
+    {
+        return this.isEmpty() ? runnables
+                : Math.max(1, Math.min(runnables, Runtime.getRuntime().availableProcessors()));
+    }
+
+    private double expectedRunTime(final Check check)
+    {
+        return this.averageRunTimes.getOrDefault(check.getCheckName(), this.slowestRunTime);
+    }
+}
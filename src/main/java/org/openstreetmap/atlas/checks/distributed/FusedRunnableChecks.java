@@ -0,0 +1,151 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.openstreetmap.atlas.checks.base.Check;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.utilities.scalars.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a group of {@link RunnableCheck}s over an {@link Iterable} of {@link AtlasEntity}s in a
+ * single pass. Each entity is offered in turn to every check of the group that declares it can
+ * flag it (see {@link Check#validCheckForEntity(AtlasEntity)}), so the atlas is only
+ * iterated (and geo filtered) once for the whole group instead of once per check. The objects
+ * held by each {@link RunnableCheck} (typically the complex entities found by its
+ * {@link Check#finder()}) are processed after the shared pass, which preserves the order in which
+ * every single check sees its objects.
+ *
+ * @author agent
+ */
+public final class FusedRunnableChecks implements Runnable
+{
+    private static final Logger logger = LoggerFactory.getLogger(FusedRunnableChecks.class);
+    private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000.0;
+
+    private final Iterable<? extends AtlasEntity> entities;
+    private final List<RunnableCheck> runnableChecks;
+
+    /**
+     * Splits the given items into at most {@code groups} groups in a round robin fashion.
+     *
+     * @param items
+     *            items to split
+     * @param groups
+     *            maximum number of groups
+     * @param <T>
+     *            the type of item
+     * @return a {@link List} of non empty groups
+     */
+    public static <T> List<List<T>> partition(final Collection<T> items, final int groups)
+    {
+        final int groupCount = Math.max(1, Math.min(groups, items.size()));
+        final List<List<T>> partitions = new ArrayList<>(groupCount);
+        for (int index = 0; index < groupCount; index++)
+        {
+            partitions.add(new ArrayList<>());
+        }
+        int index = 0;
+        for (final T item : items)
+        {
+            partitions.get(index++ % groupCount).add(item);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    /**
+     * Default constructor
+     *
+     * @param entities
+     *            {@link AtlasEntity}s shared by all the checks of the group
+     * @param runnableChecks
+     *            {@link RunnableCheck}s to dispatch the entities to. Their own objects are
+     *            processed after the shared entities.
+     */
+    public FusedRunnableChecks(final Iterable<? extends AtlasEntity> entities,
+            final List<RunnableCheck> runnableChecks)
+    {
+        this.entities = entities;
+        this.runnableChecks = runnableChecks;
+    }
+
+    @Override
+    public void run()
+    {
+        final int size = this.runnableChecks.size();
+        final long[] runTimes = new long[size];
+        final boolean[] failed = new boolean[size];
+
+        for (final AtlasEntity entity : this.entities)
+        {
+            for (int index = 0; index < size; index++)
+            {
+                final RunnableCheck runnableCheck = this.runnableChecks.get(index);
+                if (!failed[index] && runnableCheck.getCheck().validCheckForEntity(entity))
+                {
+                    failed[index] = !this.dispatch(runnableCheck, entity, runTimes, index);
+                }
+            }
+        }
+
+        for (int index = 0; index < size; index++)
+        {
+            final RunnableCheck runnableCheck = this.runnableChecks.get(index);
+            if (failed[index])
+            {
+                continue;
+            }
+            for (final AtlasObject object : runnableCheck.getObjects())
+            {
+                if (!this.dispatch(runnableCheck, object, runTimes, index))
+                {
+                    failed[index] = true;
+                    break;
+                }
+            }
+            if (!failed[index])
+            {
+                try
+                {
+                    runnableCheck.complete(Duration
+                            .milliseconds(runTimes[index] / NANOSECONDS_PER_MILLISECOND));
+                }
+                catch (final Exception e)
+                {
+                    logger.error(String.format("%s failed to complete.", runnableCheck.getName()),
+                            e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Offers an object to a check, accumulating the time spent in it.
+     *
+     * @return {@code false} if the check failed and should not be offered any more objects
+     */
+    private boolean dispatch(final RunnableCheck runnableCheck, final AtlasObject object,
+            final long[] runTimes, final int index)
+    {
+        final long start = System.nanoTime();
+        try
+        {
+            runnableCheck.checkObject(object);
+            return true;
+        }
+        catch (final Exception e)
+        {
+            logger.error(String.format("%s failed to complete.", runnableCheck.getName()), e);
+            return false;
+        }
+        finally
+        {
+            runTimes[index] += System.nanoTime() - start;
+        }
+    }
+}
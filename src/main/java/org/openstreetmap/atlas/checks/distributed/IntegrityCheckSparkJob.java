@@ -19,12 +19,15 @@ import org.openstreetmap.atlas.checks.base.CheckResourceLoader;
 import org.openstreetmap.atlas.checks.base.ExternalDataFetcher;
 import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
 import org.openstreetmap.atlas.checks.constants.CommonConstants;
+import org.openstreetmap.atlas.checks.event.CheckFlagBinaryProcessor;
 import org.openstreetmap.atlas.checks.event.CheckFlagFileProcessor;
 import org.openstreetmap.atlas.checks.event.CheckFlagGeoJsonProcessor;
 import org.openstreetmap.atlas.checks.event.CheckFlagTippecanoeProcessor;
+import org.openstreetmap.atlas.checks.event.MetricEvent;
 import org.openstreetmap.atlas.checks.event.MetricFileGenerator;
 import org.openstreetmap.atlas.checks.maproulette.MapRouletteClient;
 import org.openstreetmap.atlas.checks.maproulette.MapRouletteConfiguration;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.event.EventService;
 import org.openstreetmap.atlas.exception.CoreException;
 import org.openstreetmap.atlas.generator.tools.spark.SparkJob;
@@ -93,15 +96,31 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
      *            the set of {@link BaseCheck}s to execute
      * @param configuration
      *            {@link MapRouletteConfiguration} to create a new {@link MapRouletteClient}s
+     * @param fused
+     *            whether to iterate the {@link Atlas} once for groups of checks
+     * @param parallel
+     *            whether parallel safe checks process their objects in parallel
+     * @param runTimeHistory
+     *            {@link CheckRunTimeHistory} to schedule the checks with
+     * @param budget
+     *            {@link CheckBudget} each check is abandoned after
      */
     private static void executeChecks(final String country, final Atlas atlas,
-            final Set<BaseCheck<?>> checksToRun, final MapRouletteConfiguration configuration)
+            final Set<BaseCheck<?>> checksToRun, final MapRouletteConfiguration configuration,
+            final boolean fused, final boolean parallel,
+            final CheckRunTimeHistory runTimeHistory, final CheckBudget budget)
     {
-        final Pool checkExecutionPool = new Pool(checksToRun.size(), "Check execution pool",
-                POOL_DURATION_BEFORE_KILL);
-        checksToRun.forEach(check -> checkExecutionPool.queue(new RunnableCheck(country, check,
-                objectsToCheck(atlas, check), MapRouletteClient.instance(configuration))));
+        final List<Runnable> runnableChecks = runnableChecks(atlas, checksToRun,
+                atlasEntity -> true, fused, runTimeHistory,
+                (check, objects) -> new RunnableCheck(country, check, objects,
+                        MapRouletteClient.instance(configuration))
+                                .withParallelExecution(parallel).withBudget(budget));
+        final Pool checkExecutionPool = new Pool(runTimeHistory.poolSize(runnableChecks.size()),
+                "Check execution pool", POOL_DURATION_BEFORE_KILL);
+        runnableChecks.forEach(checkExecutionPool::queue);
         checkExecutionPool.close();
+        GeometryCache.release(atlas).ifPresent(
+                cache -> logger.info("Geometry cache after {}: {}", country, cache));
     }
 
     private static SparkFilePath initializeOutput(final String output, final TaskContext context,
@@ -144,6 +163,10 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
         final String output = this.output(commandMap);
         final Set<OutputFormats> outputFormats = (Set<OutputFormats>) commandMap
                 .get(OUTPUT_FORMATS);
+        if (outputFormats.contains(OutputFormats.PARQUET))
+        {
+            logger.warn("Parquet output is only written by the sharded checks, ignoring it.");
+        }
         final StringList countries = StringList.split((String) commandMap.get(COUNTRIES),
                 CommonConstants.COMMA);
         final MapRouletteConfiguration mapRouletteConfiguration = (MapRouletteConfiguration) commandMap
@@ -168,8 +191,14 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
                 .orElse(Rectangle.MAXIMUM);
         final boolean compressOutput = Boolean
                 .parseBoolean((String) commandMap.get(SparkJob.COMPRESS_OUTPUT));
+        final boolean fusedChecks = (Boolean) commandMap.get(FUSED_CHECKS);
+        final boolean parallelChecks = (Boolean) commandMap.get(PARALLEL_CHECKS);
 
         final Map<String, String> sparkContext = this.configurationMap();
+        final CheckBudget checkBudget = checkBudget(commandMap);
+        final long memoryBudgetBytes = (Long) commandMap.get(MEMORY_BUDGET_MEGABYTES)
+                * BYTES_PER_MEGABYTE;
+        final long geometryCacheLocations = (Long) commandMap.get(GEOMETRY_CACHE_LOCATIONS);
 
         final ExternalDataFetcher fileFetcher = new ExternalDataFetcher(externalDataInput,
                 this.configurationMap());
@@ -206,6 +235,16 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
         logger.info("Initialized countries: {}", infoMessage1);
         logger.info("Initialized checks: {}", infoMessage2);
 
+        // Read the run times of the checks that are going to run
+        final Set<String> checkNames = countryCheckTuples.stream()
+                .flatMap(tuple -> tuple._2().stream()).map(BaseCheck::getCheckName)
+                .collect(Collectors.toSet());
+        final CheckRunTimeHistory runTimeHistory = ((Optional<String>) commandMap
+                .getOption(RUN_TIME_HISTORY))
+                        .map(historyFolder -> CheckRunTimeHistory.load(historyFolder,
+                                sparkContext, checkNames))
+                        .orElse(CheckRunTimeHistory.empty());
+
         // Parallelize on the countries
         final JavaPairRDD<String, Set<BaseCheck<?>>> countryCheckRDD = this.getContext()
                 .parallelizePairs(countryCheckTuples, countryCheckTuples.size());
@@ -226,6 +265,7 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
         fileHelper.mkdir(SparkFileHelper.combine(targetOutputFolder, OUTPUT_FLAG_FOLDER));
         fileHelper.mkdir(SparkFileHelper.combine(targetOutputFolder, OUTPUT_GEOJSON_FOLDER));
         fileHelper.mkdir(SparkFileHelper.combine(targetOutputFolder, OUTPUT_METRIC_FOLDER));
+        fileHelper.mkdir(SparkFileHelper.combine(targetOutputFolder, OUTPUT_BINARY_FLAG_FOLDER));
 
         // Run the set of flags per country per check. The output will be an RDD pair mapping each
         // country with a set of SparkFilePaths to flags, geojson and metrics generated.
@@ -255,6 +295,19 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
             {
                 flagOutput = null;
             }
+            final SparkFilePath binaryFlagOutput;
+            if (outputFormats.contains(OutputFormats.BINARY_FLAGS))
+            {
+                // Initialize binary flag output processor
+                binaryFlagOutput = initializeOutput(OUTPUT_BINARY_FLAG_FOLDER, TaskContext.get(),
+                        country, temporaryOutputFolder, targetOutputFolder);
+                EventService.get(country).register(new CheckFlagBinaryProcessor(
+                        binaryFlagOutput.getTemporaryPath(), sparkContext));
+            }
+            else
+            {
+                binaryFlagOutput = null;
+            }
             final SparkFilePath geoJsonOutput;
             if (outputFormats.contains(OutputFormats.GEOJSON))
             {
@@ -262,8 +315,8 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
                 geoJsonOutput = initializeOutput(OUTPUT_GEOJSON_FOLDER, TaskContext.get(), country,
                         temporaryOutputFolder, targetOutputFolder);
                 EventService.get(country).register(
-                        new CheckFlagGeoJsonProcessor(fileHelper, geoJsonOutput.getTemporaryPath())
-                                .withCompression(compressOutput));
+                        new CheckFlagGeoJsonProcessor(fileHelper, geoJsonOutput.getTemporaryPath(),
+                                sparkContext).withCompression(compressOutput));
             }
             else
             {
@@ -317,8 +370,20 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
                     // no-op
                 };
             }
+            GeometryCache.setMaximumLocations(geometryCacheLocations);
+            AtlasMemoryBudget.Reservation reservation = null;
             try
             {
+                // Wait until the atlas fits in the memory budget of the executor
+                long sourceSize = 0L;
+                if (memoryBudgetBytes > 0)
+                {
+                    sourceSize = atlasLoader.sourceSize(input, country);
+                    reservation = AtlasMemoryBudget.executorBudget(memoryBudgetBytes)
+                            .acquire(AtlasMemoryBudget.estimate(sourceSize));
+                    EventService.get(country).post(new MetricEvent(
+                            AtlasMemoryBudget.WAIT_METRIC_NAME, reservation.waitTime()));
+                }
                 final Atlas atlas = atlasLoader.load(input, country, intermediateAtlasHandler);
                 if (atlas == null)
                 {
@@ -326,9 +391,15 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
                 }
                 else
                 {
-                    executeChecks(country, atlas, checks, mapRouletteConfiguration);
+                    if (reservation != null)
+                    {
+                        reservation.resize(AtlasMemoryBudget.estimate(atlas, sourceSize));
+                    }
+                    executeChecks(country, atlas, checks, mapRouletteConfiguration,
+                            fusedChecks, parallelChecks, runTimeHistory, checkBudget);
                     // Add output folders for handling later
-                    Stream.of(flagOutput, metricOutput, geoJsonOutput, tippecanoeOutput)
+                    Stream.of(flagOutput, binaryFlagOutput, metricOutput, geoJsonOutput,
+                            tippecanoeOutput)
                             .filter(Objects::nonNull).forEach(resultingFiles::add);
                 }
 
@@ -339,8 +410,19 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
             {
                 logger.error("Exception running integrity checks on {}", country, e);
             }
+            catch (final InterruptedException e)
+            {
+                logger.error("Interrupted waiting for memory to check {}", country, e);
+                Thread.currentThread().interrupt();
+            }
             finally
             {
+                if (reservation != null)
+                {
+                    reservation.close();
+                    logger.info("Atlas memory budget after {}: {}", country,
+                            AtlasMemoryBudget.executorBudget(memoryBudgetBytes));
+                }
                 logger.info("Integrity checks finished in {} to execute for {}.",
                         timer.elapsedSince(), country);
             }
@@ -384,6 +466,7 @@ public class IntegrityCheckSparkJob extends IntegrityChecksCommandArguments
         final String output = this.output(command);
         final List<String> staticPaths = super.outputToClean(command);
         staticPaths.add(this.getAlternateSubFolderOutput(output, OUTPUT_FLAG_FOLDER));
+        staticPaths.add(this.getAlternateSubFolderOutput(output, OUTPUT_BINARY_FLAG_FOLDER));
         staticPaths.add(this.getAlternateSubFolderOutput(output, OUTPUT_GEOJSON_FOLDER));
         staticPaths.add(this.getAlternateSubFolderOutput(output, OUTPUT_ATLAS_FOLDER));
         return staticPaths;
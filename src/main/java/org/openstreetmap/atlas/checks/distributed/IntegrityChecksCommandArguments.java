@@ -1,10 +1,17 @@
 package org.openstreetmap.atlas.checks.distributed;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -15,6 +22,7 @@ import org.openstreetmap.atlas.checks.atlas.CountrySpecificAtlasFilePathFilter;
 import org.openstreetmap.atlas.checks.base.Check;
 import org.openstreetmap.atlas.checks.constants.CommonConstants;
 import org.openstreetmap.atlas.checks.maproulette.MapRouletteConfiguration;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.generator.tools.filesystem.FileSystemHelper;
 import org.openstreetmap.atlas.generator.tools.spark.SparkJob;
 import org.openstreetmap.atlas.generator.tools.spark.utilities.SparkFileHelper;
@@ -22,14 +30,20 @@ import org.openstreetmap.atlas.geography.Rectangle;
 import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
+import org.openstreetmap.atlas.geography.atlas.items.complex.ComplexEntity;
+import org.openstreetmap.atlas.geography.atlas.items.complex.Finder;
 import org.openstreetmap.atlas.geography.sharding.Shard;
 import org.openstreetmap.atlas.geography.sharding.SlippyTile;
+import org.openstreetmap.atlas.streaming.resource.Resource;
 import org.openstreetmap.atlas.utilities.collections.Iterables;
 import org.openstreetmap.atlas.utilities.collections.MultiIterable;
 import org.openstreetmap.atlas.utilities.collections.StringList;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 import org.openstreetmap.atlas.utilities.conversion.StringConverter;
 import org.openstreetmap.atlas.utilities.maps.MultiMap;
+import org.openstreetmap.atlas.utilities.runtime.CommandMap;
+import org.openstreetmap.atlas.utilities.scalars.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,9 +60,11 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
      */
     protected enum OutputFormats
     {
+        BINARY_FLAGS,
         FLAGS,
         GEOJSON,
         METRICS,
+        PARQUET,
         TIPPECANOE
     }
 
@@ -61,9 +77,11 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
             Optionality.OPTIONAL);
     protected static final String OUTPUT_ATLAS_FOLDER = "atlas";
     // Outputs
+    protected static final String OUTPUT_BINARY_FLAG_FOLDER = "binary_flag";
     protected static final String OUTPUT_FLAG_FOLDER = "flag";
     protected static final String OUTPUT_GEOJSON_FOLDER = "geojson";
     protected static final String OUTPUT_METRIC_FOLDER = "metric";
+    protected static final String OUTPUT_PARQUET_FOLDER = "parquet";
     protected static final String OUTPUT_TIPPECANOE_FOLDER = "tippecanoe";
     static final Switch<List<String>> CHECK_FILTER = new Switch<>("checkFilter",
             "Comma-separated list of checks to run",
@@ -74,8 +92,30 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
             value -> StringList.split(value, CommonConstants.COMMA), Optionality.OPTIONAL);
     static final Switch<String> CONFIGURATION_JSON = new Switch<>("configJson",
             "Json formatted configuration.", StringConverter.IDENTITY, Optionality.OPTIONAL);
+    static final Switch<Boolean> FUSED_CHECKS = new Switch<>("fusedChecks",
+            "If true, checks are run in groups that each iterate the atlas entities only once, instead of once per check",
+            Boolean::valueOf, Optionality.OPTIONAL, "false");
+    static final Switch<String> RUN_TIME_HISTORY = new Switch<>("runTimeHistory",
+            "Metric output folder of a previous run, used to start the longest checks first and cap the check threads at the available cores",
+            StringConverter.IDENTITY, Optionality.OPTIONAL);
     static final Switch<Long> MAX_POOL_MINUTES = new Switch<>("maxPoolMinutes",
             "Maximum number of minutes for pool duration.", Long::valueOf, Optionality.OPTIONAL);
+    static final Switch<Long> MAX_CHECK_MINUTES = new Switch<>("maxCheckMinutes",
+            "Maximum number of wall clock minutes, from the start of the checks of an atlas, a check may run before it is abandoned, keeping the flags found so far",
+            Long::valueOf, Optionality.OPTIONAL);
+    static final Switch<Long> MAX_CHECK_FLAGS = new Switch<>("maxCheckFlags",
+            "Maximum number of flags a check may produce on an atlas before it is abandoned",
+            Long::valueOf, Optionality.OPTIONAL);
+    static final Switch<Long> MAX_ENTITY_SECONDS = new Switch<>("maxEntitySeconds",
+            "Maximum number of seconds a check may spend on a single object before it is abandoned",
+            Long::valueOf, Optionality.OPTIONAL);
+    static final Switch<Long> MEMORY_BUDGET_MEGABYTES = new Switch<>("memoryBudgetMegabytes",
+            "Estimated memory in megabytes the atlases loaded at once by the tasks of an executor may take, tasks wait for their turn beyond it, 0 to disable",
+            Long::valueOf, Optionality.OPTIONAL, "0");
+    static final Switch<Long> GEOMETRY_CACHE_LOCATIONS = new Switch<>("geometryCacheLocations",
+            "Maximum number of locations the geometry cache of each atlas keeps, about 64 bytes each, charged to the memory budget, 0 to disable",
+            Long::valueOf, Optionality.OPTIONAL,
+            String.valueOf(GeometryCache.DEFAULT_MAXIMUM_LOCATIONS));
     static final Switch<String> COUNTRIES = new Switch<>("countries",
             "Comma-separated list of country ISO3 codes to be processed", StringConverter.IDENTITY,
             Optionality.REQUIRED);
@@ -83,7 +123,7 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
             "Map roulette server information, format <Host>:<Port>:<ProjectName>:<ApiKey>, projectName is optional.",
             MapRouletteConfiguration::parse, Optionality.OPTIONAL);
     static final Switch<Set<OutputFormats>> OUTPUT_FORMATS = new Switch<>("outputFormats",
-            "Comma-separated list of output formats (flags, metrics, geojson, tippecanoe).",
+            "Comma-separated list of output formats (flags, binary_flags, metrics, geojson, tippecanoe, parquet).",
             csvFormats -> Stream.of(csvFormats.split(","))
                     .map(format -> Enum.valueOf(OutputFormats.class, format.toUpperCase()))
                     .collect(Collectors.toSet()),
@@ -91,12 +131,19 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
     static final Switch<Rectangle> PBF_BOUNDING_BOX = new Switch<>("pbfBoundingBox",
             "OSM protobuf data will be loaded only in this bounding box", Rectangle::forString,
             Optionality.OPTIONAL);
+    static final Switch<Boolean> PARALLEL_CHECKS = new Switch<>("parallelChecks",
+            "If true, checks that are parallel safe process their objects in parallel, in spatially coherent chunks",
+            Boolean::valueOf, Optionality.OPTIONAL, "false");
     static final Switch<Boolean> PBF_SAVE_INTERMEDIATE_ATLAS = new Switch<>("savePbfAtlas",
             "Saves intermediate atlas files created when processing OSM protobuf data.",
             Boolean::valueOf, Optionality.OPTIONAL, "false");
     static final Switch<String> EXTERNAL_DATA_INPUT = new Switch<>("externalDataInput",
             "Path to the root location that is common to all external data",
             StringConverter.IDENTITY);
+    static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+    // Order in which Atlas#entities() iterates the entity types
+    private static final List<ItemType> ENTITY_TYPE_ORDER = Arrays.asList(ItemType.EDGE,
+            ItemType.NODE, ItemType.AREA, ItemType.LINE, ItemType.POINT, ItemType.RELATION);
     private static final String ATLAS_FILENAME_PATTERN_FORMAT = "^%s_([0-9]+)-([0-9]+)-([0-9]+)";
     private static final Logger logger = LoggerFactory
             .getLogger(IntegrityChecksCommandArguments.class);
@@ -120,48 +167,115 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
         final MultiMap<String, Shard> countryShardMap = new MultiMap<>();
         logger.info("Building country shard map from country shard files.");
 
+        countries.forEach(country -> forEachShardFile(country, atlasFolder, sparkContext,
+                (shard, shardFile) -> countryShardMap.add(country, shard)));
+
+        return countryShardMap;
+    }
+
+    /**
+     * Creates a map from country name to the sizes of its {@link Atlas} shard files, keyed by
+     * {@link Shard} name.
+     *
+     * @param countries
+     *            Set of countries to find out shard sizes for
+     * @param atlasFolder
+     *            Path to {@link Atlas} folder
+     * @param sparkContext
+     *            Spark context (or configuration) as a key-value map
+     * @return A map from country name to a map from {@link Shard} name to file size in bytes
+     */
+    public static Map<String, Map<String, Long>> countryShardSizesFromShardFiles(
+            final Set<String> countries, final String atlasFolder,
+            final Map<String, String> sparkContext)
+    {
+        final Map<String, Map<String, Long>> countryShardSizes = new HashMap<>();
         countries.forEach(country ->
         {
-            final String countryDirectory = SparkFileHelper.combine(atlasFolder, country);
-            final CountrySpecificAtlasFilePathFilter atlasFilter = new CountrySpecificAtlasFilePathFilter(
-                    country);
-            final Pattern atlasFilePattern = Pattern
-                    .compile(String.format(ATLAS_FILENAME_PATTERN_FORMAT, country));
-
-            // Go over shard files for the country and use file name pattern to find out shards
-            FileSystemHelper.streamPathsRecursively(countryDirectory, sparkContext, atlasFilter, 0)
-                    .forEach(shardFile ->
-                    {
-                        final String shardFileName = shardFile.getName();
-                        final Matcher matcher = atlasFilePattern.matcher(shardFileName);
-                        if (matcher.find())
-                        {
-                            try
-                            {
-                                final String zoomString = matcher.group(1);
-                                final String xString = matcher.group(2);
-                                final String yString = matcher.group(3);
-                                countryShardMap.add(country,
-                                        new SlippyTile(Integer.parseInt(xString),
-                                                Integer.parseInt(yString),
-                                                Integer.parseInt(zoomString)));
-                            }
-                            catch (final Exception e)
-                            {
-                                logger.warn(String.format("Couldn't parse shard file name %s.",
-                                        shardFileName), e);
-                            }
-                        }
-                        else
-                        {
-                            logger.warn(String.format(
-                                    "Skipping atlas file %s, its name does not conform to the sharded standard.",
-                                    shardFileName));
-                        }
-                    });
+            final Map<String, Long> shardSizes = new HashMap<>();
+            forEachShardFile(country, atlasFolder, sparkContext,
+                    (shard, shardFile) -> shardSizes.put(shard.getName(), shardFile.length()));
+            countryShardSizes.put(country, shardSizes);
         });
+        return countryShardSizes;
+    }
 
-        return countryShardMap;
+    /**
+     * Builds the {@link CheckBudget} every check is held to from the command line arguments.
+     *
+     * @param commandMap
+     *            {@link CommandMap} of the job arguments
+     * @return the {@link CheckBudget}, unlimited unless a budget argument is given
+     */
+    @SuppressWarnings("unchecked")
+    protected static CheckBudget checkBudget(final CommandMap commandMap)
+    {
+        CheckBudget budget = CheckBudget.UNLIMITED;
+        final Optional<Long> maximumMinutes = (Optional<Long>) commandMap
+                .getOption(MAX_CHECK_MINUTES);
+        if (maximumMinutes.isPresent())
+        {
+            budget = budget.withMaximumRunTime(Duration.minutes(maximumMinutes.get()));
+        }
+        final Optional<Long> maximumFlags = (Optional<Long>) commandMap.getOption(MAX_CHECK_FLAGS);
+        if (maximumFlags.isPresent())
+        {
+            budget = budget.withMaximumFlags(maximumFlags.get());
+        }
+        final Optional<Long> maximumEntitySeconds = (Optional<Long>) commandMap
+                .getOption(MAX_ENTITY_SECONDS);
+        if (maximumEntitySeconds.isPresent())
+        {
+            budget = budget.withMaximumEntityTime(Duration.seconds(maximumEntitySeconds.get()));
+        }
+        return budget;
+    }
+
+    /**
+     * Gets the objects that are specific to a check, meaning the {@link ComplexEntity}s found by
+     * its {@link Finder}. These do not include the {@link AtlasEntity}s that all checks share.
+     *
+     * @param atlas
+     *            {@link Atlas} to find objects in
+     * @param check
+     *            {@link Check} to find objects for
+     * @return an {@link Iterable} of {@link AtlasObject}s
+     */
+    protected static Iterable<AtlasObject> complexObjectsToCheck(final Atlas atlas,
+            final Check check)
+    {
+        return new MultiIterable<>(
+                check.finder().map(finder -> finder.find(atlas)).orElse(Collections.emptyList()));
+    }
+
+    /**
+     * Gets the {@link AtlasEntity}s of the given {@link ItemType}s, pulling them directly from the
+     * typed {@link Atlas} indices. The types are iterated in the same order as
+     * {@link Atlas#entities()}.
+     *
+     * @param atlas
+     *            {@link Atlas} to get the entities from
+     * @param types
+     *            {@link Set} of {@link ItemType}s to get
+     * @return an {@link Iterable} of {@link AtlasEntity}s
+     */
+    @SuppressWarnings("unchecked")
+    protected static Iterable<AtlasEntity> entitiesOfTypes(final Atlas atlas,
+            final Set<ItemType> types)
+    {
+        if (types.containsAll(Check.ALL_ENTITY_TYPES))
+        {
+            return atlas.entities();
+        }
+        final List<Iterable<AtlasEntity>> entities = new ArrayList<>();
+        for (final ItemType type : ENTITY_TYPE_ORDER)
+        {
+            if (types.contains(type))
+            {
+                entities.add((Iterable<AtlasEntity>) entitiesOfType(atlas, type));
+            }
+        }
+        return new MultiIterable<>(entities);
     }
 
     protected static Iterable<AtlasObject> objectsToCheck(final Atlas atlas, final Check check)
@@ -169,11 +283,140 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
         return objectsToCheck(atlas, check, atlasEntity -> true);
     }
 
+    /**
+     * Gets all the objects a check should be run on. Only the {@link AtlasEntity}s matching the
+     * check {@link Check#validEntityTypes()} and {@link Check#requiredTagKeys()} are included.
+     *
+     * @param atlas
+     *            {@link Atlas} to get the objects from
+     * @param check
+     *            {@link Check} to get the objects for
+     * @param geoFilter
+     *            filter for the {@link AtlasEntity}s to check
+     * @return an {@link Iterable} of {@link AtlasObject}s
+     */
     protected static Iterable<AtlasObject> objectsToCheck(final Atlas atlas, final Check check,
             final Predicate<AtlasEntity> geoFilter)
     {
-        return new MultiIterable<>(Iterables.filter(atlas.entities(), geoFilter),
-                check.finder().map(finder -> finder.find(atlas)).orElse(Collections.emptyList()));
+        final Predicate<AtlasEntity> entityFilter = check.requiredTagKeys().isEmpty() ? geoFilter
+                : geoFilter.and(check::validCheckForEntity);
+        return new MultiIterable<>(
+                Iterables.filter(entitiesOfTypes(atlas, check.validEntityTypes()), entityFilter),
+                complexObjectsToCheck(atlas, check));
+    }
+
+    /**
+     * Creates the {@link Runnable}s to execute a set of checks over an {@link Atlas}. By default
+     * there is one {@link RunnableCheck} per check. When fused, the checks are split into groups
+     * that each iterate the atlas entities a single time using {@link FusedRunnableChecks}. The
+     * runnables are returned in the order they should be queued, longest first.
+     *
+     * @param atlas
+     *            {@link Atlas} to run the checks on
+     * @param checks
+     *            the {@link Check}s to run
+     * @param geoFilter
+     *            filter for the {@link AtlasEntity}s to check
+     * @param fused
+     *            whether or not to fuse the iteration of the checks
+     * @param history
+     *            {@link CheckRunTimeHistory} to order and group the checks with, longest first
+     * @param runnableCheckFactory
+     *            creates a {@link RunnableCheck} from a {@link Check} and its objects
+     * @return a {@link List} of {@link Runnable}s to queue
+     */
+    protected static List<Runnable> runnableChecks(final Atlas atlas,
+            final Collection<? extends Check> checks, final Predicate<AtlasEntity> geoFilter,
+            final boolean fused, final CheckRunTimeHistory history,
+            final BiFunction<Check, Iterable<AtlasObject>, RunnableCheck> runnableCheckFactory)
+    {
+        if (!fused)
+        {
+            return history.longestFirst(checks).stream()
+                    .map(check -> runnableCheckFactory.apply(check,
+                            objectsToCheck(atlas, check, geoFilter)))
+                    .collect(Collectors.toList());
+        }
+        return history.partition(checks, Runtime.getRuntime().availableProcessors()).stream()
+                .map(group -> new FusedRunnableChecks(Iterables.filter(
+                        entitiesOfTypes(atlas,
+                                group.stream().flatMap(check -> check.validEntityTypes().stream())
+                                        .collect(Collectors.toCollection(
+                                                () -> EnumSet.noneOf(ItemType.class)))),
+                        geoFilter),
+                        group.stream()
+                                .map(check -> runnableCheckFactory.apply(check,
+                                        complexObjectsToCheck(atlas, check)))
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
+    private static Iterable<? extends AtlasEntity> entitiesOfType(final Atlas atlas,
+            final ItemType type)
+    {
+        switch (type)
+        {
+            case EDGE:
+                return atlas.edges();
+            case NODE:
+                return atlas.nodes();
+            case AREA:
+                return atlas.areas();
+            case LINE:
+                return atlas.lines();
+            case POINT:
+                return atlas.points();
+            case RELATION:
+                return atlas.relations();
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Goes over the shard files of a country, using the file name pattern to find out their
+     * {@link Shard}s.
+     */
+    private static void forEachShardFile(final String country, final String atlasFolder,
+            final Map<String, String> sparkContext, final BiConsumer<Shard, Resource> consumer)
+    {
+        final String countryDirectory = SparkFileHelper.combine(atlasFolder, country);
+        final CountrySpecificAtlasFilePathFilter atlasFilter = new CountrySpecificAtlasFilePathFilter(
+                country);
+        final Pattern atlasFilePattern = Pattern
+                .compile(String.format(ATLAS_FILENAME_PATTERN_FORMAT, country));
+
+        FileSystemHelper.streamPathsRecursively(countryDirectory, sparkContext, atlasFilter, 0)
+                .forEach(shardFile ->
+                {
+                    final String shardFileName = shardFile.getName();
+                    final Matcher matcher = atlasFilePattern.matcher(shardFileName);
+                    if (matcher.find())
+                    {
+                        final Shard shard;
+                        try
+                        {
+                            final String zoomString = matcher.group(1);
+                            final String xString = matcher.group(2);
+                            final String yString = matcher.group(3);
+                            shard = new SlippyTile(Integer.parseInt(xString),
+                                    Integer.parseInt(yString), Integer.parseInt(zoomString));
+                        }
+                        catch (final Exception e)
+                        {
+                            logger.warn(String.format("Couldn't parse shard file name %s.",
+                                    shardFileName), e);
+                            return;
+                        }
+                        consumer.accept(shard, shardFile);
+                    }
+                    else
+                    {
+                        logger.warn(String.format(
+                                "Skipping atlas file %s, its name does not conform to the sharded standard.",
+                                shardFileName));
+                    }
+                });
     }
 
     /**
@@ -198,6 +441,8 @@ public abstract class IntegrityChecksCommandArguments extends SparkJob
     {
         return super.switches().with(ATLAS_FOLDER, MAP_ROULETTE, COUNTRIES, CONFIGURATION_FILES,
                 CONFIGURATION_JSON, PBF_BOUNDING_BOX, PBF_SAVE_INTERMEDIATE_ATLAS, OUTPUT_FORMATS,
-                CHECK_FILTER, MAX_POOL_MINUTES, EXTERNAL_DATA_INPUT);
+                CHECK_FILTER, MAX_POOL_MINUTES, EXTERNAL_DATA_INPUT, FUSED_CHECKS,
+                PARALLEL_CHECKS, RUN_TIME_HISTORY, MAX_CHECK_MINUTES, MAX_CHECK_FLAGS,
+                MAX_ENTITY_SECONDS, MEMORY_BUDGET_MEGABYTES, GEOMETRY_CACHE_LOCATIONS);
     }
 }
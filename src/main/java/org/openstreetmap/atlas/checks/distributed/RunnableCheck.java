@@ -1,6 +1,9 @@
 package org.openstreetmap.atlas.checks.distributed;
 
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.openstreetmap.atlas.checks.base.Check;
 import org.openstreetmap.atlas.checks.event.CheckFlagEvent;
@@ -25,6 +28,15 @@ import org.slf4j.LoggerFactory;
 public final class RunnableCheck extends RunnableCheckBase<Check> implements Runnable
 {
     private static final Logger logger = LoggerFactory.getLogger(RunnableCheck.class);
+    private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000.0;
+
+    private boolean parallelExecution = false;
+    private CheckBudget budget = CheckBudget.UNLIMITED;
+    // Wall clock start of the checks of the atlas, and number of flags posted, counted against
+    // the budget
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong flagCount = new AtomicLong();
+    private final AtomicReference<CheckBudget.Limit> exceededLimit = new AtomicReference<>();
 
     /**
      * Default constructor
@@ -72,26 +84,145 @@ public final class RunnableCheck extends RunnableCheckBase<Check> implements Run
         try
         {
             final Time timer = Time.now();
-            this.getObjects().forEach(object ->
+            if (this.parallelExecution && this.getCheck().isParallelSafe())
+            {
+                SpatialPartitionTask.process(this.getObjects(), this::checkObject,
+                        ForkJoinPool.commonPool(), SpatialPartitionTask.DEFAULT_CHUNK_SIZE);
+            }
+            else
             {
-                final Optional<CheckFlag> flag = this.getCheck().check(object);
-                if (flag.isPresent())
+                for (final AtlasObject object : this.getObjects())
                 {
-                    this.addTask(flag.get());
-                    this.getEventService().post(new CheckFlagEvent(this.getName(), flag.get()));
+                    if (this.isBudgetExceeded())
+                    {
+                        break;
+                    }
+                    this.checkObject(object);
                 }
-            });
-
-            this.getCheck().clear();
-            final Duration checkRunTime = timer.elapsedSince();
-            logger.info("{} completed in {}.", this.getName(), checkRunTime);
-            this.getEventService().post(new MetricEvent(this.getName(), checkRunTime));
-
-            this.uploadTasks();
+            }
+            this.complete(timer.elapsedSince());
         }
         catch (final Exception e)
         {
             logger.error(String.format("%s failed to complete.", this.getName()), e);
         }
     }
+
+    /**
+     * Sets the {@link CheckBudget} the check is abandoned after, keeping the flags it already
+     * posted.
+     *
+     * @param budget
+     *            {@link CheckBudget} to enforce
+     * @return the {@link RunnableCheck}
+     */
+    public RunnableCheck withBudget(final CheckBudget budget)
+    {
+        this.budget = budget;
+        return this;
+    }
+
+    /**
+     * Sets whether the objects should be processed in parallel, in spatially coherent chunks on a
+     * {@link ForkJoinPool}. This only applies to checks that are {@link Check#isParallelSafe()}.
+     *
+     * @param parallelExecution
+     *            value to set
+     * @return the {@link RunnableCheck}
+     */
+    public RunnableCheck withParallelExecution(final boolean parallelExecution)
+    {
+        this.parallelExecution = parallelExecution;
+        return this;
+    }
+
+    /**
+     * Runs the {@link Check} against a single {@link AtlasObject}, posting a resulting
+     * {@link CheckFlag} if there is one. This allows an external driver, such as
+     * {@link FusedRunnableChecks}, to feed objects to the check. Objects are ignored once the
+     * {@link CheckBudget} is exceeded. The run time budget is wall clock time since this
+     * {@link RunnableCheck} was created with the other checks of the atlas, so it also bounds the
+     * time spent iterating and loading the atlas and waiting for other checks.
+     *
+     * @param object
+     *            {@link AtlasObject} to check
+     */
+    void checkObject(final AtlasObject object)
+    {
+        if (this.isBudgetExceeded())
+        {
+            return;
+        }
+        final long start = System.nanoTime();
+        final Optional<CheckFlag> flag = this.getCheck().check(object);
+        final long elapsed = System.nanoTime() - start;
+        if (flag.isPresent())
+        {
+            final long flags = this.flagCount.incrementAndGet();
+            if (flags <= this.budget.getMaximumFlags())
+            {
+                this.addTask(flag.get());
+                this.getEventService().post(new CheckFlagEvent(this.getName(), flag.get()));
+            }
+            if (flags >= this.budget.getMaximumFlags())
+            {
+                this.exceedBudget(CheckBudget.Limit.FLAGS);
+            }
+        }
+        if (elapsed > this.budget.getMaximumEntityTimeNanos())
+        {
+            logger.warn("{} spent {} on {} ({}).", this.getName(),
+                    Duration.milliseconds(elapsed / NANOSECONDS_PER_MILLISECOND),
+                    object.getIdentifier(), object.getOsmIdentifier());
+            this.exceedBudget(CheckBudget.Limit.ENTITY_TIME);
+        }
+        if (System.nanoTime() - this.startNanos > this.budget.getMaximumRunTimeNanos())
+        {
+            this.exceedBudget(CheckBudget.Limit.RUN_TIME);
+        }
+    }
+
+    /**
+     * Cleans up the {@link Check}, posts its run time as a {@link MetricEvent} and uploads any
+     * MapRoulette tasks.
+     *
+     * @param checkRunTime
+     *            {@link Duration} the check took to run
+     */
+    void complete(final Duration checkRunTime)
+    {
+        this.getCheck().clear();
+        logger.info("{} completed in {}.", this.getName(), checkRunTime);
+        this.getEventService().post(new MetricEvent(this.getName(), checkRunTime));
+
+        this.uploadTasks();
+    }
+
+    /**
+     * @return {@code true} if the check was abandoned because it exceeded its
+     *         {@link CheckBudget}
+     */
+    boolean isBudgetExceeded()
+    {
+        return this.exceededLimit.get() != null;
+    }
+
+    /**
+     * Abandons the check the first time a limit is exceeded, posting a {@link MetricEvent} named
+     * after the check and the limit with the wall clock time since the checks of the atlas
+     * started.
+     */
+    private void exceedBudget(final CheckBudget.Limit limit)
+    {
+        if (this.exceededLimit.compareAndSet(null, limit))
+        {
+            final Duration checkTime = Duration.milliseconds(
+                    (System.nanoTime() - this.startNanos) / NANOSECONDS_PER_MILLISECOND);
+            logger.warn("{} exceeded its {} budget after {}, keeping {} flags.", this.getName(),
+                    limit, checkTime,
+                    Math.min(this.flagCount.get(), this.budget.getMaximumFlags()));
+            this.getEventService().post(new MetricEvent(
+                    String.format("%s %s budget exceeded", this.getName(), limit), checkTime));
+        }
+    }
 }
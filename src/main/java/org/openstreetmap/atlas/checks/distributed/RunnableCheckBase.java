@@ -116,7 +116,11 @@ public abstract class RunnableCheckBase<T extends Check>
         {
             try
             {
-                this.client.addTask(this.check.getChallenge(), flag.getMapRouletteTask());
+                // Checks running in parallel can add tasks from several threads
+                synchronized (this.client)
+                {
+                    this.client.addTask(this.check.getChallenge(), flag.getMapRouletteTask());
+                }
             }
             catch (final Exception e)
             {
@@ -0,0 +1,181 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.AtlasResourceLoader;
+import org.openstreetmap.atlas.geography.sharding.Shard;
+import org.openstreetmap.atlas.streaming.resource.Resource;
+import org.openstreetmap.atlas.utilities.tuples.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory bounded, least recently used cache of loaded shard {@link Atlas}es. There is one cache
+ * per JVM, so that the tasks running on the same Spark executor share the shards they load,
+ * including the neighboring shards loaded to expand each task. Each atlas is weighed by the size
+ * of its serialized resource, and the least recently used atlases are evicted once the total
+ * weight goes over the maximum. Cached atlases are read only and shared between threads.
+ *
+ * @author agent
+ */
+public final class ShardAtlasCache
+{
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final Logger logger = LoggerFactory.getLogger(ShardAtlasCache.class);
+    private static ShardAtlasCache executorCache;
+
+    private final long maximumBytes;
+    // Access ordered, so that iteration starts at the least recently used atlas
+    private final Map<String, Tuple<Atlas, Long>> atlases = new LinkedHashMap<>(
+            INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private long bytes = 0L;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Gets the cache shared by all the tasks of this JVM, creating it if needed. Changing the
+     * maximum size replaces the cache.
+     *
+     * @param maximumBytes
+     *            maximum total size in bytes of the serialized atlases to keep
+     * @return the {@link ShardAtlasCache} of this JVM
+     */
+    public static synchronized ShardAtlasCache executorCache(final long maximumBytes)
+    {
+        if (executorCache == null || executorCache.maximumBytes != maximumBytes)
+        {
+            executorCache = new ShardAtlasCache(maximumBytes);
+        }
+        return executorCache;
+    }
+
+    private static String key(final String country, final Shard shard)
+    {
+        return country + "_" + shard.getName();
+    }
+
+    /**
+     * Constructs a standalone cache. Prefer {@link #executorCache(long)} to share it.
+     *
+     * @param maximumBytes
+     *            maximum total size in bytes of the serialized atlases to keep
+     */
+    public ShardAtlasCache(final long maximumBytes)
+    {
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * @return the number of atlases evicted so far
+     */
+    public long evictions()
+    {
+        return this.evictions.get();
+    }
+
+    /**
+     * Gets the atlas of a shard, loading and caching it on a miss. Shards that can not be fetched
+     * are not cached. Two threads missing the same shard at once may both load it, only one atlas
+     * is kept.
+     *
+     * @param country
+     *            country of the shard
+     * @param shard
+     *            the {@link Shard} to get
+     * @param fetcher
+     *            fetches the serialized atlas {@link Resource} of a shard
+     * @return the {@link Atlas} of the shard, if it exists
+     */
+    public Optional<Atlas> get(final String country, final Shard shard,
+            final Function<Shard, Optional<Resource>> fetcher)
+    {
+        final String key = key(country, shard);
+        synchronized (this)
+        {
+            final Tuple<Atlas, Long> cached = this.atlases.get(key);
+            if (cached != null)
+            {
+                this.hits.incrementAndGet();
+                return Optional.of(cached.getFirst());
+            }
+        }
+        this.misses.incrementAndGet();
+        final Optional<Resource> resource = fetcher.apply(shard);
+        if (!resource.isPresent())
+        {
+            return Optional.empty();
+        }
+        final Atlas atlas = new AtlasResourceLoader().load(resource.get());
+        if (atlas == null)
+        {
+            return Optional.empty();
+        }
+        return Optional.of(this.put(key, atlas, resource.get().length()));
+    }
+
+    /**
+     * @return the number of requests served from the cache so far
+     */
+    public long hits()
+    {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of requests that had to load an atlas so far
+     */
+    public long misses()
+    {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the total size in bytes of the serialized atlases currently cached
+     */
+    public synchronized long size()
+    {
+        return this.bytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s hits, %s misses, %s evictions, %s/%s bytes", this.hits(),
+                this.misses(), this.evictions(), this.size(), this.maximumBytes);
+    }
+
+    private synchronized Atlas put(final String key, final Atlas atlas, final long weight)
+    {
+        final Tuple<Atlas, Long> existing = this.atlases.get(key);
+        if (existing != null)
+        {
+            return existing.getFirst();
+        }
+        if (weight > this.maximumBytes)
+        {
+            // Too large to ever fit, use it without caching it
+            return atlas;
+        }
+        this.atlases.put(key, Tuple.createTuple(atlas, weight));
+        this.bytes += weight;
+        final Iterator<Map.Entry<String, Tuple<Atlas, Long>>> leastRecentlyUsed = this.atlases
+                .entrySet().iterator();
+        while (this.bytes > this.maximumBytes && leastRecentlyUsed.hasNext())
+        {
+            final Map.Entry<String, Tuple<Atlas, Long>> eldest = leastRecentlyUsed.next();
+            this.bytes -= eldest.getValue().getSecond();
+            leastRecentlyUsed.remove();
+            this.evictions.incrementAndGet();
+            logger.debug("Evicted shard atlas {} from the cache.", eldest.getKey());
+        }
+        return atlas;
+    }
+}
@@ -0,0 +1,190 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.flag.FlaggedObject;
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.PolyLine;
+import org.openstreetmap.atlas.geography.sharding.Shard;
+import org.openstreetmap.atlas.geography.sharding.Sharding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which shard task of a country emits a {@link CheckFlag}. Entities on shard borders are
+ * checked by every task whose shard they intersect, so the same flag can be produced several
+ * times. The owner of a flag is found from a location that lies on the flagged geometry (the
+ * anchor), rather than from the flag bounds which can be in a shard the flagged entities never
+ * touch. The candidate owners are the country shards every flagged entity has a location in, so
+ * that the owner task checked the entity whichever one the flag came from, or any country shard
+ * when there is no such shard. The flagged objects are taken by increasing identifier, synthetic
+ * points last, and the anchor is the first of their locations in a candidate shard. Anchors on a
+ * border belong to the shard with the smallest name. When the owner is split in cells, the owning
+ * cell is the first one all the flagged entities overlap. Every task computes the same owner, so
+ * most flags are emitted exactly once without any shuffle. Flags without a single owner, such as
+ * flags without a location in the country shards or flagged entities without a common cell, are
+ * shared: every task producing them emits them, and only those are deduplicated afterwards.
+ *
+ * @author agent
+ */
+public final class ShardOwnership
+{
+    /**
+     * What a task does with a flag it produced
+     */
+    public enum Decision
+    {
+        // The task owns the flag and emits it
+        OWN,
+        // Another task owns the flag
+        DROP,
+        // No single task owns the flag, it is emitted to be deduplicated
+        SHARE
+    }
+
+    // Flagged objects by increasing identifier, synthetic points (without identifier) last
+    private static final Comparator<FlaggedObject> ANCHOR_ORDER = Comparator
+            .comparing(ShardOwnership::isSynthetic)
+            .thenComparing(FlaggedObject::getUniqueIdentifier).thenComparing(
+                    flaggedObject -> flaggedObject.getGeometry().iterator().next().toString());
+    private static final Logger logger = LoggerFactory.getLogger(ShardOwnership.class);
+
+    private final Sharding sharding;
+    private final Set<String> countryShardNames;
+
+    private static boolean isSynthetic(final FlaggedObject flaggedObject)
+    {
+        return CheckFlag.NULL_IDENTIFIERS.equals(flaggedObject.getUniqueIdentifier());
+    }
+
+    /**
+     * Default constructor
+     *
+     * @param sharding
+     *            the {@link Sharding} of the input atlases
+     * @param countryShardNames
+     *            names of the {@link Shard}s the country has tasks for
+     */
+    public ShardOwnership(final Sharding sharding, final Set<String> countryShardNames)
+    {
+        this.sharding = sharding;
+        this.countryShardNames = countryShardNames;
+    }
+
+    /**
+     * Decides what a task does with a flag it produced. A task only checks the entities in its
+     * boundaries, so the owner among the cells of a split shard is the first cell the flagged
+     * entities all overlap, rather than the cell of the anchor which may not have checked any of
+     * them.
+     *
+     * @param task
+     *            a {@link ShardedCheckFlagsTask}
+     * @param flag
+     *            a {@link CheckFlag} produced by the task
+     * @return the {@link Decision} of the task for the flag
+     */
+    public Decision decide(final ShardedCheckFlagsTask task, final CheckFlag flag)
+    {
+        try
+        {
+            final Optional<String> owner = this.owner(flag);
+            if (!owner.isPresent())
+            {
+                return Decision.SHARE;
+            }
+            if (!task.hasShard(owner.get()))
+            {
+                return Decision.DROP;
+            }
+            if (task.getSubdivisions() <= 1)
+            {
+                return Decision.OWN;
+            }
+            return task.ownerCell(this.checkedGeometries(flag))
+                    .map(cell -> cell == task.getCell() ? Decision.OWN : Decision.DROP)
+                    .orElse(Decision.SHARE);
+        }
+        catch (final Exception e)
+        {
+            logger.debug("Unable to find the owner of flag {}.", flag.getIdentifier(), e);
+            return Decision.SHARE;
+        }
+    }
+
+    /**
+     * @param flag
+     *            a {@link CheckFlag}
+     * @return the name of the {@link Shard} owning the flag, if any of the country shards can
+     */
+    public Optional<String> owner(final CheckFlag flag)
+    {
+        final List<FlaggedObject> flaggedObjects = this.located(flag)
+                .sorted(ANCHOR_ORDER).collect(Collectors.toList());
+
+        // Any of the flagged entities may be the one the check was given, so prefer the shards
+        // all of them have a location in
+        final Set<String> commonShards = new HashSet<>(this.countryShardNames);
+        flaggedObjects.stream().filter(flaggedObject -> !isSynthetic(flaggedObject))
+                .forEach(flaggedObject -> commonShards
+                        .retainAll(this.countryShards(flaggedObject.getGeometry())));
+        final Set<String> candidates = commonShards.isEmpty() ? this.countryShardNames
+                : commonShards;
+
+        // The anchor is the first flagged location in a candidate shard
+        for (final FlaggedObject flaggedObject : flaggedObjects)
+        {
+            for (final Location location : flaggedObject.getGeometry())
+            {
+                final Optional<String> owner = StreamSupport
+                        .stream(this.sharding.shardsCovering(location).spliterator(), false)
+                        .map(Shard::getName).filter(candidates::contains)
+                        .min(Comparator.naturalOrder());
+                if (owner.isPresent())
+                {
+                    return owner;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the geometries of the flagged entities, or of the synthetic points when the flag has
+     *         no entity
+     */
+    private List<PolyLine> checkedGeometries(final CheckFlag flag)
+    {
+        final List<FlaggedObject> flaggedObjects = this.located(flag)
+                .collect(Collectors.toList());
+        final List<FlaggedObject> entities = flaggedObjects.stream()
+                .filter(flaggedObject -> !isSynthetic(flaggedObject))
+                .collect(Collectors.toList());
+        return (entities.isEmpty() ? flaggedObjects : entities).stream()
+                .map(flaggedObject -> new PolyLine(flaggedObject.getGeometry()))
+                .collect(Collectors.toList());
+    }
+
+    private Set<String> countryShards(final Iterable<Location> locations)
+    {
+        return StreamSupport.stream(locations.spliterator(), false)
+                .flatMap(location -> StreamSupport
+                        .stream(this.sharding.shardsCovering(location).spliterator(), false))
+                .map(Shard::getName).filter(this.countryShardNames::contains)
+                .collect(Collectors.toSet());
+    }
+
+    private Stream<FlaggedObject> located(final CheckFlag flag)
+    {
+        return flag.getFlaggedObjects().stream()
+                .filter(flaggedObject -> flaggedObject.getGeometry() != null
+                        && flaggedObject.getGeometry().iterator().hasNext());
+    }
+}
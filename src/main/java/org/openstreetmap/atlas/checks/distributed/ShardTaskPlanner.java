@@ -0,0 +1,118 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openstreetmap.atlas.checks.base.Check;
+import org.openstreetmap.atlas.geography.Rectangle;
+import org.openstreetmap.atlas.geography.sharding.Shard;
+import org.openstreetmap.atlas.utilities.scalars.Distance;
+
+/**
+ * Plans the {@link ShardedCheckFlagsTask}s of a country so that they take a similar amount of
+ * work, using the size of each shard file as an estimate of its work. Consecutive neighboring
+ * shards whose total size stays under the target size are grouped in a single task, which saves
+ * the setup and atlas loading cost of many tiny tasks. Shards larger than the target size are
+ * split into a grid of cells, each checked by its own task.
+ *
+ * @author agent
+ */
+public final class ShardTaskPlanner
+{
+    public static final int DEFAULT_MAXIMUM_SUBDIVISIONS = 4;
+    private static final Distance NEIGHBOR_TOLERANCE = Distance.ONE_METER;
+
+    private final long targetBytes;
+    private final int maximumSubdivisions;
+
+    /**
+     * Default constructor
+     *
+     * @param targetBytes
+     *            the size of shard files a task should check
+     * @param maximumSubdivisions
+     *            maximum number of rows and columns a shard can be split in
+     */
+    public ShardTaskPlanner(final long targetBytes, final int maximumSubdivisions)
+    {
+        this.targetBytes = Math.max(1L, targetBytes);
+        this.maximumSubdivisions = Math.max(1, maximumSubdivisions);
+    }
+
+    /**
+     * Plans the tasks of a country.
+     *
+     * @param country
+     *            the country of the shards
+     * @param shards
+     *            the {@link Shard}s of the country, in a spatially coherent order
+     * @param shardSizes
+     *            size of each shard file in bytes, keyed by shard name. Missing shards are
+     *            considered empty.
+     * @param checks
+     *            the {@link Check}s to run
+     * @return the {@link ShardedCheckFlagsTask}s, in the order of the shards
+     */
+    public List<ShardedCheckFlagsTask> plan(final String country, final List<Shard> shards,
+            final Map<String, Long> shardSizes, final List<Check> checks)
+    {
+        final List<ShardedCheckFlagsTask> tasks = new ArrayList<>();
+        final List<Shard> group = new ArrayList<>();
+        long groupBytes = 0L;
+        for (final Shard shard : shards)
+        {
+            final long bytes = shardSizes.getOrDefault(shard.getName(), 0L);
+            if (!group.isEmpty() && (groupBytes + bytes > this.targetBytes
+                    || !this.isNeighbor(group, shard)))
+            {
+                tasks.add(this.groupTask(country, group, checks));
+                group.clear();
+                groupBytes = 0L;
+            }
+            if (bytes > this.targetBytes)
+            {
+                final int subdivisions = this.subdivisions(bytes);
+                for (int cell = 0; cell < subdivisions * subdivisions; cell++)
+                {
+                    tasks.add(subdivisions > 1
+                            ? new ShardedCheckFlagsTask(country, shard, checks, subdivisions, cell)
+                            : new ShardedCheckFlagsTask(country, shard, checks));
+                }
+            }
+            else
+            {
+                group.add(shard);
+                groupBytes += bytes;
+            }
+        }
+        if (!group.isEmpty())
+        {
+            tasks.add(this.groupTask(country, group, checks));
+        }
+        return tasks;
+    }
+
+    private ShardedCheckFlagsTask groupTask(final String country, final List<Shard> group,
+            final List<Check> checks)
+    {
+        return group.size() == 1 ? new ShardedCheckFlagsTask(country, group.get(0), checks)
+                : new ShardedCheckFlagsTask(country, new ArrayList<>(group), checks);
+    }
+
+    private boolean isNeighbor(final List<Shard> group, final Shard shard)
+    {
+        final Rectangle bounds = shard.bounds().expand(NEIGHBOR_TOLERANCE);
+        return group.stream().anyMatch(member -> member.bounds().overlaps(bounds));
+    }
+
+    /**
+     * @return the number of rows and columns to split a shard in, so that each cell is close to
+     *         the target size
+     */
+    private int subdivisions(final long bytes)
+    {
+        final int subdivisions = (int) Math.ceil(Math.sqrt((double) bytes / this.targetBytes));
+        return Math.max(1, Math.min(this.maximumSubdivisions, subdivisions));
+    }
+}
@@ -1,14 +1,26 @@
 package org.openstreetmap.atlas.checks.distributed;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.openstreetmap.atlas.checks.base.Check;
 import org.openstreetmap.atlas.event.EventService;
+import org.openstreetmap.atlas.geography.Latitude;
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.Longitude;
+import org.openstreetmap.atlas.geography.PolyLine;
+import org.openstreetmap.atlas.geography.Polygon;
+import org.openstreetmap.atlas.geography.Rectangle;
 import org.openstreetmap.atlas.geography.sharding.Shard;
 
 /**
- * Meta data holder for sharded flag generation task
+ * Meta data holder for sharded flag generation task. A task usually checks a single shard. Sparse
+ * neighboring shards can be grouped in a single task, and a dense shard can be split into a grid
+ * of cells, each checked by its own task.
  *
  * @author jklamer
  */
@@ -17,12 +29,92 @@ public class ShardedCheckFlagsTask implements Serializable
     private final List<Check> checks;
     private final String country;
     private final Shard shard;
+    // All the shards checked by the task, starting with the main shard
+    private final List<Shard> shards;
+    // Number of rows and columns of the grid the shard is split in, and the cell of this task
+    private final int subdivisions;
+    private final int cell;
 
     public ShardedCheckFlagsTask(final String country, final Shard shard, final List<Check> checks)
+    {
+        this(country, Collections.singletonList(shard), checks, 1, 0);
+    }
+
+    /**
+     * Constructs a task checking a group of shards
+     *
+     * @param country
+     *            country of the shards
+     * @param shards
+     *            the {@link Shard}s to check, at least one
+     * @param checks
+     *            the {@link Check}s to run
+     */
+    public ShardedCheckFlagsTask(final String country, final List<Shard> shards,
+            final List<Check> checks)
+    {
+        this(country, shards, checks, 1, 0);
+    }
+
+    /**
+     * Constructs a task checking one cell of a shard split into a grid
+     *
+     * @param country
+     *            country of the shard
+     * @param shard
+     *            the {@link Shard} to check
+     * @param checks
+     *            the {@link Check}s to run
+     * @param subdivisions
+     *            number of rows and columns of the grid
+     * @param cell
+     *            index of the cell to check, row by row from the south west corner
+     */
+    public ShardedCheckFlagsTask(final String country, final Shard shard, final List<Check> checks,
+            final int subdivisions, final int cell)
+    {
+        this(country, Collections.singletonList(shard), checks, subdivisions, cell);
+    }
+
+    private ShardedCheckFlagsTask(final String country, final List<Shard> shards,
+            final List<Check> checks, final int subdivisions, final int cell)
     {
         this.country = country;
-        this.shard = shard;
+        this.shard = shards.get(0);
+        this.shards = shards;
         this.checks = checks;
+        this.subdivisions = subdivisions;
+        this.cell = cell;
+    }
+
+    /**
+     * @return the {@link Rectangle} covering the area checked by the task
+     */
+    public Rectangle bounds()
+    {
+        if (this.subdivisions > 1)
+        {
+            return this.cellBounds(this.cell);
+        }
+        return Rectangle.forLocated(
+                this.shards.stream().map(Shard::bounds).collect(Collectors.toList()));
+    }
+
+    /**
+     * @return the {@link Polygon}s covering the area checked by the task, to filter its entities
+     */
+    public List<Polygon> getBoundaries()
+    {
+        if (this.subdivisions > 1)
+        {
+            return Collections.singletonList(this.cellBounds(this.cell));
+        }
+        return this.shards.stream().map(Shard::bounds).collect(Collectors.toList());
+    }
+
+    public int getCell()
+    {
+        return this.cell;
     }
 
     public List<Check> getChecks()
@@ -40,13 +132,83 @@ public class ShardedCheckFlagsTask implements Serializable
         return EventService.get(this.getUniqueTaskIdentifier());
     }
 
+    /**
+     * @return the name of the task, made of its main shard name, the number of other shards
+     *         grouped with it if any, and its cell if any. The name is used in file names, so it is
+     *         bounded whatever the size of the group. Shards belong to a single group, so the name
+     *         is still unique in the country.
+     */
+    public String getName()
+    {
+        final String name = this.shards.size() > 1
+                ? String.format("%s+%s", this.shard.getName(), this.shards.size() - 1)
+                : this.shard.getName();
+        return this.subdivisions > 1 ? String.format("%s_%sof%s", name, this.cell,
+                this.subdivisions * this.subdivisions) : name;
+    }
+
     public Shard getShard()
     {
         return this.shard;
     }
 
+    public List<Shard> getShards()
+    {
+        return this.shards;
+    }
+
+    public int getSubdivisions()
+    {
+        return this.subdivisions;
+    }
+
     public String getUniqueTaskIdentifier()
     {
-        return this.country + "_" + this.shard.getName();
+        return this.country + "_" + this.getName();
+    }
+
+    /**
+     * @param shardName
+     *            name of a {@link Shard}
+     * @return {@code true} if the task checks the shard, or a cell of it
+     */
+    public boolean hasShard(final String shardName)
+    {
+        return this.shards.stream().anyMatch(member -> member.getName().equals(shardName));
+    }
+
+    /**
+     * Finds the cell of the split shard that owns a flag. A cell only checks the entities in its
+     * bounds, so the owner is the first cell overlapping all the given geometries, meaning the
+     * cell that checked whichever of them the flag came from.
+     *
+     * @param geometries
+     *            the geometries of the entities the flag may come from
+     * @return the index of the owning cell, if any cell overlaps all the geometries
+     */
+    public Optional<Integer> ownerCell(final List<PolyLine> geometries)
+    {
+        return IntStream.range(0, this.subdivisions * this.subdivisions)
+                .filter(index -> geometries.stream()
+                        .allMatch(geometry -> this.cellBounds(index).overlaps(geometry)))
+                .boxed().findFirst();
+    }
+
+    private Rectangle cellBounds(final int index)
+    {
+        final Rectangle bounds = this.shard.bounds();
+        final double south = bounds.lowerLeft().getLatitude().asDegrees();
+        final double west = bounds.lowerLeft().getLongitude().asDegrees();
+        final double height = (bounds.upperRight().getLatitude().asDegrees() - south)
+                / this.subdivisions;
+        final double width = (bounds.upperRight().getLongitude().asDegrees() - west)
+                / this.subdivisions;
+        final int row = index / this.subdivisions;
+        final int column = index % this.subdivisions;
+        return Rectangle.forCorners(
+                new Location(Latitude.degrees(south + row * height),
+                        Longitude.degrees(west + column * width)),
+                new Location(Latitude.degrees(south + (row + 1) * height),
+                        Longitude.degrees(west + (column + 1) * width)));
     }
 }
@@ -3,33 +3,43 @@ package org.openstreetmap.atlas.checks.distributed;
 import static org.openstreetmap.atlas.checks.distributed.IntegrityCheckSparkJob.METRICS_FILENAME;
 
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.FlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.api.java.function.VoidFunction;
 import org.apache.spark.broadcast.Broadcast;
+import org.apache.spark.sql.Encoders;
+import org.apache.spark.sql.SaveMode;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.storage.StorageLevel;
 import org.openstreetmap.atlas.checks.base.Check;
 import org.openstreetmap.atlas.checks.base.CheckResourceLoader;
 import org.openstreetmap.atlas.checks.base.ExternalDataFetcher;
 import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
 import org.openstreetmap.atlas.checks.constants.CommonConstants;
+import org.openstreetmap.atlas.checks.event.CheckFlagBinaryProcessor;
 import org.openstreetmap.atlas.checks.event.CheckFlagEvent;
 import org.openstreetmap.atlas.checks.event.CheckFlagFileProcessor;
 import org.openstreetmap.atlas.checks.event.CheckFlagGeoJsonProcessor;
 import org.openstreetmap.atlas.checks.event.CheckFlagTippecanoeProcessor;
+import org.openstreetmap.atlas.checks.event.MetricEvent;
 import org.openstreetmap.atlas.checks.event.MetricFileGenerator;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
+import org.openstreetmap.atlas.checks.utility.HilbertCurve;
 import org.openstreetmap.atlas.checks.utility.UniqueCheckFlagContainer;
 import org.openstreetmap.atlas.event.EventService;
 import org.openstreetmap.atlas.event.Processor;
@@ -65,6 +75,7 @@ import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.Subscribe;
 
 import scala.Serializable;
+import scala.Tuple2;
 
 /**
  * A spark job for generating integrity checks in a sharded fashion. This allows for a lower local
@@ -90,6 +101,15 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
     private static final Switch<Boolean> MULTI_ATLAS = new Switch<>("multiAtlas",
             "If true then use a multi atlas, else use a dynamic atlas. This works better for running on a single machine",
             Boolean::getBoolean, Optionality.OPTIONAL, "false");
+    private static final Switch<Integer> TASKS_PER_PARTITION = new Switch<>("tasksPerPartition",
+            "Number of neighboring shard tasks grouped in each spark partition",
+            Integer::valueOf, Optionality.OPTIONAL, "1");
+    private static final Switch<Long> TARGET_TASK_MEGABYTES = new Switch<>("targetTaskMegabytes",
+            "If set, shards are planned into tasks of about this size of atlas files: smaller neighboring shards are grouped and larger shards are split",
+            Long::valueOf, Optionality.OPTIONAL);
+    private static final Switch<Long> SHARD_CACHE_MEGABYTES = new Switch<>("shardCacheMegabytes",
+            "Size in megabytes of the serialized shard atlases each executor keeps loaded for the following tasks, 0 to disable",
+            Long::valueOf, Optionality.OPTIONAL, "0");
 
     private static final Long POOL_MINUTES_BEFORE_KILL = 1440L;
     private static final Logger logger = LoggerFactory
@@ -172,6 +192,7 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
         {
             throw new CoreException("No countries found to run.");
         }
+        final Set<String> checkNames = new HashSet<>();
         for (final String country : countries)
         {
             final Set<Check> checksLoadedForCountry = checkLoader.loadChecksForCountry(country);
@@ -182,6 +203,7 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
             else
             {
                 checksLoadedForCountry.forEach(check -> this.countryChecks.add(country, check));
+                checksLoadedForCountry.forEach(check -> checkNames.add(check.getCheckName()));
             }
         }
         if (this.countryChecks.isEmpty())
@@ -189,6 +211,13 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
             throw new CoreException("No checks loaded for any of the countries provided.");
         }
 
+        // Read the run times of the checks that are going to run
+        final CheckRunTimeHistory runTimeHistory = ((Optional<String>) commandMap
+                .getOption(RUN_TIME_HISTORY))
+                        .map(historyFolder -> CheckRunTimeHistory.load(historyFolder,
+                                sparkContext, checkNames))
+                        .orElse(CheckRunTimeHistory.empty());
+
         // Find the shards for each country atlas files
         final MultiMap<String, Shard> countryShards = countryShardMapFromShardFiles(
                 countries.stream().collect(Collectors.toSet()), input, sparkContext);
@@ -207,6 +236,17 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
                     input, missingCountries);
         }
 
+        // Shard file sizes are used to plan tasks of balanced sizes and to estimate their memory
+        final Optional<Long> targetTaskMegabytes = (Optional<Long>) commandMap
+                .getOption(TARGET_TASK_MEGABYTES);
+        final long memoryBudgetBytes = (Long) commandMap.get(MEMORY_BUDGET_MEGABYTES)
+                * BYTES_PER_MEGABYTE;
+        final Map<String, Map<String, Long>> countryShardSizes = targetTaskMegabytes.isPresent()
+                || memoryBudgetBytes > 0
+                        ? countryShardSizesFromShardFiles(countryShards.keySet(), input,
+                                sparkContext)
+                        : Collections.emptyMap();
+
         // Countrify spark parallelization for better debugging
         try (Pool checkPool = new Pool(countryShards.size(), "Countries Execution Pool",
                 maxPoolDuration))
@@ -216,22 +256,64 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
                 checkPool.queue(() ->
                 {
                     final String country = countryShard.getKey();
-                    // Generate a task for each shard
-                    final List<ShardedCheckFlagsTask> tasksForCountry = countryShard
-                            .getValue().stream().map(shard -> new ShardedCheckFlagsTask(country,
-                                    shard, this.countryChecks.get(country)))
+                    final Map<String, Long> shardSizes = countryShardSizes.getOrDefault(country,
+                            Collections.emptyMap());
+                    final Set<String> countryShardNames = countryShard.getValue().stream()
+                            .map(Shard::getName).collect(Collectors.toCollection(HashSet::new));
+                    // Order the shards along a Hilbert curve so that neighboring shards end up
+                    // in the same or in consecutive tasks and partitions
+                    final List<Shard> orderedShards = countryShard.getValue().stream()
+                            .sorted(Comparator.comparingLong(
+                                    shard -> HilbertCurve.index(shard.bounds().center())))
                             .collect(Collectors.toList());
+                    // Generate a task for each shard, or for each planned group or cell
+                    final List<ShardedCheckFlagsTask> tasksForCountry = targetTaskMegabytes
+                            .map(megabytes -> new ShardTaskPlanner(
+                                    megabytes * BYTES_PER_MEGABYTE,
+                                    ShardTaskPlanner.DEFAULT_MAXIMUM_SUBDIVISIONS).plan(country,
+                                            orderedShards, shardSizes,
+                                            this.countryChecks.get(country)))
+                            .orElseGet(() -> orderedShards.stream()
+                                    .map(shard -> new ShardedCheckFlagsTask(country, shard,
+                                            this.countryChecks.get(country)))
+                                    .collect(Collectors.toList()));
+                    final int tasksPerPartition = Math.max(1,
+                            (Integer) commandMap.get(TASKS_PER_PARTITION));
 
                     // Set spark UI job title
                     this.getContext().setLocalProperty("callSite.short", String
                             .format("Running checks on %s", tasksForCountry.get(0).getCountry()));
 
-                    this.getContext().parallelize(tasksForCountry, tasksForCountry.size())
+                    final JavaRDD<Tuple2<Boolean, UniqueCheckFlagContainer>> producedFlags = this
+                            .getContext().parallelize(tasksForCountry,
+                                    (tasksForCountry.size() + tasksPerPartition - 1)
+                                            / tasksPerPartition)
                             .flatMap(this.produceFlags(input, output, this.configurationMap(),
                                     fileHelper, shardingBroadcast, distanceToLoadShards,
-                                    (Boolean) commandMap.get(MULTI_ATLAS)))
-                            .distinct().map(UniqueCheckFlagContainer::getEvent).foreachPartition(
-                                    this.processFlags(output, fileHelper, outputFormats, country));
+                                    (Boolean) commandMap.get(MULTI_ATLAS),
+                                    (Boolean) commandMap.get(FUSED_CHECKS),
+                                    (Boolean) commandMap.get(PARALLEL_CHECKS),
+                                    runTimeHistory, checkBudget(commandMap),
+                                    countryShardNames,
+                                    (Long) commandMap.get(SHARD_CACHE_MEGABYTES)
+                                            * BYTES_PER_MEGABYTE,
+                                    shardSizes, memoryBudgetBytes,
+                                    (Long) commandMap.get(GEOMETRY_CACHE_LOCATIONS)));
+                    // Keep the flags, instead of running the checks again for each use
+                    producedFlags.persist(StorageLevel.MEMORY_AND_DISK_SER());
+                    // Shared flags are emitted by every task producing them, so only those are
+                    // deduplicated
+                    final JavaRDD<UniqueCheckFlagContainer> flags = producedFlags
+                            .filter(flag -> !flag._1()).map(Tuple2::_2)
+                            .union(producedFlags.filter(Tuple2::_1).map(Tuple2::_2).distinct());
+                    flags.map(UniqueCheckFlagContainer::getEvent).foreachPartition(this
+                            .processFlags(output, fileHelper, sparkContext, outputFormats,
+                                    country));
+                    if (outputFormats.contains(OutputFormats.PARQUET))
+                    {
+                        this.writeParquet(flags, output, country);
+                    }
+                    producedFlags.unpersist();
                 });
             }
         }
@@ -242,12 +324,14 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
     @Override
     protected SwitchList switches()
     {
-        return super.switches().with(EXPANSION_DISTANCE, MULTI_ATLAS, SHARDING);
+        return super.switches().with(EXPANSION_DISTANCE, MULTI_ATLAS, SHARDING,
+                SHARD_CACHE_MEGABYTES, TASKS_PER_PARTITION, TARGET_TASK_MEGABYTES);
     }
 
     /**
      * Get the fetcher to use for Atlas files. The fetcher uses a hadoop cache to reduce remote
-     * reads.
+     * reads. When given a size, loaded atlases are also kept in the {@link ShardAtlasCache} of the
+     * executor, to be reused by the following tasks.
      *
      * @param input
      *            {@link String} input folder path
@@ -255,12 +339,20 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
      *            {@link String} country code
      * @param configuration
      *            {@link org.openstreetmap.atlas.generator.tools.spark.SparkJob} configuration map
+     * @param shardCacheBytes
+     *            maximum size in bytes of the executor {@link ShardAtlasCache}, 0 to disable it
      * @return {@link Function} that fetches atlases/
      */
     private Function<Shard, Optional<Atlas>> atlasFetcher(final String input, final String country,
-            final Map<String, String> configuration)
+            final Map<String, String> configuration, final long shardCacheBytes)
     {
         final HadoopAtlasFileCache cache = new HadoopAtlasFileCache(input, configuration);
+        if (shardCacheBytes > 0)
+        {
+            return (Function<Shard, Optional<Atlas>> & Serializable) shard -> ShardAtlasCache
+                    .executorCache(shardCacheBytes)
+                    .get(country, shard, key -> cache.get(country, key));
+        }
         final AtlasResourceLoader loader = new AtlasResourceLoader();
         return (Function<Shard, Optional<Atlas>> & Serializable) shard -> cache.get(country, shard)
                 .map(loader::load);
@@ -274,6 +366,8 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
      *            {@link String} output folder path
      * @param fileHelper
      *            {@link SparkFileHelper}
+     * @param configuration
+     *            file system configuration of the output
      * @param outputFormats
      *            {@link Set} of
      *            {@link org.openstreetmap.atlas.checks.distributed.IntegrityChecksCommandArguments.OutputFormats}
@@ -283,8 +377,8 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
      */
     @SuppressWarnings("unchecked")
     private VoidFunction<Iterator<CheckFlagEvent>> processFlags(final String output,
-            final SparkFileHelper fileHelper, final Set<OutputFormats> outputFormats,
-            final String country)
+            final SparkFileHelper fileHelper, final Map<String, String> configuration,
+            final Set<OutputFormats> outputFormats, final String country)
     {
         return iterator ->
         {
@@ -297,11 +391,19 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
                         SparkFileHelper.combine(output, OUTPUT_FLAG_FOLDER, country)));
             }
 
+            if (outputFormats.contains(OutputFormats.BINARY_FLAGS))
+            {
+                eventService.register(new CheckFlagBinaryProcessor(
+                        SparkFileHelper.combine(output, OUTPUT_BINARY_FLAG_FOLDER, country),
+                        configuration));
+            }
+
             if (outputFormats.contains(OutputFormats.GEOJSON))
             {
 
                 eventService.register(new CheckFlagGeoJsonProcessor(fileHelper,
-                        SparkFileHelper.combine(output, OUTPUT_GEOJSON_FOLDER, country)));
+                        SparkFileHelper.combine(output, OUTPUT_GEOJSON_FOLDER, country),
+                        configuration));
             }
 
             if (outputFormats.contains(OutputFormats.TIPPECANOE))
@@ -333,86 +435,193 @@ public class ShardedIntegrityChecksSparkJob extends IntegrityChecksCommandArgume
      *            {@link Distance} to expand the shard group
      * @param multiAtlas
      *            boolean whether to use a multi or dynamic Atlas
+     * @param fused
+     *            boolean whether to iterate the Atlas once for groups of checks
+     * @param parallel
+     *            boolean whether parallel safe checks process their objects in parallel
+     * @param runTimeHistory
+     *            {@link CheckRunTimeHistory} to schedule the checks with
+     * @param budget
+     *            {@link CheckBudget} each check is abandoned after
+     * @param countryShardNames
+     *            names of all the {@link Shard}s of the country, to decide which task emits a
+     *            flag with {@link ShardOwnership}
+     * @param shardCacheBytes
+     *            maximum size in bytes of the executor {@link ShardAtlasCache}, 0 to disable it
+     * @param shardSizes
+     *            size in bytes of the atlas file of each shard of the country, keyed by shard name
+     * @param memoryBudgetBytes
+     *            maximum estimated memory of the atlases loaded at once by the executor
+     *            {@link AtlasMemoryBudget}, 0 to disable it
+     * @param geometryCacheLocations
+     *            maximum number of locations kept by the {@link GeometryCache} of the atlas
      * @return {@link FlatMapFunction} that takes {@link ShardedCheckFlagsTask} and returns a
-     *         {@link Iterator} of {@link UniqueCheckFlagContainer}s
+     *         {@link Iterator} of {@link UniqueCheckFlagContainer}s, each with whether it is
+     *         shared with other tasks
      */
     @SuppressWarnings("unchecked")
-    private FlatMapFunction<ShardedCheckFlagsTask, UniqueCheckFlagContainer> produceFlags(
+    private FlatMapFunction<ShardedCheckFlagsTask, Tuple2<Boolean, UniqueCheckFlagContainer>> produceFlags(
             final String input, final String output, final Map<String, String> configurationMap,
             final SparkFileHelper fileHelper, final Broadcast<Sharding> sharding,
-            final Distance shardDistanceExpansion, final boolean multiAtlas)
+            final Distance shardDistanceExpansion, final boolean multiAtlas,
+            final boolean fused, final boolean parallel,
+            final CheckRunTimeHistory runTimeHistory, final CheckBudget budget,
+            final Set<String> countryShardNames, final long shardCacheBytes,
+            final Map<String, Long> shardSizes, final long memoryBudgetBytes,
+            final long geometryCacheLocations)
     {
         return task ->
         {
-            // Get the atlas
-            final Function<Shard, Optional<Atlas>> fetcher = this.atlasFetcher(input,
-                    task.getCountry(), configurationMap);
-            final Atlas atlas;
-
-            // Use dynamic or multi atlas (multi runs faster locally)
-            if (multiAtlas)
+            GeometryCache.setMaximumLocations(geometryCacheLocations);
+            // Wait until the expanded atlas of the task fits in the memory budget of the executor
+            final long sourceSize = StreamSupport
+                    .stream(sharding.getValue()
+                            .shards(task.bounds().expand(shardDistanceExpansion)).spliterator(),
+                            false)
+                    .mapToLong(shard -> shardSizes.getOrDefault(shard.getName(), 0L)).sum();
+            final AtlasMemoryBudget.Reservation reservation = memoryBudgetBytes > 0
+                    ? AtlasMemoryBudget.executorBudget(memoryBudgetBytes)
+                            .acquire(AtlasMemoryBudget.estimate(sourceSize))
+                    : null;
+            try
             {
-                atlas = new MultiAtlas(
-                        StreamSupport
-                                .stream(sharding.getValue()
-                                        .shards(task.getShard().bounds()
-                                                .expand(shardDistanceExpansion))
-                                        .spliterator(), true)
-                                .map(fetcher).filter(Optional::isPresent).map(Optional::get)
-                                .collect(Collectors.toList()));
-            }
-            else
-            {
-                final DynamicAtlasPolicy policy = new DynamicAtlasPolicy(fetcher,
-                        sharding.getValue(), Collections.singleton(task.getShard()),
-                        task.getShard().bounds().expand(shardDistanceExpansion))
-                                .withDeferredLoading(true).withAggressivelyExploreRelations(true)
-                                .withExtendIndefinitely(false);
-                atlas = new DynamicAtlas(policy);
-                ((DynamicAtlas) atlas).preemptiveLoad();
-            }
+                // Get the atlas
+                final Function<Shard, Optional<Atlas>> fetcher = this.atlasFetcher(input,
+                        task.getCountry(), configurationMap, shardCacheBytes);
+                final Atlas atlas;
 
-            final AtlasEntityPolygonsFilter boundaryFilter = AtlasEntityPolygonsFilter.Type.INCLUDE
-                    .polygons(Collections.singleton(task.getShard().bounds()));
+                // Use dynamic or multi atlas (multi runs faster locally)
+                if (multiAtlas)
+                {
+                    atlas = new MultiAtlas(
+                            StreamSupport
+                                    .stream(sharding.getValue()
+                                            .shards(task.bounds().expand(shardDistanceExpansion))
+                                            .spliterator(), true)
+                                    .map(fetcher).filter(Optional::isPresent).map(Optional::get)
+                                    .collect(Collectors.toList()));
+                }
+                else
+                {
+                    final DynamicAtlasPolicy policy = new DynamicAtlasPolicy(fetcher,
+                            sharding.getValue(), new HashSet<>(task.getShards()),
+                            task.bounds().expand(shardDistanceExpansion))
+                                    .withDeferredLoading(true)
+                                    .withAggressivelyExploreRelations(true)
+                                    .withExtendIndefinitely(false);
+                    atlas = new DynamicAtlas(policy);
+                    ((DynamicAtlas) atlas).preemptiveLoad();
+                }
+                if (reservation != null)
+                {
+                    reservation.resize(AtlasMemoryBudget.estimate(atlas, sourceSize));
+                }
 
-            // Prepare the event service
-            final EventService eventService = task.getEventService();
-            final Queue<UniqueCheckFlagContainer> container = new ConcurrentLinkedQueue<>();
-            eventService.register(new Processor<CheckFlagEvent>()
-            {
-                @Override
-                public void process(final ShutdownEvent event)
+                final AtlasEntityPolygonsFilter boundaryFilter = AtlasEntityPolygonsFilter.Type
+                        .INCLUDE.polygons(task.getBoundaries());
+
+                // Only keep the flags this task owns or shares, so border flags are emitted once
+                final ShardOwnership ownership = new ShardOwnership(sharding.getValue(),
+                        countryShardNames);
+
+                // Prepare the event service
+                final EventService eventService = task.getEventService();
+                final Set<Tuple2<Boolean, UniqueCheckFlagContainer>> container = ConcurrentHashMap
+                        .newKeySet();
+                eventService.register(new Processor<CheckFlagEvent>()
+                {
+                    @Override
+                    public void process(final ShutdownEvent event)
+                    {
+                        // no-op
+                    }
+
+                    @Override
+                    @Subscribe
+                    @AllowConcurrentEvents
+                    public void process(final CheckFlagEvent event)
+                    {
+                        final ShardOwnership.Decision decision = ownership.decide(task,
+                                event.getCheckFlag());
+                        if (decision != ShardOwnership.Decision.DROP)
+                        {
+                            container.add(new Tuple2<>(decision == ShardOwnership.Decision.SHARE,
+                                    new UniqueCheckFlagContainer(event)));
+                        }
+                    }
+                });
+                // Metrics are output on a per shard level
+                final MetricFileGenerator metricFileGenerator = new MetricFileGenerator(
+                        task.getName() + "_" + METRICS_FILENAME, fileHelper,
+                        SparkFileHelper.combine(output, OUTPUT_METRIC_FOLDER, task.getCountry()));
+                eventService.register(metricFileGenerator);
+                if (reservation != null)
                 {
-                    // no-op
+                    eventService.post(new MetricEvent(AtlasMemoryBudget.WAIT_METRIC_NAME,
+                            reservation.waitTime()));
                 }
 
-                @Override
-                @Subscribe
-                @AllowConcurrentEvents
-                public void process(final CheckFlagEvent event)
+                // Run all checks in parallel, longest first
+                final List<Runnable> runnableChecks = runnableChecks(atlas, task.getChecks(),
+                        boundaryFilter, fused, runTimeHistory,
+                        (check, objects) -> new RunnableCheck(task.getCountry(), check, objects,
+                                eventService).withParallelExecution(parallel)
+                                        .withBudget(budget));
+                try (Pool checkPool = new Pool(runTimeHistory.poolSize(runnableChecks.size()),
+                        "Sharded Checks Execution Pool"))
                 {
-                    container.add(new UniqueCheckFlagContainer(event));
+                    runnableChecks.forEach(checkPool::queue);
                 }
-            });
-            // Metrics are output on a per shard level
-            final MetricFileGenerator metricFileGenerator = new MetricFileGenerator(
-                    task.getShard().getName() + "_" + METRICS_FILENAME, fileHelper,
-                    SparkFileHelper.combine(output, OUTPUT_METRIC_FOLDER, task.getCountry()));
-            eventService.register(metricFileGenerator);
-
-            // Run all checks in parallel
-            try (Pool checkPool = new Pool(task.getChecks().size(),
-                    "Sharded Checks Execution Pool"))
+                // The checks of the shard are done with its geometries
+                GeometryCache.release(atlas).ifPresent(cache -> logger.info(
+                        "Geometry cache after {}: {}", task.getUniqueTaskIdentifier(), cache));
+
+                eventService.complete();
+                if (shardCacheBytes > 0)
+                {
+                    logger.info("Shard atlas cache after {}: {}", task.getUniqueTaskIdentifier(),
+                            ShardAtlasCache.executorCache(shardCacheBytes));
+                }
+                return container.iterator();
+            }
+            finally
             {
-                for (final Check check : task.getChecks())
+                if (reservation != null)
                 {
-                    checkPool.queue(new RunnableCheck(task.getCountry(), check,
-                            objectsToCheck(atlas, check, boundaryFilter), eventService));
+                    reservation.close();
+                    logger.info("Atlas memory budget after {}: {}",
+                            task.getUniqueTaskIdentifier(),
+                            AtlasMemoryBudget.executorBudget(memoryBudgetBytes));
                 }
             }
-
-            eventService.complete();
-            return container.iterator();
         };
     }
+
+    /**
+     * Writes the flags of a country as a Parquet dataset of {@link CheckFlagRecord}s, partitioned
+     * by check. Each country is written to its own {@code country=<ISO>} directory, so that the
+     * countries running at the same time do not share a committer, and the output folder reads as
+     * a single dataset partitioned by country and check. Queries on either partition, or on the
+     * bounds columns, then only scan the files they need.
+     *
+     * @param flags
+     *            the flags of the country
+     * @param output
+     *            {@link String} output folder path
+     * @param country
+     *            {@link String} ISO code for the country being processed
+     */
+    private void writeParquet(final JavaRDD<UniqueCheckFlagContainer> flags, final String output,
+            final String country)
+    {
+        // The session shares the active context of the job
+        SparkSession.builder().getOrCreate()
+                .createDataset(flags
+                        .map(container -> CheckFlagRecord.from(country, container.getEvent()))
+                        .rdd(), Encoders.bean(CheckFlagRecord.class))
+                .drop(CheckFlagRecord.COUNTRY).write().mode(SaveMode.Overwrite)
+                .partitionBy(CheckFlagRecord.CHECK)
+                .parquet(SparkFileHelper.combine(output, OUTPUT_PARQUET_FOLDER,
+                        CheckFlagRecord.COUNTRY + "=" + country));
+    }
 }
@@ -0,0 +1,118 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.utilities.tuples.Tuple;
+
+/**
+ * A {@link RecursiveAction} that processes {@link AtlasObject}s in parallel on a
+ * {@link ForkJoinPool}. The objects are first sorted along a Z-order (Morton) curve of their
+ * bounds centers, then split recursively into contiguous chunks, so that each chunk covers a
+ * spatially coherent region and the threads mostly touch different parts of the atlas.
+ *
+ * @author agent
+ */
+public final class SpatialPartitionTask extends RecursiveAction
+{
+    // Objects processed by a leaf task
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    private static final int BITS_PER_DIMENSION = 16;
+    private static final double CELLS_PER_DIMENSION = 1 << BITS_PER_DIMENSION;
+    private static final double MAXIMUM_LATITUDE = 90.0;
+    private static final double MAXIMUM_LONGITUDE = 180.0;
+    private static final long serialVersionUID = -5322532453432931096L;
+
+    private final transient List<AtlasObject> objects;
+    private final int start;
+    private final int end;
+    private final int chunkSize;
+    private final transient Consumer<AtlasObject> consumer;
+
+    /**
+     * Processes all the given objects with the consumer in parallel, blocking until done.
+     *
+     * @param objects
+     *            the {@link AtlasObject}s to process
+     * @param consumer
+     *            the {@link Consumer} to apply to each object. It needs to be thread safe.
+     * @param pool
+     *            the {@link ForkJoinPool} to run on
+     * @param chunkSize
+     *            the maximum number of objects processed by a single leaf task
+     */
+    public static void process(final Iterable<AtlasObject> objects,
+            final Consumer<AtlasObject> consumer, final ForkJoinPool pool, final int chunkSize)
+    {
+        final List<Tuple<Long, AtlasObject>> keyed = new ArrayList<>();
+        objects.forEach(object -> keyed.add(Tuple.createTuple(spatialKey(object), object)));
+        keyed.sort((left, right) -> Long.compare(left.getFirst(), right.getFirst()));
+        final List<AtlasObject> sorted = new ArrayList<>(keyed.size());
+        keyed.forEach(tuple -> sorted.add(tuple.getSecond()));
+        pool.invoke(new SpatialPartitionTask(sorted, 0, sorted.size(), Math.max(1, chunkSize),
+                consumer));
+    }
+
+    /**
+     * Computes the Z-order curve key of an object's bounds center.
+     *
+     * @param object
+     *            the {@link AtlasObject} to compute the key for
+     * @return a key where spatially close objects have close values
+     */
+    public static long spatialKey(final AtlasObject object)
+    {
+        final Location center = object.bounds().center();
+        final long xCell = cell(center.getLongitude().asDegrees(), MAXIMUM_LONGITUDE);
+        final long yCell = cell(center.getLatitude().asDegrees(), MAXIMUM_LATITUDE);
+        long key = 0L;
+        for (int bit = 0; bit < BITS_PER_DIMENSION; bit++)
+        {
+            key |= (xCell >> bit & 1L) << (2 * bit);
+            key |= (yCell >> bit & 1L) << (2 * bit + 1);
+        }
+        return key;
+    }
+
+    private static long cell(final double degrees, final double maximum)
+    {
+        final long index = (long) ((degrees + maximum) / (2 * maximum) * CELLS_PER_DIMENSION);
+        return Math.max(0L, Math.min((long) CELLS_PER_DIMENSION - 1, index));
+    }
+
+    private SpatialPartitionTask(final List<AtlasObject> objects, final int start,
+            final int end, final int chunkSize, final Consumer<AtlasObject> consumer)
+    {
+        this.objects = objects;
+        this.start = start;
+        this.end = end;
+        this.chunkSize = chunkSize;
+        this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (this.end - this.start <= this.chunkSize)
+        {
+            for (int index = this.start; index < this.end; index++)
+            {
+                this.consumer.accept(this.objects.get(index));
+            }
+        }
+        else
+        {
+            final int middle = (this.start + this.end) >>> 1;
+            invokeAll(
+                    new SpatialPartitionTask(this.objects, this.start, middle, this.chunkSize,
+                            this.consumer),
+                    new SpatialPartitionTask(this.objects, middle, this.end, this.chunkSize,
+                            this.consumer));
+        }
+    }
+}
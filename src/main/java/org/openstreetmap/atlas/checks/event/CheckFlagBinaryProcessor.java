@@ -0,0 +1,170 @@
+package org.openstreetmap.atlas.checks.event;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.spark.TaskContext;
+import org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagWriter;
+import org.openstreetmap.atlas.event.Processor;
+import org.openstreetmap.atlas.event.ShutdownEvent;
+import org.openstreetmap.atlas.exception.CoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import com.google.gson.JsonObject;
+
+/**
+ * A {@link Processor} for {@link CheckFlagEvent}s to write them into binary flag files, holding the
+ * same flags as the line delimited files of the {@link CheckFlagFileProcessor} in far fewer bytes.
+ * Flags are streamed to the open file as events arrive, and the file is rolled every
+ * {@link #FLAGS_PER_FILE} flags.
+ *
+ * @author agent
+ */
+public final class CheckFlagBinaryProcessor implements Processor<CheckFlagEvent>
+{
+    /**
+     * The default number of flags in a file
+     */
+    public static final int FLAGS_PER_FILE = 100_000;
+
+    private static final String TEMPORARY_PREFIX = "_";
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckFlagBinaryProcessor.class);
+
+    // File system of the directory, to stream files to
+    private final OutputFileSystem outputFileSystem;
+
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    // Number of flags in a file
+    private int flagsPerFile = FLAGS_PER_FILE;
+
+    // The open file and its temporary name, guarded by this processor's monitor
+    private BinaryFlagWriter writer;
+    private String temporaryName;
+
+    // Detect has written
+    private boolean hasWritten;
+
+    /**
+     * Default constructor
+     *
+     * @param outputFolder
+     *            output folder path to write files to
+     */
+    public CheckFlagBinaryProcessor(final String outputFolder)
+    {
+        this(outputFolder, Collections.emptyMap());
+    }
+
+    /**
+     * Constructs a processor writing to a file system that needs configuration
+     *
+     * @param outputFolder
+     *            output folder path to write files to
+     * @param configuration
+     *            file system configuration, as given to the SparkFileHelper
+     */
+    public CheckFlagBinaryProcessor(final String outputFolder,
+            final Map<String, String> configuration)
+    {
+        this.outputFileSystem = new OutputFileSystem(outputFolder, configuration);
+    }
+
+    @Override
+    @Subscribe
+    @AllowConcurrentEvents
+    public void process(final CheckFlagEvent event)
+    {
+        final JsonObject flag = event.toGeoJsonFeatureCollection();
+        synchronized (this)
+        {
+            try
+            {
+                if (this.writer == null)
+                {
+                    this.open();
+                }
+                this.writer.write(flag);
+                if (this.writer.getCount() >= this.flagsPerFile)
+                {
+                    this.close();
+                }
+            }
+            catch (final IOException e)
+            {
+                throw new CoreException("Could not write binary flags", e);
+            }
+        }
+    }
+
+    @Override
+    @Subscribe
+    public synchronized void process(final ShutdownEvent event)
+    {
+        try
+        {
+            if (this.writer == null && !this.hasWritten)
+            {
+                logger.warn("Writing empty binary flag file.");
+                this.open();
+            }
+            if (this.writer != null)
+            {
+                this.close();
+            }
+        }
+        catch (final Exception e)
+        {
+            logger.warn("CheckFlag binary file write is failed.", e);
+        }
+        finally
+        {
+            this.outputFileSystem.close();
+        }
+    }
+
+    /**
+     * Sets the number of flags in a file
+     *
+     * @param flagsPerFile
+     *            value to set
+     * @return the {@link CheckFlagBinaryProcessor}
+     */
+    public CheckFlagBinaryProcessor withFlagsPerFile(final int flagsPerFile)
+    {
+        this.flagsPerFile = flagsPerFile;
+        return this;
+    }
+
+    protected String getFilename(final long count)
+    {
+        final long now = new Date().getTime();
+        return String.format("%sP%s-%s%s",
+                this.lastTimestamp.updateAndGet(last -> Math.max(last + 1, now)),
+                TaskContext.getPartitionId(), count, BinaryFlagWriter.EXTENSION);
+    }
+
+    private void close() throws IOException
+    {
+        final BinaryFlagWriter closing = this.writer;
+        this.writer = null;
+        closing.close();
+        this.outputFileSystem.rename(this.temporaryName, this.getFilename(closing.getCount()));
+        this.hasWritten = true;
+    }
+
+    private void open() throws IOException
+    {
+        this.temporaryName = String.format("%s%s%s", TEMPORARY_PREFIX, UUID.randomUUID(),
+                BinaryFlagWriter.EXTENSION);
+        this.writer = new BinaryFlagWriter(this.outputFileSystem.create(this.temporaryName));
+    }
+}
@@ -14,7 +14,6 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
 import org.openstreetmap.atlas.checks.base.Check;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.checks.flag.FlaggedObject;
@@ -25,7 +24,6 @@ import org.openstreetmap.atlas.geography.geojson.GeoJsonBuilder.GeometryWithProp
 import org.openstreetmap.atlas.geography.geojson.GeoJsonObject;
 import org.openstreetmap.atlas.tags.HighwayTag;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -49,11 +47,14 @@ public final class CheckFlagEvent extends Event
     public static final String IDENTIFIERS = "identifiers";
     public static final String FIX_SUGGESTIONS = "fix_suggestions";
 
-    private static final Gson GSON = new Gson();
-
     private final String checkName;
     private final CheckFlag flag;
 
+    // The JSON shared by all the outputs, and the outputs already built, once requested
+    private transient SerializedCheckFlag serialized;
+    private transient String geoJsonFeatureCollection;
+    private transient JsonObject geoJsonFeature;
+
     /**
      * Converts give {@link CheckFlag} to {@link GeoJsonObject} with additional key-value parameters
      *
@@ -67,16 +68,69 @@ public final class CheckFlagEvent extends Event
     public static JsonObject flagToFeature(final CheckFlag flag,
             final Map<String, String> additionalProperties)
     {
+        return flagToFeature(new SerializedCheckFlag(flag), additionalProperties);
+    }
+
+    /**
+     * Converts given {@link CheckFlag} to {@link JsonObject} with additional key-value parameters
+     *
+     * @param flag
+     *            {@link CheckFlag} to convert to {@link JsonObject}
+     * @param additionalProperties
+     *            additional key-value parameters to be added in "properties" element of the
+     *            top-level JSON object
+     * @return {@link JsonObject} created from {@link CheckFlag}
+     */
+    public static JsonObject flagToJson(final CheckFlag flag,
+            final Map<String, String> additionalProperties)
+    {
+        return flagToJson(new SerializedCheckFlag(flag), additionalProperties);
+    }
+
+    /**
+     * Extracts a decorator based on the collective features properties. Currently the only
+     * decoration is the highest class highway tag withing all of the feature properties for flags
+     * involving Edges.
+     */
+    private static Optional<String> featureDecorator(final JsonArray featureProperties)
+    {
+        HighwayTag highestHighwayTag = null;
+        for (final JsonElement featureProperty : featureProperties)
+        {
+            final HighwayTag baslineHighwayTag = highestHighwayTag == null ? HighwayTag.NO
+                    : highestHighwayTag;
+            try
+            {
+                highestHighwayTag = Optional
+                        .ofNullable(
+                                ((JsonObject) featureProperty).getAsJsonPrimitive(HighwayTag.KEY))
+                        .map(JsonPrimitive::getAsString).map(String::toUpperCase)
+                        .map(HighwayTag::valueOf).filter(baslineHighwayTag::isLessImportantThan)
+                        .orElse(highestHighwayTag);
+            }
+            catch (final IllegalArgumentException badValue)
+            {
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(highestHighwayTag)
+                .map(tag -> String.format("%s=%s", HighwayTag.KEY, tag.getTagValue()));
+    }
+
+    private static JsonObject flagToFeature(final SerializedCheckFlag serialized,
+            final Map<String, String> additionalProperties)
+    {
+        final CheckFlag flag = serialized.getFlag();
         final JsonObject flagProperties = new JsonObject();
-        flagProperties.addProperty(INSTRUCTIONS, flag.getInstructions());
+        flagProperties.addProperty(INSTRUCTIONS, serialized.getInstructions());
 
         // Add additional properties
         additionalProperties.forEach(flagProperties::addProperty);
 
         final JsonObject feature;
-        final List<GeometryWithProperties> geometriesWithProperties = flag
-                .getGeometryWithProperties();
-        final Set<FlaggedObject> flaggedRelations = flag.getFlaggedRelations();
+        final List<GeometryWithProperties> geometriesWithProperties = serialized
+                .getGeometriesWithProperties();
+        final Set<FlaggedObject> flaggedRelations = serialized.getFlaggedRelations();
         final JsonArray geometriesJsonArray;
         final JsonArray featureProperties = new JsonArray();
         final Set<JsonElement> featureOsmIds = new HashSet<>();
@@ -117,8 +171,8 @@ public final class CheckFlagEvent extends Event
                 feature.addProperty(TYPE, "Feature");
             }
             // Get flagged relations as GeoJson features
-            final List<JsonObject> flaggedRelationFeatures = getFlaggedRelationsGeojsonFeatures(
-                    flag);
+            final List<JsonObject> flaggedRelationFeatures = serialized
+                    .getFlaggedRelationFeatures();
             if (flaggedRelations.size() == 1 && !feature.has(GEOMETRY))
             {
                 feature.add(GEOMETRY, flaggedRelationFeatures.get(0).get(GEOMETRY));
@@ -151,35 +205,26 @@ public final class CheckFlagEvent extends Event
         flagProperties.add("feature_properties", featureProperties);
         flagProperties.add("feature_osmids", uniqueFeatureOsmIds);
         flagProperties.addProperty("feature_count", featureProperties.size());
-        flagProperties.add(IDENTIFIERS, GSON.toJsonTree(flag.getUniqueIdentifiers()));
-        flagProperties.add(FIX_SUGGESTIONS, getFixSuggestionDescriptions(flag));
+        flagProperties.add(IDENTIFIERS, serialized.getIdentifiers());
+        flagProperties.add(FIX_SUGGESTIONS, serialized.getFixSuggestions());
 
         feature.addProperty("id", flag.getIdentifier());
         feature.add("properties", flagProperties);
         return feature;
     }
 
-    /**
-     * Converts given {@link CheckFlag} to {@link JsonObject} with additional key-value parameters
-     *
-     * @param flag
-     *            {@link CheckFlag} to convert to {@link JsonObject}
-     * @param additionalProperties
-     *            additional key-value parameters to be added in "properties" element of the
-     *            top-level JSON object
-     * @return {@link JsonObject} created from {@link CheckFlag}
-     */
-    public static JsonObject flagToJson(final CheckFlag flag,
+    private static JsonObject flagToJson(final SerializedCheckFlag serialized,
             final Map<String, String> additionalProperties)
     {
+        final CheckFlag flag = serialized.getFlag();
         JsonObject flagJson = new JsonObject();
         if (!flag.getFlaggedObjects().isEmpty())
         {
             flagJson = GEOJSON_BUILDER
-                    .createFromGeometriesWithProperties(flag.getGeometryWithProperties())
+                    .createFromGeometriesWithProperties(serialized.getGeometriesWithProperties())
                     .jsonObject();
         }
-        final Set<FlaggedObject> flaggedRelations = flag.getFlaggedRelations();
+        final Set<FlaggedObject> flaggedRelations = serialized.getFlaggedRelations();
         // Add features of FlaggedRelation if any
         if (!flaggedRelations.isEmpty())
         {
@@ -192,14 +237,12 @@ public final class CheckFlagEvent extends Event
             final JsonArray features = flagJson.getAsJsonArray(FEATURES);
             // Get features of each flaggedRelations and add it to the flagJson object's FEATURES
             // element
-            flaggedRelations.stream()
-                    .map(flaggedRelation -> flaggedRelation.asGeoJsonFeature(flag.getIdentifier()))
-                    .forEach(features::add);
+            serialized.getFlaggedRelationFeatures().forEach(features::add);
         }
         final JsonObject flagPropertiesJson = new JsonObject();
         flagPropertiesJson.addProperty("id", flag.getIdentifier());
-        flagPropertiesJson.addProperty(INSTRUCTIONS, flag.getInstructions());
-        flagPropertiesJson.add(IDENTIFIERS, GSON.toJsonTree(flag.getUniqueIdentifiers()));
+        flagPropertiesJson.addProperty(INSTRUCTIONS, serialized.getInstructions());
+        flagPropertiesJson.add(IDENTIFIERS, serialized.getIdentifiers());
 
         // Add additional properties
         additionalProperties.forEach(flagPropertiesJson::addProperty);
@@ -208,52 +251,11 @@ public final class CheckFlagEvent extends Event
         flagJson.add("properties", flagPropertiesJson);
 
         // Add fix suggestions as their own foreign object in the geojson
-        flagJson.add(FIX_SUGGESTIONS, getFixSuggestionDescriptions(flag));
+        flagJson.add(FIX_SUGGESTIONS, serialized.getFixSuggestions());
 
         return flagJson;
     }
 
-    /**
-     * Extracts a decorator based on the collective features properties. Currently the only
-     * decoration is the highest class highway tag withing all of the feature properties for flags
-     * involving Edges.
-     */
-    private static Optional<String> featureDecorator(final JsonArray featureProperties)
-    {
-        HighwayTag highestHighwayTag = null;
-        for (final JsonElement featureProperty : featureProperties)
-        {
-            final HighwayTag baslineHighwayTag = highestHighwayTag == null ? HighwayTag.NO
-                    : highestHighwayTag;
-            try
-            {
-                highestHighwayTag = Optional
-                        .ofNullable(
-                                ((JsonObject) featureProperty).getAsJsonPrimitive(HighwayTag.KEY))
-                        .map(JsonPrimitive::getAsString).map(String::toUpperCase)
-                        .map(HighwayTag::valueOf).filter(baslineHighwayTag::isLessImportantThan)
-                        .orElse(highestHighwayTag);
-            }
-            catch (final IllegalArgumentException badValue)
-            {
-                return Optional.empty();
-            }
-        }
-        return Optional.ofNullable(highestHighwayTag)
-                .map(tag -> String.format("%s=%s", HighwayTag.KEY, tag.getTagValue()));
-    }
-
-    private static JsonObject getFixSuggestionDescriptions(final CheckFlag flag)
-    {
-        final JsonObject fixSuggestionObject = new JsonObject();
-        flag.getFixSuggestions()
-                .forEach(suggestion -> fixSuggestionObject.add(
-                        StringUtils.capitalize(suggestion.getItemType().toString().toLowerCase())
-                                + suggestion.getIdentifier(),
-                        suggestion.explain().toJsonElement()));
-        return fixSuggestionObject;
-    }
-
     /**
      * Get geometry of flagged relation feature.
      *
@@ -280,20 +282,6 @@ public final class CheckFlagEvent extends Event
         return flaggedRelationFeature.get(PROPERTIES);
     }
 
-    /**
-     * Converts all {@link FlaggedRelation} to geojson feature
-     *
-     * @param flag
-     *            CheckFlag
-     * @return {@link List<JsonObject>} corresponding to geojson feature of {@link FlaggedRelation}
-     */
-    private static List<JsonObject> getFlaggedRelationsGeojsonFeatures(final CheckFlag flag)
-    {
-        return flag.getFlaggedRelations().stream()
-                .map(flaggedRelation -> flaggedRelation.asGeoJsonFeature(flag.getIdentifier()))
-                .collect(Collectors.toList());
-    }
-
     /**
      * Populates osmids of flaggedRelation features to a {@link Set<JsonElement>}
      *
@@ -368,6 +356,7 @@ public final class CheckFlagEvent extends Event
 
     public String asLineDelimitedGeoJsonFeatures(final Consumer<JsonObject> jsonMutator)
     {
+        final SerializedCheckFlag serializedFlag = this.getSerializedCheckFlag();
         final JsonObject flagGeoJsonFeature = this.flag.asGeoJsonFeature();
         final JsonObject flagGeoJsonProperties = flagGeoJsonFeature.get("properties")
                 .getAsJsonObject();
@@ -390,15 +379,13 @@ public final class CheckFlagEvent extends Event
             int index = 0;
             for (; index < flaggedObjectsSize - 1; ++index)
             {
-                final JsonObject feature = flaggedObjects[index]
-                        .asGeoJsonFeature(this.flag.getIdentifier());
+                final JsonObject feature = serializedFlag.asGeoJsonFeature(flaggedObjects[index]);
                 jsonMutator.accept(feature);
                 builder.append(feature.toString()).append('\n');
             }
 
             // dont give a new line to the last
-            final JsonObject feature = flaggedObjects[index]
-                    .asGeoJsonFeature(this.flag.getIdentifier());
+            final JsonObject feature = serializedFlag.asGeoJsonFeature(flaggedObjects[index]);
             jsonMutator.accept(feature);
             builder.append(feature.toString());
         }
@@ -423,18 +410,23 @@ public final class CheckFlagEvent extends Event
     }
 
     /**
-     * @return GeoJson Feature representation
+     * @return GeoJson Feature representation, built once and shared, so it must not be modified
      */
-    public JsonObject toGeoJsonFeature()
+    public synchronized JsonObject toGeoJsonFeature()
     {
-        final Map<String, String> contextualProperties = new HashMap<>();
-        contextualProperties.put("name",
-                this.getCheckFlag().getChallengeName().orElse(this.getCheckName()));
-        contextualProperties.put("generator", "AtlasChecks");
-        contextualProperties.put("timestamp", this.getTimestamp().toString());
-
-        // Generate json for check flag with given contextual properties
-        return flagToFeature(this.getCheckFlag(), contextualProperties);
+        if (this.geoJsonFeature == null)
+        {
+            final Map<String, String> contextualProperties = new HashMap<>();
+            contextualProperties.put("name",
+                    this.getCheckFlag().getChallengeName().orElse(this.getCheckName()));
+            contextualProperties.put("generator", "AtlasChecks");
+            contextualProperties.put("timestamp", this.getTimestamp().toString());
+
+            // Generate json for check flag with given contextual properties
+            this.geoJsonFeature = flagToFeature(this.getSerializedCheckFlag(),
+                    contextualProperties);
+        }
+        return this.geoJsonFeature;
     }
 
     /**
@@ -447,15 +439,31 @@ public final class CheckFlagEvent extends Event
         contextualProperties.put("timestamp", this.getTimestamp().toString());
 
         // Generate json for check flag with given contextual properties
-        return flagToJson(this.getCheckFlag(), contextualProperties);
+        return flagToJson(this.getSerializedCheckFlag(), contextualProperties);
     }
 
     /**
      * @return {@link String} form of the GeoJson FeatureCollection representation
      */
     @Override
-    public String toString()
+    public synchronized String toString()
+    {
+        if (this.geoJsonFeatureCollection == null)
+        {
+            this.geoJsonFeatureCollection = this.toGeoJsonFeatureCollection().toString();
+        }
+        return this.geoJsonFeatureCollection;
+    }
+
+    /**
+     * @return the JSON parts shared by all the representations of the flag, built on first use
+     */
+    private synchronized SerializedCheckFlag getSerializedCheckFlag()
     {
-        return this.toGeoJsonFeatureCollection().toString();
+        if (this.serialized == null)
+        {
+            this.serialized = new SerializedCheckFlag(this.flag);
+        }
+        return this.serialized;
     }
 }
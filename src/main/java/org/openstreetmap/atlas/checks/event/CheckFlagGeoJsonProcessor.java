@@ -1,37 +1,46 @@
 package org.openstreetmap.atlas.checks.event;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Vector;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.spark.TaskContext;
 import org.openstreetmap.atlas.checks.constants.CommonConstants;
 import org.openstreetmap.atlas.checks.distributed.GeoJsonPathFilter;
 import org.openstreetmap.atlas.event.Processor;
 import org.openstreetmap.atlas.event.ShutdownEvent;
+import org.openstreetmap.atlas.exception.CoreException;
 import org.openstreetmap.atlas.generator.tools.spark.utilities.SparkFileHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.Subscribe;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 /**
- * A {@link Processor} for {@link CheckFlagEvent}s to write them into GeoJson files
+ * A {@link Processor} for {@link CheckFlagEvent}s to write them into GeoJson files. Features are
+ * streamed into one open FeatureCollection per challenge as events arrive, and the file is rolled
+ * once it holds a batch of features or {@link #DEFAULT_MAXIMUM_FILE_BYTES}, so the memory used
+ * does not grow with the number of flags.
  *
  * @author brian_l_davis
  */
 public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent>
 {
+    /**
+     * The default number of uncompressed bytes after which a file is rolled, even if it holds less
+     * than a batch of features
+     */
+    public static final long DEFAULT_MAXIMUM_FILE_BYTES = 256L * 1024 * 1024;
 
     private static final int MAX_BATCH_SUM = 25000;
     private static final int MIN_BATCH_SIZE = 100;
-    private static final int BUCKET_CAPACITY = 100;
-    private static final int BUCKET_INCREMENT = 25;
+    private static final String TEMPORARY_PREFIX = "_";
 
     private static final Logger logger = LoggerFactory.getLogger(CheckFlagGeoJsonProcessor.class);
 
@@ -41,11 +50,13 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
     // Directory to write files in
     private final String directory;
 
-    // Event Features bucketed by Challenge
-    private final ConcurrentHashMap<String, Vector<JsonObject>> featureBuckets = new ConcurrentHashMap<>();
+    // File system of the directory, to stream files to
+    private final OutputFileSystem outputFileSystem;
 
-    // Bucket locks used to synchronize filling and emptying buckets
-    private final ConcurrentHashMap<String, ReadWriteLock> bucketLocks = new ConcurrentHashMap<>();
+    // Open FeatureCollection by Challenge
+    private final ConcurrentHashMap<String, FeatureBucket> featureBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastTimestamp = new AtomicLong();
 
     // Whether or not to compress output file
     private boolean compressOutput = true;
@@ -53,8 +64,19 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
     // Batch size override
     private int batchSizeOverride;
 
-    // Detect has written
-    private boolean hasWritten;
+    // Uncompressed bytes after which a file is rolled
+    private long maximumFileBytes = DEFAULT_MAXIMUM_FILE_BYTES;
+
+    /**
+     * The FeatureCollection being written for a challenge, guarded by the bucket's monitor
+     *
+     * @author agent
+     */
+    private static final class FeatureBucket
+    {
+        private String temporaryName;
+        private GeoJsonFeatureCollectionWriter writer;
+    }
 
     /**
      * Default constructor
@@ -65,10 +87,26 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
      *            output folder path to write files to
      */
     public CheckFlagGeoJsonProcessor(final SparkFileHelper fileHelper, final String outputFolder)
+    {
+        this(fileHelper, outputFolder, Collections.emptyMap());
+    }
+
+    /**
+     * Constructs a processor writing to a file system that needs configuration
+     *
+     * @param fileHelper
+     *            {@link SparkFileHelper} for I/O operations
+     * @param outputFolder
+     *            output folder path to write files to
+     * @param configuration
+     *            file system configuration, as given to the {@link SparkFileHelper}
+     */
+    public CheckFlagGeoJsonProcessor(final SparkFileHelper fileHelper, final String outputFolder,
+            final Map<String, String> configuration)
     {
         this.fileHelper = fileHelper;
         this.directory = outputFolder;
-        this.hasWritten = false;
+        this.outputFileSystem = new OutputFileSystem(outputFolder, configuration);
     }
 
     @Override
@@ -78,36 +116,29 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
     {
         final String challenge = event.getCheckFlag().getChallengeName()
                 .orElse(event.getCheckName());
+        final JsonObject feature = event.toGeoJsonFeature();
+        final FeatureBucket featureBucket = this.featureBuckets.computeIfAbsent(challenge,
+                key -> new FeatureBucket());
 
-        final Vector<JsonObject> featureBucket = this.featureBuckets.computeIfAbsent(challenge,
-                key -> new Vector<>(BUCKET_CAPACITY, BUCKET_INCREMENT));
-        final ReadWriteLock bucketLock = this.bucketLocks.computeIfAbsent(challenge,
-                key -> new ReentrantReadWriteLock());
-
-        bucketLock.readLock().lock();
-        try
-        {
-            featureBucket.add(event.toGeoJsonFeature());
-        }
-        finally
-        {
-            bucketLock.readLock().unlock();
-        }
-
-        final int batchSize = this.computeBatchSize();
-        if (featureBucket.size() >= batchSize)
+        synchronized (featureBucket)
         {
-            bucketLock.writeLock().lock();
             try
             {
-                if (featureBucket.size() >= batchSize)
+                if (featureBucket.writer == null)
+                {
+                    this.open(challenge, featureBucket);
+                }
+                featureBucket.writer.add(feature);
+                if (featureBucket.writer.size() >= this.computeBatchSize()
+                        || featureBucket.writer.getBytes() >= this.maximumFileBytes)
                 {
-                    this.write(challenge, featureBucket);
+                    this.close(challenge, featureBucket);
                 }
             }
-            finally
+            catch (final IOException e)
             {
-                bucketLock.writeLock().unlock();
+                throw new CoreException("Could not write GeoJson features of {} in {}", e,
+                        challenge, this.directory);
             }
         }
     }
@@ -120,17 +151,35 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
         {
             if (!this.featureBuckets.isEmpty())
             {
-                this.featureBuckets.forEach(this::write);
+                for (final Map.Entry<String, FeatureBucket> entry : this.featureBuckets
+                        .entrySet())
+                {
+                    synchronized (entry.getValue())
+                    {
+                        if (entry.getValue().writer != null)
+                        {
+                            this.close(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
             }
             else
             {
-                this.write(CommonConstants.EMPTY_STRING, new Vector<>());
+                logger.warn("Writing empty file with no content in {}.", this.directory);
+                this.fileHelper.write(this.directory,
+                        String.format("%s%s", "empty",
+                                new GeoJsonPathFilter(this.compressOutput).getExtension()),
+                        CommonConstants.EMPTY_STRING);
             }
         }
         catch (final Exception e)
         {
             logger.warn("CheckFlag geojson file write is failed.", e);
         }
+        finally
+        {
+            this.outputFileSystem.close();
+        }
     }
 
     /**
@@ -159,6 +208,19 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
         return this;
     }
 
+    /**
+     * Overrides the number of uncompressed bytes after which a file is rolled
+     *
+     * @param maximumFileBytes
+     *            the maximum file size, in uncompressed bytes
+     * @return the {@link CheckFlagGeoJsonProcessor}
+     */
+    public CheckFlagGeoJsonProcessor withMaximumFileBytes(final long maximumFileBytes)
+    {
+        this.maximumFileBytes = maximumFileBytes;
+        return this;
+    }
+
     /**
      * Returns bucket size based on the number of Checks we have bucketed so far
      *
@@ -179,36 +241,38 @@ public final class CheckFlagGeoJsonProcessor implements Processor<CheckFlagEvent
 
     protected String getFilename(final String challenge, final int size)
     {
-        return String.format("%s-%sP%s-%s%s", challenge, new Date().getTime(),
+        // Files of a challenge can be rolled within the same millisecond
+        final long now = new Date().getTime();
+        return String.format("%s-%sP%s-%s%s", challenge,
+                this.lastTimestamp.updateAndGet(last -> Math.max(last + 1, now)),
                 TaskContext.getPartitionId(), size,
                 new GeoJsonPathFilter(this.compressOutput).getExtension());
     }
 
     /**
-     * Writes a new file with the cached in String buffer
+     * Closes the FeatureCollection of a challenge, and moves it to its final name now that the
+     * number of features is known
      */
-    private void write(final String challenge, final Vector<JsonObject> featureBucket)
+    private void close(final String challenge, final FeatureBucket featureBucket)
+            throws IOException
     {
-        if (featureBucket.size() > 0)
-        {
-            final JsonObject featureCollection = new JsonObject();
-            featureCollection.addProperty("type", "FeatureCollection");
-            final JsonArray featureJsonArray = new JsonArray();
-            featureBucket.forEach(featureJsonArray::add);
-            featureCollection.add("features", featureJsonArray);
-            this.fileHelper.write(this.directory,
-                    this.getFilename(challenge, featureJsonArray.size()),
-                    featureCollection.toString());
-            this.hasWritten = true;
-            featureBucket.clear();
-        }
-        else if (!this.hasWritten)
-        {
-            logger.warn("Writing empty file with no content in {}.", this.directory);
-            this.fileHelper.write(this.directory,
-                    String.format("%s%s", "empty",
-                            new GeoJsonPathFilter(this.compressOutput).getExtension()),
-                    CommonConstants.EMPTY_STRING);
-        }
+        final GeoJsonFeatureCollectionWriter writer = featureBucket.writer;
+        featureBucket.writer = null;
+        writer.close();
+        this.outputFileSystem.rename(featureBucket.temporaryName,
+                this.getFilename(challenge, writer.size()));
+    }
+
+    /**
+     * Opens a new FeatureCollection for a challenge, under a temporary name hidden from readers of
+     * the directory
+     */
+    private void open(final String challenge, final FeatureBucket featureBucket)
+            throws IOException
+    {
+        featureBucket.temporaryName = String.format("%s%s-%s%s", TEMPORARY_PREFIX, challenge,
+                UUID.randomUUID(), new GeoJsonPathFilter(this.compressOutput).getExtension());
+        featureBucket.writer = new GeoJsonFeatureCollectionWriter(
+                this.outputFileSystem.create(featureBucket.temporaryName), this.compressOutput);
     }
 }
@@ -1,7 +1,5 @@
 package org.openstreetmap.atlas.checks.event;
 
-import java.util.Date;
-
 import org.apache.spark.TaskContext;
 import org.openstreetmap.atlas.checks.distributed.GeoJsonPathFilter;
 import org.openstreetmap.atlas.checks.vectortiles.TippecanoeCheckSettings;
@@ -65,7 +63,7 @@ public class CheckFlagTippecanoeProcessor extends FileProcessor<CheckFlagEvent>
     @Override
     protected String getFilename()
     {
-        return String.format("%sP%s-%s%s", new Date().getTime(), TaskContext.getPartitionId(),
+        return String.format("%sP%s-%s%s", this.getTimestamp(), TaskContext.getPartitionId(),
                 getCount(), new GeoJsonPathFilter(doesCompressOutput()).getExtension());
     }
 }
@@ -1,20 +1,31 @@
 package org.openstreetmap.atlas.checks.event;
 
 import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.spark.TaskContext;
 import org.openstreetmap.atlas.checks.distributed.LogFilePathFilter;
 import org.openstreetmap.atlas.event.Event;
 import org.openstreetmap.atlas.event.Processor;
+import org.openstreetmap.atlas.exception.CoreException;
 import org.openstreetmap.atlas.generator.tools.spark.utilities.SparkFileHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A useful base class to handle common functionality for file processors.
+ * A useful base class to handle common functionality for file processors. Events are queued by the
+ * check threads without locking, and every full batch is written to its own file by a single
+ * writer thread, so check threads do not wait on each other nor on I/O. Check threads only wait
+ * when the writer thread falls more than {@value #MAXIMUM_PENDING_BATCHES} batches behind.
  *
  * @author mkalender
  * @param <T>
@@ -24,6 +35,9 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
 {
     // Default number of events to batch
     public static final int BATCH_SIZE = 2500;
+    // Number of full batches that can wait for the writer thread
+    public static final int MAXIMUM_PENDING_BATCHES = 4;
+    private static final long WRITER_KEEP_ALIVE_SECONDS = 60;
     private static final Logger logger = LoggerFactory.getLogger(FileProcessor.class);
     // File helper to write files
     private final SparkFileHelper fileHelper;
@@ -31,8 +45,8 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
     // Directory to write files in
     private final String directory;
 
-    // Buffer to hold events generated so far
-    private final StringBuffer buffer;
+    // Events generated so far and not written yet
+    private final Queue<String> events = new ConcurrentLinkedQueue<>();
 
     // Number of events to be batched
     private int batchSize = BATCH_SIZE;
@@ -40,8 +54,14 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
     // Thread safe counter
     private final AtomicInteger counter;
 
-    // A lock useful to handle synchronization when we write files
-    private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+    // Last timestamp used in a file name
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    // Full batches that can still be handed to the writer thread without waiting
+    private final Semaphore pendingBatches = new Semaphore(MAXIMUM_PENDING_BATCHES);
+
+    // The thread writing files, stopped when idle
+    private final ThreadPoolExecutor writer;
 
     // Whether or not to compress output file
     private boolean compressOutput = true;
@@ -58,8 +78,16 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
     {
         this.fileHelper = fileHelper;
         this.directory = directory;
-        this.buffer = new StringBuffer();
         this.counter = new AtomicInteger(0);
+        this.writer = new ThreadPoolExecutor(1, 1, WRITER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable ->
+                {
+                    final Thread thread = new Thread(runnable,
+                            this.getClass().getSimpleName() + " writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.writer.allowCoreThreadTimeOut(true);
     }
 
     public boolean doesCompressOutput()
@@ -84,49 +112,44 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
     }
 
     /**
-     * Processes given String and writes batched events into a file if needed
+     * Processes given String and hands batched events to the writer thread if needed
      *
      * @param event
      *            a character set to process
      */
     public void process(final String event)
     {
-        // Process new event
-        this.fileLock.readLock().lock();
-
-        try
-        {
-            this.buffer.append(String.format("%s%s", event, System.lineSeparator()));
-            this.counter.incrementAndGet();
-        }
-        catch (final Exception e)
-        {
-            logger.warn("Event processing is failed.", e);
-        }
-        finally
+        this.events.add(event);
+        final int batch = this.getBatchSize();
+        // The thread completing a batch names its file, as the name may depend on the Spark task
+        // of the thread
+        if (this.counter.incrementAndGet() % batch == 0)
         {
-            this.fileLock.readLock().unlock();
-        }
-
-        // Write batched events to a file if needed
-        if (this.counter.get() >= this.getBatchSize())
-        {
-            this.fileLock.writeLock().lock();
-
+            final String filename = this.getFilename();
+            this.counter.addAndGet(-batch);
+            this.pendingBatches.acquireUninterruptibly();
             try
             {
-                if (this.getCount() >= this.getBatchSize())
+                this.writer.execute(() ->
                 {
-                    this.write();
-                }
+                    try
+                    {
+                        this.write(filename, batch);
+                    }
+                    catch (final Exception e)
+                    {
+                        logger.warn("File write is failed.", e);
+                    }
+                    finally
+                    {
+                        this.pendingBatches.release();
+                    }
+                });
             }
-            catch (final Exception e)
+            catch (final RejectedExecutionException e)
             {
-                logger.warn("File write is failed.", e);
-            }
-            finally
-            {
-                this.fileLock.writeLock().unlock();
+                this.pendingBatches.release();
+                logger.warn("Event processing is failed.", e);
             }
         }
     }
@@ -160,12 +183,23 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
      */
     protected String getFilename()
     {
-        return String.format("%sP%s-%s%s", new Date().getTime(), TaskContext.getPartitionId(),
+        return String.format("%sP%s-%s%s", this.getTimestamp(), TaskContext.getPartitionId(),
                 this.getCount(), new LogFilePathFilter(this.compressOutput).getExtension());
     }
 
     /**
-     * Writes a new file with the cached in String buffer
+     * @return the current time in milliseconds, moved forward if needed to be later than the last
+     *         one returned, so that batches named within the same millisecond get different names
+     */
+    protected long getTimestamp()
+    {
+        final long now = new Date().getTime();
+        return this.lastTimestamp.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    /**
+     * Writes a new file with the events of the current batch, once the batches handed to the
+     * writer thread before are written
      */
     protected void write()
     {
@@ -175,8 +209,43 @@ public abstract class FileProcessor<T extends Event> implements Processor<T>
             logger.warn("Writing empty file with no content in {}.", this.directory);
         }
 
-        this.fileHelper.write(this.directory, this.getFilename(), this.buffer.toString());
-        this.buffer.delete(0, this.buffer.length());
-        this.counter.set(0);
+        final String filename = this.getFilename();
+        this.counter.addAndGet(-count);
+        try
+        {
+            this.writer.submit(() -> this.write(filename, Integer.MAX_VALUE)).get();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new CoreException("Interrupted while writing {}", e, filename);
+        }
+        catch (final ExecutionException e)
+        {
+            throw new CoreException("Could not write {}", e.getCause(), filename);
+        }
+    }
+
+    /**
+     * Writes a file with the next events, on the writer thread
+     *
+     * @param filename
+     *            the name of the file
+     * @param size
+     *            the maximum number of events to write
+     */
+    private void write(final String filename, final int size)
+    {
+        final StringBuilder builder = new StringBuilder();
+        final String lineSeparator = System.lineSeparator();
+        int written = 0;
+        String event = this.events.poll();
+        while (event != null)
+        {
+            builder.append(event).append(lineSeparator);
+            written++;
+            event = written < size ? this.events.poll() : null;
+        }
+        this.fileHelper.write(this.directory, filename, builder.toString());
     }
 }
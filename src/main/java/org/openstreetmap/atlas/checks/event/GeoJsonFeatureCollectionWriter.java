@@ -0,0 +1,99 @@
+package org.openstreetmap.atlas.checks.event;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.io.CountingOutputStream;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Streams GeoJson features into a FeatureCollection. The collection is opened on creation, each
+ * feature is written as soon as it is added, and the collection is closed with the writer, so only
+ * the buffers of the stream are held in memory whatever the number of features.
+ *
+ * @author agent
+ */
+final class GeoJsonFeatureCollectionWriter implements Closeable
+{
+    // Writes features exactly as JsonObject.toString() would
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().serializeNulls()
+            .create();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CountingOutputStream counter;
+    private final JsonWriter writer;
+    private int size;
+
+    /**
+     * @param output
+     *            the stream to write the FeatureCollection to, closed with this writer
+     * @param compress
+     *            whether to gzip the FeatureCollection
+     * @throws IOException
+     *             if the FeatureCollection could not be opened
+     */
+    GeoJsonFeatureCollectionWriter(final OutputStream output, final boolean compress)
+            throws IOException
+    {
+        final OutputStream buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+        this.counter = new CountingOutputStream(
+                compress ? new GZIPOutputStream(buffered, BUFFER_SIZE) : buffered);
+        this.writer = new JsonWriter(new OutputStreamWriter(this.counter, StandardCharsets.UTF_8));
+        this.writer.beginObject();
+        this.writer.name("type").value("FeatureCollection");
+        this.writer.name("features").beginArray();
+    }
+
+    /**
+     * Appends a feature to the FeatureCollection
+     *
+     * @param feature
+     *            the GeoJson feature
+     * @throws IOException
+     *             if the feature could not be written
+     */
+    void add(final JsonObject feature) throws IOException
+    {
+        GSON.toJson(feature, this.writer);
+        this.size++;
+    }
+
+    /**
+     * Closes the FeatureCollection and the underlying stream
+     *
+     * @throws IOException
+     *             if the FeatureCollection could not be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.writer.endArray();
+        this.writer.endObject();
+        this.writer.close();
+    }
+
+    /**
+     * @return the number of uncompressed bytes written so far, not counting what is still buffered
+     *         in the character encoder
+     */
+    long getBytes()
+    {
+        return this.counter.getCount();
+    }
+
+    /**
+     * @return the number of features written
+     */
+    int size()
+    {
+        return this.size;
+    }
+}
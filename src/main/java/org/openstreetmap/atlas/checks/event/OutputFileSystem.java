@@ -0,0 +1,104 @@
+package org.openstreetmap.atlas.checks.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The file system of an output directory, for processors that stream their files instead of writing
+ * them at once through the SparkFileHelper. Files are streamed under a temporary name and renamed
+ * once complete, so readers of the directory never see partial files. The file system is opened
+ * with the first file.
+ *
+ * @author agent
+ */
+final class OutputFileSystem implements Closeable
+{
+    private static final Logger logger = LoggerFactory.getLogger(OutputFileSystem.class);
+
+    private final String directory;
+    private final Map<String, String> configuration;
+    private FileSystem fileSystem;
+
+    /**
+     * @param directory
+     *            the output directory
+     * @param configuration
+     *            file system configuration, as given to the SparkFileHelper
+     */
+    OutputFileSystem(final String directory, final Map<String, String> configuration)
+    {
+        this.directory = directory;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if (this.fileSystem != null)
+        {
+            try
+            {
+                this.fileSystem.close();
+            }
+            catch (final IOException e)
+            {
+                logger.warn("Could not close the file system of {}.", this.directory, e);
+            }
+            this.fileSystem = null;
+        }
+    }
+
+    /**
+     * @param name
+     *            the name of the file in the directory
+     * @return a new stream to the file, replacing any file of that name
+     * @throws IOException
+     *             if the file could not be created
+     */
+    OutputStream create(final String name) throws IOException
+    {
+        return this.getFileSystem().create(new Path(this.directory, name), true);
+    }
+
+    /**
+     * @param source
+     *            the name of a complete file in the directory
+     * @param target
+     *            its final name
+     * @throws IOException
+     *             if the file could not be renamed
+     */
+    void rename(final String source, final String target) throws IOException
+    {
+        if (!this.getFileSystem().rename(new Path(this.directory, source),
+                new Path(this.directory, target)))
+        {
+            throw new IOException(
+                    String.format("Could not rename %s to %s in %s", source, target,
+                            this.directory));
+        }
+    }
+
+    private synchronized FileSystem getFileSystem() throws IOException
+    {
+        if (this.fileSystem == null)
+        {
+            final Configuration hadoopConfiguration = new Configuration();
+            this.configuration.forEach(hadoopConfiguration::set);
+            // A private instance, as it is closed on shutdown and must not write checksum files
+            // next to the output files
+            this.fileSystem = FileSystem.newInstance(new Path(this.directory).toUri(),
+                    hadoopConfiguration);
+            this.fileSystem.setWriteChecksum(false);
+        }
+        return this.fileSystem;
+    }
+}
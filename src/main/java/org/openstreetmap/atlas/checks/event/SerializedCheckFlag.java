@@ -0,0 +1,106 @@
+package org.openstreetmap.atlas.checks.event;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.flag.FlaggedObject;
+import org.openstreetmap.atlas.geography.geojson.GeoJsonBuilder.GeometryWithProperties;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * The JSON parts of a {@link CheckFlag} that the flag, GeoJson and line delimited GeoJson outputs
+ * have in common, built once per flag. Each output assembles its own representation from these
+ * parts, which are shared and must not be modified.
+ *
+ * @author agent
+ */
+final class SerializedCheckFlag
+{
+    private static final Gson GSON = new Gson();
+
+    private final CheckFlag flag;
+    private final String instructions;
+    private final List<GeometryWithProperties> geometriesWithProperties;
+    private final Set<FlaggedObject> flaggedRelations;
+    private final List<JsonObject> flaggedRelationFeatures;
+    private final Map<FlaggedObject, JsonObject> flaggedRelationFeaturesByObject = new IdentityHashMap<>();
+    private final JsonElement identifiers;
+    private final JsonObject fixSuggestions;
+
+    SerializedCheckFlag(final CheckFlag flag)
+    {
+        this.flag = flag;
+        this.instructions = flag.getInstructions();
+        this.geometriesWithProperties = flag.getGeometryWithProperties();
+        this.flaggedRelations = flag.getFlaggedRelations();
+        this.flaggedRelationFeatures = this.flaggedRelations.stream().map(flaggedRelation ->
+        {
+            final JsonObject feature = flaggedRelation.asGeoJsonFeature(flag.getIdentifier());
+            this.flaggedRelationFeaturesByObject.put(flaggedRelation, feature);
+            return feature;
+        }).collect(Collectors.toList());
+        this.identifiers = GSON.toJsonTree(flag.getUniqueIdentifiers());
+        this.fixSuggestions = new JsonObject();
+        flag.getFixSuggestions()
+                .forEach(suggestion -> this.fixSuggestions.add(
+                        StringUtils.capitalize(suggestion.getItemType().toString().toLowerCase())
+                                + suggestion.getIdentifier(),
+                        suggestion.explain().toJsonElement()));
+    }
+
+    /**
+     * @param flaggedObject
+     *            one of the flagged objects of the flag
+     * @return a new GeoJson feature of the flagged object, copied from the shared one for flagged
+     *         relations
+     */
+    JsonObject asGeoJsonFeature(final FlaggedObject flaggedObject)
+    {
+        final JsonObject shared = this.flaggedRelationFeaturesByObject.get(flaggedObject);
+        return shared == null ? flaggedObject.asGeoJsonFeature(this.flag.getIdentifier())
+                : shared.deepCopy();
+    }
+
+    CheckFlag getFlag()
+    {
+        return this.flag;
+    }
+
+    JsonObject getFixSuggestions()
+    {
+        return this.fixSuggestions;
+    }
+
+    Set<FlaggedObject> getFlaggedRelations()
+    {
+        return this.flaggedRelations;
+    }
+
+    List<JsonObject> getFlaggedRelationFeatures()
+    {
+        return this.flaggedRelationFeatures;
+    }
+
+    List<GeometryWithProperties> getGeometriesWithProperties()
+    {
+        return this.geometriesWithProperties;
+    }
+
+    JsonElement getIdentifiers()
+    {
+        return this.identifiers;
+    }
+
+    String getInstructions()
+    {
+        return this.instructions;
+    }
+}
@@ -0,0 +1,124 @@
+package org.openstreetmap.atlas.checks.flag.serializer;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Constants and variable length integers shared by the {@link BinaryFlagWriter} and the
+ * {@link BinaryFlagReader}.
+ * <p>
+ * A file starts with {@link #MAGIC} and {@link #VERSION}, followed by blocks. Each block is the
+ * length of its payload and the length of the deflated payload, then the deflated payload. A
+ * payload is the number of flags in the block, the dictionary of the strings used by these flags,
+ * then each flag as a value. A value is a tag followed by its content:
+ * <ul>
+ * <li>strings and object keys are indices in the dictionary of the block</li>
+ * <li>integers are zigzag varints</li>
+ * <li>decimals with at most 7 digits, like coordinates, are zigzag varints of the value times
+ * {@link #SCALE}, when they are written like the double read back</li>
+ * <li>arrays of [longitude, latitude] pairs in GeoJson {@code coordinates} members are zigzag
+ * varints of the differences between consecutive scaled pairs</li>
+ * <li>other doubles and floats are written as such, and other numbers as their text</li>
+ * </ul>
+ * Numbers are only written in a form that reads back to the same JSON text, so that integers stay
+ * integers.
+ *
+ * @author agent
+ */
+final class BinaryFlagFormat
+{
+    static final byte[] MAGIC = { 'A', 'C', 'F', 'B' };
+    static final int VERSION = 1;
+    static final double SCALE = 1e7;
+
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int STRING = 3;
+    static final int INTEGER = 4;
+    static final int FIXED = 5;
+    static final int DOUBLE = 6;
+    static final int NUMBER = 7;
+    static final int ARRAY = 8;
+    static final int OBJECT = 9;
+    static final int COORDINATES = 10;
+    static final int FLOAT = 11;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int LONG_SIGN_SHIFT = 63;
+
+    /**
+     * @param input
+     *            the input to read from
+     * @return the next unsigned varint
+     * @throws IOException
+     *             if the input ends before the varint does
+     */
+    static long readVarLong(final DataInput input) throws IOException
+    {
+        long value = 0;
+        int shift = 0;
+        int next;
+        do
+        {
+            next = input.readUnsignedByte();
+            value |= (long) (next & VARINT_PAYLOAD_MASK) << shift;
+            shift += VARINT_PAYLOAD_BITS;
+        }
+        while ((next & VARINT_CONTINUATION) != 0);
+        return value;
+    }
+
+    /**
+     * @param input
+     *            the input to read from
+     * @return the next zigzag varint
+     * @throws IOException
+     *             if the input ends before the varint does
+     */
+    static long readZigZag(final DataInput input) throws IOException
+    {
+        final long value = readVarLong(input);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @param output
+     *            the output to write to
+     * @param value
+     *            the value, written as an unsigned varint
+     * @throws IOException
+     *             if the value could not be written
+     */
+    static void writeVarLong(final OutputStream output, final long value) throws IOException
+    {
+        long remaining = value;
+        while ((remaining & ~VARINT_PAYLOAD_MASK) != 0)
+        {
+            output.write((int) (remaining & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+            remaining >>>= VARINT_PAYLOAD_BITS;
+        }
+        output.write((int) remaining);
+    }
+
+    /**
+     * @param output
+     *            the output to write to
+     * @param value
+     *            the value, written as a zigzag varint so that small negative values stay short
+     * @throws IOException
+     *             if the value could not be written
+     */
+    static void writeZigZag(final OutputStream output, final long value) throws IOException
+    {
+        writeVarLong(output, (value << 1) ^ (value >> LONG_SIGN_SHIFT));
+    }
+
+    private BinaryFlagFormat()
+    {
+        // No op
+    }
+}
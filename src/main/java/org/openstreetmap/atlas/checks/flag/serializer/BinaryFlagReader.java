@@ -0,0 +1,253 @@
+package org.openstreetmap.atlas.checks.flag.serializer;
+
+import static org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagFormat.readVarLong;
+import static org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagFormat.readZigZag;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.openstreetmap.atlas.exception.CoreException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Reads the flags written by a {@link BinaryFlagWriter}, as the same GeoJson FeatureCollections
+ * the line delimited flag files hold, so they can be given to a {@link CheckFlagDeserializer} or
+ * read as {@link JsonObject}s. Blocks are inflated one at a time.
+ *
+ * @author agent
+ */
+public final class BinaryFlagReader implements Closeable
+{
+    private final DataInputStream input;
+    private DataInputStream block;
+    private String[] dictionary;
+    private long remaining;
+
+    /**
+     * @param input
+     *            the stream to read from, closed with this reader
+     * @throws IOException
+     *             if the stream does not start like a binary flag file
+     */
+    public BinaryFlagReader(final InputStream input) throws IOException
+    {
+        this.input = new DataInputStream(new BufferedInputStream(input));
+        final byte[] magic = new byte[BinaryFlagFormat.MAGIC.length];
+        this.input.readFully(magic);
+        if (!Arrays.equals(magic, BinaryFlagFormat.MAGIC))
+        {
+            throw new IOException("Not a binary flag file");
+        }
+        final long version = readVarLong(this.input);
+        if (version != BinaryFlagFormat.VERSION)
+        {
+            throw new IOException(String.format("Unsupported binary flag version %s", version));
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.input.close();
+    }
+
+    /**
+     * @return the remaining flags, read as the stream is consumed
+     */
+    public Stream<JsonObject> flags()
+    {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<JsonObject>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL)
+        {
+            @Override
+            public boolean tryAdvance(final Consumer<? super JsonObject> action)
+            {
+                try
+                {
+                    final JsonObject flag = BinaryFlagReader.this.read();
+                    if (flag == null)
+                    {
+                        return false;
+                    }
+                    action.accept(flag);
+                    return true;
+                }
+                catch (final IOException e)
+                {
+                    throw new CoreException("Could not read binary flags", e);
+                }
+            }
+        }, false);
+    }
+
+    /**
+     * @return the next flag, or {@code null} at the end of the file
+     * @throws IOException
+     *             if the file is truncated or corrupted
+     */
+    public JsonObject read() throws IOException
+    {
+        while (this.remaining == 0)
+        {
+            if (!this.readBlock())
+            {
+                return null;
+            }
+        }
+        this.remaining--;
+        return this.readValue().getAsJsonObject();
+    }
+
+    private JsonArray readArray() throws IOException
+    {
+        final long size = readVarLong(this.block);
+        final JsonArray array = new JsonArray();
+        for (long index = 0; index < size; index++)
+        {
+            array.add(this.readValue());
+        }
+        return array;
+    }
+
+    private boolean readBlock() throws IOException
+    {
+        this.input.mark(1);
+        if (this.input.read() < 0)
+        {
+            return false;
+        }
+        this.input.reset();
+        final int payloadSize = Math.toIntExact(readVarLong(this.input));
+        final byte[] compressed = new byte[Math.toIntExact(readVarLong(this.input))];
+        this.input.readFully(compressed);
+
+        final byte[] payload = new byte[payloadSize];
+        final Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < payloadSize && !inflater.finished())
+            {
+                final int read = inflater.inflate(payload, inflated, payloadSize - inflated);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    break;
+                }
+                inflated += read;
+            }
+            if (inflated != payloadSize)
+            {
+                throw new IOException("Truncated binary flag block");
+            }
+        }
+        catch (final DataFormatException e)
+        {
+            throw new IOException("Corrupted binary flag block", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+
+        this.block = new DataInputStream(new ByteArrayInputStream(payload));
+        this.remaining = readVarLong(this.block);
+        this.dictionary = new String[Math.toIntExact(readVarLong(this.block))];
+        for (var index = 0; index < this.dictionary.length; index++)
+        {
+            final byte[] bytes = new byte[Math.toIntExact(readVarLong(this.block))];
+            this.block.readFully(bytes);
+            this.dictionary[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return true;
+    }
+
+    private JsonArray readCoordinates() throws IOException
+    {
+        final long points = readVarLong(this.block);
+        final JsonArray coordinates = new JsonArray();
+        long longitude = 0;
+        long latitude = 0;
+        for (long index = 0; index < points; index++)
+        {
+            longitude += readZigZag(this.block);
+            latitude += readZigZag(this.block);
+            final JsonArray point = new JsonArray();
+            point.add(longitude / BinaryFlagFormat.SCALE);
+            point.add(latitude / BinaryFlagFormat.SCALE);
+            coordinates.add(point);
+        }
+        return coordinates;
+    }
+
+    private JsonObject readObject() throws IOException
+    {
+        final long members = readVarLong(this.block);
+        final JsonObject object = new JsonObject();
+        for (long index = 0; index < members; index++)
+        {
+            final String key = this.readString();
+            object.add(key, this.readValue());
+        }
+        return object;
+    }
+
+    private String readString() throws IOException
+    {
+        return this.dictionary[Math.toIntExact(readVarLong(this.block))];
+    }
+
+    private JsonElement readValue() throws IOException
+    {
+        final int tag = this.block.readUnsignedByte();
+        switch (tag)
+        {
+            case BinaryFlagFormat.NULL:
+                return JsonNull.INSTANCE;
+            case BinaryFlagFormat.TRUE:
+                return new JsonPrimitive(true);
+            case BinaryFlagFormat.FALSE:
+                return new JsonPrimitive(false);
+            case BinaryFlagFormat.STRING:
+                return new JsonPrimitive(this.readString());
+            case BinaryFlagFormat.INTEGER:
+                return new JsonPrimitive(readZigZag(this.block));
+            case BinaryFlagFormat.FIXED:
+                return new JsonPrimitive(readZigZag(this.block) / BinaryFlagFormat.SCALE);
+            case BinaryFlagFormat.DOUBLE:
+                return new JsonPrimitive(this.block.readDouble());
+            case BinaryFlagFormat.FLOAT:
+                return new JsonPrimitive(this.block.readFloat());
+            case BinaryFlagFormat.NUMBER:
+                // Parsed numbers keep their exact text
+                return new JsonParser().parse(this.readString()).getAsJsonPrimitive();
+            case BinaryFlagFormat.ARRAY:
+                return this.readArray();
+            case BinaryFlagFormat.OBJECT:
+                return this.readObject();
+            case BinaryFlagFormat.COORDINATES:
+                return this.readCoordinates();
+            default:
+                throw new IOException(String.format("Unknown binary flag value %s", tag));
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package org.openstreetmap.atlas.checks.flag.serializer;
+
+import static org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagFormat.writeVarLong;
+import static org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagFormat.writeZigZag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.zip.DeflaterOutputStream;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Writes flags, as the GeoJson FeatureCollections of the line delimited flag files, in the compact
+ * binary format described in {@link BinaryFlagFormat}. Flags are gathered in blocks sharing one
+ * dictionary of strings, so that check names, instructions, tag keys and country codes are written
+ * once per block, and each block is deflated. Read the files back with a {@link BinaryFlagReader}.
+ *
+ * @author agent
+ */
+public final class BinaryFlagWriter implements Closeable
+{
+    /**
+     * The extension of binary flag files
+     */
+    public static final String EXTENSION = ".flags";
+    /**
+     * The default number of flags in a block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+    // Blocks are written early if their flags are large, so that blocks are never too large to read
+    private static final int MAXIMUM_BLOCK_BYTES = 8 * 1024 * 1024;
+    // Scaled decimals beyond this may not come back exactly
+    private static final long MAXIMUM_FIXED = 1L << 53;
+    private static final int COORDINATE_DIMENSIONS = 2;
+    private static final String COORDINATES = "coordinates";
+
+    private final OutputStream output;
+    private final int blockSize;
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+    private final DataOutputStream recordOutput = new DataOutputStream(this.records);
+    private int blockCount;
+    private long count;
+
+    private static Optional<long[]> coordinates(final JsonArray array)
+    {
+        if (array.size() == 0)
+        {
+            return Optional.empty();
+        }
+        final long[] scaled = new long[array.size() * COORDINATE_DIMENSIONS];
+        for (var index = 0; index < array.size(); index++)
+        {
+            final JsonElement element = array.get(index);
+            if (!element.isJsonArray() || element.getAsJsonArray().size() != COORDINATE_DIMENSIONS)
+            {
+                return Optional.empty();
+            }
+            for (var dimension = 0; dimension < COORDINATE_DIMENSIONS; dimension++)
+            {
+                final JsonElement value = element.getAsJsonArray().get(dimension);
+                final OptionalLong fixed = value.isJsonPrimitive()
+                        && value.getAsJsonPrimitive().isNumber()
+                                ? fixed(value.getAsNumber())
+                                : OptionalLong.empty();
+                if (fixed.isEmpty())
+                {
+                    return Optional.empty();
+                }
+                scaled[index * COORDINATE_DIMENSIONS + dimension] = fixed.getAsLong();
+            }
+        }
+        return Optional.of(scaled);
+    }
+
+    /**
+     * @return the number scaled by {@link BinaryFlagFormat#SCALE}, if dividing it back gives a
+     *         double written exactly like the number, so that integers and other spellings are not
+     *         turned into decimals
+     */
+    private static OptionalLong fixed(final Number number)
+    {
+        final double value = number.doubleValue();
+        // Floats would come back as different doubles
+        if (number instanceof Float || !Double.isFinite(value)
+                || Math.abs(value) >= MAXIMUM_FIXED / BinaryFlagFormat.SCALE)
+        {
+            return OptionalLong.empty();
+        }
+        final long scaled = Math.round(value * BinaryFlagFormat.SCALE);
+        return Double.toString(scaled / BinaryFlagFormat.SCALE).equals(number.toString())
+                ? OptionalLong.of(scaled)
+                : OptionalLong.empty();
+    }
+
+    /**
+     * @return the number as a long, if it is written as one
+     */
+    private static OptionalLong integer(final Number number)
+    {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short
+                || number instanceof Byte)
+        {
+            return OptionalLong.of(number.longValue());
+        }
+        if (number instanceof Double || number instanceof Float)
+        {
+            return OptionalLong.empty();
+        }
+        try
+        {
+            final long value = Long.parseLong(number.toString());
+            return Long.toString(value).equals(number.toString()) ? OptionalLong.of(value)
+                    : OptionalLong.empty();
+        }
+        catch (final NumberFormatException e)
+        {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * @param output
+     *            the stream to write to, closed with this writer
+     * @throws IOException
+     *             if the header could not be written
+     */
+    public BinaryFlagWriter(final OutputStream output) throws IOException
+    {
+        this(output, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param output
+     *            the stream to write to, closed with this writer
+     * @param blockSize
+     *            the number of flags in a block
+     * @throws IOException
+     *             if the header could not be written
+     */
+    public BinaryFlagWriter(final OutputStream output, final int blockSize) throws IOException
+    {
+        this.output = output;
+        this.blockSize = blockSize;
+        output.write(BinaryFlagFormat.MAGIC);
+        writeVarLong(output, BinaryFlagFormat.VERSION);
+    }
+
+    /**
+     * Writes the last block and closes the stream
+     *
+     * @throws IOException
+     *             if the last block could not be written
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.flush();
+        this.output.close();
+    }
+
+    /**
+     * @return the number of flags written
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Adds a flag to the current block, and writes the block once full
+     *
+     * @param flag
+     *            the flag, as the GeoJson FeatureCollection of a line of a flag file
+     * @throws IOException
+     *             if the block could not be written
+     */
+    public void write(final JsonObject flag) throws IOException
+    {
+        this.writeValue(flag, false);
+        this.blockCount++;
+        this.count++;
+        if (this.blockCount >= this.blockSize || this.records.size() >= MAXIMUM_BLOCK_BYTES)
+        {
+            this.flush();
+        }
+    }
+
+    private void flush() throws IOException
+    {
+        if (this.blockCount == 0)
+        {
+            return;
+        }
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream(this.records.size());
+        writeVarLong(payload, this.blockCount);
+        writeVarLong(payload, this.dictionary.size());
+        for (final String string : this.dictionary.keySet())
+        {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(payload, bytes.length);
+            payload.write(bytes);
+        }
+        this.records.writeTo(payload);
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed))
+        {
+            payload.writeTo(deflater);
+        }
+        writeVarLong(this.output, payload.size());
+        writeVarLong(this.output, compressed.size());
+        compressed.writeTo(this.output);
+
+        this.dictionary.clear();
+        this.records.reset();
+        this.blockCount = 0;
+    }
+
+    private void writeCoordinates(final long[] coordinates) throws IOException
+    {
+        this.recordOutput.write(BinaryFlagFormat.COORDINATES);
+        writeVarLong(this.recordOutput, coordinates.length / COORDINATE_DIMENSIONS);
+        long previousX = 0;
+        long previousY = 0;
+        for (var index = 0; index < coordinates.length; index += COORDINATE_DIMENSIONS)
+        {
+            writeZigZag(this.recordOutput, coordinates[index] - previousX);
+            writeZigZag(this.recordOutput, coordinates[index + 1] - previousY);
+            previousX = coordinates[index];
+            previousY = coordinates[index + 1];
+        }
+    }
+
+    private void writeNumber(final Number number) throws IOException
+    {
+        final OptionalLong integer = integer(number);
+        if (integer.isPresent())
+        {
+            this.recordOutput.write(BinaryFlagFormat.INTEGER);
+            writeZigZag(this.recordOutput, integer.getAsLong());
+            return;
+        }
+        if (number instanceof Float)
+        {
+            this.recordOutput.write(BinaryFlagFormat.FLOAT);
+            this.recordOutput.writeFloat(number.floatValue());
+            return;
+        }
+        final OptionalLong fixed = fixed(number);
+        if (fixed.isPresent())
+        {
+            this.recordOutput.write(BinaryFlagFormat.FIXED);
+            writeZigZag(this.recordOutput, fixed.getAsLong());
+        }
+        else if (number instanceof Double)
+        {
+            this.recordOutput.write(BinaryFlagFormat.DOUBLE);
+            this.recordOutput.writeDouble(number.doubleValue());
+        }
+        else
+        {
+            // Keep the exact text of numbers that do not fit the other forms
+            this.recordOutput.write(BinaryFlagFormat.NUMBER);
+            this.writeString(number.toString());
+        }
+    }
+
+    private void writeString(final String string) throws IOException
+    {
+        writeVarLong(this.recordOutput,
+                this.dictionary.computeIfAbsent(string, key -> this.dictionary.size()));
+    }
+
+    /**
+     * @param value
+     *            the value to write
+     * @param coordinates
+     *            {@code true} if the value is, or is nested in, a GeoJson {@code coordinates}
+     *            member, the only arrays written as {@link BinaryFlagFormat#COORDINATES}
+     */
+    private void writeValue(final JsonElement value, final boolean coordinates) throws IOException
+    {
+        if (value == null || value.isJsonNull())
+        {
+            this.recordOutput.write(BinaryFlagFormat.NULL);
+        }
+        else if (value.isJsonPrimitive())
+        {
+            final JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isBoolean())
+            {
+                this.recordOutput.write(
+                        primitive.getAsBoolean() ? BinaryFlagFormat.TRUE : BinaryFlagFormat.FALSE);
+            }
+            else if (primitive.isNumber())
+            {
+                this.writeNumber(primitive.getAsNumber());
+            }
+            else
+            {
+                this.recordOutput.write(BinaryFlagFormat.STRING);
+                this.writeString(primitive.getAsString());
+            }
+        }
+        else if (value.isJsonArray())
+        {
+            final Optional<long[]> scaled = coordinates ? coordinates(value.getAsJsonArray())
+                    : Optional.empty();
+            if (scaled.isPresent())
+            {
+                this.writeCoordinates(scaled.get());
+            }
+            else
+            {
+                this.recordOutput.write(BinaryFlagFormat.ARRAY);
+                writeVarLong(this.recordOutput, value.getAsJsonArray().size());
+                for (final JsonElement element : value.getAsJsonArray())
+                {
+                    this.writeValue(element, coordinates);
+                }
+            }
+        }
+        else
+        {
+            final JsonObject object = value.getAsJsonObject();
+            this.recordOutput.write(BinaryFlagFormat.OBJECT);
+            writeVarLong(this.recordOutput, object.entrySet().size());
+            for (final Map.Entry<String, JsonElement> entry : object.entrySet())
+            {
+                this.writeString(entry.getKey());
+                this.writeValue(entry.getValue(), COORDINATES.equals(entry.getKey()));
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package org.openstreetmap.atlas.checks.maproulette;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
@@ -12,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
@@ -35,7 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonObject;
 
 /**
  * Given a directory of log files created by atlas-checks, upload those files to MapRoulette.
@@ -158,12 +158,12 @@ public class MapRouletteUploadCommand extends MapRouletteCommand
                     .getOptionalLogOutputType(logFile);
             optionalHandledFileType.ifPresent(logOutputFileType ->
             {
-                try (BufferedReader reader = FileUtility.getReader(logFile, logOutputFileType))
+                try (Stream<JsonObject> flags = FileUtility.getFlags(logFile, logOutputFileType))
                 {
-                    reader.lines().filter(line -> line.trim().length() > 0).forEach(line ->
+                    flags.forEach(flag ->
                     {
                         final CheckFlag flagRecoveredFromLine = new CheckFlagDeserializer()
-                                .deserialize(new JsonParser().parse(line), null, null);
+                                .deserialize(flag, null, null);
                         if (flagRecoveredFromLine == null)
                         {
                             // an issue deserializing the flag
@@ -0,0 +1,112 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.tuples.Tuple;
+
+/**
+ * Keeps one value per {@link Atlas}, for data derived from an atlas that all the checks and
+ * threads working on it can share. Atlases are matched by identity and only weakly referenced, so
+ * a value is dropped once its atlas is collected, as long as the value does not reference the atlas
+ * itself.
+ *
+ * @param <V>
+ *            type of the values
+ * @author agent
+ */
+public final class AtlasScopedCache<V>
+{
+    private final Function<Atlas, V> factory;
+    private final List<Tuple<WeakReference<Atlas>, V>> values = new ArrayList<>();
+    // Last value returned, so that the checks of an atlas mostly find it without the lock
+    private volatile Tuple<WeakReference<Atlas>, V> last;
+
+    /**
+     * @param factory
+     *            creates the value of an atlas
+     */
+    public AtlasScopedCache(final Function<Atlas, V> factory)
+    {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the value of an atlas, creating it if needed. The value of the atlas asked for last is
+     * returned without locking. Other values are created under the lock, so that concurrent
+     * callers do not create the same one twice.
+     *
+     * @param atlas
+     *            the {@link Atlas}
+     * @return the value of the atlas
+     */
+    public V get(final Atlas atlas)
+    {
+        final Tuple<WeakReference<Atlas>, V> recent = this.last;
+        if (recent != null && recent.getFirst().get() == atlas)
+        {
+            return recent.getSecond();
+        }
+        synchronized (this.values)
+        {
+            final Iterator<Tuple<WeakReference<Atlas>, V>> entries = this.values.iterator();
+            while (entries.hasNext())
+            {
+                final Tuple<WeakReference<Atlas>, V> entry = entries.next();
+                final Atlas cached = entry.getFirst().get();
+                if (cached == null)
+                {
+                    entries.remove();
+                }
+                else if (cached == atlas)
+                {
+                    this.last = entry;
+                    return entry.getSecond();
+                }
+            }
+            final Tuple<WeakReference<Atlas>, V> entry = Tuple
+                    .createTuple(new WeakReference<>(atlas), this.factory.apply(atlas));
+            this.values.add(entry);
+            this.last = entry;
+            return entry.getSecond();
+        }
+    }
+
+    /**
+     * Drops the value of an atlas before the atlas itself is collected.
+     *
+     * @param atlas
+     *            the {@link Atlas}
+     * @return the dropped value, if there was one
+     */
+    public Optional<V> remove(final Atlas atlas)
+    {
+        synchronized (this.values)
+        {
+            final Iterator<Tuple<WeakReference<Atlas>, V>> entries = this.values.iterator();
+            while (entries.hasNext())
+            {
+                final Tuple<WeakReference<Atlas>, V> entry = entries.next();
+                final Atlas cached = entry.getFirst().get();
+                if (cached == null || cached == atlas)
+                {
+                    entries.remove();
+                    if (entry == this.last)
+                    {
+                        this.last = null;
+                    }
+                    if (cached != null)
+                    {
+                        return Optional.of(entry.getSecond());
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
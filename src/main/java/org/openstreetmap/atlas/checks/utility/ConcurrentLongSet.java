@@ -0,0 +1,369 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A thread safe set of primitive {@code long} keys, or of pairs of {@code long}s. Keys are stored
+ * inline in open addressing tables, which takes a fraction of the memory of a set of boxed
+ * {@link Long}s or formatted {@link String}s and leaves the garbage collector nothing to trace.
+ * The table is split in segments, each with its own lock, so that threads adding keys at the same
+ * time rarely wait for each other.
+ *
+ * @author agent
+ */
+public final class ConcurrentLongSet
+{
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int INITIAL_SLOTS = 16;
+    // Share of the slots of a segment that can be used before it grows
+    private static final double LOAD_FACTOR = 0.6;
+    private static final int WORD_BITS = 6;
+    private static final int WORD_MASK = (1 << WORD_BITS) - 1;
+    private static final int SEGMENT_SHIFT = Long.SIZE - SEGMENT_BITS;
+    // Constants of the MurmurHash3 finalizer
+    private static final long MIX_1 = 0xff51afd7ed558ccdL;
+    private static final long MIX_2 = 0xc4ceb9fe1a85ec53L;
+    private static final int MIX_SHIFT = 33;
+
+    private final int width;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * An open addressing table with linear probing. A bitset tells which slots are used, so that
+     * every {@code long} value can be a key.
+     *
+     * @author agent
+     */
+    private static final class Segment
+    {
+        private final int width;
+        private long[] keys;
+        private long[] used;
+        private int slots;
+        private int size;
+
+        Segment(final int width)
+        {
+            this.width = width;
+            this.allocate(INITIAL_SLOTS);
+        }
+
+        synchronized boolean add(final long hash, final long first, final long second)
+        {
+            int slot = this.slot(hash);
+            while (this.isUsed(slot))
+            {
+                if (this.matches(slot, first, second))
+                {
+                    return false;
+                }
+                slot = this.next(slot);
+            }
+            this.store(slot, first, second);
+            this.size++;
+            if (this.size > this.slots * LOAD_FACTOR)
+            {
+                this.grow();
+            }
+            return true;
+        }
+
+        synchronized void clear()
+        {
+            this.allocate(INITIAL_SLOTS);
+            this.size = 0;
+        }
+
+        synchronized boolean contains(final long hash, final long first, final long second)
+        {
+            int slot = this.slot(hash);
+            while (this.isUsed(slot))
+            {
+                if (this.matches(slot, first, second))
+                {
+                    return true;
+                }
+                slot = this.next(slot);
+            }
+            return false;
+        }
+
+        synchronized void forEach(final LongConsumer firstConsumer)
+        {
+            for (int slot = 0; slot < this.slots; slot++)
+            {
+                if (this.isUsed(slot))
+                {
+                    firstConsumer.accept(this.keys[slot * this.width]);
+                }
+            }
+        }
+
+        synchronized boolean remove(final long hash, final long first, final long second)
+        {
+            int slot = this.slot(hash);
+            while (this.isUsed(slot))
+            {
+                if (this.matches(slot, first, second))
+                {
+                    this.release(slot);
+                    this.size--;
+                    return true;
+                }
+                slot = this.next(slot);
+            }
+            return false;
+        }
+
+        synchronized int size()
+        {
+            return this.size;
+        }
+
+        private void allocate(final int newSlots)
+        {
+            this.slots = newSlots;
+            this.keys = new long[newSlots * this.width];
+            this.used = new long[(newSlots + WORD_MASK) >>> WORD_BITS];
+        }
+
+        private void grow()
+        {
+            final long[] oldKeys = this.keys;
+            final long[] oldUsed = this.used;
+            final int oldSlots = this.slots;
+            this.allocate(oldSlots * 2);
+            for (int slot = 0; slot < oldSlots; slot++)
+            {
+                if ((oldUsed[slot >>> WORD_BITS] & 1L << (slot & WORD_MASK)) != 0)
+                {
+                    final long first = oldKeys[slot * this.width];
+                    final long second = this.width > 1 ? oldKeys[slot * this.width + 1] : 0L;
+                    int newSlot = this.slot(hash(first, second));
+                    while (this.isUsed(newSlot))
+                    {
+                        newSlot = this.next(newSlot);
+                    }
+                    this.store(newSlot, first, second);
+                }
+            }
+        }
+
+        private boolean isUsed(final int slot)
+        {
+            return (this.used[slot >>> WORD_BITS] & 1L << (slot & WORD_MASK)) != 0;
+        }
+
+        private boolean matches(final int slot, final long first, final long second)
+        {
+            return this.keys[slot * this.width] == first
+                    && (this.width == 1 || this.keys[slot * this.width + 1] == second);
+        }
+
+        private int next(final int slot)
+        {
+            return (slot + 1) & (this.slots - 1);
+        }
+
+        /**
+         * Frees a slot, shifting back the following keys of the probe sequence so that lookups
+         * never stop early at the freed slot.
+         */
+        private void release(final int slot)
+        {
+            int free = slot;
+            int current = this.next(slot);
+            while (this.isUsed(current))
+            {
+                final long first = this.keys[current * this.width];
+                final long second = this.width > 1 ? this.keys[current * this.width + 1] : 0L;
+                final int home = this.slot(hash(first, second));
+                // Move the key back if its home slot is not between the free and current slots
+                final boolean movable = free <= current ? home <= free || home > current
+                        : home <= free && home > current;
+                if (movable)
+                {
+                    this.store(free, first, second);
+                    free = current;
+                }
+                current = this.next(current);
+            }
+            this.used[free >>> WORD_BITS] &= ~(1L << (free & WORD_MASK));
+        }
+
+        private int slot(final long hash)
+        {
+            return (int) hash & (this.slots - 1);
+        }
+
+        private void store(final int slot, final long first, final long second)
+        {
+            this.keys[slot * this.width] = first;
+            if (this.width > 1)
+            {
+                this.keys[slot * this.width + 1] = second;
+            }
+            this.used[slot >>> WORD_BITS] |= 1L << (slot & WORD_MASK);
+        }
+    }
+
+    /**
+     * @return a set of single {@code long} keys
+     */
+    public static ConcurrentLongSet longs()
+    {
+        return new ConcurrentLongSet(1);
+    }
+
+    /**
+     * @return a set of ordered pairs of {@code long} keys
+     */
+    public static ConcurrentLongSet pairs()
+    {
+        return new ConcurrentLongSet(2);
+    }
+
+    private static long hash(final long first, final long second)
+    {
+        long hash = first * MIX_2 + second;
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_1;
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_2;
+        hash ^= hash >>> MIX_SHIFT;
+        return hash;
+    }
+
+    private ConcurrentLongSet(final int width)
+    {
+        this.width = width;
+        for (int index = 0; index < SEGMENTS; index++)
+        {
+            this.segments[index] = new Segment(width);
+        }
+    }
+
+    /**
+     * @param key
+     *            the key to add
+     * @return {@code true} if the key was not in the set
+     */
+    public boolean add(final long key)
+    {
+        return this.add(key, 0L);
+    }
+
+    /**
+     * @param first
+     *            the first key of the pair to add
+     * @param second
+     *            the second key of the pair to add, ignored by a set of single keys
+     * @return {@code true} if the pair was not in the set
+     */
+    public boolean add(final long first, final long second)
+    {
+        final long hash = hash(first, this.second(second));
+        return this.segment(hash).add(hash, first, this.second(second));
+    }
+
+    /**
+     * Removes all the keys
+     */
+    public void clear()
+    {
+        for (final Segment segment : this.segments)
+        {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @param key
+     *            the key to look for
+     * @return {@code true} if the key is in the set
+     */
+    public boolean contains(final long key)
+    {
+        return this.contains(key, 0L);
+    }
+
+    /**
+     * @param first
+     *            the first key of the pair to look for
+     * @param second
+     *            the second key of the pair to look for, ignored by a set of single keys
+     * @return {@code true} if the pair is in the set
+     */
+    public boolean contains(final long first, final long second)
+    {
+        final long hash = hash(first, this.second(second));
+        return this.segment(hash).contains(hash, first, this.second(second));
+    }
+
+    /**
+     * Iterates the keys, or the first key of each pair. Each segment is locked while it is
+     * iterated, so keys added or removed meanwhile may or may not be seen.
+     *
+     * @param consumer
+     *            the consumer of the keys
+     */
+    public void forEach(final LongConsumer consumer)
+    {
+        for (final Segment segment : this.segments)
+        {
+            segment.forEach(consumer);
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * @param key
+     *            the key to remove
+     * @return {@code true} if the key was in the set
+     */
+    public boolean remove(final long key)
+    {
+        return this.remove(key, 0L);
+    }
+
+    /**
+     * @param first
+     *            the first key of the pair to remove
+     * @param second
+     *            the second key of the pair to remove, ignored by a set of single keys
+     * @return {@code true} if the pair was in the set
+     */
+    public boolean remove(final long first, final long second)
+    {
+        final long hash = hash(first, this.second(second));
+        return this.segment(hash).remove(hash, first, this.second(second));
+    }
+
+    /**
+     * @return the number of keys or pairs in the set
+     */
+    public int size()
+    {
+        int size = 0;
+        for (final Segment segment : this.segments)
+        {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private long second(final long second)
+    {
+        return this.width > 1 ? second : 0L;
+    }
+
+    private Segment segment(final long hash)
+    {
+        return this.segments[(int) (hash >>> SEGMENT_SHIFT)];
+    }
+}
@@ -6,9 +6,11 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -61,8 +63,22 @@ public final class ElevationUtilities implements Serializable
     private static final String[] POSSIBLE_COMPRESSED_EXTS = new String[] { "", ".zip", ".gz",
             ".xz", ".bz", ".bz2", ".tar" };
 
-    /** A map of {lat, lon} pairs with a loaded srtm in a byte array */
-    private final Map<Pair<Integer, Integer>, short[][]> loadedSrtm = new HashMap<>();
+    /** The default number of loaded files to keep, up to 26 MB each for 1 arc second data */
+    private static final int CACHED_FILES = 16;
+
+    /**
+     * Files are loaded under one of these locks, picked by location, so that different files load
+     * in parallel while a file is only loaded once
+     */
+    private static final Object[] LOAD_LOCKS = new Object[64];
+
+    static
+    {
+        Arrays.setAll(LOAD_LOCKS, index -> new Object());
+    }
+
+    /** A map of {lat, lon} pairs with a loaded srtm in a byte array, least recently used first */
+    private final Map<Pair<Integer, Integer>, short[][]> loadedSrtm;
 
     private final double srtmExtent;
 
@@ -71,6 +87,31 @@ public final class ElevationUtilities implements Serializable
     private final String srtmPath;
     private ExternalDataFetcher fileFetcher;
 
+    /**
+     * Loaded files, dropping the least recently used one when full
+     *
+     * @author agent
+     */
+    private static final class LoadedFiles extends LinkedHashMap<Pair<Integer, Integer>, short[][]>
+    {
+        private static final long serialVersionUID = 3427797960853211497L;
+        private static final float LOAD_FACTOR = 0.75f;
+        private final int maximumFiles;
+
+        LoadedFiles(final int maximumFiles)
+        {
+            super(maximumFiles, LOAD_FACTOR, true);
+            this.maximumFiles = maximumFiles;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                final Map.Entry<Pair<Integer, Integer>, short[][]> eldest)
+        {
+            return this.size() > this.maximumFiles;
+        }
+    }
+
     /**
      * Configuration Keys in the Integrity Framework are based on the check simple classname.
      *
@@ -111,6 +152,8 @@ public final class ElevationUtilities implements Serializable
                         Function.identity()),
                 configurationValue(configuration, "elevation.path", "extra/elevation",
                         Function.identity()),
+                configurationValue(configuration, "elevation.cached_files", (long) CACHED_FILES,
+                        Long::intValue),
                 fileFetcher);
 
     }
@@ -131,6 +174,28 @@ public final class ElevationUtilities implements Serializable
     public ElevationUtilities(final double srtmExtent, final String srtmExtension,
             final String srtmPath, final ExternalDataFetcher fileFetcher)
     {
+        this(srtmExtent, srtmExtension, srtmPath, CACHED_FILES, fileFetcher);
+    }
+
+    /**
+     * Create a configured ElevationUtilities
+     *
+     * @param srtmExtent
+     *            The extent of the files. The units are in degrees, and the default is 1 degree.
+     * @param srtmExtension
+     *            The extension of the files. Archive/compression file endings are not required
+     *            (they will be automatically detected).
+     * @param srtmPath
+     *            The path for the files.
+     * @param cachedFiles
+     *            The number of loaded files to keep in memory
+     * @param fileFetcher
+     *            The file fetcher to use to get data files
+     */
+    public ElevationUtilities(final double srtmExtent, final String srtmExtension,
+            final String srtmPath, final int cachedFiles, final ExternalDataFetcher fileFetcher)
+    {
+        this.loadedSrtm = Collections.synchronizedMap(new LoadedFiles(cachedFiles));
         this.srtmExtension = srtmExtension;
         this.srtmExtent = srtmExtent;
         this.srtmPath = srtmPath.endsWith(File.separator) ? srtmPath
@@ -222,12 +287,24 @@ public final class ElevationUtilities implements Serializable
      */
     public short[][] getMap(final Location location)
     {
-        final double latDegrees = location.getLatitude().asDegrees();
-        final double lonDegrees = location.getLongitude().asDegrees();
-        final int lat = (int) Math.floor(latDegrees);
-        final int lon = (int) Math.floor(lonDegrees);
-        return this.loadedSrtm.computeIfAbsent(Pair.of(lat, lon),
-                pair -> this.loadMap(pair.getLeft(), pair.getRight()));
+        final Pair<Integer, Integer> key = this.getKey(location);
+        final short[][] loaded = this.loadedSrtm.get(key);
+        if (loaded != null)
+        {
+            return loaded;
+        }
+        // Only loads of the same file wait for each other, reads of loaded files never do
+        synchronized (LOAD_LOCKS[Math.floorMod(key.hashCode(), LOAD_LOCKS.length)])
+        {
+            final short[][] raced = this.loadedSrtm.get(key);
+            if (raced != null)
+            {
+                return raced;
+            }
+            final short[][] map = this.loadMap(key.getLeft(), key.getRight());
+            this.loadedSrtm.put(key, map);
+            return map;
+        }
     }
 
     /**
@@ -318,11 +395,18 @@ public final class ElevationUtilities implements Serializable
      */
     public void putMap(final Location location, final short[][] map)
     {
-        final double latDegrees = location.getLatitude().asDegrees();
-        final double lonDegrees = location.getLongitude().asDegrees();
-        final int lat = (int) Math.floor(latDegrees);
-        final int lon = (int) Math.floor(lonDegrees);
-        this.loadedSrtm.put(Pair.of(lat, lon), map);
+        this.loadedSrtm.put(this.getKey(location), map);
+    }
+
+    /**
+     * @param location
+     *            A location
+     * @return The {lat, lon} pair of the lower-left corner of the file of the location
+     */
+    private Pair<Integer, Integer> getKey(final Location location)
+    {
+        return Pair.of((int) Math.floor(location.getLatitude().asDegrees()),
+                (int) Math.floor(location.getLongitude().asDegrees()));
     }
 
     /**
@@ -335,7 +419,7 @@ public final class ElevationUtilities implements Serializable
      * @return A short[latitude][longitude] = height in meters array
      */
     @Nonnull
-    private synchronized short[][] loadMap(final int lat, final int lon)
+    private short[][] loadMap(final int lat, final int lon)
     {
         if (this.fileFetcher == null)
         {
@@ -375,30 +459,27 @@ public final class ElevationUtilities implements Serializable
      */
     private short[][] readStream(final InputStream inputStream) throws IOException
     {
-        int squareSize = 1;
-        short[] data = new short[(int) Math.pow(squareSize, 2)];
+        return this.readBuffer(ByteBuffer.wrap(inputStream.readAllBytes()));
+    }
+
+    /**
+     * Read a buffer into a short[][]. Files that are not square are padded with zeros up to the
+     * next square.
+     *
+     * @param byteBuffer
+     *            The buffer to read, from its current position
+     * @return A short[][] where short[latitude][longitude] = height in meters
+     */
+    private short[][] readBuffer(final ByteBuffer byteBuffer)
+    {
         // srtm (hgt) is in big-endian
-        int index = 0;
-        final ByteBuffer byteBuffer = ByteBuffer.wrap(inputStream.readAllBytes());
         byteBuffer.order(ByteOrder.BIG_ENDIAN);
-        while (byteBuffer.hasRemaining())
-        {
-            data[index] = byteBuffer.getShort();
-            index++;
-            if (index >= data.length && byteBuffer.hasRemaining())
-            {
-                squareSize += 1;
-                data = Arrays.copyOf(data, (int) Math.pow(squareSize, 2));
-            }
-        }
-
+        final ShortBuffer data = byteBuffer.asShortBuffer();
+        final int squareSize = Math.max(1, (int) Math.ceil(Math.sqrt(data.remaining())));
         final short[][] realData = new short[squareSize][squareSize];
-        for (int latitude = 0; latitude < squareSize; latitude++)
+        for (int latitude = 0; latitude < squareSize && data.hasRemaining(); latitude++)
         {
-            for (int longitude = 0; longitude < squareSize; longitude++)
-            {
-                realData[latitude][longitude] = data[latitude * squareSize + longitude];
-            }
+            data.get(realData[latitude], 0, Math.min(squareSize, data.remaining()));
         }
         return realData;
     }
@@ -1,16 +1,24 @@
 package org.openstreetmap.atlas.checks.utility;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.io.FilenameUtils;
+import org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagReader;
+import org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagWriter;
+import org.openstreetmap.atlas.exception.CoreException;
 import org.openstreetmap.atlas.streaming.resource.File;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
 /**
  * A set of utility classes for reading files
  *
@@ -21,6 +29,8 @@ public final class FileUtility
 
     private static final String LOG_EXTENSION = "log";
     private static final String ZIPPED_LOG_EXTENSION = ".log.gz";
+    private static final String HIDDEN_PREFIX = ".";
+    private static final String TEMPORARY_PREFIX = "_";
 
     /**
      * An enum containing the different types of input files that we can handle.
@@ -28,11 +38,13 @@ public final class FileUtility
     public enum LogOutputFileType
     {
         LOG,
-        COMPRESSED_LOG
+        COMPRESSED_LOG,
+        BINARY_FLAGS
     }
 
     /**
      * Determine whether or not this file is something we can handle, and classify it accordingly.
+     * Hidden files are never handled, see {@link #isHidden(File)}.
      *
      * @param logFile
      *            any file
@@ -41,12 +53,20 @@ public final class FileUtility
      */
     public static Optional<LogOutputFileType> getOptionalLogOutputType(final File logFile)
     {
+        if (isHidden(logFile))
+        {
+            return Optional.empty();
+        }
         // Note that technically the true extension is just .gz, so we can't use the same method as
         // below.
         if (logFile.getName().endsWith(ZIPPED_LOG_EXTENSION))
         {
             return Optional.of(LogOutputFileType.COMPRESSED_LOG);
         }
+        else if (logFile.getName().endsWith(BinaryFlagWriter.EXTENSION))
+        {
+            return Optional.of(LogOutputFileType.BINARY_FLAGS);
+        }
         else if (FilenameUtils.getExtension(logFile.getName()).equals(LOG_EXTENSION))
         {
             return Optional.of(LogOutputFileType.LOG);
@@ -54,6 +74,34 @@ public final class FileUtility
         return Optional.empty();
     }
 
+    /**
+     * Read the flags of a file that we know we should be able to handle, whether line delimited or
+     * binary
+     *
+     * @param inputFile
+     *            Some file with a valid, appropriate extension.
+     * @param fileType
+     *            The type of file that inputFile is
+     * @return the flags of inputFile, as the GeoJson FeatureCollection of each flag. The stream
+     *         must be closed to close the file.
+     * @throws IOException
+     *             if the file is not found or is poorly formatted, given its extension
+     */
+    public static Stream<JsonObject> getFlags(final File inputFile,
+            final LogOutputFileType fileType) throws IOException
+    {
+        if (fileType == LogOutputFileType.BINARY_FLAGS)
+        {
+            final BinaryFlagReader reader = new BinaryFlagReader(
+                    new FileInputStream(inputFile.getPathString()));
+            return reader.flags().onClose(() -> close(reader));
+        }
+        final BufferedReader reader = getReader(inputFile, fileType);
+        return reader.lines().filter(line -> line.trim().length() > 0)
+                .map(line -> new JsonParser().parse(line).getAsJsonObject())
+                .onClose(() -> close(reader));
+    }
+
     /**
      * Read a file that we know we should be able to handle
      *
@@ -65,11 +113,16 @@ public final class FileUtility
      * @throws IOException
      *             if the file is not found or is poorly formatted, given its extension. For
      *             example, if this file is gzipped and something goes wrong in the unzipping
-     *             process, it might throw an error
+     *             process, it might throw an error. Binary flag files have no lines, read them
+     *             with {@link #getFlags(File, LogOutputFileType)}.
      */
     public static BufferedReader getReader(final File inputFile, final LogOutputFileType fileType)
             throws IOException
     {
+        if (fileType == LogOutputFileType.BINARY_FLAGS)
+        {
+            throw new IOException(inputFile.getName() + " is not line delimited");
+        }
         if (fileType == LogOutputFileType.LOG)
         {
             return new BufferedReader(new FileReader(inputFile.getPathString()));
@@ -78,6 +131,33 @@ public final class FileUtility
                 new GZIPInputStream(new FileInputStream(inputFile.getPathString()))));
     }
 
+    /**
+     * Check whether a file is hidden from readers, like Hadoop does: its name starts with
+     * {@code _} or {@code .}. Output files are written under such temporary names, and renamed
+     * once complete.
+     *
+     * @param file
+     *            any file
+     * @return true if the file should not be read
+     */
+    public static boolean isHidden(final File file)
+    {
+        return file.getName().startsWith(HIDDEN_PREFIX)
+                || file.getName().startsWith(TEMPORARY_PREFIX);
+    }
+
+    private static void close(final Closeable closeable)
+    {
+        try
+        {
+            closeable.close();
+        }
+        catch (final IOException e)
+        {
+            throw new CoreException("Could not close {}", e, closeable);
+        }
+    }
+
     private FileUtility()
     {
         // No op
@@ -0,0 +1,297 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.openstreetmap.atlas.geography.MultiPolygon;
+import org.openstreetmap.atlas.geography.PolyLine;
+import org.openstreetmap.atlas.geography.Polygon;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.Area;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
+import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
+import org.openstreetmap.atlas.geography.atlas.items.complex.RelationOrAreaToMultiPolygonConverter;
+import org.openstreetmap.atlas.geography.converters.jts.JtsPolygonConverter;
+import org.openstreetmap.atlas.utilities.scalars.Surface;
+
+/**
+ * The geometries derived from the entities of an {@link Atlas}, computed once per entity and
+ * shared by all the checks and threads working on the atlas. Polygons, multipolygons, prepared
+ * JTS geometries, surfaces and original OSM way geometries are kept by entity type and identifier,
+ * instead of being rebuilt by each check, or once for each neighbor of an entity.
+ * <p>
+ * The cache is bounded by the number of locations it holds, set with
+ * {@link #setMaximumLocations(long)}: once full, geometries are still computed, just not kept. A
+ * cache lives as long as its atlas, and can be released as soon as the checks of a shard are done
+ * with {@link #release(Atlas)}.
+ *
+ * @author agent
+ */
+public final class GeometryCache
+{
+    // Default maximum number of locations kept per atlas, about 256 MB
+    public static final long DEFAULT_MAXIMUM_LOCATIONS = 4_000_000L;
+    // Rough memory taken per kept location: a Location object with its Latitude and Longitude
+    // objects takes over 50 bytes, plus its reference in the geometry and the JTS coordinates of
+    // the prepared geometries
+    public static final long BYTES_PER_LOCATION = 64L;
+    private static final double PERCENT = 100.0;
+    private static final JtsPolygonConverter JTS_POLYGON_CONVERTER = new JtsPolygonConverter();
+    private static final RelationOrAreaToMultiPolygonConverter MULTI_POLYGON_CONVERTER = new RelationOrAreaToMultiPolygonConverter();
+    private static volatile long maximumLocationsPerAtlas = DEFAULT_MAXIMUM_LOCATIONS;
+    private static final AtlasScopedCache<GeometryCache> CACHES = new AtlasScopedCache<>(
+            atlas -> new GeometryCache(maximumLocationsPerAtlas));
+
+    private final long maximumLocations;
+    private final Map<Key, Object> geometries = new ConcurrentHashMap<>();
+    private final AtomicLong locations = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    /**
+     * The kinds of derived geometries
+     *
+     * @author agent
+     */
+    private enum Kind
+    {
+        MULTI_POLYGON,
+        ORIGINAL_OSM_WAY,
+        POLYGON,
+        PREPARED,
+        SURFACE
+    }
+
+    /**
+     * A derived geometry of an entity
+     *
+     * @author agent
+     */
+    private static final class Key
+    {
+        private final Kind kind;
+        private final ItemType type;
+        private final long identifier;
+
+        Key(final Kind kind, final AtlasEntity entity)
+        {
+            this.kind = kind;
+            this.type = entity.getType();
+            this.identifier = entity.getIdentifier();
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            if (!(other instanceof Key))
+            {
+                return false;
+            }
+            final Key that = (Key) other;
+            return this.identifier == that.identifier && this.kind == that.kind
+                    && this.type == that.type;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(this.kind, this.type, this.identifier);
+        }
+    }
+
+    /**
+     * @return the most memory in bytes the cache of an atlas created by {@link #of(Atlas)} may
+     *         take, to reserve along with the atlas
+     */
+    public static long maximumBytes()
+    {
+        return maximumLocationsPerAtlas * BYTES_PER_LOCATION;
+    }
+
+    /**
+     * @param atlas
+     *            an {@link Atlas}
+     * @return the {@link GeometryCache} of the atlas
+     */
+    public static GeometryCache of(final Atlas atlas)
+    {
+        return CACHES.get(atlas);
+    }
+
+    /**
+     * Drops the cache of an atlas, once no check needs it anymore.
+     *
+     * @param atlas
+     *            an {@link Atlas}
+     * @return the dropped {@link GeometryCache}, to report on, if there was one
+     */
+    public static Optional<GeometryCache> release(final Atlas atlas)
+    {
+        return CACHES.remove(atlas);
+    }
+
+    /**
+     * Sets the maximum number of locations kept by the caches created from now on by
+     * {@link #of(Atlas)}.
+     *
+     * @param maximumLocations
+     *            maximum number of locations to keep per atlas, 0 to keep none
+     */
+    public static void setMaximumLocations(final long maximumLocations)
+    {
+        maximumLocationsPerAtlas = maximumLocations;
+    }
+
+    private static long size(final MultiPolygon multiPolygon)
+    {
+        return multiPolygon.outers().stream().mapToLong(Polygon::size).sum()
+                + multiPolygon.inners().stream().mapToLong(Polygon::size).sum();
+    }
+
+    /**
+     * Constructs a standalone cache. Prefer {@link #of(Atlas)} to share it.
+     *
+     * @param maximumLocations
+     *            maximum number of locations to keep
+     */
+    public GeometryCache(final long maximumLocations)
+    {
+        this.maximumLocations = maximumLocations;
+    }
+
+    /**
+     * @return the share of the lookups that found their geometry in the cache
+     */
+    public double hitRate()
+    {
+        final long lookups = this.hits.get() + this.misses.get();
+        return lookups == 0 ? 0.0 : (double) this.hits.get() / lookups;
+    }
+
+    /**
+     * @return the number of lookups that found their geometry in the cache
+     */
+    public long hits()
+    {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of lookups that had to compute their geometry
+     */
+    public long misses()
+    {
+        return this.misses.get();
+    }
+
+    /**
+     * @param relationOrArea
+     *            a {@link org.openstreetmap.atlas.geography.atlas.items.Relation} or an
+     *            {@link Area}
+     * @return the {@link MultiPolygon} of the entity. Conversion failures are thrown each time, and
+     *         not cached.
+     */
+    public MultiPolygon multiPolygon(final AtlasEntity relationOrArea)
+    {
+        return this.get(Kind.MULTI_POLYGON, relationOrArea, MULTI_POLYGON_CONVERTER::convert,
+                GeometryCache::size);
+    }
+
+    /**
+     * @param edge
+     *            an {@link Edge}
+     * @return the geometry of the OSM way of the edge, as built by
+     *         {@link CommonMethods#buildOriginalOsmWayGeometry(Edge)}
+     */
+    public PolyLine originalOsmWayGeometry(final Edge edge)
+    {
+        return this.get(Kind.ORIGINAL_OSM_WAY, edge,
+                entity -> CommonMethods.buildOriginalOsmWayGeometry((Edge) entity),
+                PolyLine::size);
+    }
+
+    /**
+     * @param area
+     *            an {@link Area}
+     * @return the {@link Polygon} of the area
+     */
+    public Polygon polygon(final Area area)
+    {
+        return this.get(Kind.POLYGON, area, entity -> ((Area) entity).asPolygon(), Polygon::size);
+    }
+
+    /**
+     * @param area
+     *            an {@link Area}
+     * @return the area as a {@link PreparedGeometry}, for repeated predicates against it
+     */
+    public PreparedGeometry prepared(final Area area)
+    {
+        return this.get(Kind.PREPARED, area,
+                entity -> PreparedGeometryFactory
+                        .prepare(JTS_POLYGON_CONVERTER.convert(this.polygon((Area) entity))),
+                prepared -> prepared.getGeometry().getNumPoints());
+    }
+
+    /**
+     * @param area
+     *            an {@link Area}
+     * @return the {@link Surface} of the area
+     */
+    public Surface surface(final Area area)
+    {
+        return this.get(Kind.SURFACE, area, entity -> this.polygon((Area) entity).surface(),
+                surface -> 1L);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s hits, %s misses (%.1f%% hit rate), %s/%s locations, %s not kept",
+                this.hits.get(), this.misses.get(), this.hitRate() * PERCENT,
+                this.locations.get(), this.maximumLocations, this.overflows.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(final Kind kind, final AtlasEntity entity,
+            final Function<AtlasEntity, T> compute, final ToLongFunction<T> weigher)
+    {
+        final Key key = new Key(kind, entity);
+        final T cached = (T) this.geometries.get(key);
+        if (cached != null)
+        {
+            this.hits.incrementAndGet();
+            return cached;
+        }
+        this.misses.incrementAndGet();
+        final T value = compute.apply(entity);
+        if (value == null)
+        {
+            return null;
+        }
+        final long weight = weigher.applyAsLong(value);
+        if (this.locations.addAndGet(weight) > this.maximumLocations)
+        {
+            this.locations.addAndGet(-weight);
+            this.overflows.incrementAndGet();
+            return value;
+        }
+        final T raced = (T) this.geometries.putIfAbsent(key, value);
+        if (raced != null)
+        {
+            // Another thread computed it meanwhile, keep theirs
+            this.locations.addAndGet(-weight);
+            return raced;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,91 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import org.openstreetmap.atlas.geography.Location;
+
+/**
+ * Maps locations to their index along a Hilbert curve covering the world. Locations that are
+ * close to each other mostly get close indices, and unlike a Z-order curve the Hilbert curve has
+ * no long jumps between consecutive cells, which makes it a good order to process neighboring
+ * areas one after the other.
+ *
+ * @author agent
+ */
+public final class HilbertCurve
+{
+    // Number of bits per dimension
+    public static final int DEFAULT_ORDER = 16;
+    private static final int MAXIMUM_ORDER = 31;
+    private static final int QUADRANT_MULTIPLIER = 3;
+    private static final double MAXIMUM_LATITUDE = 90.0;
+    private static final double MAXIMUM_LONGITUDE = 180.0;
+
+    /**
+     * @param location
+     *            the {@link Location} to index
+     * @return the index of the location along a Hilbert curve of {@link #DEFAULT_ORDER}
+     */
+    public static long index(final Location location)
+    {
+        return index(location, DEFAULT_ORDER);
+    }
+
+    /**
+     * @param location
+     *            the {@link Location} to index
+     * @param order
+     *            number of bits per dimension of the curve, between 1 and 31
+     * @return the index of the location along a Hilbert curve of the given order
+     */
+    public static long index(final Location location, final int order)
+    {
+        final long cells = 1L << Math.max(1, Math.min(MAXIMUM_ORDER, order));
+        return index(cell(location.getLongitude().asDegrees(), MAXIMUM_LONGITUDE, cells),
+                cell(location.getLatitude().asDegrees(), MAXIMUM_LATITUDE, cells), cells);
+    }
+
+    /**
+     * @param xCell
+     *            column of the cell, from 0 to {@code cells - 1}
+     * @param yCell
+     *            row of the cell, from 0 to {@code cells - 1}
+     * @param cells
+     *            number of cells per dimension, a power of two
+     * @return the index of the cell along the Hilbert curve
+     */
+    public static long index(final long xCell, final long yCell, final long cells)
+    {
+        long xValue = xCell;
+        long yValue = yCell;
+        long index = 0L;
+        for (long half = cells / 2; half > 0; half /= 2)
+        {
+            final long xBit = (xValue & half) > 0 ? 1L : 0L;
+            final long yBit = (yValue & half) > 0 ? 1L : 0L;
+            index += half * half * (QUADRANT_MULTIPLIER * xBit ^ yBit);
+            // Rotate the quadrant so that the curve stays continuous
+            if (yBit == 0)
+            {
+                if (xBit == 1)
+                {
+                    xValue = cells - 1 - xValue;
+                    yValue = cells - 1 - yValue;
+                }
+                final long swap = xValue;
+                xValue = yValue;
+                yValue = swap;
+            }
+        }
+        return index;
+    }
+
+    private static long cell(final double degrees, final double maximum, final long cells)
+    {
+        final long index = (long) ((degrees + maximum) / (2 * maximum) * cells);
+        return Math.max(0L, Math.min(cells - 1, index));
+    }
+
+    private HilbertCurve()
+    {
+        // utility class
+    }
+}
@@ -2,10 +2,13 @@ package org.openstreetmap.atlas.checks.utility;
 
 import java.util.Set;
 
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.PolyLine;
 import org.openstreetmap.atlas.geography.Polygon;
+import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.geography.clipping.Clip;
 import org.slf4j.Logger;
@@ -15,61 +18,76 @@ import org.slf4j.LoggerFactory;
  * A set of utilities that are common among intersection checks.
  *
  * @author bbreithaupt
+ * @author agent
  */
 public final class IntersectionUtilities
 {
     private static final Logger logger = LoggerFactory.getLogger(IntersectionUtilities.class);
+    private static final double FULL_OVERLAP = 1.0;
 
     /**
-     * Find the percentage of overlap for given {@link Polygon}s.
+     * Find the percentage of overlap for given {@link Area}s. The geometries and surfaces of the
+     * areas are taken from the {@link GeometryCache} of their atlas, and the clipping is skipped
+     * when the areas are too far apart to overlap, or when one contains the other.
      *
-     * @param polygon
-     *            {@link Polygon} to check for intersection
-     * @param otherPolygon
-     *            Another {@link Polygon} to check against for intersection
+     * @param area
+     *            {@link Area} to check for intersection
+     * @param otherArea
+     *            Another {@link Area} of the same atlas to check against for intersection
      * @return percentage of overlap as a double; 0 if unable to clip
      */
-    public static double findIntersectionPercentage(final Polygon polygon,
-            final Polygon otherPolygon)
+    public static double findIntersectionPercentage(final Area area, final Area otherArea)
     {
-        Clip clip = null;
-        try
-        {
-            clip = polygon.clip(otherPolygon, Clip.ClipType.AND);
-        }
-        catch (final TopologyException e)
-        {
-            logger.warn(String.format("Skipping intersection check. Error clipping [%s] and [%s].",
-                    polygon, otherPolygon), e);
-        }
+        final GeometryCache geometries = GeometryCache.of(area.getAtlas());
+        final PreparedGeometry prepared = geometries.prepared(area);
+        final PreparedGeometry otherPrepared = geometries.prepared(otherArea);
+        final Geometry geometry = prepared.getGeometry();
+        final Geometry otherGeometry = otherPrepared.getGeometry();
 
-        // Skip if nothing is returned
-        if (clip == null)
+        // Areas with disjoint bounding boxes cannot overlap
+        if (!geometry.getEnvelopeInternal().intersects(otherGeometry.getEnvelopeInternal()))
         {
             return 0.0;
         }
 
-        // Sum intersection area
-        long intersectionArea = 0;
-        for (final PolyLine polyline : clip.getClip())
+        final long surface = geometries.surface(area).asDm7Squared();
+        final long otherSurface = geometries.surface(otherArea).asDm7Squared();
+        try
         {
-            if (polyline instanceof Polygon)
+            if (!prepared.intersects(otherGeometry))
             {
-                final Polygon clippedPolygon = (Polygon) polyline;
-                intersectionArea += clippedPolygon.surface().asDm7Squared();
+                return 0.0;
+            }
+            // An area containing the other one overlaps all of the smaller one
+            if (surface > 0 && otherSurface > 0
+                    && (prepared.covers(otherGeometry) || otherPrepared.covers(geometry)))
+            {
+                return FULL_OVERLAP;
             }
         }
-
-        // Avoid division by zero
-        if (intersectionArea == 0)
+        catch (final TopologyException e)
         {
-            return 0.0;
+            logger.debug("Falling back to clipping for areas {} and {}.", area.getIdentifier(),
+                    otherArea.getIdentifier(), e);
         }
+        return findIntersectionPercentage(geometries.polygon(area), surface,
+                geometries.polygon(otherArea), otherSurface);
+    }
 
-        // Pick the smaller building's area as baseline
-        final long baselineArea = Math.min(polygon.surface().asDm7Squared(),
+    /**
+     * Find the percentage of overlap for given {@link Polygon}s.
+     *
+     * @param polygon
+     *            {@link Polygon} to check for intersection
+     * @param otherPolygon
+     *            Another {@link Polygon} to check against for intersection
+     * @return percentage of overlap as a double; 0 if unable to clip
+     */
+    public static double findIntersectionPercentage(final Polygon polygon,
+            final Polygon otherPolygon)
+    {
+        return findIntersectionPercentage(polygon, polygon.surface().asDm7Squared(), otherPolygon,
                 otherPolygon.surface().asDm7Squared());
-        return (double) intersectionArea / baselineArea;
     }
 
     /**
@@ -132,6 +150,48 @@ public final class IntersectionUtilities
         return true;
     }
 
+    private static double findIntersectionPercentage(final Polygon polygon, final long surface,
+            final Polygon otherPolygon, final long otherSurface)
+    {
+        Clip clip = null;
+        try
+        {
+            clip = polygon.clip(otherPolygon, Clip.ClipType.AND);
+        }
+        catch (final TopologyException e)
+        {
+            logger.warn(String.format("Skipping intersection check. Error clipping [%s] and [%s].",
+                    polygon, otherPolygon), e);
+        }
+
+        // Skip if nothing is returned
+        if (clip == null)
+        {
+            return 0.0;
+        }
+
+        // Sum intersection area
+        long intersectionArea = 0;
+        for (final PolyLine polyline : clip.getClip())
+        {
+            if (polyline instanceof Polygon)
+            {
+                final Polygon clippedPolygon = (Polygon) polyline;
+                intersectionArea += clippedPolygon.surface().asDm7Squared();
+            }
+        }
+
+        // Avoid division by zero
+        if (intersectionArea == 0)
+        {
+            return 0.0;
+        }
+
+        // Pick the smaller building's area as baseline
+        final long baselineArea = Math.min(surface, otherSurface);
+        return (double) intersectionArea / baselineArea;
+    }
+
     private IntersectionUtilities()
     {
     }
@@ -0,0 +1,370 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.Node;
+import org.openstreetmap.atlas.tags.HighwayTag;
+
+/**
+ * A read only snapshot of the road network of an {@link Atlas}, in compressed sparse row arrays.
+ * Edges and nodes are numbered by increasing identifier, and their connections are kept in
+ * {@code int} arrays, along with the highway class and main edge bit of each edge. Checks walking
+ * the network can hop through the snapshot without the sets and streams allocated by
+ * {@link Edge#outEdges()} or {@link Node#connectedEdges()}, and only go back to the atlas for the
+ * edges they keep.
+ * <p>
+ * There is one snapshot per atlas, built on first use and shared by all the checks and threads.
+ * The snapshot holds no reference to its atlas, and is dropped once the atlas is collected.
+ *
+ * @author agent
+ */
+public final class RoadGraph
+{
+    private static final HighwayTag[] HIGHWAY_TAGS = HighwayTag.values();
+    private static final byte NO_HIGHWAY = -1;
+    private static final AtlasScopedCache<RoadGraph> GRAPHS = new AtlasScopedCache<>(
+            RoadGraph::new);
+
+    private final long[] edgeIdentifiers;
+    private final long[] nodeIdentifiers;
+    private final int[] starts;
+    private final int[] ends;
+    private final byte[] highways;
+    private final BitSet mainEdges;
+    // Edges following edge i are outTargets[outOffsets[i]] to outTargets[outOffsets[i + 1] - 1]
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inTargets;
+    // Edges starting at node n first, then the other edges ending at node n
+    private final int[] nodeOffsets;
+    private final int[] nodeEdges;
+    private final int[] nodeOutDegrees;
+
+    /**
+     * Gets the snapshot of an atlas, building it if needed.
+     *
+     * @param atlas
+     *            the {@link Atlas}
+     * @return the {@link RoadGraph} of the atlas
+     */
+    public static RoadGraph of(final Atlas atlas)
+    {
+        return GRAPHS.get(atlas);
+    }
+
+    private static int[] offsets(final int[] degrees)
+    {
+        final int[] offsets = new int[degrees.length + 1];
+        for (int index = 0; index < degrees.length; index++)
+        {
+            offsets[index + 1] = offsets[index] + degrees[index];
+        }
+        return offsets;
+    }
+
+    /**
+     * Builds a snapshot. Prefer {@link #of(Atlas)} to share it.
+     *
+     * @param atlas
+     *            the {@link Atlas}
+     */
+    public RoadGraph(final Atlas atlas)
+    {
+        this.edgeIdentifiers = new long[(int) atlas.numberOfEdges()];
+        this.nodeIdentifiers = new long[(int) atlas.numberOfNodes()];
+        int edgeCount = 0;
+        for (final Edge edge : atlas.edges())
+        {
+            this.edgeIdentifiers[edgeCount++] = edge.getIdentifier();
+        }
+        int nodeCount = 0;
+        for (final Node node : atlas.nodes())
+        {
+            this.nodeIdentifiers[nodeCount++] = node.getIdentifier();
+        }
+        Arrays.sort(this.edgeIdentifiers);
+        Arrays.sort(this.nodeIdentifiers);
+
+        final int edgeSize = this.edgeIdentifiers.length;
+        final int nodeSize = this.nodeIdentifiers.length;
+        this.starts = new int[edgeSize];
+        this.ends = new int[edgeSize];
+        this.highways = new byte[edgeSize];
+        this.mainEdges = new BitSet(edgeSize);
+        final int[] outDegrees = new int[nodeSize];
+        final int[] inDegrees = new int[nodeSize];
+        for (int index = 0; index < edgeSize; index++)
+        {
+            final Edge edge = atlas.edge(this.edgeIdentifiers[index]);
+            this.starts[index] = this.nodeIndex(edge.start().getIdentifier());
+            this.ends[index] = this.nodeIndex(edge.end().getIdentifier());
+            this.highways[index] = edge.getTag(HighwayTag.KEY).isPresent()
+                    ? (byte) edge.highwayTag().ordinal()
+                    : NO_HIGHWAY;
+            this.mainEdges.set(index, edge.isMainEdge());
+            outDegrees[this.starts[index]]++;
+            inDegrees[this.ends[index]]++;
+        }
+
+        // Edges grouped by start node and by end node
+        final int[] startOffsets = offsets(outDegrees);
+        final int[] endOffsets = offsets(inDegrees);
+        final int[] byStart = new int[edgeSize];
+        final int[] byEnd = new int[edgeSize];
+        final int[] startCursor = Arrays.copyOf(startOffsets, nodeSize);
+        final int[] endCursor = Arrays.copyOf(endOffsets, nodeSize);
+        for (int index = 0; index < edgeSize; index++)
+        {
+            byStart[startCursor[this.starts[index]]++] = index;
+            byEnd[endCursor[this.ends[index]]++] = index;
+        }
+
+        // An edge is followed by the edges starting at its end, and preceded by the edges ending
+        // at its start
+        final int[] followers = new int[edgeSize];
+        final int[] predecessors = new int[edgeSize];
+        for (int index = 0; index < edgeSize; index++)
+        {
+            followers[index] = outDegrees[this.ends[index]];
+            predecessors[index] = inDegrees[this.starts[index]];
+        }
+        this.outOffsets = offsets(followers);
+        this.inOffsets = offsets(predecessors);
+        this.outTargets = new int[this.outOffsets[edgeSize]];
+        this.inTargets = new int[this.inOffsets[edgeSize]];
+        for (int index = 0; index < edgeSize; index++)
+        {
+            final int end = this.ends[index];
+            System.arraycopy(byStart, startOffsets[end], this.outTargets, this.outOffsets[index],
+                    followers[index]);
+            final int start = this.starts[index];
+            System.arraycopy(byEnd, endOffsets[start], this.inTargets, this.inOffsets[index],
+                    predecessors[index]);
+        }
+
+        // A loop edge is connected to its node once
+        final int[] valences = new int[nodeSize];
+        for (int node = 0; node < nodeSize; node++)
+        {
+            valences[node] = outDegrees[node];
+            for (int arc = endOffsets[node]; arc < endOffsets[node + 1]; arc++)
+            {
+                if (this.starts[byEnd[arc]] != node)
+                {
+                    valences[node]++;
+                }
+            }
+        }
+        this.nodeOutDegrees = outDegrees;
+        this.nodeOffsets = offsets(valences);
+        this.nodeEdges = new int[this.nodeOffsets[nodeSize]];
+        for (int node = 0; node < nodeSize; node++)
+        {
+            int cursor = this.nodeOffsets[node];
+            for (int arc = startOffsets[node]; arc < startOffsets[node + 1]; arc++)
+            {
+                this.nodeEdges[cursor++] = byStart[arc];
+            }
+            for (int arc = endOffsets[node]; arc < endOffsets[node + 1]; arc++)
+            {
+                if (this.starts[byEnd[arc]] != node)
+                {
+                    this.nodeEdges[cursor++] = byEnd[arc];
+                }
+            }
+        }
+    }
+
+    /**
+     * @param atlas
+     *            the {@link Atlas} this graph was built from
+     * @param edge
+     *            an edge index
+     * @return the {@link Edge}
+     */
+    public Edge edge(final Atlas atlas, final int edge)
+    {
+        return atlas.edge(this.edgeIdentifiers[edge]);
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return the identifier of the edge
+     */
+    public long edgeIdentifier(final int edge)
+    {
+        return this.edgeIdentifiers[edge];
+    }
+
+    /**
+     * @param edge
+     *            any {@link Edge}
+     * @return the index of the edge, negative if it is not part of the graph
+     */
+    public int edgeIndex(final Edge edge)
+    {
+        return Arrays.binarySearch(this.edgeIdentifiers, edge.getIdentifier());
+    }
+
+    /**
+     * @return the number of edges
+     */
+    public int edges()
+    {
+        return this.edgeIdentifiers.length;
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return the index of the end node of the edge
+     */
+    public int end(final int edge)
+    {
+        return this.ends[edge];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return the highway class of the edge, {@code null} if it has no highway tag
+     */
+    public HighwayTag highway(final int edge)
+    {
+        return this.highways[edge] == NO_HIGHWAY ? null : HIGHWAY_TAGS[this.highways[edge]];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return the number of edges ending at the start of the edge, the reverse edge included
+     */
+    public int inDegree(final int edge)
+    {
+        return this.inOffsets[edge + 1] - this.inOffsets[edge];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @param index
+     *            between 0 and the in degree of the edge
+     * @return the index of an edge leading to the given edge
+     */
+    public int inEdge(final int edge, final int index)
+    {
+        return this.inTargets[this.inOffsets[edge] + index];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return {@code true} if the edge is a main edge
+     */
+    public boolean isMainEdge(final int edge)
+    {
+        return this.mainEdges.get(edge);
+    }
+
+    /**
+     * @param node
+     *            a node index
+     * @param index
+     *            between 0 and the valence of the node. The edges starting at the node come first.
+     * @return the index of an edge connected to the node
+     */
+    public int nodeEdge(final int node, final int index)
+    {
+        return this.nodeEdges[this.nodeOffsets[node] + index];
+    }
+
+    /**
+     * @param node
+     *            a node index
+     * @return the identifier of the node
+     */
+    public long nodeIdentifier(final int node)
+    {
+        return this.nodeIdentifiers[node];
+    }
+
+    /**
+     * @param node
+     *            any {@link Node}
+     * @return the index of the node, negative if it is not part of the graph
+     */
+    public int nodeIndex(final Node node)
+    {
+        return this.nodeIndex(node.getIdentifier());
+    }
+
+    /**
+     * @param node
+     *            a node index
+     * @return the number of edges starting at the node
+     */
+    public int nodeOutDegree(final int node)
+    {
+        return this.nodeOutDegrees[node];
+    }
+
+    /**
+     * @return the number of nodes
+     */
+    public int nodes()
+    {
+        return this.nodeIdentifiers.length;
+    }
+
+    /**
+     * @param node
+     *            a node index
+     * @return the number of edges connected to the node, like {@link Node#connectedEdges()}
+     */
+    public int nodeValence(final int node)
+    {
+        return this.nodeOffsets[node + 1] - this.nodeOffsets[node];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return the number of edges starting at the end of the edge, the reverse edge included
+     */
+    public int outDegree(final int edge)
+    {
+        return this.outOffsets[edge + 1] - this.outOffsets[edge];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @param index
+     *            between 0 and the out degree of the edge
+     * @return the index of an edge following the given edge
+     */
+    public int outEdge(final int edge, final int index)
+    {
+        return this.outTargets[this.outOffsets[edge] + index];
+    }
+
+    /**
+     * @param edge
+     *            an edge index
+     * @return the index of the start node of the edge
+     */
+    public int start(final int edge)
+    {
+        return this.starts[edge];
+    }
+
+    private int nodeIndex(final long identifier)
+    {
+        return Arrays.binarySearch(this.nodeIdentifiers, identifier);
+    }
+}
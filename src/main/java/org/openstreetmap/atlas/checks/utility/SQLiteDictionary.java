@@ -0,0 +1,306 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Columns of an SQLite table read once into memory, and shared by all the users of those columns
+ * in the JVM. Only the requested columns are read, straight from the query results into one array
+ * per column: integer columns as primitive {@code long}s, other columns as objects with repeated
+ * strings shared. Rows are found through hash indices on the searched
+ * columns, built the first time those columns are searched, so lookups need neither SQL nor a
+ * connection and do not lock once the indices are built.
+ *
+ * @author agent
+ */
+public final class SQLiteDictionary
+{
+    private static final Logger logger = LoggerFactory.getLogger(SQLiteDictionary.class);
+    private static final Map<String, SQLiteDictionary> DICTIONARIES = new ConcurrentHashMap<>();
+    private static final char SEPARATOR = '\u0000';
+    private static final String QUOTE = "\"";
+
+    private final String[] columns;
+    private final Map<String, Integer> columnIndices;
+    private final int size;
+    // Either a long[] (with its nulls in nullValues) or an Object[] per column
+    private final Object[] values;
+    private final BitSet[] nullValues;
+    private final Map<List<String>, Map<String, Integer>> indices = new ConcurrentHashMap<>();
+
+    /**
+     * Opens a connection to a database
+     *
+     * @author agent
+     */
+    @FunctionalInterface
+    interface ConnectionSupplier
+    {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Get the dictionary of some columns of a table, reading them if this is the first time they
+     * are used
+     *
+     * @param database
+     *            The database file
+     * @param table
+     *            The table to read
+     * @param columns
+     *            The columns to read, the ones missing from the table are left out
+     * @param connection
+     *            Opens a connection to the database, only used if the table is not read yet
+     * @return The dictionary of the table, empty if the table could not be read
+     */
+    static SQLiteDictionary of(final String database, final String table,
+            final Collection<String> columns, final ConnectionSupplier connection)
+    {
+        final List<String> sortedColumns = columns.stream().sorted().distinct()
+                .collect(Collectors.toList());
+        return DICTIONARIES.computeIfAbsent(
+                key(database, table) + SEPARATOR + String.join(String.valueOf(SEPARATOR),
+                        sortedColumns),
+                key -> read(connection, table, sortedColumns));
+    }
+
+    /**
+     * Forget the dictionaries of a table, for instance after the database has been updated
+     *
+     * @param database
+     *            The database file
+     * @param table
+     *            The table
+     */
+    static void release(final String database, final String table)
+    {
+        final String prefix = key(database, table) + SEPARATOR;
+        DICTIONARIES.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static String key(final String database, final String table)
+    {
+        return database + SEPARATOR + table;
+    }
+
+    private static String quote(final String column)
+    {
+        return QUOTE + column.replace(QUOTE, QUOTE + QUOTE) + QUOTE;
+    }
+
+    private static SQLiteDictionary read(final ConnectionSupplier connection, final String table,
+            final List<String> columns)
+    {
+        try (var statement = connection.get().createStatement())
+        {
+            // Only read the columns the table has, under their names in the table, as SQLite
+            // column names are case insensitive
+            final Map<String, String> tableColumns = new HashMap<>();
+            try (var results = statement.executeQuery("SELECT * FROM " + table + " LIMIT 0"))
+            {
+                final ResultSetMetaData metaData = results.getMetaData();
+                for (var index = 1; index <= metaData.getColumnCount(); index++)
+                {
+                    tableColumns.put(metaData.getColumnLabel(index).toLowerCase(Locale.ROOT),
+                            metaData.getColumnLabel(index));
+                }
+            }
+            final String[] readColumns = columns.stream()
+                    .map(column -> tableColumns.get(column.toLowerCase(Locale.ROOT)))
+                    .filter(Objects::nonNull).distinct().map(String::intern)
+                    .toArray(String[]::new);
+            if (readColumns.length == 0)
+            {
+                logger.error("None of {} are in {}", columns, table);
+                return new SQLiteDictionary(new String[0], 0);
+            }
+
+            final int size;
+            try (var results = statement.executeQuery("SELECT COUNT(*) FROM " + table))
+            {
+                size = results.next() ? results.getInt(1) : 0;
+            }
+            final SQLiteDictionary dictionary = new SQLiteDictionary(readColumns, size);
+            final Map<Object, Object> shared = new HashMap<>();
+            try (var results = statement.executeQuery(
+                    "SELECT " + Arrays.stream(readColumns).map(SQLiteDictionary::quote)
+                            .collect(Collectors.joining(", ")) + " FROM " + table))
+            {
+                for (var row = 0; row < size && results.next(); row++)
+                {
+                    for (var column = 0; column < readColumns.length; column++)
+                    {
+                        final Object value = results.getObject(column + 1);
+                        dictionary.setValue(column, row, value instanceof String
+                                ? shared.computeIfAbsent(value, string -> string)
+                                : value);
+                    }
+                }
+            }
+            logger.info("Read {} rows of {} of {} into memory", size,
+                    Arrays.toString(readColumns), table);
+            return dictionary;
+        }
+        catch (final SQLException e)
+        {
+            logger.error("Could not read {}", table, e);
+            return new SQLiteDictionary(new String[0], 0);
+        }
+    }
+
+    /**
+     * Create a dictionary with every value null, filled with {@link #setValue(int, int, Object)}.
+     * Columns start as integer columns, and are turned into object columns by their first value
+     * that is not an integer.
+     *
+     * @param columns
+     *            The column names
+     * @param size
+     *            The number of rows
+     */
+    private SQLiteDictionary(final String[] columns, final int size)
+    {
+        this.columns = columns;
+        this.size = size;
+        this.values = new Object[columns.length];
+        this.nullValues = new BitSet[columns.length];
+        final Map<String, Integer> indexOfColumns = new HashMap<>();
+        for (var column = 0; column < columns.length; column++)
+        {
+            indexOfColumns.put(columns[column], column);
+            this.values[column] = new long[size];
+            this.nullValues[column] = new BitSet(size);
+            this.nullValues[column].set(0, size);
+        }
+        this.columnIndices = Collections.unmodifiableMap(indexOfColumns);
+    }
+
+    /**
+     * Get the first row matching all the values, like {@link SQLiteUtils#getRows(Map)}
+     *
+     * @param values
+     *            The values to filter by (column name, value)
+     * @return The column name and value of each non-null value of the row, empty if no row matches
+     */
+    public Map<String, Object> getRow(final Map<String, String> values)
+    {
+        final Map<String, String> sorted = new TreeMap<>(values);
+        if (!this.columnIndices.keySet().containsAll(sorted.keySet()))
+        {
+            return Collections.emptyMap();
+        }
+        final Integer row = this.indices
+                .computeIfAbsent(List.copyOf(sorted.keySet()), this::index)
+                .get(String.join(String.valueOf(SEPARATOR), sorted.values()));
+        if (row == null)
+        {
+            return Collections.emptyMap();
+        }
+        final Map<String, Object> result = new HashMap<>();
+        for (var column = 0; column < this.columns.length; column++)
+        {
+            final Object value = this.getValue(column, row);
+            if (value != null)
+            {
+                result.put(this.columns[column], value);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return The number of rows
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.size + " rows of " + Arrays.toString(this.columns);
+    }
+
+    private Object getValue(final int column, final int row)
+    {
+        final Object columnValues = this.values[column];
+        if (columnValues instanceof long[])
+        {
+            return this.nullValues[column].get(row) ? null : ((long[]) columnValues)[row];
+        }
+        return ((Object[]) columnValues)[row];
+    }
+
+    private void setValue(final int column, final int row, final Object value)
+    {
+        if (this.values[column] instanceof long[])
+        {
+            if (value == null)
+            {
+                return;
+            }
+            if (value instanceof Integer || value instanceof Long)
+            {
+                ((long[]) this.values[column])[row] = ((Number) value).longValue();
+                this.nullValues[column].clear(row);
+                return;
+            }
+            // Not an integer column, box the numbers read so far
+            final Object[] objects = new Object[this.size];
+            for (var previous = 0; previous < row; previous++)
+            {
+                objects[previous] = this.getValue(column, previous);
+            }
+            this.values[column] = objects;
+            this.nullValues[column] = null;
+        }
+        ((Object[]) this.values[column])[row] = value;
+    }
+
+    private Map<String, Integer> index(final List<String> indexColumns)
+    {
+        final int[] indexColumnIndices = indexColumns.stream()
+                .mapToInt(this.columnIndices::get).toArray();
+        final Map<String, Integer> index = new HashMap<>();
+        final StringBuilder key = new StringBuilder();
+        for (var row = 0; row < this.size; row++)
+        {
+            key.setLength(0);
+            boolean hasNull = false;
+            for (var column = 0; column < indexColumnIndices.length; column++)
+            {
+                final Object value = this.getValue(indexColumnIndices[column], row);
+                hasNull |= value == null;
+                if (column > 0)
+                {
+                    key.append(SEPARATOR);
+                }
+                key.append(value);
+            }
+            // NULL never equals a value in SQL. Keep the first row, as the query of SQLiteUtils
+            // would.
+            if (!hasNull)
+            {
+                index.putIfAbsent(key.toString(), row);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+}
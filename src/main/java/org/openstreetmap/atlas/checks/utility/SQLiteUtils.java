@@ -6,6 +6,7 @@ import java.sql.DriverManager;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.text.MessageFormat;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +41,8 @@ public class SQLiteUtils implements Serializable
     private final ExternalDataFetcher fileFetcher;
     private transient LoadingCache<String, Map<String, Object>> cachedMap;
     private transient Connection connection;
+    private transient String file;
+    private transient SQLiteDictionary dictionary;
     /** The db "file" for in memory databases */
     public static final String MEMORY_DB = ":memory:";
     private static Logger logger = LoggerFactory.getLogger(SQLiteUtils.class);
@@ -102,29 +105,41 @@ public class SQLiteUtils implements Serializable
             this.cachedMap.cleanUp();
             this.cachedMap = null;
         }
+        this.dictionary = null;
+        SQLiteDictionary.release(this.getFile(), this.defaultTable);
     }
 
     /**
-     * Get the file for the database
+     * Get columns of the default table in memory, shared with all the other users of the same
+     * columns in the JVM. Prefer this to {@link #getRows(Map)} when looking up many rows of a table
+     * that fits in memory. The dictionary is kept after the first call, until {@link #clear()}.
      *
-     * @return The path for the database
+     * @param columns
+     *            The columns to read: the searched columns and the ones used from the rows
+     * @return The dictionary of the default table
      */
-    public String getFile()
+    public SQLiteDictionary getDictionary(final Collection<String> columns)
     {
-
-        if (this.database != null && this.database.startsWith(SQLiteUtils.MEMORY_DB))
+        if (this.dictionary == null)
         {
-            return this.database;
+            this.dictionary = SQLiteDictionary.of(this.getFile(), this.defaultTable, columns,
+                    this::getConnection);
         }
-        else
+        return this.dictionary;
+    }
+
+    /**
+     * Get the file for the database, resolved once
+     *
+     * @return The path for the database
+     */
+    public String getFile()
+    {
+        if (this.file == null)
         {
-            final Optional<Resource> wikiDataResource = this.fileFetcher.apply(this.database);
-            if (wikiDataResource.isPresent() && wikiDataResource.get() instanceof File)
-            {
-                return ((File) wikiDataResource.get()).getPathString();
-            }
+            this.file = this.resolveFile();
         }
-        return null;
+        return this.file;
     }
 
     /**
@@ -230,4 +245,26 @@ public class SQLiteUtils implements Serializable
         }
         return Collections.emptyMap();
     }
+
+    /**
+     * Resolve the file for the database
+     *
+     * @return The path for the database
+     */
+    private String resolveFile()
+    {
+        if (this.database != null && this.database.startsWith(SQLiteUtils.MEMORY_DB))
+        {
+            return this.database;
+        }
+        else
+        {
+            final Optional<Resource> wikiDataResource = this.fileFetcher.apply(this.database);
+            if (wikiDataResource.isPresent() && wikiDataResource.get() instanceof File)
+            {
+                return ((File) wikiDataResource.get()).getPathString();
+            }
+        }
+        return null;
+    }
 }
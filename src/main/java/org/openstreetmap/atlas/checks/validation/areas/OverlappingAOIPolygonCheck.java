@@ -2,6 +2,8 @@ package org.openstreetmap.atlas.checks.validation.areas;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -13,6 +15,7 @@ import org.openstreetmap.atlas.geography.Polygon;
 import org.openstreetmap.atlas.geography.Rectangle;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.filters.TaggableFilter;
 import org.openstreetmap.atlas.utilities.collections.Iterables;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
@@ -27,6 +30,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
 public class OverlappingAOIPolygonCheck extends BaseCheck<Long>
 {
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     private static final long serialVersionUID = -3286838841854959683L;
 
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
@@ -85,6 +90,12 @@ public class OverlappingAOIPolygonCheck extends BaseCheck<Long>
                 && this.aoiFiltersTest(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
@@ -115,8 +126,8 @@ public class OverlappingAOIPolygonCheck extends BaseCheck<Long>
         // the object
         for (final Area area : overlappingAreas)
         {
-            if (IntersectionUtilities.findIntersectionPercentage(aoiPolygon,
-                    area.asPolygon()) >= this.minimumIntersect && this.aoiFiltersTest(object, area))
+            if (IntersectionUtilities.findIntersectionPercentage(aoi, area) >= this.minimumIntersect
+                    && this.aoiFiltersTest(object, area))
             {
                 flag.addObject(area);
                 flag.addInstruction(this.getLocalizedInstruction(0, object.getOsmIdentifier(),
@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.validation.areas;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +16,7 @@ import org.openstreetmap.atlas.geography.Snapper.SnappedLocation;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.AreaTag;
 import org.openstreetmap.atlas.tags.FootTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -40,6 +42,8 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class PedestrianAreaOverlappingEdgeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     private static final long serialVersionUID = 1861527706740836635L;
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections.singletonList(
             "Pedestrian area {0,number,#} is overlapping way id(s) {1} and is not snapped at all points of intersections.");
@@ -77,6 +81,12 @@ public class PedestrianAreaOverlappingEdgeCheck extends BaseCheck<Long>
                 && !this.isFlagged(object.getOsmIdentifier());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
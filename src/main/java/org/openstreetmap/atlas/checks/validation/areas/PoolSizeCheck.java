@@ -1,13 +1,17 @@
 package org.openstreetmap.atlas.checks.validation.areas;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.LeisureTag;
 import org.openstreetmap.atlas.tags.annotations.validation.Validators;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
@@ -19,6 +23,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class PoolSizeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     // The worlds largest swimming pool is at the San Alfonso del Mar resort in Algarrobo and
     // measures 1,013 meters in length, which is 4,856,227.71 square meters. So we can use a even
     // 5,000,000 and assume that it won't find any valid pools. In saying that we can modify
@@ -54,6 +60,12 @@ public class PoolSizeCheck extends BaseCheck<Long>
                 MINIMUM_SIZE_DEFAULT);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     /**
      * This function will validate if the supplied atlas object is valid for the check
      *
@@ -68,6 +80,12 @@ public class PoolSizeCheck extends BaseCheck<Long>
         return object instanceof Area;
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
@@ -11,6 +11,7 @@ import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.exception.CoreException;
 import org.openstreetmap.atlas.geography.Altitude;
 import org.openstreetmap.atlas.geography.GeometricSurface;
@@ -22,7 +23,6 @@ import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
-import org.openstreetmap.atlas.geography.atlas.items.complex.RelationOrAreaToMultiPolygonConverter;
 import org.openstreetmap.atlas.geography.index.PackedSpatialIndex;
 import org.openstreetmap.atlas.geography.index.RTree;
 import org.openstreetmap.atlas.geography.index.SpatialIndex;
@@ -60,7 +60,6 @@ public class ShadowDetectionCheck extends BaseCheck<Long>
     // OSM standard level conversion factor
     private static final double LEVEL_TO_METERS_CONVERSION = 3.5;
     private static final String ZERO_STRING = "0";
-    private static final RelationOrAreaToMultiPolygonConverter MULTI_POLYGON_CONVERTER = new RelationOrAreaToMultiPolygonConverter();
 
     private final Map<Atlas, SpatialIndex<Relation>> relationSpatialIndices = new HashMap<>();
 
@@ -187,6 +186,22 @@ public class ShadowDetectionCheck extends BaseCheck<Long>
         return index;
     }
 
+    /**
+     * Gets the footprint of a building or part, shared with the other checks through the
+     * {@link GeometryCache} of its atlas as each part is compared to all of its neighbors.
+     *
+     * @param object
+     *            an {@link Area} or a multipolygon {@link Relation}
+     * @return a {@link Polygon} for an area, a {@link MultiPolygon} for a relation
+     */
+    private GeometricSurface footprint(final AtlasObject object)
+    {
+        final AtlasEntity entity = (AtlasEntity) object;
+        final GeometryCache geometries = GeometryCache.of(entity.getAtlas());
+        return entity instanceof Area ? geometries.polygon((Area) entity)
+                : geometries.multiPolygon(entity);
+    }
+
     /**
      * Uses a BFS to gather all connected building parts and check for a connection to the ground.
      *
@@ -322,11 +337,8 @@ public class ShadowDetectionCheck extends BaseCheck<Long>
         try
         {
             // Get the polygons of the parts, either single or multi
-            final GeometricSurface partPolygon = part instanceof Area ? ((Area) part).asPolygon()
-                    : MULTI_POLYGON_CONVERTER.convert((Relation) part);
-            final GeometricSurface objectPolygon = object instanceof Area
-                    ? ((Area) object).asPolygon()
-                    : MULTI_POLYGON_CONVERTER.convert((Relation) object);
+            final GeometricSurface partPolygon = this.footprint(part);
+            final GeometricSurface objectPolygon = this.footprint(object);
             // Check if it is a building part, and overlaps.
             return !checked.contains(object)
                     && (this.isBuildingOrPart(object) || this.isBuildingRelationMember(object))
@@ -73,6 +73,12 @@ public class SpikyBuildingCheck extends BaseCheck<Long>
                 "curve.points.minimum", DEFAULT_MINIMUM_CIRCULAR_POINTS);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
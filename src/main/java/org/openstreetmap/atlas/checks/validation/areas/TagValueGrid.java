@@ -0,0 +1,208 @@
+package org.openstreetmap.atlas.checks.validation.areas;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.Rectangle;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasItem;
+import org.openstreetmap.atlas.utilities.scalars.Distance;
+
+/**
+ * The numeric values of a tag over an {@link Atlas}, binned in a grid of square cells as wide as
+ * the search distance. Each cell keeps a histogram of its values, so the neighborhood of a location
+ * is the merge of the histograms of its cell and the eight around it, instead of a spatial query
+ * and a sort of all the values in a buffer. The quartiles of each neighborhood are computed once
+ * and shared by all the locations of the cell.
+ *
+ * @author agent
+ */
+final class TagValueGrid
+{
+    private static final double ONE_QUARTER = 0.25;
+    private static final double THREE_QUARTERS = 0.75;
+    private static final int HALF_COLUMNS = 32;
+    private static final long COLUMN_BITS = 0xFFFFFFFFL;
+
+    private final double cellLatitude;
+    private final double cellLongitude;
+    private final Map<Long, Histogram> cells = new HashMap<>();
+    private final Map<Long, Optional<Quartiles>> neighborhoods = new ConcurrentHashMap<>();
+
+    /**
+     * The quartiles of the values around a location
+     *
+     * @author agent
+     */
+    static final class Quartiles
+    {
+        private final double lower;
+        private final double upper;
+        private final long size;
+
+        Quartiles(final double lower, final double upper, final long size)
+        {
+            this.lower = lower;
+            this.upper = upper;
+            this.size = size;
+        }
+
+        double getInnerQuartileRange()
+        {
+            return this.upper - this.lower;
+        }
+
+        double getLower()
+        {
+            return this.lower;
+        }
+
+        long getSize()
+        {
+            return this.size;
+        }
+
+        double getUpper()
+        {
+            return this.upper;
+        }
+    }
+
+    /**
+     * The distinct values of a cell, in increasing order, with their number of occurrences
+     *
+     * @author agent
+     */
+    private static final class Histogram
+    {
+        private final double[] values;
+        private final long[] counts;
+
+        Histogram(final List<Double> values)
+        {
+            final TreeMap<Double, Long> sorted = new TreeMap<>();
+            values.forEach(value -> sorted.merge(value, 1L, Long::sum));
+            this.values = new double[sorted.size()];
+            this.counts = new long[sorted.size()];
+            int index = 0;
+            for (final Map.Entry<Double, Long> entry : sorted.entrySet())
+            {
+                this.values[index] = entry.getKey();
+                this.counts[index++] = entry.getValue();
+            }
+        }
+    }
+
+    private static long key(final long row, final long column)
+    {
+        return (row << HALF_COLUMNS) ^ (column & COLUMN_BITS);
+    }
+
+    /**
+     * @param histogram
+     *            the merged values of a neighborhood, in increasing order
+     * @param rank
+     *            index of the value in the sorted list of all the values
+     * @return the value at the rank
+     */
+    private static double valueAt(final TreeMap<Double, Long> histogram, final long rank)
+    {
+        long seen = 0;
+        for (final Map.Entry<Double, Long> entry : histogram.entrySet())
+        {
+            seen += entry.getValue();
+            if (seen > rank)
+            {
+                return entry.getKey();
+            }
+        }
+        return histogram.lastKey();
+    }
+
+    /**
+     * Bins the values of all the items of an atlas in one pass.
+     *
+     * @param atlas
+     *            the {@link Atlas}
+     * @param key
+     *            the tag to read
+     * @param parser
+     *            parses a tag value, empty if it is not a number
+     * @param distance
+     *            the width of a cell
+     */
+    TagValueGrid(final Atlas atlas, final String key,
+            final Function<String, Optional<Double>> parser, final Distance distance)
+    {
+        final Rectangle cell = atlas.bounds().center().bounds().expand(distance);
+        this.cellLatitude = (cell.upperRight().getLatitude().asDegrees()
+                - cell.lowerLeft().getLatitude().asDegrees()) / 2;
+        this.cellLongitude = (cell.upperRight().getLongitude().asDegrees()
+                - cell.lowerLeft().getLongitude().asDegrees()) / 2;
+        final Map<Long, List<Double>> values = new HashMap<>();
+        for (final AtlasItem item : atlas.items())
+        {
+            final String value = item.getTags().get(key);
+            if (value != null)
+            {
+                parser.apply(value).ifPresent(parsed -> values
+                        .computeIfAbsent(this.cell(item.bounds().center()),
+                                cellKey -> new ArrayList<>())
+                        .add(parsed));
+            }
+        }
+        values.forEach((cellKey, cellValues) -> this.cells.put(cellKey, new Histogram(cellValues)));
+    }
+
+    /**
+     * @param location
+     *            a {@link Location}
+     * @return the quartiles of the values in the cell of the location and the cells around it,
+     *         empty if there are less than two
+     */
+    Optional<Quartiles> quartiles(final Location location)
+    {
+        return this.neighborhoods.computeIfAbsent(this.cell(location), this::neighborhood);
+    }
+
+    private long cell(final Location location)
+    {
+        return key((long) Math.floor(location.getLatitude().asDegrees() / this.cellLatitude),
+                (long) Math.floor(location.getLongitude().asDegrees() / this.cellLongitude));
+    }
+
+    private Optional<Quartiles> neighborhood(final long cellKey)
+    {
+        final long row = cellKey >> HALF_COLUMNS;
+        final long column = (int) cellKey;
+        final TreeMap<Double, Long> merged = new TreeMap<>();
+        long size = 0;
+        for (long neighborRow = row - 1; neighborRow <= row + 1; neighborRow++)
+        {
+            for (long neighborColumn = column - 1; neighborColumn <= column + 1; neighborColumn++)
+            {
+                final Histogram histogram = this.cells.get(key(neighborRow, neighborColumn));
+                for (int index = 0; histogram != null && index < histogram.values.length; index++)
+                {
+                    merged.merge(histogram.values[index], histogram.counts[index], Long::sum);
+                    size += histogram.counts[index];
+                }
+            }
+        }
+        if (size < 2)
+        {
+            return Optional.empty();
+        }
+        // Same ranks as picking from the sorted list of all the values
+        return Optional.of(new Quartiles(
+                valueAt(merged, Math.round((size - 1) * ONE_QUARTER)),
+                valueAt(merged, Math.round((size - 1) * THREE_QUARTERS)), size));
+    }
+}
@@ -1,20 +1,19 @@
 package org.openstreetmap.atlas.checks.validation.areas;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
-import org.openstreetmap.atlas.geography.Rectangle;
+import org.openstreetmap.atlas.checks.utility.AtlasScopedCache;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
-import org.openstreetmap.atlas.geography.atlas.items.AtlasItem;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.tags.BuildingLevelsTag;
@@ -26,8 +25,6 @@ import org.openstreetmap.atlas.tags.annotations.validation.Validators;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 import org.openstreetmap.atlas.utilities.scalars.Distance;
 
-import groovy.lang.Tuple4;
-
 /**
  * The purpose of this check is to identify invalid building:levels and height tags as well as
  * identify statistically outlying building:levels/height tags.
@@ -54,15 +51,16 @@ public class TallBuildingCheck extends BaseCheck<Long>
     private static final double MAX_LEVEL_TAG_VALUE_DEFAULT = 100;
     private static final double OUTLIER_MULTIPLIER_DEFAULT = 3;
     private final double outlierMultiplier;
-    private final Map<Rectangle, Tuple4<String, Double, Double, Double>> storedAreasWithStatistics = new HashMap<>();
     private final Set<String> invalidHeightCharacters;
     private static final Set<String> INVALID_CHARACTER_DEFAULT = Set.of("~", "`", "!", "@", "#",
             "$", "%", "^", "&", "*", "(", ")", "-", "_", "+", "=", "{", "[", "}", "]", "|", "\\",
             ":", ";", "<", ",", ">", "?", "/");
     private static final int INSTRUCTION_THREE = 3;
     private static final int INSTRUCTION_FOUR = 4;
-    private static final double ONE_QUARTER = 0.25;
-    private static final double THREE_QUARTERS = 0.75;
+    // Grids of the values of each tag around the buildings of each atlas being checked, by tag
+    // and buffer distance
+    private static final AtlasScopedCache<Map<List<Object>, TagValueGrid>> TAG_VALUE_GRIDS = new AtlasScopedCache<>(
+            atlas -> new ConcurrentHashMap<>());
 
     /**
      * The default constructor that must be supplied. The Atlas Checks framework will generate the
@@ -183,258 +181,17 @@ public class TallBuildingCheck extends BaseCheck<Long>
         if (!(tags.containsKey(BuildingTag.KEY)
                 && tags.get(BuildingTag.KEY).equalsIgnoreCase(BuildingTag.APARTMENTS.toString())))
         {
-            // Check store to see if building intersects stored entry rectangle
-            final Optional<Tuple4<String, Double, Double, Double>> rectangleStatsWhichIntersectObjectOptional = this
-                    .getRectangleStatsWhichIntersectObject(object, BuildingLevelsTag.KEY);
-
-            // Case 3: Building intersects stored area AND Levels tag is a statistical outlier
-            // compared to surrounding buildings with building:levels tag.
-            if (rectangleStatsWhichIntersectObjectOptional.isPresent()
-                    && this.isOutlier(buildingLevelsTagValue,
-                            rectangleStatsWhichIntersectObjectOptional.get().getSecond(),
-                            rectangleStatsWhichIntersectObjectOptional.get().getThird(),
-                            rectangleStatsWhichIntersectObjectOptional.get().getFourth()))
+            // Case 3: Levels tag is a statistical outlier compared to surrounding buildings with
+            // building:levels tag.
+            if (this.isOutlier(object, buildingLevelsTagValue, BuildingLevelsTag.KEY))
             {
                 return Optional.of(this.createFlag(object,
                         this.getLocalizedInstruction(2, object.getOsmIdentifier())));
             }
-
-            // Case 3: Building does not intersect stored area but levels tag is a statistical
-            // outlier compared to surrounding buildings with building:levels tag.
-            if (rectangleStatsWhichIntersectObjectOptional.isEmpty())
-            {
-                return this.getStatisticsWithNewStoreEntry(object, buildingLevelsTagValue,
-                        BuildingLevelsTag.KEY);
-            }
-
         }
         return Optional.empty();
     }
 
-    /**
-     * get buffer area by expanding object bounds
-     * 
-     * @param bounds
-     *            bounds of object
-     * @return expanded bounds of object
-     */
-    private Rectangle getBufferArea(final Rectangle bounds)
-    {
-        return bounds.expand(Distance.meters(this.bufferDistanceMeters));
-    }
-
-    /**
-     * get object bounds
-     * 
-     * @param object
-     *            building
-     * @return building bounds
-     */
-    private Rectangle getBuildingBounds(final AtlasObject object)
-    {
-        return object.bounds();
-    }
-
-    /**
-     * calculates inner quartile range (3rd quartile - 1st quartile) from sorted building height
-     * list
-     * 
-     * @param listOfSortedHeights
-     *            sorted building heights within buffer area
-     * @return inner quartile range from list of sorted height
-     */
-    private Optional<Double> getInnerQuartileRange(final List<Double> listOfSortedHeights)
-    {
-        final Optional<Double> lowerQuartile = this.getLowerQuartile(listOfSortedHeights);
-        final Optional<Double> upperQuartile = this.getUpperQuartile(listOfSortedHeights);
-        if (lowerQuartile.isPresent() && upperQuartile.isPresent())
-        {
-            return Optional.of(upperQuartile.get() - lowerQuartile.get());
-        }
-        return Optional.empty();
-    }
-
-    /**
-     * @param object
-     *            building
-     * @param intersectingItems
-     *            all intersecting AtlasItems
-     * @param tagIdentifier
-     *            identifier to filter either height or building:levels tag
-     * @return building ID and relevant tag
-     */
-    private Set<Map<Long, String>> getIntersectingBuildingsIdAndRelevantTag(
-            final AtlasObject object, final Iterable<AtlasItem> intersectingItems,
-            final String tagIdentifier)
-    {
-        final Set<Map<Long, String>> buildingsWithRelevantTagWithinBuffer = new HashSet<>();
-        for (final AtlasItem atlasItem : intersectingItems)
-        {
-            final Map<String, String> tags = atlasItem.getTags();
-            if ((this.isBuildingRelationMember(object) || this.isBuildingOrPart(object))
-                    && tags.containsKey(tagIdentifier))
-            {
-                final Map<Long, String> atlasItemProperties = new HashMap<>();
-                atlasItemProperties.put(atlasItem.getOsmIdentifier(), tags.get(tagIdentifier));
-                buildingsWithRelevantTagWithinBuffer.add(atlasItemProperties);
-            }
-        }
-        return buildingsWithRelevantTagWithinBuffer;
-    }
-
-    /**
-     * Function to get first quartile value
-     * 
-     * @param listOfRelevantTags
-     *            sorted list of building tags intersecting with buffer area
-     * @return first quarter value from list
-     */
-    private Optional<Double> getLowerQuartile(final List<Double> listOfRelevantTags)
-    {
-        final int lengthOfList = listOfRelevantTags.size() - 1;
-        if (lengthOfList == 0)
-        {
-            return Optional.empty();
-        }
-        return Optional.of(listOfRelevantTags.get((int) Math.round(lengthOfList * ONE_QUARTER)));
-    }
-
-    /**
-     * Function to check if building intersects stored area already with statistical values or if a
-     * new store entry needs to be made.
-     *
-     * @param object
-     *            building object
-     * @param tagIdentifier
-     *            either "building:levels" or "height" to identify category of analysis
-     * @return Optional of relevant statistical values to compare object against.
-     */
-    private Optional<Tuple4<String, Double, Double, Double>> getRectangleStatsWhichIntersectObject(
-            final AtlasObject object, final String tagIdentifier)
-    {
-        if (this.storedAreasWithStatistics.size() == 0)
-        {
-            return Optional.empty();
-        }
-
-        for (final Map.Entry<Rectangle, Tuple4<String, Double, Double, Double>> mapEntry : this.storedAreasWithStatistics
-                .entrySet())
-        {
-            if (mapEntry.getValue().getFirst().equals(tagIdentifier))
-            {
-
-                final Rectangle rectangleKey = mapEntry.getKey();
-                final Rectangle intersection = rectangleKey.intersection(object.bounds());
-
-                if (intersection != null)
-                {
-                    return Optional.of(mapEntry.getValue());
-                }
-            }
-        }
-        return Optional.empty();
-    }
-
-    /**
-     * Function to get relevant tags from intersecting buildings and to sort them for statistical
-     * analysis.
-     * 
-     * @param buildingsWithRelevantTagWithinBuffer
-     *            intersecting buildings with relevant tags
-     * @param tagIdentifier
-     *            either building:levels or height tag to determine which analysis to conduct.
-     * @return sorted list of relevant intersecting building tags.
-     */
-    private List<Double> getSortedTagValuesWithinBufferRadius(
-            final Set<Map<Long, String>> buildingsWithRelevantTagWithinBuffer,
-            final String tagIdentifier)
-    {
-        final List<Double> tagsWithinBuffer = new ArrayList<>();
-
-        for (final Map<Long, String> buildingWithinBuffer : buildingsWithRelevantTagWithinBuffer)
-        {
-            for (final Map.Entry<Long, String> entry : buildingWithinBuffer.entrySet())
-            {
-                this.parseAndAddRelativeTagsToTagsWithinBuffer(tagIdentifier, entry,
-                        tagsWithinBuffer);
-            }
-        }
-
-        Collections.sort(tagsWithinBuffer);
-        return tagsWithinBuffer;
-    }
-
-    /**
-     * Function to perform new statistical analysis and create new store entry when building does
-     * not intersect an already stored area.
-     * 
-     * @param object
-     *            building object
-     * @param tagValue
-     *            building tag value either "building:levels" or "height".
-     * @param tagIdentifier
-     *            distinguish which tag to conduct analysis on.
-     * @return CheckFlag if building tag is outlier.
-     */
-    private Optional<CheckFlag> getStatisticsWithNewStoreEntry(final AtlasObject object,
-            final double tagValue, final String tagIdentifier)
-    {
-        final Rectangle bufferArea = this.getBufferArea(this.getBuildingBounds(object));
-        final Iterable<AtlasItem> intersectingItems = object.getAtlas()
-                .itemsIntersecting(bufferArea);
-        final Set<Map<Long, String>> intersectingBuildingsWithRelevantTags = this
-                .getIntersectingBuildingsIdAndRelevantTag(object, intersectingItems, tagIdentifier);
-        final List<Double> sortedTagValueList = this.getSortedTagValuesWithinBufferRadius(
-                intersectingBuildingsWithRelevantTags, tagIdentifier);
-
-        if (sortedTagValueList.size() >= this.minDatasetSizeForStatsComputation)
-        {
-            final Optional<Double> lowerQuartile = this.getLowerQuartile(sortedTagValueList);
-            final Optional<Double> upperQuartile = this.getUpperQuartile(sortedTagValueList);
-            final Optional<Double> innerQuartileRange = this
-                    .getInnerQuartileRange(sortedTagValueList);
-
-            if (lowerQuartile.isPresent() && upperQuartile.isPresent()
-                    && innerQuartileRange.isPresent())
-            {
-                this.storedAreasWithStatistics.put(bufferArea, new Tuple4<>(tagIdentifier,
-                        lowerQuartile.get(), upperQuartile.get(), innerQuartileRange.get()));
-                if (this.isOutlier(tagValue, lowerQuartile.get(), upperQuartile.get(),
-                        innerQuartileRange.get()) && tagIdentifier.equals(BuildingLevelsTag.KEY))
-                {
-                    return Optional.of(this.createFlag(object,
-                            this.getLocalizedInstruction(2, object.getOsmIdentifier())));
-                }
-
-                if (this.isOutlier(tagValue, lowerQuartile.get(), upperQuartile.get(),
-                        innerQuartileRange.get()) && tagIdentifier.equals(HeightTag.KEY))
-                {
-                    return Optional.of(this.createFlag(object, this
-                            .getLocalizedInstruction(INSTRUCTION_FOUR, object.getOsmIdentifier())));
-                }
-
-            }
-        }
-        return Optional.empty();
-    }
-
-    /**
-     * Function to get third quartile value from sorted list of relevant tags.
-     * 
-     * @param listOfRelevantTags
-     *            sorted list of relevant tags
-     * @return third quartile value of dataset (tags)
-     */
-    private Optional<Double> getUpperQuartile(final List<Double> listOfRelevantTags)
-    {
-        final int lengthOfList = listOfRelevantTags.size() - 1;
-        if (lengthOfList == 0)
-        {
-            return Optional.empty();
-        }
-        return Optional.of(listOfRelevantTags.get((int) Math.round(lengthOfList * THREE_QUARTERS)));
-    }
-
     /**
      * Function to determine if building has "building:levels" tag.
      * 
@@ -522,31 +279,13 @@ public class TallBuildingCheck extends BaseCheck<Long>
         {
             final Optional<Double> buildingHeightTagValue = this.parseHeightTag(heightTag);
 
-            if (buildingHeightTagValue.isPresent())
+            // Case 5: "height" tag is an outlier compared to surrounding buildings with "height"
+            // tag.
+            if (buildingHeightTagValue.isPresent()
+                    && this.isOutlier(object, buildingHeightTagValue.get(), HeightTag.KEY))
             {
-                final Optional<Tuple4<String, Double, Double, Double>> rectangleStatsWhichIntersectObjectOptional = this
-                        .getRectangleStatsWhichIntersectObject(object, HeightTag.KEY);
-                // Case 5: Building intersects stored area AND "height" tag is an outlier
-                // compared
-                // to surrounding buildings with "height" tag.
-                if (rectangleStatsWhichIntersectObjectOptional.isPresent()
-                        && this.isOutlier(buildingHeightTagValue.get(),
-                                rectangleStatsWhichIntersectObjectOptional.get().getSecond(),
-                                rectangleStatsWhichIntersectObjectOptional.get().getThird(),
-                                rectangleStatsWhichIntersectObjectOptional.get().getFourth()))
-                {
-                    return Optional.of(this.createFlag(object, this.getLocalizedInstruction(
-                            INSTRUCTION_THREE, object.getOsmIdentifier())));
-                }
-
-                // Case 5: Building does not intersect stored area but "height" tag is an
-                // outlier
-                // compared to surrounding buildings with "height tag.
-                if (rectangleStatsWhichIntersectObjectOptional.isEmpty())
-                {
-                    return this.getStatisticsWithNewStoreEntry(object, buildingHeightTagValue.get(),
-                            HeightTag.KEY);
-                }
+                return Optional.of(this.createFlag(object, this
+                        .getLocalizedInstruction(INSTRUCTION_THREE, object.getOsmIdentifier())));
             }
         }
         return Optional.empty();
@@ -584,6 +323,31 @@ public class TallBuildingCheck extends BaseCheck<Long>
                                         || member.getRole().equals("part")));
     }
 
+    /**
+     * Function determining if a tag value is a statistical outlier compared to the values of the
+     * same tag around the building
+     *
+     * @param object
+     *            building object
+     * @param tagValue
+     *            parsed "building:levels" or "height" tag value
+     * @param tagIdentifier
+     *            either "building:levels" or "height" to identify category of analysis
+     * @return boolean if there are enough values around the building, and the tag value is an
+     *         outlier among them
+     */
+    private boolean isOutlier(final AtlasObject object, final double tagValue,
+            final String tagIdentifier)
+    {
+        return this.tagValueGrid(object.getAtlas(), tagIdentifier)
+                .quartiles(object.bounds().center())
+                .filter(quartiles -> quartiles
+                        .getSize() >= this.minDatasetSizeForStatsComputation)
+                .map(quartiles -> this.isOutlier(tagValue, quartiles.getLower(),
+                        quartiles.getUpper(), quartiles.getInnerQuartileRange()))
+                .orElse(false);
+    }
+
     /**
      * Function determining if relevantTag is a statistical outlier
      * 
@@ -610,45 +374,6 @@ public class TallBuildingCheck extends BaseCheck<Long>
                         + (innerQuartileRangeAdjusted * this.outlierMultiplier);
     }
 
-    /**
-     * Function to parse and add relevant tag values to list of tags within buffer
-     * 
-     * @param tagIdentifier
-     *            either "building:levels" or "height" tag
-     * @param entry
-     *            single entry key: osmID, value: relevant tag
-     * @param tagsWithinBuffer
-     *            list of relevant tags within buffer area
-     */
-    private void parseAndAddRelativeTagsToTagsWithinBuffer(final String tagIdentifier,
-            final Map.Entry<Long, String> entry, final List<Double> tagsWithinBuffer)
-    {
-        if (tagIdentifier.equals(BuildingLevelsTag.KEY))
-        {
-            try
-            {
-                final double levelsTagValue = Double.parseDouble(entry.getValue());
-                tagsWithinBuffer.add(levelsTagValue);
-            }
-            catch (final Exception ignored)
-            {
-                /* Do Nothing */
-            }
-        }
-        if (tagIdentifier.equals(HeightTag.KEY))
-        {
-            try
-            {
-                final Optional<Double> height = this.parseHeightTag(entry.getValue());
-                height.ifPresent(tagsWithinBuffer::add);
-            }
-            catch (final Exception ignored)
-            {
-                /* Do Nothing */
-            }
-        }
-    }
-
     /**
      * Function to parse "height" tag
      * 
@@ -687,6 +412,31 @@ public class TallBuildingCheck extends BaseCheck<Long>
         }
     }
 
+    /**
+     * Function to parse a relevant tag value
+     *
+     * @param tagIdentifier
+     *            either "building:levels" or "height" tag
+     * @param tagValue
+     *            raw tag value
+     * @return the tag value as a double, empty if it cannot be parsed
+     */
+    private Optional<Double> parseTagValue(final String tagIdentifier, final String tagValue)
+    {
+        if (tagIdentifier.equals(HeightTag.KEY))
+        {
+            return this.parseHeightTag(tagValue);
+        }
+        try
+        {
+            return Optional.of(Double.parseDouble(tagValue));
+        }
+        catch (final NumberFormatException e)
+        {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Function to determine if string contains numerical value
      * 
@@ -706,4 +456,23 @@ public class TallBuildingCheck extends BaseCheck<Long>
         }
         return false;
     }
+
+    /**
+     * Function to get the grid of the values of a tag in an atlas, built on first use and shared by
+     * the checks with the same buffer distance
+     *
+     * @param atlas
+     *            the {@link Atlas} being checked
+     * @param tagIdentifier
+     *            either "building:levels" or "height" tag
+     * @return the {@link TagValueGrid} of the tag
+     */
+    private TagValueGrid tagValueGrid(final Atlas atlas, final String tagIdentifier)
+    {
+        return TAG_VALUE_GRIDS.get(atlas).computeIfAbsent(
+                Arrays.asList(tagIdentifier, this.bufferDistanceMeters),
+                key -> new TagValueGrid(atlas, tagIdentifier,
+                        value -> this.parseTagValue(tagIdentifier, value),
+                        Distance.meters(this.bufferDistanceMeters)));
+    }
 }
@@ -3,6 +3,7 @@ package org.openstreetmap.atlas.checks.validation.areas;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -19,6 +20,7 @@ import org.openstreetmap.atlas.geography.Polygon;
 import org.openstreetmap.atlas.geography.Segment;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Line;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.tags.filters.TaggableFilter;
@@ -32,6 +34,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class WaterAreaCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     private static final long serialVersionUID = -2567398383133412329L;
 
     private static final List<String> WATER_FILTERS = Arrays
@@ -132,6 +136,12 @@ public class WaterAreaCheck extends BaseCheck<Long>
                 && matchesFilter(this.areaFilters, object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -3,8 +3,10 @@ package org.openstreetmap.atlas.checks.validation.geometry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
@@ -13,6 +15,7 @@ import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasItem;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.tags.SyntheticBoundaryNodeTag;
 import org.openstreetmap.atlas.tags.SyntheticGeometrySlicedTag;
@@ -27,6 +30,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class InvalidGeometryCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE, ItemType.AREA, ItemType.LINE));
     private static final String NOT_SIMPLE_TEMPLATE = "Geometry is Not Simple: {0}. ";
     private static final String NOT_VALID_TEMPLATE = "Geometry is Not Valid: {0}. ";
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(NOT_SIMPLE_TEMPLATE,
@@ -38,6 +43,12 @@ public class InvalidGeometryCheck extends BaseCheck<Long>
         super(configuration);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -47,6 +58,12 @@ public class InvalidGeometryCheck extends BaseCheck<Long>
                         .anyMatch(SyntheticBoundaryNodeTag::isBoundaryNode));
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -19,6 +20,7 @@ import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.geography.atlas.items.RelationMember;
@@ -74,6 +76,8 @@ public class AtGradeSignPostCheck extends BaseCheck<String>
         }
     }
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.NODE));
     private static final long serialVersionUID = -7428641176420422187L;
     // Primary road (inEdge) connected to trunk, primary, secondary roads (outEdges) are treated as
     // valid intersection
@@ -157,6 +161,12 @@ public class AtGradeSignPostCheck extends BaseCheck<String>
                 && !this.isFlagged(String.valueOf(object.getIdentifier()));
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
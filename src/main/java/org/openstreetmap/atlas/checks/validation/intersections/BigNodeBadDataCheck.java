@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -10,6 +12,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.complex.bignode.BigNode;
 import org.openstreetmap.atlas.geography.atlas.items.complex.bignode.BigNodeFinder;
 import org.openstreetmap.atlas.geography.atlas.items.complex.bignode.RestrictedPath;
@@ -28,6 +31,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class BigNodeBadDataCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.noneOf(ItemType.class));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
             "This complex intersection has too many junction edges ({0}).",
             "This complex intersection has too many paths ({0}).  "
@@ -69,6 +74,12 @@ public class BigNodeBadDataCheck extends BaseCheck<Long>
         return object instanceof BigNode;
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
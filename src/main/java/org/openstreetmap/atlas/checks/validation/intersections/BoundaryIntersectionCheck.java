@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +41,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class BoundaryIntersectionCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.RELATION));
     private static final String DELIMITER = ", ";
     private static final int INDEX = 0;
     private static final String BOUNDARY = "boundary";
@@ -72,6 +76,12 @@ public class BoundaryIntersectionCheck extends BaseCheck<Long>
         return object instanceof Relation && isRelationTypeBoundaryWithBoundaryTag(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
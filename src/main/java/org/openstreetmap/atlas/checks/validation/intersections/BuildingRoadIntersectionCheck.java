@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +15,7 @@ import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.tags.AccessTag;
 import org.openstreetmap.atlas.tags.AmenityTag;
@@ -42,6 +45,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class BuildingRoadIntersectionCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     private static final String BUILDING_ROAD_INTERSECTION_INSTRUCTION = "Building (id-{0,number,#}) intersects road (id-{1,number,#})";
     private static final String SERVICE_ROAD_INTERSECTION_INSTRUCTION = "Building (id-{0,number,#}) intersects road (id-{1,number,#}), which is a SERVICE road. Please verify whether the intersection is valid or not.";
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays
@@ -103,6 +108,12 @@ public class BuildingRoadIntersectionCheck extends BaseCheck<Long>
         this.carNavigableEdgesOnly = this.configurationValue(configuration, "car.navigable", true);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -119,6 +130,12 @@ public class BuildingRoadIntersectionCheck extends BaseCheck<Long>
                         .iterator().hasNext();
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,11 +1,15 @@
 package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.checks.utility.IntersectionUtilities;
 import org.openstreetmap.atlas.geography.Polygon;
 import org.openstreetmap.atlas.geography.atlas.change.FeatureChange;
@@ -13,6 +17,7 @@ import org.openstreetmap.atlas.geography.atlas.complete.CompleteEntity;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.BuildingTag;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 import org.openstreetmap.atlas.utilities.scalars.Surface;
@@ -25,7 +30,7 @@ import org.slf4j.LoggerFactory;
  * @author sid
  * @author mkalender
  */
-public class IntersectingBuildingsCheck extends BaseCheck<String>
+public class IntersectingBuildingsCheck extends BaseCheck<Long>
 {
     /**
      * Differentiate intersection and overlap and create separate descriptions for MapRoulette
@@ -39,6 +44,8 @@ public class IntersectingBuildingsCheck extends BaseCheck<String>
         OVERLAP;
     }
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     private static final Logger logger = LoggerFactory.getLogger(IntersectingBuildingsCheck.class);
     private static final long serialVersionUID = 5796448445672515517L;
 
@@ -55,33 +62,12 @@ public class IntersectingBuildingsCheck extends BaseCheck<String>
     // Minimum number of points for a polygon
     private static final int MINIMUM_POINT_COUNT_FOR_POLYGON = 3;
 
-    // Format to use to generate unique identifier tuples from areas
-    private static final String UNIQUE_IDENTIFIER_FORMAT = "%s,%s";
-
     // Minimum intersection to be contained
     private static final double OVERLAP_LOWER_LIMIT = 1.0;
 
     // Overlap below this limit is not considered to be intersecting
     private final double intersectionLowerLimit;
 
-    /**
-     * Generates a unique identifier tuple as a {@link String} for given {@link Area}s identifiers
-     *
-     * @param area
-     *            First {@link Area} instance
-     * @param otherArea
-     *            Another {@link Area} instance
-     * @return A unique identifier tuple in {@link String}
-     */
-    private static String getIdentifierTuple(final Area area, final Area otherArea)
-    {
-        return area.getIdentifier() < otherArea.getIdentifier()
-                ? String.format(UNIQUE_IDENTIFIER_FORMAT, area.getIdentifier(),
-                        otherArea.getIdentifier())
-                : String.format(UNIQUE_IDENTIFIER_FORMAT, otherArea.getIdentifier(),
-                        area.getIdentifier());
-    }
-
     /**
      * Default constructor
      *
@@ -102,13 +88,21 @@ public class IntersectingBuildingsCheck extends BaseCheck<String>
         return object instanceof Area && BuildingTag.isBuilding(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
         final Area building = (Area) object;
+        // Geometries and surfaces of the buildings, computed once per building
+        final GeometryCache geometries = GeometryCache.of(object.getAtlas());
 
         // Fetch building's area as polygon and make sure it has at least 3 points
-        final Polygon buildingPolygon = building.asPolygon();
+        final Polygon buildingPolygon = geometries.polygon(building);
         if (buildingPolygon.size() < MINIMUM_POINT_COUNT_FOR_POLYGON)
         {
             return Optional.empty();
@@ -130,30 +124,33 @@ public class IntersectingBuildingsCheck extends BaseCheck<String>
         for (final Area otherBuilding : possiblyIntersectingBuildings)
         {
             // Fetch other building's area as polygon and make sure it has at least 3 points
-            final Polygon otherBuildingsPolygon = otherBuilding.asPolygon();
+            final Polygon otherBuildingsPolygon = geometries.polygon(otherBuilding);
             if (otherBuildingsPolygon.size() < MINIMUM_POINT_COUNT_FOR_POLYGON)
             {
                 continue;
             }
 
-            // Create a unique identifier for building tuple to avoid processing same buildings more
-            // than once
-            final String uniqueIdentifier = getIdentifierTuple(building, otherBuilding);
-            if (this.isFlagged(getIdentifierTuple(building, otherBuilding)))
+            // Order the building pair identifiers to avoid processing same buildings more than
+            // once
+            final long smallerIdentifier = Math.min(building.getIdentifier(),
+                    otherBuilding.getIdentifier());
+            final long largerIdentifier = Math.max(building.getIdentifier(),
+                    otherBuilding.getIdentifier());
+            if (this.isFlagged(smallerIdentifier, largerIdentifier))
             {
                 continue;
             }
 
             // Find intersection type
-            final IntersectionType resultType = this.findIntersectionType(buildingPolygon,
-                    otherBuildingsPolygon);
+            final IntersectionType resultType = this.findIntersectionType(building,
+                    otherBuilding);
 
             // Flag based on intersection type
             if (resultType == IntersectionType.OVERLAP)
             {
                 // Get object and otherBuilding as a Surfaces
-                final Surface objectAsSurface = ((Area) object).asPolygon().surface();
-                final Surface otherBuildingAsSurface = otherBuilding.asPolygon().surface();
+                final Surface objectAsSurface = geometries.surface(building);
+                final Surface otherBuildingAsSurface = geometries.surface(otherBuilding);
                 final FeatureChange featureChange;
                 // If object is larger than otherBuilding, the instruction states object contains
                 // otherBuilding
@@ -180,14 +177,14 @@ public class IntersectingBuildingsCheck extends BaseCheck<String>
                             object.getOsmIdentifier(), otherBuilding.getOsmIdentifier()));
                 }
                 flag.addFixSuggestion(featureChange);
-                this.markAsFlagged(uniqueIdentifier);
+                this.markAsFlagged(smallerIdentifier, largerIdentifier);
                 hadIntersection = true;
             }
             else if (resultType == IntersectionType.INTERSECT)
             {
                 flag.addObject(otherBuilding, this.getLocalizedInstruction(1,
                         object.getOsmIdentifier(), otherBuilding.getOsmIdentifier()));
-                this.markAsFlagged(uniqueIdentifier);
+                this.markAsFlagged(smallerIdentifier, largerIdentifier);
                 hadIntersection = true;
             }
         }
@@ -207,20 +204,20 @@ public class IntersectingBuildingsCheck extends BaseCheck<String>
     }
 
     /**
-     * Find {@link IntersectionType} for given {@link Polygon}s. There are some edge cases where
-     * there are minor boundary intersections. So we do additional area check to filter off the
-     * false positives.
+     * Find {@link IntersectionType} for given buildings. There are some edge cases where there are
+     * minor boundary intersections. So we do additional area check to filter off the false
+     * positives.
      *
-     * @param polygon
-     *            {@link Polygon} to check for intersection
-     * @param otherPolygon
-     *            Another {@link Polygon} to check against for intersection
-     * @return {@link IntersectionType} between given {@link Polygon}s
+     * @param building
+     *            {@link Area} to check for intersection
+     * @param otherBuilding
+     *            Another {@link Area} to check against for intersection
+     * @return {@link IntersectionType} between given {@link Area}s
      */
-    private IntersectionType findIntersectionType(final Polygon polygon, final Polygon otherPolygon)
+    private IntersectionType findIntersectionType(final Area building, final Area otherBuilding)
     {
-        final double proportion = IntersectionUtilities.findIntersectionPercentage(polygon,
-                otherPolygon);
+        final double proportion = IntersectionUtilities.findIntersectionPercentage(building,
+                otherBuilding);
         if (proportion >= OVERLAP_LOWER_LIMIT)
         {
             return IntersectionType.OVERLAP;
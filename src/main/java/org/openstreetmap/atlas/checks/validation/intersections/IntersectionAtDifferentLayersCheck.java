@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -9,10 +10,11 @@ import java.util.stream.StreamSupport;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
-import org.openstreetmap.atlas.checks.utility.CommonMethods;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.tags.AreaTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -29,6 +31,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class IntersectionAtDifferentLayersCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.NODE));
     // Instructions
     private static final String INSTRUCTION_FORMAT = "The Node id {0,number,#} connects Ways {1} at different layers.";
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections
@@ -67,6 +71,12 @@ public class IntersectionAtDifferentLayersCheck extends BaseCheck<Long>
                 && !RailwayTag.isRailwayCrossing(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -146,8 +156,9 @@ public class IntersectionAtDifferentLayersCheck extends BaseCheck<Long>
      */
     private boolean isInterLocationNode(final Edge edge, final Node node)
     {
-        final List<Location> interLocations = StreamSupport.stream(
-                CommonMethods.buildOriginalOsmWayGeometry(edge).innerLocations().spliterator(),
+        // The way of an edge is rebuilt for each of its crossings otherwise
+        final List<Location> interLocations = StreamSupport.stream(GeometryCache
+                .of(edge.getAtlas()).originalOsmWayGeometry(edge).innerLocations().spliterator(),
                 false).collect(Collectors.toList());
 
         return interLocations.contains(node.getLocation());
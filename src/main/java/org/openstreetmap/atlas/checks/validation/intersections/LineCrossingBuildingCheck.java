@@ -2,8 +2,11 @@ package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.atlas.predicates.TagPredicates;
 import org.openstreetmap.atlas.checks.atlas.predicates.TypePredicates;
@@ -16,6 +19,7 @@ import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasItem;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Line;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.tags.AddressInterpolationTag;
@@ -43,6 +47,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class LineCrossingBuildingCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.AREA));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
             "The building with id {0,number,#} has invalid crossings.",
             "The Line with id {0,number,#} has invalid crossings.");
@@ -87,6 +93,12 @@ public class LineCrossingBuildingCheck extends BaseCheck<Long>
         super(configuration);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -103,6 +115,12 @@ public class LineCrossingBuildingCheck extends BaseCheck<Long>
                 && !Validators.isOfType(object, BuildingTag.class, BuildingTag.ENTRANCE);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
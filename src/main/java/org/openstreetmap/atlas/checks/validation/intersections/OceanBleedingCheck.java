@@ -3,6 +3,7 @@ package org.openstreetmap.atlas.checks.validation.intersections;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +21,7 @@ import org.openstreetmap.atlas.geography.Polygon;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.tags.AmenityTag;
 import org.openstreetmap.atlas.tags.BridgeTag;
@@ -39,6 +41,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
 public class OceanBleedingCheck extends BaseCheck<Long>
 {
     private final TaggableFilter validOceanTags;
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE, ItemType.AREA, ItemType.LINE));
     private static final String DEFAULT_INVALID_OCEAN_TAGS = "man_made->breakwater,pier"
             + "|natural->beach,marsh,swamp" + "|water->marsh"
             + "|wetland->bog,fen,mangrove,marsh,saltern,saltmarsh,string_bog,swamp,wet_meadow"
@@ -101,6 +105,12 @@ public class OceanBleedingCheck extends BaseCheck<Long>
                         || this.oceanBoundaryTags.test(object));
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * We flag railways, streets, and buildings that intersect or are within certain ocean features,
      * so each flag is a collection of all invalid interactions for a given ocean feature.
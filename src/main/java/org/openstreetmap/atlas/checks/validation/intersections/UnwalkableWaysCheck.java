@@ -2,6 +2,7 @@ package org.openstreetmap.atlas.checks.validation.intersections;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +13,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.FootTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
 import org.openstreetmap.atlas.tags.SidewalkTag;
@@ -33,6 +35,8 @@ import org.slf4j.LoggerFactory;
  */
 public class UnwalkableWaysCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     private static final long serialVersionUID = -2894765496856223796L;
     private static final Logger logger = LoggerFactory.getLogger(UnwalkableWaysCheck.class);
     // Instructions
@@ -96,6 +100,12 @@ public class UnwalkableWaysCheck extends BaseCheck<Long>
                         || edge.getTag(SidewalkTag.KEY).isPresent());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -4,8 +4,10 @@ import static java.lang.Math.pow;
 import static java.lang.Math.sqrt;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import org.openstreetmap.atlas.checks.atlas.predicates.TypePredicates;
@@ -15,6 +17,7 @@ import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.Segment;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.HighwayTag;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 import org.openstreetmap.atlas.utilities.scalars.Distance;
@@ -28,6 +31,8 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
 public class ApproximateWayCheck extends BaseCheck<Long>
 {
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     public static final double DEVIATION_MAXIMUM_RATIO_DEFAULT = 0.04;
     public static final double DEVIATION_MINIMUM_LENGTH_DEFAULT = 10;
     public static final double MIN_ANGLE_DEFAULT = 60.0;
@@ -68,6 +73,12 @@ public class ApproximateWayCheck extends BaseCheck<Long>
         this.bezierStep = this.configurationValue(configuration, "bezierStep", BEZIER_STEP_DEFAULT);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     /**
      * This function will validate if the supplied atlas object is valid for the check.
      *
@@ -82,6 +93,12 @@ public class ApproximateWayCheck extends BaseCheck<Long>
                 && HighwayTag.isCarNavigableHighway(object) && this.isMinimumHighwayType(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged. A
      * majority of flagged edges were those that contained correctly mapped ~90 degree angles, we
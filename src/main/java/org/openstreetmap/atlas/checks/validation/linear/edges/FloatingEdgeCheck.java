@@ -1,19 +1,22 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.openstreetmap.atlas.checks.atlas.predicates.TypePredicates;
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
 import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
-import org.openstreetmap.atlas.geography.atlas.items.complex.RelationOrAreaToMultiPolygonConverter;
 import org.openstreetmap.atlas.geography.converters.MultiplePolyLineToPolygonsConverter;
 import org.openstreetmap.atlas.tags.AerowayTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -36,6 +39,8 @@ import org.slf4j.LoggerFactory;
  */
 public class FloatingEdgeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     public static final double DISTANCE_DEFAULT = 1;
     // The default value for the maximum length in kilometers for something to be considered a
     // floating road, anything larger will be ignored. This can be updated through configuration and
@@ -55,7 +60,6 @@ public class FloatingEdgeCheck extends BaseCheck<Long>
     // The default value for the minimum highway type
     private static final String HIGHWAY_MINIMUM_DEFAULT = HighwayTag.SERVICE.toString();
 
-    private static final RelationOrAreaToMultiPolygonConverter RELATION_OR_AREA_TO_MULTI_POLYGON_CONVERTER = new RelationOrAreaToMultiPolygonConverter();
     // class variable to store the maximum distance for the floating road
 
     private static final Logger logger = LoggerFactory.getLogger(FloatingEdgeCheck.class);
@@ -97,7 +101,8 @@ public class FloatingEdgeCheck extends BaseCheck<Long>
         {
             try
             {
-                if (edge.within(RELATION_OR_AREA_TO_MULTI_POLYGON_CONVERTER.convert(relation)))
+                // Every edge near an aerodrome reuses its multipolygon
+                if (edge.within(GeometryCache.of(edge.getAtlas()).multiPolygon(relation)))
                 {
                     return true;
                 }
@@ -158,6 +163,12 @@ public class FloatingEdgeCheck extends BaseCheck<Long>
                 && !intersectsAirport((Edge) object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * The primary function that will check to see if the current edge is a floating edge
      *
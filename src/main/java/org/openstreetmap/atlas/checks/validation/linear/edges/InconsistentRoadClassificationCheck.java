@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +18,7 @@ import org.openstreetmap.atlas.geography.Heading;
 import org.openstreetmap.atlas.geography.Segment;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.walker.OsmWayWalker;
 import org.openstreetmap.atlas.tags.HighwayTag;
 import org.openstreetmap.atlas.tags.JunctionTag;
@@ -45,6 +48,8 @@ import org.openstreetmap.atlas.utilities.tuples.Tuple;
  */
 public class InconsistentRoadClassificationCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     private static final String CHANGE_BACK_INSTRUCTION = "Way {0,number,#} goes back to {1} and creates inconsistency.";
     // Constraints to limit search and eliminate some false positives
     private static final String MINIMUM_HIGHWAY_TYPE_DEFAULT = HighwayTag.TERTIARY_LINK.toString();
@@ -104,6 +109,12 @@ public class InconsistentRoadClassificationCheck extends BaseCheck<Long>
         return false;
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject item)
     {
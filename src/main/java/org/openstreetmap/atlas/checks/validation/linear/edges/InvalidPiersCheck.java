@@ -2,7 +2,9 @@ package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +20,7 @@ import org.openstreetmap.atlas.geography.Polygon;
 import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.walker.OsmWayWalker;
 import org.openstreetmap.atlas.tags.AmenityTag;
 import org.openstreetmap.atlas.tags.AreaTag;
@@ -44,6 +47,9 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class InvalidPiersCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(ManMadeTag.KEY);
     private static final long serialVersionUID = 6011101860745289836L;
     private static final String LINEAR_GEOMETRY_WITH_HIGHWAY_TAG = "This way {0,number,#} is a linear pier with \"man_made=pier\"tag and a highway tag. "
             + "Please make necessary changes to convert its geometry to a polygon and add tag, \"area=yes\".";
@@ -93,6 +99,12 @@ public class InvalidPiersCheck extends BaseCheck<Long>
                 configValue -> HighwayTag.valueOf(configValue.toUpperCase()));
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     /**
      * This function will validate if the supplied atlas object is valid for the check. Valid object
      * for the check is a main edge with man_made=pier tag and does not have an area=yes tag.
@@ -108,6 +120,12 @@ public class InvalidPiersCheck extends BaseCheck<Long>
                 && HAS_NO_AREA_TAG.test(object) && !this.isFlagged(object.getOsmIdentifier());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * Overriding this method to not skip piers.
      *
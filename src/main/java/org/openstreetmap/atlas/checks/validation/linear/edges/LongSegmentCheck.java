@@ -1,14 +1,18 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.Segment;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.tags.RouteTag;
 import org.openstreetmap.atlas.tags.annotations.validation.Validators;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
@@ -21,6 +25,8 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class LongSegmentCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     public static final double DISTANCE_MINIMUM_KILOMERTERS_DEFAULT = 10;
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
             "Way {0,number,#} has a very long stretch with no nodes in it (length = {1} km). This may not be an accurate representation of ground truth.");
@@ -35,6 +41,12 @@ public class LongSegmentCheck extends BaseCheck<Long>
                 DISTANCE_MINIMUM_KILOMERTERS_DEFAULT, Distance::kilometers);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     /**
      * Validate if given {@link AtlasObject} is actually an {@link Edge}, which is a Main Edge and
      * is not a Ferry
@@ -47,6 +59,12 @@ public class LongSegmentCheck extends BaseCheck<Long>
                 && !Validators.isOfType(object, RouteTag.class, RouteTag.FERRY);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * Flags long segments/edges (length is more than {@link LongSegmentCheck#minimumLength})
      */
@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -11,7 +13,7 @@ import java.util.stream.Stream;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
-import org.openstreetmap.atlas.checks.utility.CommonMethods;
+import org.openstreetmap.atlas.checks.utility.GeometryCache;
 import org.openstreetmap.atlas.exception.CoreException;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.PolyLine;
@@ -21,6 +23,7 @@ import org.openstreetmap.atlas.geography.atlas.complete.CompleteEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.geography.atlas.items.Route;
 import org.openstreetmap.atlas.geography.atlas.items.complex.ComplexEntity;
@@ -51,6 +54,9 @@ import org.openstreetmap.atlas.utilities.tuples.Tuple;
 
 public class MalformedRoundaboutCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(JunctionTag.KEY);
     private static final long serialVersionUID = -3018101860747289836L;
     private static final String BASIC_INSTRUCTION = "This roundabout is malformed.";
     private static final String ENCLOSED_ROADS_INSTRUCTIONS = "This roundabout has car navigable ways inside it.";
@@ -86,6 +92,12 @@ public class MalformedRoundaboutCheck extends BaseCheck<Long>
                 "angle.threshold.maximum_degree", MAX_THRESHOLD_DEGREES_DEFAULT, Angle::degrees);
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -106,6 +118,12 @@ public class MalformedRoundaboutCheck extends BaseCheck<Long>
                 && !this.isEdgeWithSyntheticBoundaryNode(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
@@ -147,8 +165,10 @@ public class MalformedRoundaboutCheck extends BaseCheck<Long>
                                 FeatureChange.add(
                                         (AtlasEntity) ((CompleteEntity) CompleteEntity
                                                 .from((AtlasEntity) object)).withGeometry(
-                                                        CommonMethods.buildOriginalOsmWayGeometry(
-                                                                (Edge) object).reversed()),
+                                                        GeometryCache.of(object.getAtlas())
+                                                                .originalOsmWayGeometry(
+                                                                        (Edge) object)
+                                                                .reversed()),
                                         object.getAtlas())));
             }
             else
@@ -177,8 +197,8 @@ public class MalformedRoundaboutCheck extends BaseCheck<Long>
 
         try
         {
-            final PolyLine originalGeometry = CommonMethods
-                    .buildOriginalOsmWayGeometry((Edge) object);
+            final PolyLine originalGeometry = GeometryCache.of(object.getAtlas())
+                    .originalOsmWayGeometry((Edge) object);
             // There should be a minimum amount of OSM nodes in a roundabout to have good
             // visuals.
             // Only count nodes when we have the full roundabout, some are split into multiple
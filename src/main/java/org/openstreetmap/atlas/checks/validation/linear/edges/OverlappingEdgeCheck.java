@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +19,7 @@ import org.openstreetmap.atlas.geography.Segment;
 import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.walker.OsmWayWalker;
 import org.openstreetmap.atlas.tags.AreaTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -40,6 +43,8 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class OverlappingEdgeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
             "Duplicate Highway found for way id {0,number,#}. Overlapping way id(s) {1}.",
             "Way {0,number,#} wraps back on itself.");
@@ -77,6 +82,12 @@ public class OverlappingEdgeCheck extends BaseCheck<Long>
                 && !(this.filterPedestrianAreas && this.edgeIsArea((Edge) object));
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
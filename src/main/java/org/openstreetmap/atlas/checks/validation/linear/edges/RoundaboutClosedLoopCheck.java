@@ -1,14 +1,18 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.utility.RoadGraph;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.walker.OsmWayWalker;
 import org.openstreetmap.atlas.tags.HighwayTag;
 import org.openstreetmap.atlas.tags.JunctionTag;
@@ -25,6 +29,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class RoundaboutClosedLoopCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     // Instructions
     public static final String ONE_WAY_INSTRUCTION = "This roundabout edge is not one-way.";
     // Highway tags referring roundabouts
@@ -41,13 +47,11 @@ public class RoundaboutClosedLoopCheck extends BaseCheck<Long>
 
     private static boolean aConnectedNodeHasValenceLessThan(final Edge edge, final int valence)
     {
-        return edge
-                // go through each connected node of given edge
-                .connectedNodes().stream()
-                // check if any of them has less than given valence value
-                .anyMatch(node -> node.connectedEdges().stream()
-                        // counting only main edge connections
-                        .filter(Edge::isMainEdge).count() < valence);
+        final RoadGraph graph = RoadGraph.of(edge.getAtlas());
+        final int index = graph.edgeIndex(edge);
+        // check if any connected node of given edge has less than given valence value
+        return mainEdgeValence(graph, graph.start(index)) < valence
+                || mainEdgeValence(graph, graph.end(index)) < valence;
     }
 
     /**
@@ -65,6 +69,28 @@ public class RoundaboutClosedLoopCheck extends BaseCheck<Long>
                 && HIGHWAY_TAGS_FOR_ROUNDABOUTS.contains(highwayTag.get()));
     }
 
+    /**
+     * Counts the connections of a node, only counting main edge connections
+     *
+     * @param graph
+     *            the {@link RoadGraph} of the atlas
+     * @param node
+     *            a node index in the graph
+     * @return the number of main edges connected to the node
+     */
+    private static int mainEdgeValence(final RoadGraph graph, final int node)
+    {
+        int valence = 0;
+        for (int index = 0; index < graph.nodeValence(node); index++)
+        {
+            if (graph.isMainEdge(graph.nodeEdge(node, index)))
+            {
+                valence++;
+            }
+        }
+        return valence;
+    }
+
     /**
      * Default constructor
      *
@@ -88,6 +114,12 @@ public class RoundaboutClosedLoopCheck extends BaseCheck<Long>
                 && !this.isFlagged(object.getOsmIdentifier());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * Flags an {@link Edge} if it is not one-way or it is connected to end nodes whose valence is
      * less than {@link RoundaboutClosedLoopCheck#MINIMUM_VALENCE}. See {@link OneWayTag#isTwoWay}
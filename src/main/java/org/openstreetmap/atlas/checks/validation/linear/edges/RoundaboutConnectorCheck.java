@@ -1,8 +1,11 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
@@ -10,6 +13,7 @@ import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.Heading;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.walker.OsmWayWalker;
 import org.openstreetmap.atlas.tags.HighwayTag;
 import org.openstreetmap.atlas.tags.JunctionTag;
@@ -25,6 +29,8 @@ import org.openstreetmap.atlas.utilities.scalars.Angle;
  */
 public class RoundaboutConnectorCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     private static final long serialVersionUID = -5311314357995383430L;
 
     private static final Double ONE_WAY_THRESHOLD_DEFAULT = 100.0;
@@ -75,6 +81,12 @@ public class RoundaboutConnectorCheck extends BaseCheck<Long>
                 && ((Edge) object).highwayTag().isMoreImportantThan(this.minimumHighwayType);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
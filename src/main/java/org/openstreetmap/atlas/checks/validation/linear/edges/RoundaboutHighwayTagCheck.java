@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,6 +16,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.geography.atlas.walker.SimpleEdgeWalker;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -27,6 +30,9 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class RoundaboutHighwayTagCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(JunctionTag.KEY);
     private static final long serialVersionUID = 5324388633864552231L;
     private static final String TAG_FILTER_IGNORE_DEFAULT = "junction->roundabout|highway->*_link|service->driveway";
     private static final String ROUNDABOUT_HIGHWAY_LEVEL_INSTRUCTION = "The way, id:{0,number,#}, should have the highway tag that matches the highest classification of road that passes through. Current: {1}. Expected: {2}.";
@@ -41,6 +47,12 @@ public class RoundaboutHighwayTagCheck extends BaseCheck<Long>
                 TAG_FILTER_IGNORE_DEFAULT, TaggableFilter::forDefinition);
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     /**
      * This function will validate if the supplied atlas object is valid for the check.
      *
@@ -56,6 +68,12 @@ public class RoundaboutHighwayTagCheck extends BaseCheck<Long>
                 && !this.isFlagged(object.getIdentifier());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
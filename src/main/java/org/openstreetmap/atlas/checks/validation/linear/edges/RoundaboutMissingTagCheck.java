@@ -2,6 +2,7 @@ package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +18,7 @@ import org.openstreetmap.atlas.geography.atlas.complete.CompleteEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.walker.OsmWayWalker;
 import org.openstreetmap.atlas.tags.AreaTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -39,6 +41,8 @@ import org.openstreetmap.atlas.utilities.tuples.Tuple;
 
 public class RoundaboutMissingTagCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     // Instructions
     public static final String MISSING_JUNCTION_TAG_INSTRUCTION = "This edge might be a roundabout";
     // Minimum intersection with Navigable Roads
@@ -92,6 +96,12 @@ public class RoundaboutMissingTagCheck extends BaseCheck<Long>
                 && !this.isTurningCircle((Edge) object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * Flags an {@link Edge} is its circular shape and connected to at least
      * {@link RoundaboutMissingTagCheck#MINIMUM_INTERSECTION} navigable roads. {@link Edge} doesn't
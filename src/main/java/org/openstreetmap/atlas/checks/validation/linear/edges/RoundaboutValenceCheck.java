@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +15,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.geography.atlas.walker.SimpleEdgeWalker;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -31,6 +34,9 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
 public class RoundaboutValenceCheck extends BaseCheck<Long>
 {
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(JunctionTag.KEY);
     private static final long serialVersionUID = 1L;
     private static final String BASIC_INSTRUCTION = "This roundabout has improper valence.";
     private static final String WRONG_VALENCE_INSTRUCTIONS = "This roundabout has the wrong valence. It has a valence of {0,number,#}.";
@@ -51,6 +57,12 @@ public class RoundaboutValenceCheck extends BaseCheck<Long>
                 LOWER_VALENCE_THRESHOLD_DEFAULT);
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -66,6 +78,12 @@ public class RoundaboutValenceCheck extends BaseCheck<Long>
                 && HighwayTag.isCarNavigableHighway(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
@@ -2,8 +2,10 @@ package org.openstreetmap.atlas.checks.validation.linear.edges;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Triple;
@@ -11,6 +13,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.tags.BarrierTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -28,6 +31,8 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class ShortSegmentCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
             "This segment from startNode {0,number,#} to endNode {1,number,#} on way {2,number,#} is short (length < {3} m) and node {4,number,#} has less than {5} connections.");
     // Length for an edge not to be defined as short
@@ -95,6 +100,12 @@ public class ShortSegmentCheck extends BaseCheck<Long>
                         MINIMUM_HIGHWAY_PRIORITY_DEFAULT).toUpperCase());
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     /**
      * Validate if given {@link AtlasObject} is actually an {@link Edge}
      */
@@ -108,6 +119,12 @@ public class ShortSegmentCheck extends BaseCheck<Long>
                 && ((Edge) object).length().isLessThan(this.maximumLength);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * Flag an {@link Edge} if it has a length less than {@link ShortSegmentCheck#maximumLength} and
      * is connected to end nodes whose valence is less than {@link ShortSegmentCheck#minimumValence}
@@ -5,9 +5,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -15,6 +17,8 @@ import java.util.stream.StreamSupport;
 import org.openstreetmap.atlas.checks.atlas.predicates.TagPredicates;
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.utility.AtlasScopedCache;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
 import org.openstreetmap.atlas.tags.AccessTag;
@@ -29,10 +33,15 @@ import org.openstreetmap.atlas.tags.SyntheticBoundaryNodeTag;
 import org.openstreetmap.atlas.tags.VehicleTag;
 import org.openstreetmap.atlas.tags.annotations.validation.Validators;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
+import org.openstreetmap.atlas.utilities.tuples.Tuple;
 
 /**
  * This check flags islands of roads where it is impossible to get out. The simplest is a one-way
  * that dead-ends; that would be a one-edge island.
+ * <p>
+ * A bounded breadth first search is run from every candidate edge. With the {@code graph} engine,
+ * the search runs on a {@link SinkIslandGraph} of the atlas, which tests each edge once instead of
+ * at every search reaching it, and flags the same islands as the default {@code bfs} engine.
  *
  * @author matthieun
  * @author cuthbertm
@@ -42,6 +51,7 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  * @author sayas01
  * @author seancoulter
  * @author bbreithaupt
+ * @author agent
  */
 public class SinkIslandCheck extends BaseCheck<Long>
 {
@@ -57,12 +67,31 @@ public class SinkIslandCheck extends BaseCheck<Long>
             .highwayTag().isMoreImportantThanOrEqualTo(HighwayTag.SERVICE);
     private static final long TREE_SIZE_DEFAULT = 50;
     private static final boolean DEFAULT_SERVICE_IN_PEDESTRIAN_FILTER = false;
+    private static final String GRAPH_ENGINE = "graph";
+    private static final String DEFAULT_ENGINE = "bfs";
     private static final long serialVersionUID = -1432150496331502258L;
+    // Graph of each atlas being checked with the graph engine, by pedestrian network filter
+    private static final AtlasScopedCache<Map<Boolean, SinkIslandGraph>> GRAPHS = new AtlasScopedCache<>(
+            atlas -> new ConcurrentHashMap<>());
     private final HighwayTag minimumHighwayType;
     private final int storeSize;
     private final int treeSize;
     // This can be turned on if we want to flag service roads surrounded by pedestrian networks.
     private final boolean serviceInPedestrianNetworkFilter;
+    private final boolean graphEngine;
+
+    /**
+     * @param edge
+     *            any {@link Edge}
+     * @return {@code true} if the motor vehicle tag value of the edge is the name of
+     *         {@link MotorVehicleTag#YES}, so that the search also follows the pedestrian edges it
+     *         leads to
+     */
+    private static boolean isMotorVehicleYes(final Edge edge)
+    {
+        return edge.getTag(MotorVehicleTag.KEY).orElse(MotorVehicleTag.NO.name())
+                .equals(MotorVehicleTag.YES.name());
+    }
 
     /**
      * Default constructor
@@ -85,6 +114,8 @@ public class SinkIslandCheck extends BaseCheck<Long>
         this.storeSize = (int) (this.treeSize / LOAD_FACTOR);
         this.serviceInPedestrianNetworkFilter = configurationValue(configuration,
                 "filter.pedestrian.network", DEFAULT_SERVICE_IN_PEDESTRIAN_FILTER);
+        this.graphEngine = this.configurationValue(configuration, "engine", DEFAULT_ENGINE,
+                GRAPH_ENGINE::equalsIgnoreCase);
     }
 
     @Override
@@ -102,6 +133,11 @@ public class SinkIslandCheck extends BaseCheck<Long>
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
+        if (this.graphEngine)
+        {
+            return this.flagFromGraph((Edge) object);
+        }
+
         // Flag to keep track of whether we found an issue or not
         boolean haltedSearch = false;
 
@@ -136,8 +172,7 @@ public class SinkIslandCheck extends BaseCheck<Long>
 
             // Validate highway=pedestrian edges connected to candidate if candidate is
             // motor_vehicle=yes (add to outEdges)
-            if (candidate.getTag(MotorVehicleTag.KEY).orElse(MotorVehicleTag.NO.name())
-                    .equals(MotorVehicleTag.YES.name()))
+            if (isMotorVehicleYes(candidate))
             {
                 outEdges.addAll(candidate.outEdges().stream()
                         .filter(HighwayTag::isPedestrianNavigableHighway).distinct().sorted()
@@ -212,25 +247,7 @@ public class SinkIslandCheck extends BaseCheck<Long>
     {
         // If the edge has already been flagged by another process then we can break out of the
         // loop and assume that whether the check was a flag or not was handled by the other process
-        return this.isFlagged(edge.getIdentifier())
-                // We don't want to handle certain types of parking amenities
-                || this.endOrStartNodeHasAmenityTypeToExclude(edge)
-                // Ignore edges that have been way sectioned at the border, as has high probability
-                // of creating a false positive due to the sectioning of the way
-                || SyntheticBoundaryNodeTag.isBoundaryNode(edge.end())
-                || SyntheticBoundaryNodeTag.isBoundaryNode(edge.start())
-                // If the serviceInPedestrianNetworkFilter switch is off, ignore edges that are of
-                // type at least service and are surrounded by pedestrian navigable ways. To flag
-                // such edges, the filter must be on and it's implied that the edge must not have
-                // the motor_vehicle tag.
-                || !this.serviceInPedestrianNetworkFilter && IS_AT_LEAST_SERVICE_ROAD.test(edge)
-                        && this.isConnectedToPedestrianNavigableHighway(edge)
-                // Ignore service edges that end in a building or are within an airport polygon
-                || SERVICE_ROAD.test(edge) && this.intersectsAirportOrBuilding(edge)
-                // Consider car ferries a valid terminus
-                || edge.outEdges().stream()
-                        .anyMatch(outEdge -> RouteTag.isFerry(outEdge) && this.isAccessible(outEdge)
-                                && this.isCarNavigable(outEdge, AccessTag.NO.toString()));
+        return this.isFlagged(edge.getIdentifier()) || this.isExit(edge);
     }
 
     /**
@@ -250,6 +267,27 @@ public class SinkIslandCheck extends BaseCheck<Long>
                 || Validators.isOfType(edge.start(), AmenityTag.class, AmenityTag.PARKING_ENTRANCE);
     }
 
+    /**
+     * Runs the search of the check on the {@link SinkIslandGraph} of the atlas.
+     *
+     * @param edge
+     *            the candidate {@link Edge}
+     * @return a flag of the sink island found from the edge, if any
+     */
+    private Optional<CheckFlag> flagFromGraph(final Edge edge)
+    {
+        final Tuple<List<Edge>, List<Edge>> search = this.sinkIslandGraph(edge.getAtlas())
+                .search(edge, this.treeSize, this::isFlagged);
+        // Unify all explored edges and mark them so we don't process them more than once
+        search.getFirst().forEach(marked -> this.markAsFlagged(marked.getIdentifier()));
+        if (search.getSecond().isEmpty())
+        {
+            return Optional.empty();
+        }
+        return Optional.of(createFlag(new HashSet<>(search.getSecond()),
+                this.getLocalizedInstruction(0)));
+    }
+
     /**
      * Finds the car accessibility value for an {@link Edge} by returning the first value found,
      * using a descending list of tags to check. If no values are found for the list of tags the
@@ -340,6 +378,37 @@ public class SinkIslandCheck extends BaseCheck<Long>
         return edge.connectedEdges().stream().anyMatch(HighwayTag::isPedestrianNavigableHighway);
     }
 
+    /**
+     * This function checks an edge for the characteristics, besides being already flagged, that
+     * tell us the network it belongs to leads somewhere or should not be flagged.
+     *
+     * @param edge
+     *            An Edge we're examining
+     * @return {@code true} if the edge has an amenity type we want to exclude, ends in a boundary
+     *         node, or otherwise leads out of the network, {@code false} otherwise
+     */
+    private boolean isExit(final Edge edge)
+    {
+        // We don't want to handle certain types of parking amenities
+        return this.endOrStartNodeHasAmenityTypeToExclude(edge)
+                // Ignore edges that have been way sectioned at the border, as has high probability
+                // of creating a false positive due to the sectioning of the way
+                || SyntheticBoundaryNodeTag.isBoundaryNode(edge.end())
+                || SyntheticBoundaryNodeTag.isBoundaryNode(edge.start())
+                // If the serviceInPedestrianNetworkFilter switch is off, ignore edges that are of
+                // type at least service and are surrounded by pedestrian navigable ways. To flag
+                // such edges, the filter must be on and it's implied that the edge must not have
+                // the motor_vehicle tag.
+                || !this.serviceInPedestrianNetworkFilter && IS_AT_LEAST_SERVICE_ROAD.test(edge)
+                        && this.isConnectedToPedestrianNavigableHighway(edge)
+                // Ignore service edges that end in a building or are within an airport polygon
+                || SERVICE_ROAD.test(edge) && this.intersectsAirportOrBuilding(edge)
+                // Consider car ferries a valid terminus
+                || edge.outEdges().stream()
+                        .anyMatch(outEdge -> RouteTag.isFerry(outEdge) && this.isAccessible(outEdge)
+                                && this.isCarNavigable(outEdge, AccessTag.NO.toString()));
+    }
+
     /**
      * Checks if the edge is fully enclosed within areas that have amenity tags that are in the
      * AMENITY_VALUES_TO_EXCLUDE list
@@ -359,6 +428,22 @@ public class SinkIslandCheck extends BaseCheck<Long>
                 .anyMatch(area -> area.asPolygon().fullyGeometricallyEncloses(edge.asPolyLine()));
     }
 
+    /**
+     * Gets the graph searched with the graph engine, building it only once per atlas for all the
+     * checks configured alike.
+     *
+     * @param atlas
+     *            the {@link Atlas} being checked
+     * @return the {@link SinkIslandGraph} of the atlas
+     */
+    private SinkIslandGraph sinkIslandGraph(final Atlas atlas)
+    {
+        return GRAPHS.get(atlas).computeIfAbsent(this.serviceInPedestrianNetworkFilter,
+                key -> new SinkIslandGraph(atlas, this::validEdge, this::isExit,
+                        SinkIslandCheck::isMotorVehicleYes,
+                        HighwayTag::isPedestrianNavigableHighway));
+    }
+
     /**
      * This function will check various elements of the edge to make sure that we should be looking
      * at it.
@@ -0,0 +1,265 @@
+package org.openstreetmap.atlas.checks.validation.linear.edges;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+import org.openstreetmap.atlas.checks.utility.RoadGraph;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.utilities.tuples.Tuple;
+
+/**
+ * The road network searched by {@link SinkIslandCheck}, for a whole {@link Atlas}. The tests the
+ * search makes on an edge, whether it can be driven on and whether it leads out of the network,
+ * are made once per edge instead of once per search reaching it, and the connections between
+ * navigable edges are kept in primitive adjacency arrays on top of the {@link RoadGraph} of the
+ * atlas. The search itself is the bounded breadth first search of the check, step for step and in
+ * the same order, so that both engines flag the same islands.
+ * <p>
+ * The graph holds no reference to its atlas, and gives back the edges in the atlas of the edge
+ * searched from, so that it can be kept along with the atlas.
+ *
+ * @author agent
+ */
+final class SinkIslandGraph
+{
+    private static final int NONE = -1;
+
+    private final RoadGraph graph;
+    private final BitSet navigable;
+    private final BitSet exits;
+    // Navigable edges following edge i are targets[offsets[i]] to targets[offsets[i + 1] - 1]
+    private final int[] offsets;
+    private final int[] targets;
+    // Pedestrian edges also followed by edge i, if it is open to motor vehicles
+    private final int[] pedestrianOffsets;
+    private final int[] pedestrianTargets;
+
+    /**
+     * Growable list of edge indices. The searches stay within the tree size, so a linear scan
+     * beats hashing for the membership tests.
+     */
+    private static final class Indices
+    {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(final int value)
+        {
+            if (this.size == this.values.length)
+            {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        void addIfAbsent(final int value)
+        {
+            if (!this.contains(value))
+            {
+                this.add(value);
+            }
+        }
+
+        boolean contains(final int value)
+        {
+            for (int index = 0; index < this.size; index++)
+            {
+                if (this.values[index] == value)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int get(final int index)
+        {
+            return this.values[index];
+        }
+
+        int size()
+        {
+            return this.size;
+        }
+    }
+
+    /**
+     * @param atlas
+     *            the {@link Atlas} to search
+     * @param navigable
+     *            the edges that can be driven on, the only ones the search follows
+     * @param exit
+     *            the edges that lead out of the network, or that should not be flagged, a search
+     *            reaching one of them halts
+     * @param motorVehicle
+     *            the edges open to motor vehicles, that also follow the pedestrian edges they lead
+     *            to
+     * @param pedestrian
+     *            the pedestrian edges
+     */
+    SinkIslandGraph(final Atlas atlas, final Predicate<Edge> navigable,
+            final Predicate<Edge> exit, final Predicate<Edge> motorVehicle,
+            final Predicate<Edge> pedestrian)
+    {
+        this.graph = RoadGraph.of(atlas);
+        final int size = this.graph.edges();
+        this.navigable = new BitSet(size);
+        this.exits = new BitSet(size);
+        final BitSet motorVehicles = new BitSet(size);
+        final BitSet pedestrians = new BitSet(size);
+        for (int index = 0; index < size; index++)
+        {
+            final Edge edge = this.graph.edge(atlas, index);
+            this.navigable.set(index, navigable.test(edge));
+            // Only the edges a search can reach are tested, some of the tests query the atlas
+            this.exits.set(index, this.navigable.get(index) && exit.test(edge));
+            motorVehicles.set(index, motorVehicle.test(edge));
+            pedestrians.set(index, pedestrian.test(edge));
+        }
+
+        this.offsets = new int[size + 1];
+        this.pedestrianOffsets = new int[size + 1];
+        for (int index = 0; index < size; index++)
+        {
+            this.offsets[index + 1] = this.offsets[index]
+                    + this.followers(index, this.navigable, null, 0);
+            this.pedestrianOffsets[index + 1] = this.pedestrianOffsets[index]
+                    + (motorVehicles.get(index) ? this.followers(index, pedestrians, null, 0) : 0);
+        }
+        this.targets = new int[this.offsets[size]];
+        this.pedestrianTargets = new int[this.pedestrianOffsets[size]];
+        for (int index = 0; index < size; index++)
+        {
+            this.followers(index, this.navigable, this.targets, this.offsets[index]);
+            if (motorVehicles.get(index))
+            {
+                this.followers(index, pedestrians, this.pedestrianTargets,
+                        this.pedestrianOffsets[index]);
+            }
+        }
+    }
+
+    /**
+     * Searches the sink island of an edge, like {@link SinkIslandCheck} does. The edges are
+     * explored breadth first, by increasing identifier, and the search halts when it reaches an
+     * exit or an edge that is already flagged, or when the explored and queued edges outnumber the
+     * tree size. The whole island is flagged when the search did not halt, and otherwise only the
+     * dead ends it found.
+     *
+     * @param edge
+     *            the navigable {@link Edge} to search from
+     * @param treeSize
+     *            the largest number of edges a sink island can have
+     * @param flagged
+     *            tells the identifiers of the edges that are already flagged
+     * @return the edges the search went through, to mark as flagged, and the edges to flag, empty
+     *         when nothing is flagged
+     */
+    Tuple<List<Edge>, List<Edge>> search(final Edge edge, final int treeSize,
+            final LongPredicate flagged)
+    {
+        final Indices explored = new Indices();
+        final Indices terminal = new Indices();
+        final Indices candidates = new Indices();
+        boolean halted = false;
+        int next = 0;
+
+        int candidate = this.graph.edgeIndex(edge);
+        explored.add(candidate);
+        while (candidate != NONE)
+        {
+            if (flagged.test(this.graph.edgeIdentifier(candidate)) || this.exits.get(candidate))
+            {
+                halted = true;
+                explored.addIfAbsent(candidate);
+                break;
+            }
+            if (this.offsets[candidate] == this.offsets[candidate + 1]
+                    && this.pedestrianOffsets[candidate] == this.pedestrianOffsets[candidate + 1])
+            {
+                // Dead end, only explored once the size of the island is known
+                terminal.addIfAbsent(candidate);
+            }
+            else
+            {
+                explored.addIfAbsent(candidate);
+                // Queue the following navigable edges that are not explored yet, then the
+                // pedestrian ones, which are queued again when they are navigable too
+                this.queue(this.targets, this.offsets[candidate], this.offsets[candidate + 1],
+                        explored, candidates);
+                this.queue(this.pedestrianTargets, this.pedestrianOffsets[candidate],
+                        this.pedestrianOffsets[candidate + 1], explored, candidates);
+                if (candidates.size() - next + explored.size() > treeSize)
+                {
+                    halted = true;
+                    break;
+                }
+            }
+            candidate = next < candidates.size() ? candidates.get(next++) : NONE;
+        }
+
+        // Every edge the search went through is marked, dead ends included
+        final List<Edge> marked = this.edges(edge.getAtlas(), explored);
+        final List<Edge> terminals = this.edges(edge.getAtlas(), terminal);
+        for (int index = 0; index < terminal.size(); index++)
+        {
+            if (!explored.contains(terminal.get(index)))
+            {
+                marked.add(terminals.get(index));
+            }
+        }
+        return Tuple.createTuple(marked, halted ? terminals : marked);
+    }
+
+    private List<Edge> edges(final Atlas atlas, final Indices indices)
+    {
+        final List<Edge> edges = new ArrayList<>(indices.size());
+        for (int index = 0; index < indices.size(); index++)
+        {
+            edges.add(this.graph.edge(atlas, indices.get(index)));
+        }
+        return edges;
+    }
+
+    /**
+     * Counts, and copies if given an array, the edges following an edge that are in a set.
+     *
+     * @return the number of following edges in the set
+     */
+    private int followers(final int edge, final BitSet set, final int[] array, final int offset)
+    {
+        int count = 0;
+        for (int arc = 0; arc < this.graph.outDegree(edge); arc++)
+        {
+            final int follower = this.graph.outEdge(edge, arc);
+            if (set.get(follower))
+            {
+                if (array != null)
+                {
+                    array[offset + count] = follower;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void queue(final int[] followers, final int from, final int to,
+            final Indices explored, final Indices candidates)
+    {
+        for (int arc = from; arc < to; arc++)
+        {
+            if (this.navigable.get(followers[arc]) && !explored.contains(followers[arc]))
+            {
+                candidates.add(followers[arc]);
+            }
+        }
+    }
+}
@@ -11,9 +11,11 @@ import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.utility.RoadGraph;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Line;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.tags.AccessTag;
@@ -32,6 +34,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class ValenceOneImportantRoadCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE));
     public static final String DEAD_END = "This road dead ends at node {0,number,#}.";
     public static final String FLOATING = "Both entry {0,number,#} and exit {1,number,#} nodes are disconnected.";
     public static final String NO_ENTRY = "There is no way to enter this road at node {0,number,#}.";
@@ -63,6 +67,12 @@ public class ValenceOneImportantRoadCheck extends BaseCheck<Long>
         return object instanceof Edge && IMPORTANT_ROADS.contains(((Edge) object).highwayTag());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -163,12 +173,13 @@ public class ValenceOneImportantRoadCheck extends BaseCheck<Long>
             // boundary node
             return Long.MAX_VALUE;
         }
-        final Set<Node> candidates = Collections.singleton(node);
-        return node.connectedEdges().stream()
-                // filter by flow direction to flag opposing one-ways
-                .filter(otherEdge -> otherEdge.isConnectedAtStartTo(candidates) == outward)
-                // count and add one for the current edge, which was just filtered out
-                .count() + 1;
+        final RoadGraph graph = RoadGraph.of(node.getAtlas());
+        final int index = graph.nodeIndex(node);
+        // count by flow direction to flag opposing one-ways
+        final int starting = graph.nodeOutDegree(index);
+        final int count = outward ? starting : graph.nodeValence(index) - starting;
+        // add one for the current edge, which was just filtered out
+        return count + 1L;
     }
 
     /**
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -27,6 +28,7 @@ import org.openstreetmap.atlas.geography.atlas.change.FeatureChange;
 import org.openstreetmap.atlas.geography.atlas.complete.CompleteEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.geography.atlas.items.LocationItem;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
@@ -84,6 +86,8 @@ public class WaterWayCheck extends BaseCheck<Long>
         }
     }
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE, ItemType.LINE));
     private static final long serialVersionUID = 2877101774578564205L;
     private static final String WATERWAY_SINK_TAG_FILTER_DEFAULT = "natural->sinkhole|waterway->tidal_channel,drain|manhole->drain";
     private static final String WATERWAY_TAG_FILTER_DEFAULT = "waterway->river,stream,tidal_channel,canal,drain,ditch,pressurised";
@@ -341,6 +345,12 @@ public class WaterWayCheck extends BaseCheck<Long>
                 && this.waterwayTagFilter.test(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -494,12 +504,12 @@ public class WaterWayCheck extends BaseCheck<Long>
         final double incline = this.elevationUtils.getIncline(first, last);
         final boolean uphill = !Double.isNaN(incline) && incline > 0
                 && last.distanceTo(first).isGreaterThan(this.minDistanceStartEndElevationUphill);
-        if (uphill && this.minResolutionDistance
-                .isGreaterThanOrEqualTo(this.elevationUtils.getResolution(first)))
+        final Distance resolution = uphill ? this.elevationUtils.getResolution(first) : null;
+        if (uphill && this.minResolutionDistance.isGreaterThanOrEqualTo(resolution))
         {
             final String instruction = this.getLocalizedInstruction(
                     FALLBACK_INSTRUCTIONS.indexOf(GOES_UPHILL), line.getOsmIdentifier(),
-                    this.elevationUtils.getResolution(first).asMeters());
+                    resolution.asMeters());
             final CheckFlag returnFlag;
             if (flag == null)
             {
@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -34,6 +36,10 @@ import com.google.common.base.Strings;
 
 public class AddressPointMatchCheck extends BaseCheck<Object>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections
+            .singleton(AddressHousenumberTag.KEY);
     public static final String NO_STREET_NAME_POINT_INSTRUCTIONS = "This Node, {0,number,#}, has "
             + "no street name specified in the address. The street name should likely "
             + "be one of {1}. These names were derived from nearby Nodes.";
@@ -59,6 +65,18 @@ public class AddressPointMatchCheck extends BaseCheck<Object>
                 .meters(this.configurationValue(configuration, "bounds.size", BOUNDS_SIZE_DEFAULT));
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -73,6 +91,12 @@ public class AddressPointMatchCheck extends BaseCheck<Object>
                 && Strings.isNullOrEmpty(object.tag(AddressStreetTag.KEY));
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -10,6 +11,7 @@ import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.checks.utility.KeyFullyChecked;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Point;
 import org.openstreetmap.atlas.tags.AddressStreetTag;
 import org.openstreetmap.atlas.tags.annotations.validation.Validators;
@@ -27,6 +29,10 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
 public class AddressStreetNameCheck extends BaseCheck<Long>
 {
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections
+            .singleton(AddressStreetTag.KEY);
     private static final long serialVersionUID = 5401402333350044455L;
 
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections.singletonList(
@@ -54,6 +60,12 @@ public class AddressStreetNameCheck extends BaseCheck<Long>
                 SEARCH_DISTANCE_DEFAULT, Distance::meters);
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     /**
      * This function will validate if the supplied atlas object is valid for the check.
      *
@@ -67,6 +79,12 @@ public class AddressStreetNameCheck extends BaseCheck<Long>
         return object instanceof Point && Validators.hasValuesFor(object, ADDR_STREET);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
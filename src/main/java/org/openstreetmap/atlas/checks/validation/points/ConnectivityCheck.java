@@ -3,7 +3,9 @@ package org.openstreetmap.atlas.checks.validation.points;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -20,6 +22,7 @@ import org.openstreetmap.atlas.geography.Rectangle;
 import org.openstreetmap.atlas.geography.Snapper;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.tags.BarrierTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -45,6 +48,8 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class ConnectivityCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.NODE));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays
             .asList("Node {0,number,#} is likely supposed to be connected to: {1}");
     private static final double NEARBY_EDGE_THRESHOLD_DISTANCE_METERS_DEFAULT = 2.0;
@@ -80,6 +85,12 @@ public class ConnectivityCheck extends BaseCheck<Long>
                 && ((Node) object).connectedEdges().stream().anyMatch(this::validEdgeFilter);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -15,6 +16,7 @@ import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasItem;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Line;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 
@@ -25,6 +27,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class DuplicateLocationInPolyLineCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.EDGE, ItemType.AREA, ItemType.LINE));
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections
             .singletonList("Repeated location found at {0} for feature id {1,number,#} ");
     private static final long serialVersionUID = 7403488805532662065L;
@@ -40,6 +44,12 @@ public class DuplicateLocationInPolyLineCheck extends BaseCheck<Long>
         return object instanceof Edge || object instanceof Area || object instanceof Line;
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,10 +1,13 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
@@ -12,6 +15,7 @@ import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.utilities.collections.Iterables;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
@@ -24,6 +28,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class DuplicateNodeCheck extends BaseCheck<Location>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.NODE));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays
             .asList("Nodes {0} are duplicates at {1}.");
     private static final long serialVersionUID = 1055616456230649593L;
@@ -45,6 +51,12 @@ public class DuplicateNodeCheck extends BaseCheck<Location>
         return object instanceof Node && !this.isFlagged(((Node) object).getLocation());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
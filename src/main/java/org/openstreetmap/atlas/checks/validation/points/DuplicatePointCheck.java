@@ -1,8 +1,11 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
@@ -10,6 +13,7 @@ import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Point;
 import org.openstreetmap.atlas.utilities.collections.Iterables;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
@@ -21,6 +25,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class DuplicatePointCheck extends BaseCheck<Location>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays
             .asList("Nodes {0} are duplicates at {1}");
     private static final long serialVersionUID = 8624313405718452123L;
@@ -43,6 +49,12 @@ public class DuplicatePointCheck extends BaseCheck<Location>
         return object instanceof Point && !this.isFlagged(((Point) object).getLocation());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
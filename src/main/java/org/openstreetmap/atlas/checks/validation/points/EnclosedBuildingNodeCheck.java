@@ -1,6 +1,8 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -9,6 +11,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Point;
 import org.openstreetmap.atlas.tags.AddressHousenumberTag;
 import org.openstreetmap.atlas.tags.BuildingTag;
@@ -24,6 +27,9 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class EnclosedBuildingNodeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(BuildingTag.KEY);
     private static final String ENCLOSED_INSTRUCTION = "Node {0,number,#} has been tagged as a building, but it does not appear to be a building. Please either merge the tags associated with this node to the building that surrounds this node and delete this node or remove the building=< * > tag and replace it with the correct tag that better describes what the node represents.";
     private static final String ENCLOSED_ADDRESS_INSTRUCTION = "Node {0,number,#} has been tagged as a building but it appears to be an address. Please remove the building=< * > tag.";
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays
@@ -38,12 +44,30 @@ public class EnclosedBuildingNodeCheck extends BaseCheck<Long>
                 BUILDING_SEARCH_DISTANCE_DEFAULT, Distance::meters);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
         return object instanceof Point && object.getTag(BuildingTag.KEY).isPresent();
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
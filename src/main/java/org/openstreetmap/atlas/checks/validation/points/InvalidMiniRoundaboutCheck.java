@@ -2,14 +2,18 @@ package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Node;
 import org.openstreetmap.atlas.tags.DirectionTag;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -25,6 +29,9 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class InvalidMiniRoundaboutCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.NODE));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(HighwayTag.KEY);
     private static final long DEFAULT_MINIMUM_VALENCE = 6;
     private static final String MINIMUM_VALENCE_KEY = "valence.minimum";
     private static final String OTHER_EDGES_INSTRUCTION = "This Mini-Roundabout Node ({0,number,#})"
@@ -54,6 +61,12 @@ public class InvalidMiniRoundaboutCheck extends BaseCheck<Long>
                 DEFAULT_MINIMUM_VALENCE);
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -61,6 +74,12 @@ public class InvalidMiniRoundaboutCheck extends BaseCheck<Long>
                 && Validators.isOfType(object, HighwayTag.class, HighwayTag.MINI_ROUNDABOUT);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -10,6 +11,7 @@ import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Point;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.tags.BuildingTag;
@@ -25,6 +27,9 @@ import org.openstreetmap.atlas.utilities.scalars.Distance;
  */
 public class LoneBuildingNodeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(BuildingTag.KEY);
     private static final String LONE_INSTRUCTION = "Node {0,number,#} has been tagged as a building indicating that it represents a building, but it is better to represent buildings with polygons or multipolygons. Please see if there is enough satellite imagery information to replace this node with a new polygon. If there is enough detail to draw this building as a polygon then add the polygon that represents the building and remove the building tag from this node or transfer the tags from this node to the new polygon, and then delete this node. See https://wiki.openstreetmap.org/wiki/Mapping_addresses_as_separate_nodes_or_by_adding_to_building_polygons.";
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections
             .singletonList(LONE_INSTRUCTION);
@@ -38,12 +43,30 @@ public class LoneBuildingNodeCheck extends BaseCheck<Long>
                 BUILDING_SEARCH_DISTANCE_DEFAULT, Distance::meters);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
         return object instanceof Point && object.getTag(BuildingTag.KEY).isPresent();
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
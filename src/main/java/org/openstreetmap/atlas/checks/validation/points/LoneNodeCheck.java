@@ -1,8 +1,10 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -11,6 +13,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.Area;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.LineItem;
 import org.openstreetmap.atlas.geography.atlas.items.Point;
 import org.openstreetmap.atlas.tags.HighwayTag;
@@ -24,6 +27,9 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class LoneNodeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
+    private static final Set<String> REQUIRED_TAG_KEYS = Collections.singleton(HighwayTag.KEY);
     private static final long serialVersionUID = -1489101405354234053L;
 
     private static final List<String> DEFAULT_HIGHWAY_VALUES_CHECKED = List.of("crossing",
@@ -53,6 +59,12 @@ public class LoneNodeCheck extends BaseCheck<Long>
                 .stream().map(String::toLowerCase).collect(Collectors.toList());
     }
 
+    @Override
+    public Set<String> requiredTagKeys()
+    {
+        return REQUIRED_TAG_KEYS;
+    }
+
     /**
      * The object is valid if it is a Node and has a highway tag with specific values.
      *
@@ -69,6 +81,12 @@ public class LoneNodeCheck extends BaseCheck<Long>
                 && !this.isFlagged(object.getOsmIdentifier());
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,12 +1,16 @@
 package org.openstreetmap.atlas.checks.validation.points;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Point;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 
@@ -18,6 +22,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class OrphanNodeCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.POINT));
     private static final List<String> FALLBACK_INSTRUCTIONS = Arrays.asList(
             "Node with OSM ID {0,number,#} is an orphan, no tags and not connected to any ways.");
     private static final long serialVersionUID = 7621363218174632277L;
@@ -35,6 +41,12 @@ public class OrphanNodeCheck extends BaseCheck<Long>
         super(configuration);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     /**
      * This function will validate if the supplied atlas object is valid for the check.
      *
@@ -51,6 +63,12 @@ public class OrphanNodeCheck extends BaseCheck<Long>
                 && ((Point) object).relations().size() == 0;
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
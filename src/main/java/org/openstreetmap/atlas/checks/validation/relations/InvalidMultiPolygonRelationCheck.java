@@ -3,6 +3,7 @@ package org.openstreetmap.atlas.checks.validation.relations;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -21,6 +22,7 @@ import org.openstreetmap.atlas.geography.MultiPolygon;
 import org.openstreetmap.atlas.geography.PolyLine;
 import org.openstreetmap.atlas.geography.Polygon;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Line;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.geography.atlas.items.RelationMember;
@@ -58,6 +60,8 @@ import org.slf4j.LoggerFactory;
 public class InvalidMultiPolygonRelationCheck extends BaseCheck<Long>
 {
 
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.RELATION));
     public static final int CLOSED_LOOP_INSTRUCTION_FORMAT_INDEX;
     public static final int INVALID_OSM_TYPE_INSTRUCTION_FORMAT_INDEX;
     public static final int INVALID_ROLE_INSTRUCTION_FORMAT_INDEX;
@@ -131,6 +135,12 @@ public class InvalidMultiPolygonRelationCheck extends BaseCheck<Long>
                 && !SyntheticRelationMemberAdded.hasAddedRelationMember(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
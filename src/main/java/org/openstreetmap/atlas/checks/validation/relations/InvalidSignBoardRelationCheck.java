@@ -3,6 +3,7 @@ package org.openstreetmap.atlas.checks.validation.relations;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -37,6 +38,8 @@ import com.google.common.collect.Iterables;
  */
 public class InvalidSignBoardRelationCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.RELATION));
     private static final String MISSING_DESTINATION_INSTRUCTION = "All type=destination_sign relations must have a destination= tag, but {0,number,#} is missing this tag. Please add this tag.";
     private static final String MISSING_MEMBER_INSTRUCTION = "All type=destination_sign relations must have a role={0} member, but {1,number,#} is missing this member.";
     private static final String EXTRA_MEMBER_INSTRUCTION = "All type=destination_sign relations must have exactly one role={0} member, but {1,number,#} has more than one.";
@@ -71,6 +74,12 @@ public class InvalidSignBoardRelationCheck extends BaseCheck<Long>
                 RelationTypeTag.DESTINATION_SIGN);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,13 +1,16 @@
 package org.openstreetmap.atlas.checks.validation.relations;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.checks.utility.CommonMethods;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.tags.RelationTypeTag;
 import org.openstreetmap.atlas.tags.filters.TaggableFilter;
@@ -21,6 +24,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class MissingRelationTypeCheck extends BaseCheck<Object>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.RELATION));
     public static final String MISSING_TYPE_INSTRUCTIONS = "This relation, {0,number,#}, is missing type tag";
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections
             .singletonList(MISSING_TYPE_INSTRUCTIONS);
@@ -35,6 +40,12 @@ public class MissingRelationTypeCheck extends BaseCheck<Object>
                 TAG_FILTER_IGNORE_DEFAULT, TaggableFilter::forDefinition);
     }
 
+    @Override
+    public boolean isParallelSafe()
+    {
+        return true;
+    }
+
     @Override
     public boolean validCheckForObject(final AtlasObject object)
     {
@@ -47,6 +58,12 @@ public class MissingRelationTypeCheck extends BaseCheck<Object>
                 && this.tagFilterIgnore.test(object);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     @Override
     protected Optional<CheckFlag> flag(final AtlasObject object)
     {
@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.validation.relations;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
 import org.openstreetmap.atlas.geography.atlas.items.Relation;
 import org.openstreetmap.atlas.geography.atlas.items.complex.RelationOrAreaToMultiPolygonConverter;
 import org.openstreetmap.atlas.geography.converters.MultiplePolyLineToPolygonsConverter;
@@ -29,6 +31,8 @@ import org.openstreetmap.atlas.utilities.configuration.Configuration;
  */
 public class OpenBoundaryCheck extends BaseCheck<Long>
 {
+    private static final Set<ItemType> VALID_ENTITY_TYPES = Collections
+            .unmodifiableSet(EnumSet.of(ItemType.RELATION));
     private static final long serialVersionUID = 6655863145391887741L;
     private static final String OPEN_BOUNDARY_INSTRUCTIONS = "The Multipolygon relation {0,number,#} with members : {1} is not closed at some locations : {2}";
     private static final List<String> FALLBACK_INSTRUCTIONS = Collections
@@ -62,6 +66,12 @@ public class OpenBoundaryCheck extends BaseCheck<Long>
                 && this.hasAdminLevelTag(tags) && !this.hasIsInCountry(tags);
     }
 
+    @Override
+    public Set<ItemType> validEntityTypes()
+    {
+        return VALID_ENTITY_TYPES;
+    }
+
     /**
      * This is the actual function that will check to see whether the object needs to be flagged.
      *
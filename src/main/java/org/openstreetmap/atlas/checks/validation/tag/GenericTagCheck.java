@@ -95,6 +95,15 @@ public class GenericTagCheck extends BaseCheck<String>
     // The following are to ensure that the databases are present and have expected keys
     // highway=residential should be present all the time
     private static final boolean DEFAULT_ERROR_IF_DATABASE_IS_MISSING = true;
+    // Query the tables for each tag, reading them into memory takes a lot of it
+    private static final boolean DEFAULT_DATABASE_IN_MEMORY = false;
+    // The columns read into memory from each table: the searched ones and the ones used
+    private static final List<String> TAGINFO_KEY_COLUMNS = List.of("key", "count_all",
+            "values_all");
+    private static final List<String> TAGINFO_TAG_COLUMNS = List.of("key", "value", "count_all");
+    private static final List<String> WIKI_COLUMNS = Stream.of(WikiProperty.values())
+            .flatMap(property -> Stream.of(property.getId(), property.getDescriptor()))
+            .filter(column -> !column.isBlank()).collect(Collectors.toList());
 
     private static final Logger logger = LoggerFactory.getLogger(GenericTagCheck.class);
 
@@ -118,6 +127,7 @@ public class GenericTagCheck extends BaseCheck<String>
     private final String tagInfoTagTable;
     private final String tagInfoKeyTable;
     private final int popularTagPercentageKey;
+    private final boolean databaseInMemory;
 
     /**
      * Check if an object is an area (i.e., an actual Area object OR a multipolygon)
@@ -182,6 +192,8 @@ public class GenericTagCheck extends BaseCheck<String>
                 this.configurationValue(configuration, "db.taginfo", DEFAULT_TAGINFO_DB));
         this.wikiDataDB = this.configurationValue(configuration, "database.wikidata",
                 this.configurationValue(configuration, "db.wikidata", DEFAULT_WIKIDATA_DB));
+        this.databaseInMemory = this.configurationValue(configuration, "database.in_memory",
+                DEFAULT_DATABASE_IN_MEMORY);
 
         // At time of implementation, this.configurationValue(..., ..., Integer) returns
         // a Long.
@@ -457,7 +469,8 @@ public class GenericTagCheck extends BaseCheck<String>
             final Collection<String> redirects = checkInfo.getRedirectToP17();
             final Map<String, String> replacements = redirects.stream().map(replacementId ->
 
-            WikiData.getWikiData(this.sqliteUtilsWikiData.getRows(Map.of("id", replacementId)))
+            WikiData.getWikiData(this.getRows(this.sqliteUtilsWikiData, WIKI_COLUMNS,
+                    Map.of("id", replacementId)))
 
             ).filter(Objects::nonNull).map(this::parseTags).filter(Objects::nonNull)
                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
@@ -833,6 +846,24 @@ public class GenericTagCheck extends BaseCheck<String>
         }
     }
 
+    /**
+     * Get the first row matching the values, from memory if the databases are read into memory
+     *
+     * @param sqliteUtils
+     *            The table to search
+     * @param columns
+     *            The columns read into memory, the searched ones and the ones used from the row
+     * @param values
+     *            The values to filter by (column name, value)
+     * @return The matching row
+     */
+    private Map<String, Object> getRows(final SQLiteUtils sqliteUtils,
+            final Collection<String> columns, final Map<String, String> values)
+    {
+        return this.databaseInMemory ? sqliteUtils.getDictionary(columns).getRow(values)
+                : sqliteUtils.getRows(values);
+    }
+
     /**
      * Get the TagInfo for a specific key and value
      *
@@ -850,10 +881,12 @@ public class GenericTagCheck extends BaseCheck<String>
         final Map<String, Object> map;
         if (value != null)
         {
-            map = this.sqliteUtilsTagInfoTagTable.getRows(Map.of("key", key, "value", value));
+            map = this.getRows(this.sqliteUtilsTagInfoTagTable, TAGINFO_TAG_COLUMNS,
+                    Map.of("key", key, "value", value));
             return new TagInfoTags(map);
         }
-        map = this.sqliteUtilsTagInfoKeyTable.getRows(Map.of("key", key));
+        map = this.getRows(this.sqliteUtilsTagInfoKeyTable, TAGINFO_KEY_COLUMNS,
+                Map.of("key", key));
         return new TagInfoKeys(map);
     }
 
@@ -890,7 +923,8 @@ public class GenericTagCheck extends BaseCheck<String>
     @Nullable
     private WikiData getWikiData(final Map<String, String> searchValues)
     {
-        return WikiData.getWikiData(this.sqliteUtilsWikiData.getRows(searchValues));
+        return WikiData
+                .getWikiData(this.getRows(this.sqliteUtilsWikiData, WIKI_COLUMNS, searchValues));
     }
 
     /**
@@ -10,6 +10,7 @@ import java.util.regex.Pattern;
 
 import org.openstreetmap.atlas.checks.base.BaseCheck;
 import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.geography.atlas.items.Edge;
 import org.openstreetmap.atlas.geography.atlas.items.LocationItem;
@@ -128,7 +129,8 @@ public class MixedCaseNameCheck extends BaseCheck<String>
     {
         // Valid objects are items that were OSM nodes or ways (Equivalent to Atlas nodes, points,
         // edges, lines and areas)
-        return !(object instanceof Relation) && !this.isFlagged(this.getUniqueOSMIdentifier(object))
+        return !(object instanceof Relation) && object instanceof AtlasEntity
+                && !this.isFlagged(((AtlasEntity) object).getType(), object.getOsmIdentifier())
                 && (object.getTags().containsKey(ISOCountryTag.KEY)
                         // Must have an ISO code that is in checkNameCountries...
                         && this.checkNameCountries
@@ -179,7 +181,7 @@ public class MixedCaseNameCheck extends BaseCheck<String>
         // If mix case id detected, flag
         if (!mixedCaseNameTags.isEmpty())
         {
-            this.markAsFlagged(this.getUniqueOSMIdentifier(object));
+            this.markAsFlagged(((AtlasEntity) object).getType(), object.getOsmIdentifier());
 
             // Instruction includes type of OSM object and list of flagged tags
             final String instruction = this.getLocalizedInstruction(0,
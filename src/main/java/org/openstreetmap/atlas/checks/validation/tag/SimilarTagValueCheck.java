@@ -3,6 +3,7 @@ package org.openstreetmap.atlas.checks.validation.tag;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -20,6 +21,9 @@ import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
 import org.openstreetmap.atlas.utilities.configuration.Configuration;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * This check looks for tags with multiple values that are duplicates or values are similar that
  * contain a typo. Configurables: "value.length.min": Minimum length an individual value must be to
@@ -50,6 +54,9 @@ public class SimilarTagValueCheck extends BaseCheck<Long>
     private static final Double MIN_VALUE_LENGTH = 4.0;
     private static final Double MIN_SIMILARITY_THRESHOLD_DEFAULT = 0.0;
     private static final Double MAX_SIMILARITY_THRESHOLD_DEFAULT = 1.0;
+    // Number of distinct value lists, such as cuisine or sport lists, to remember the similars of
+    private static final long MEMO_SIZE_DEFAULT = 10_000;
+    private static final int HISTOGRAM_SIZE = 256;
     private static final List<String> TAGS_TO_IGNORE_DEFAULT = List.of("asset_ref",
             "collection_times", "except", "is_in", "junction:ref", "maxspeed:conditional",
             "old_name", "old_ref", "opening_hours", "ref", "restriction_hours", "route_ref",
@@ -81,6 +88,41 @@ public class SimilarTagValueCheck extends BaseCheck<Long>
     private final Double minValueLength;
     private final Double minSimilarityThreshold;
     private final Double maxSimilarityThreshold;
+    private final long memoSize;
+    // Due to serialization, this *cannot* be final
+    private transient volatile Cache<String, List<Similar>> similarsMemo;
+
+    /**
+     * A lower bound of the edit distance between two strings, from the number of characters that
+     * one has more of than the other. Characters are counted in {@value HISTOGRAM_SIZE} buckets,
+     * which can only lower the bound.
+     */
+    private static int characterDistanceBound(final String left, final String right)
+    {
+        final int[] histogram = new int[HISTOGRAM_SIZE];
+        for (int index = 0; index < left.length(); index++)
+        {
+            histogram[left.charAt(index) % HISTOGRAM_SIZE]++;
+        }
+        for (int index = 0; index < right.length(); index++)
+        {
+            histogram[right.charAt(index) % HISTOGRAM_SIZE]--;
+        }
+        int leftExcess = 0;
+        int rightExcess = 0;
+        for (final int count : histogram)
+        {
+            if (count > 0)
+            {
+                leftExcess += count;
+            }
+            else
+            {
+                rightExcess -= count;
+            }
+        }
+        return Math.max(leftExcess, rightExcess);
+    }
 
     /**
      * @param configuration
@@ -101,6 +143,7 @@ public class SimilarTagValueCheck extends BaseCheck<Long>
                 "similarity.threshold.min", MIN_SIMILARITY_THRESHOLD_DEFAULT, Double::doubleValue);
         this.maxSimilarityThreshold = this.configurationValue(configuration,
                 "similarity.threshold.max", MAX_SIMILARITY_THRESHOLD_DEFAULT, Double::doubleValue);
+        this.memoSize = this.configurationValue(configuration, "memo.size", MEMO_SIZE_DEFAULT);
     }
 
     /**
@@ -219,29 +262,35 @@ public class SimilarTagValueCheck extends BaseCheck<Long>
     }
 
     /**
-     * Finds the Levenshtein edit distance for the strings.
-     * 
-     * @return edit distance between the two strings, or -1 if either string is null.
+     * Map a tag entry to an entry where their value is a list of tuples containing the two similar
+     * tags and their edit distance. Value lists seen recently are not compared again.
      */
-    private int findEditDistance(final String left, final String right)
+    private Entry<String, List<Similar>> findSimilars(final Entry<String, String> entry)
     {
-        try
+        final Cache<String, List<Similar>> memo = this.getSimilarsMemo();
+        List<Similar> similars = memo.getIfPresent(entry.getValue());
+        if (similars == null)
         {
-            return LevenshteinDistance.getDefaultInstance().apply(left, right);
-        }
-        catch (final IllegalArgumentException exception)
-        {
-            return -1;
+            similars = this.findSimilars(entry.getValue());
+            memo.put(entry.getValue(), similars);
         }
+        return new SimpleEntry<>(entry.getKey(), similars);
     }
 
     /**
-     * Map a tag entry to an entry where their value is a list of tuples containing the two similar
-     * tags and their edit distance.
+     * Compares every pair of values. Pairs whose lengths or characters differ by more than the
+     * maximum similarity threshold are skipped, and the distance of the others is only computed up
+     * to that threshold.
      */
-    private Entry<String, List<Similar>> findSimilars(final Entry<String, String> entry)
+    private List<Similar> findSimilars(final String value)
     {
-        final List<String> values = Arrays.asList(entry.getValue().split(SEMICOLON));
+        final List<String> values = Arrays.asList(value.split(SEMICOLON));
+        final int threshold = (int) Math.floor(this.maxSimilarityThreshold);
+        if (threshold < 0)
+        {
+            return Collections.emptyList();
+        }
+        final LevenshteinDistance boundedDistance = new LevenshteinDistance(threshold);
         final List<Similar> similars = new ArrayList<>();
         for (int leftIndex = 0; leftIndex < values.size() - 1; leftIndex++)
         {
@@ -249,21 +298,40 @@ public class SimilarTagValueCheck extends BaseCheck<Long>
             {
                 final String left = values.get(leftIndex);
                 final String right = values.get(rightIndex);
-                final boolean isCommonSimilars = this.isCommonSimilars(left, right);
                 final boolean duplicates = left.equals(right);
                 // Keep duplicates even if they are common similars
-                if (!isCommonSimilars || duplicates)
+                if (!duplicates && (Math.abs(left.length() - right.length()) > threshold
+                        || characterDistanceBound(left, right) > threshold
+                        || this.isCommonSimilars(left, right)))
                 {
-                    final int editDistance = this.findEditDistance(left, right);
-                    if (this.minSimilarityThreshold <= editDistance
-                            && editDistance <= this.maxSimilarityThreshold)
-                    {
-                        similars.add(new Similar(left, right, editDistance));
-                    }
+                    continue;
+                }
+                // -1 when the distance is over the threshold
+                final int editDistance = duplicates ? 0 : boundedDistance.apply(left, right);
+                if (editDistance >= 0 && this.minSimilarityThreshold <= editDistance
+                        && editDistance <= this.maxSimilarityThreshold)
+                {
+                    similars.add(new Similar(left, right, editDistance));
                 }
             }
         }
-        return new SimpleEntry<>(entry.getKey(), similars);
+        return Collections.unmodifiableList(similars);
+    }
+
+    private Cache<String, List<Similar>> getSimilarsMemo()
+    {
+        if (this.similarsMemo == null)
+        {
+            synchronized (this)
+            {
+                if (this.similarsMemo == null)
+                {
+                    this.similarsMemo = CacheBuilder.newBuilder().maximumSize(this.memoSize)
+                            .build();
+                }
+            }
+        }
+        return this.similarsMemo;
     }
 
     /**
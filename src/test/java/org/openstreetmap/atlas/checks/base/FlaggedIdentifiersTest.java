@@ -0,0 +1,49 @@
+package org.openstreetmap.atlas.checks.base;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
+
+/**
+ * Unit tests for {@link FlaggedIdentifiers}.
+ *
+ * @author agent
+ */
+public class FlaggedIdentifiersTest
+{
+    @Test
+    public void mixedIdentifiersTest()
+    {
+        final FlaggedIdentifiers<Object> identifiers = new FlaggedIdentifiers<>();
+        Assert.assertTrue(identifiers.add(1L));
+        Assert.assertTrue(identifiers.add("n1"));
+        Assert.assertFalse(identifiers.addLong(1L));
+        Assert.assertTrue(identifiers.containsLong(1L));
+        Assert.assertTrue(identifiers.contains(1L));
+        Assert.assertTrue(identifiers.containsAll(Arrays.asList(1L, "n1")));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1L, "n1")), new HashSet<>(identifiers));
+        Assert.assertTrue(identifiers.remove(1L));
+        Assert.assertFalse(identifiers.containsLong(1L));
+        Assert.assertEquals(1, identifiers.size());
+    }
+
+    @Test
+    public void pairAndOsmIdentifiersTest()
+    {
+        final FlaggedIdentifiers<Long> identifiers = new FlaggedIdentifiers<>();
+        Assert.assertTrue(identifiers.addPair(1L, 2L));
+        Assert.assertTrue(identifiers.addOsmIdentifier(ItemType.EDGE, 1L));
+        Assert.assertTrue(identifiers.containsPair(1L, 2L));
+        Assert.assertFalse(identifiers.containsPair(2L, 1L));
+        Assert.assertTrue(identifiers.containsOsmIdentifier(ItemType.EDGE, 1L));
+        Assert.assertFalse(identifiers.containsOsmIdentifier(ItemType.NODE, 1L));
+        // Neither are single identifiers
+        Assert.assertTrue(identifiers.isEmpty());
+        identifiers.clear();
+        Assert.assertFalse(identifiers.containsPair(1L, 2L));
+        Assert.assertFalse(identifiers.containsOsmIdentifier(ItemType.EDGE, 1L));
+    }
+}
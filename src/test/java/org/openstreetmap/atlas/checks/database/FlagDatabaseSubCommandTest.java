@@ -135,7 +135,9 @@ public class FlagDatabaseSubCommandTest
     public void processCheckFlagsTest() throws IOException, SQLException
     {
         final FlagDatabaseSubCommand command = new FlagDatabaseSubCommand();
-        final List<String> flags = this.getResource("checkflags1.log");
+        final List<JsonObject> flags = this.getResource("checkflags1.log").stream()
+                .map(line -> new JsonParser().parse(line).getAsJsonObject())
+                .collect(Collectors.toList());
 
         // Run the command with the expectation it will fail, to run the argument parser.
         command.runSubcommand("--flag_path=/bad/path", "--database_url=none");
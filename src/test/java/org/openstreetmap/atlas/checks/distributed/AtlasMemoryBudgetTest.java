@@ -0,0 +1,91 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AtlasMemoryBudget}.
+ *
+ * @author agent
+ */
+public class AtlasMemoryBudgetTest
+{
+    private static final long BUDGET = 100L;
+    private static final long WAIT_MILLISECONDS = 200L;
+
+    @Test
+    public void blockUntilReleasedTest() throws Exception
+    {
+        final AtlasMemoryBudget budget = new AtlasMemoryBudget(BUDGET);
+        final AtlasMemoryBudget.Reservation first = budget.acquire(60L);
+        final CompletableFuture<AtlasMemoryBudget.Reservation> second = CompletableFuture
+                .supplyAsync(() ->
+                {
+                    try
+                    {
+                        return budget.acquire(60L);
+                    }
+                    catch (final InterruptedException e)
+                    {
+                        throw new IllegalStateException(e);
+                    }
+                });
+        try
+        {
+            second.get(WAIT_MILLISECONDS, TimeUnit.MILLISECONDS);
+            Assert.fail("The second reservation should wait for the first one");
+        }
+        catch (final TimeoutException e)
+        {
+            Assert.assertEquals(60L, budget.reserved());
+        }
+        first.close();
+        try (AtlasMemoryBudget.Reservation admitted = second.get())
+        {
+            Assert.assertEquals(60L, admitted.bytes());
+            Assert.assertEquals(60L, budget.reserved());
+        }
+        Assert.assertEquals(0L, budget.reserved());
+        Assert.assertEquals(60L, budget.peak());
+        Assert.assertEquals(2L, budget.admissions());
+    }
+
+    @Test
+    public void oversizedReservationTest() throws InterruptedException
+    {
+        final AtlasMemoryBudget budget = new AtlasMemoryBudget(BUDGET);
+        try (AtlasMemoryBudget.Reservation reservation = budget.acquire(3 * BUDGET))
+        {
+            Assert.assertEquals(3 * BUDGET, budget.reserved());
+        }
+        Assert.assertEquals(3 * BUDGET, budget.peak());
+    }
+
+    @Test
+    public void resizeTest() throws InterruptedException
+    {
+        final AtlasMemoryBudget budget = new AtlasMemoryBudget(BUDGET);
+        try (AtlasMemoryBudget.Reservation reservation = budget.acquire(40L))
+        {
+            reservation.resize(90L);
+            Assert.assertEquals(90L, budget.reserved());
+            reservation.resize(20L);
+            Assert.assertEquals(20L, budget.reserved());
+        }
+        Assert.assertEquals(0L, budget.reserved());
+        Assert.assertEquals(90L, budget.peak());
+    }
+
+    @Test
+    public void executorBudgetTest()
+    {
+        Assert.assertSame(AtlasMemoryBudget.executorBudget(1L),
+                AtlasMemoryBudget.executorBudget(1L));
+        Assert.assertNotSame(AtlasMemoryBudget.executorBudget(1L),
+                AtlasMemoryBudget.executorBudget(2L));
+    }
+}
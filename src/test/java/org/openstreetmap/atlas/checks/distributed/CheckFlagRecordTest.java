@@ -0,0 +1,87 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.openstreetmap.atlas.checks.event.CheckFlagEvent;
+import org.openstreetmap.atlas.checks.event.CheckFlagGeoJsonProcessorTestRule;
+import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.flag.FlaggedObject;
+import org.openstreetmap.atlas.geography.Rectangle;
+
+/**
+ * Tests for {@link CheckFlagRecord}
+ *
+ * @author agent
+ */
+public class CheckFlagRecordTest
+{
+    private static final String COUNTRY = "USA";
+
+    @Rule
+    public CheckFlagGeoJsonProcessorTestRule setup = new CheckFlagGeoJsonProcessorTestRule();
+
+    @Test
+    public void testFrom() throws ParseException
+    {
+        final CheckFlagEvent event = this.setup.getCheckFlagEvent();
+        final CheckFlag flag = event.getCheckFlag();
+        final CheckFlagRecord record = CheckFlagRecord.from(COUNTRY, event);
+
+        Assert.assertEquals(event.getCheckName(), record.getCheck());
+        Assert.assertEquals(COUNTRY, record.getCountry());
+        Assert.assertEquals(flag.getIdentifier(), record.getIdentifier());
+        Assert.assertEquals(flag.getInstructions(), record.getInstructions());
+        Assert.assertEquals(
+                flag.getUniqueIdentifiers().stream().sorted().collect(Collectors.toList()),
+                record.getIdentifiers());
+        final List<Long> osmIdentifiers = flag.getFlaggedObjects().stream()
+                .map(flaggedObject -> Long.valueOf(
+                        flaggedObject.getProperties().get(FlaggedObject.OSM_IDENTIFIER_TAG)))
+                .distinct().sorted().collect(Collectors.toList());
+        Assert.assertEquals(osmIdentifiers, record.getOsmIdentifiers());
+
+        // The node, the edge and the area
+        final Geometry geometry = new WKBReader().read(record.getGeometry());
+        Assert.assertEquals(3, geometry.getNumGeometries());
+        final List<String> types = IntStream.range(0, geometry.getNumGeometries())
+                .mapToObj(index -> geometry.getGeometryN(index).getGeometryType()).sorted()
+                .collect(Collectors.toList());
+        Assert.assertEquals(List.of("LineString", "Point", "Polygon"), types);
+        // The area is written as a polygon rather than as its outline
+        Assert.assertTrue(IntStream.range(0, geometry.getNumGeometries())
+                .mapToObj(geometry::getGeometryN).filter(Polygon.class::isInstance)
+                .allMatch(polygon -> polygon.getArea() > 0));
+        final Rectangle bounds = flag.bounds();
+        Assert.assertEquals(bounds.lowerLeft().getLatitude().asDegrees(),
+                record.getMinimumLatitude(), 0.0);
+        Assert.assertEquals(bounds.lowerLeft().getLongitude().asDegrees(),
+                record.getMinimumLongitude(), 0.0);
+        Assert.assertEquals(bounds.upperRight().getLatitude().asDegrees(),
+                record.getMaximumLatitude(), 0.0);
+        Assert.assertEquals(bounds.upperRight().getLongitude().asDegrees(),
+                record.getMaximumLongitude(), 0.0);
+        Assert.assertEquals(geometry.getEnvelopeInternal().getMinY(),
+                record.getMinimumLatitude(), 1e-7);
+    }
+
+    @Test
+    public void testNoGeometry()
+    {
+        final CheckFlagRecord record = CheckFlagRecord.from(COUNTRY,
+                new CheckFlagEvent("sample-name", new CheckFlag("empty")));
+
+        Assert.assertNull(record.getGeometry());
+        Assert.assertNull(record.getMinimumLatitude());
+        Assert.assertEquals(List.of("empty"), record.getIdentifiers());
+        Assert.assertTrue(record.getOsmIdentifiers().isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.base.Check;
+import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
+import org.openstreetmap.atlas.checks.event.MetricEvent;
+import org.openstreetmap.atlas.checks.validation.areas.PoolSizeCheck;
+import org.openstreetmap.atlas.checks.validation.points.LoneBuildingNodeCheck;
+import org.openstreetmap.atlas.checks.validation.points.NodeValenceCheck;
+import org.openstreetmap.atlas.checks.validation.tag.InvalidLanesTagCheck;
+
+/**
+ * Unit tests for {@link CheckRunTimeHistory}.
+ *
+ * @author agent
+ */
+public class CheckRunTimeHistoryTest
+{
+    private final Check invalidLanes = new InvalidLanesTagCheck(
+            ConfigurationResolver.emptyConfiguration());
+    private final Check loneBuildingNode = new LoneBuildingNodeCheck(
+            ConfigurationResolver.emptyConfiguration());
+    private final Check nodeValence = new NodeValenceCheck(
+            ConfigurationResolver.emptyConfiguration());
+    private final Check poolSize = new PoolSizeCheck(ConfigurationResolver.emptyConfiguration());
+
+    @Test
+    public void emptyHistoryTest()
+    {
+        final CheckRunTimeHistory history = CheckRunTimeHistory.empty();
+        final List<Check> checks = Arrays.asList(this.poolSize, this.nodeValence,
+                this.invalidLanes);
+        Assert.assertTrue(history.isEmpty());
+        Assert.assertEquals(checks, history.longestFirst(checks));
+        Assert.assertEquals(FusedRunnableChecks.partition(checks, 2),
+                history.partition(checks, 2));
+        Assert.assertEquals(3, history.poolSize(3));
+    }
+
+    @Test
+    public void longestFirstTest()
+    {
+        final CheckRunTimeHistory history = CheckRunTimeHistory.parse(Arrays.asList(
+                MetricEvent.header(), "PoolSizeCheck,10", "NodeValenceCheck,500",
+                "InvalidLanesTagCheck,50"));
+        Assert.assertEquals(
+                Arrays.asList(this.nodeValence, this.loneBuildingNode, this.invalidLanes,
+                        this.poolSize),
+                history.longestFirst(Arrays.asList(this.poolSize, this.nodeValence,
+                        this.invalidLanes, this.loneBuildingNode)));
+    }
+
+    @Test
+    public void parseTest()
+    {
+        final CheckRunTimeHistory history = CheckRunTimeHistory.parse(Arrays.asList(
+                MetricEvent.header(), "PoolSizeCheck,10", "PoolSizeCheck,30", "malformed",
+                "NodeValenceCheck,abc", MetricEvent.header(), "NodeValenceCheck,5"));
+        Assert.assertEquals(20.0, history.averageRunTime("PoolSizeCheck").get(), 0.0);
+        Assert.assertEquals(5.0, history.averageRunTime("NodeValenceCheck").get(), 0.0);
+        Assert.assertFalse(history.averageRunTime("malformed").isPresent());
+    }
+
+    @Test
+    public void parseCheckNamesTest()
+    {
+        // Metrics that are not check run times do not become checks
+        final CheckRunTimeHistory history = CheckRunTimeHistory.parse(
+                Arrays.asList(MetricEvent.header(), "PoolSizeCheck,10", "NodeValenceCheck,20",
+                        "NodeValenceCheck RUN_TIME budget exceeded,5000",
+                        AtlasMemoryBudget.WAIT_METRIC_NAME + ",9000"),
+                Set.of("PoolSizeCheck", "NodeValenceCheck"));
+        Assert.assertFalse(history
+                .averageRunTime("NodeValenceCheck RUN_TIME budget exceeded").isPresent());
+        Assert.assertFalse(history.averageRunTime(AtlasMemoryBudget.WAIT_METRIC_NAME).isPresent());
+        // A check without history is expected to be as slow as the slowest check
+        Assert.assertEquals(Arrays.asList(this.nodeValence, this.invalidLanes, this.poolSize),
+                history.longestFirst(
+                        Arrays.asList(this.poolSize, this.nodeValence, this.invalidLanes)));
+    }
+
+    @Test
+    public void partitionTest()
+    {
+        final CheckRunTimeHistory history = CheckRunTimeHistory
+                .parse(Arrays.asList("PoolSizeCheck,60", "NodeValenceCheck,100",
+                        "InvalidLanesTagCheck,50", "LoneBuildingNodeCheck,30"));
+        final List<List<Check>> partitions = history.partition(Arrays.asList(this.poolSize,
+                this.nodeValence, this.invalidLanes, this.loneBuildingNode), 2);
+        Assert.assertEquals(2, partitions.size());
+        Assert.assertEquals(Arrays.asList(this.nodeValence, this.loneBuildingNode),
+                partitions.get(0));
+        Assert.assertEquals(Arrays.asList(this.poolSize, this.invalidLanes), partitions.get(1));
+    }
+}
@@ -0,0 +1,157 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.base.Check;
+import org.openstreetmap.atlas.checks.base.checks.BaseTestCheck;
+import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
+import org.openstreetmap.atlas.checks.event.CheckFlagEvent;
+import org.openstreetmap.atlas.event.EventService;
+import org.openstreetmap.atlas.event.Processor;
+import org.openstreetmap.atlas.event.ShutdownEvent;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.Area;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
+import org.openstreetmap.atlas.geography.atlas.items.Point;
+import org.openstreetmap.atlas.utilities.collections.Iterables;
+import org.openstreetmap.atlas.utilities.configuration.Configuration;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Unit tests for {@link FusedRunnableChecks}.
+ *
+ * @author agent
+ */
+public class FusedRunnableChecksTest
+{
+    /**
+     * A check that only flags points and areas, so that it is offered a subset of the shared
+     * entities
+     */
+    public static class PointAndAreaTestCheck extends BaseTestCheck
+    {
+        public PointAndAreaTestCheck(final Configuration configuration)
+        {
+            super(configuration);
+        }
+
+        @Override
+        public boolean validCheckForObject(final AtlasObject object)
+        {
+            return object instanceof Point || object instanceof Area;
+        }
+
+        @Override
+        public Set<ItemType> validEntityTypes()
+        {
+            return EnumSet.of(ItemType.POINT, ItemType.AREA);
+        }
+    }
+
+    @Rule
+    public IntegrityChecksCommandArgumentsTestRule setup = new IntegrityChecksCommandArgumentsTestRule();
+
+    @Test
+    public void fusedFlagsTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        final Iterable<AtlasObject> objects = Iterables.translate(atlas.entities(),
+                entity -> (AtlasObject) entity);
+
+        // Each check run on its own over all the entities
+        final Map<String, List<String>> serialFlags = new ConcurrentHashMap<>();
+        final EventService serialService = this.eventService("fusedFlagsTestSerial",
+                serialFlags);
+        for (final Check check : this.checks())
+        {
+            new RunnableCheck("TST", check, objects, serialService).run();
+        }
+        serialService.complete();
+
+        // The same checks fused in a single pass
+        final Map<String, List<String>> fusedFlags = new ConcurrentHashMap<>();
+        final EventService fusedService = this.eventService("fusedFlagsTestFused", fusedFlags);
+        final List<RunnableCheck> runnableChecks = this.checks().stream()
+                .map(check -> new RunnableCheck("TST", check, Collections.emptyList(),
+                        fusedService))
+                .collect(Collectors.toList());
+        new FusedRunnableChecks(atlas.entities(), runnableChecks).run();
+        fusedService.complete();
+
+        Assert.assertEquals(Iterables.size(atlas.entities()),
+                serialFlags.get("BaseTestCheck").size());
+        Assert.assertEquals(Iterables.size(atlas.points()) + Iterables.size(atlas.areas()),
+                serialFlags.get("PointAndAreaTestCheck").size());
+        // Same flags, in the same order for each check
+        Assert.assertEquals(serialFlags, fusedFlags);
+    }
+
+    @Test
+    public void partitionEmptyTest()
+    {
+        Assert.assertTrue(FusedRunnableChecks.partition(Collections.emptyList(), 4).isEmpty());
+    }
+
+    @Test
+    public void partitionFewerItemsThanGroupsTest()
+    {
+        final List<List<String>> partitions = FusedRunnableChecks
+                .partition(Arrays.asList("a", "b"), 4);
+        Assert.assertEquals(2, partitions.size());
+        Assert.assertEquals(Collections.singletonList("a"), partitions.get(0));
+        Assert.assertEquals(Collections.singletonList("b"), partitions.get(1));
+    }
+
+    @Test
+    public void partitionRoundRobinTest()
+    {
+        final List<List<String>> partitions = FusedRunnableChecks
+                .partition(Arrays.asList("a", "b", "c", "d", "e"), 2);
+        Assert.assertEquals(2, partitions.size());
+        Assert.assertEquals(Arrays.asList("a", "c", "e"), partitions.get(0));
+        Assert.assertEquals(Arrays.asList("b", "d"), partitions.get(1));
+    }
+
+    private List<Check> checks()
+    {
+        return Arrays.asList(new BaseTestCheck(ConfigurationResolver.emptyConfiguration()),
+                new PointAndAreaTestCheck(ConfigurationResolver.emptyConfiguration()));
+    }
+
+    private EventService eventService(final String name, final Map<String, List<String>> flags)
+    {
+        final EventService eventService = EventService.get(name);
+        eventService.register(new Processor<CheckFlagEvent>()
+        {
+            @Override
+            public void process(final ShutdownEvent event)
+            {
+                // no-op
+            }
+
+            @Override
+            @Subscribe
+            @AllowConcurrentEvents
+            public void process(final CheckFlagEvent event)
+            {
+                flags.computeIfAbsent(event.getCheckName(), key -> new CopyOnWriteArrayList<>())
+                        .add(event.getCheckFlag().getIdentifier());
+            }
+        });
+        return eventService;
+    }
+}
@@ -0,0 +1,69 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
+import org.openstreetmap.atlas.checks.validation.areas.PoolSizeCheck;
+import org.openstreetmap.atlas.checks.validation.points.LoneBuildingNodeCheck;
+import org.openstreetmap.atlas.checks.validation.points.NodeValenceCheck;
+import org.openstreetmap.atlas.checks.validation.tag.InvalidLanesTagCheck;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.ItemType;
+import org.openstreetmap.atlas.utilities.collections.Iterables;
+
+/**
+ * Unit tests for the object selection of {@link IntegrityChecksCommandArguments}.
+ *
+ * @author agent
+ */
+public class IntegrityChecksCommandArgumentsTest
+{
+    @Rule
+    public IntegrityChecksCommandArgumentsTestRule setup = new IntegrityChecksCommandArgumentsTestRule();
+
+    @Test
+    public void entitiesOfTypesTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        Assert.assertEquals(0, Iterables.size(IntegrityChecksCommandArguments
+                .entitiesOfTypes(atlas, EnumSet.noneOf(ItemType.class))));
+        Assert.assertEquals(3, Iterables.size(IntegrityChecksCommandArguments
+                .entitiesOfTypes(atlas, EnumSet.of(ItemType.NODE, ItemType.EDGE))));
+        Assert.assertEquals(Iterables.size(atlas.entities()),
+                Iterables.size(IntegrityChecksCommandArguments.entitiesOfTypes(atlas,
+                        EnumSet.allOf(ItemType.class))));
+    }
+
+    @Test
+    public void objectsToCheckAllTypesTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        Assert.assertEquals(Iterables.size(atlas.entities()),
+                Iterables.size(IntegrityChecksCommandArguments.objectsToCheck(atlas,
+                        new InvalidLanesTagCheck(ConfigurationResolver.emptyConfiguration()))));
+    }
+
+    @Test
+    public void objectsToCheckRequiredTagKeysTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        Assert.assertEquals(Collections.singletonList(atlas.point(4000000L)),
+                Iterables.asList(IntegrityChecksCommandArguments.objectsToCheck(atlas,
+                        new LoneBuildingNodeCheck(ConfigurationResolver.emptyConfiguration()))));
+    }
+
+    @Test
+    public void objectsToCheckTypesTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        Assert.assertEquals(2, Iterables.size(IntegrityChecksCommandArguments.objectsToCheck(atlas,
+                new NodeValenceCheck(ConfigurationResolver.emptyConfiguration()))));
+        Assert.assertEquals(Collections.singletonList(atlas.area(6000000L)),
+                Iterables.asList(IntegrityChecksCommandArguments.objectsToCheck(atlas,
+                        new PoolSizeCheck(ConfigurationResolver.emptyConfiguration()))));
+    }
+}
@@ -0,0 +1,48 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.testing.CoreTestRule;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Area;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Edge;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Loc;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Node;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Point;
+
+/**
+ * Test rule for {@link IntegrityChecksCommandArgumentsTest}.
+ *
+ * @author agent
+ */
+public class IntegrityChecksCommandArgumentsTestRule extends CoreTestRule
+{
+    private static final String TEST_1 = "37.3260680,-121.9199798";
+    private static final String TEST_2 = "37.3261021,-121.9200220";
+    private static final String TEST_3 = "37.3261418,-121.9199718";
+    private static final String TEST_4 = "37.3261076,-121.9199296";
+    private static final String TEST_5 = "37.3260911,-121.9199859";
+    private static final String TEST_6 = "37.3262911,-121.9198859";
+
+    @TestAtlas(
+            // nodes
+            nodes = { @Node(id = "1000000", coordinates = @Loc(value = TEST_1)),
+                    @Node(id = "2000000", coordinates = @Loc(value = TEST_2)) },
+            // edges
+            edges = { @Edge(id = "3000000", coordinates = { @Loc(value = TEST_1),
+                    @Loc(value = TEST_2) }, tags = { "highway=residential" }) },
+            // points
+            points = {
+                    @Point(id = "4000000", coordinates = @Loc(value = TEST_5), tags = {
+                            "building=yes" }),
+                    @Point(id = "5000000", coordinates = @Loc(value = TEST_6)) },
+            // areas
+            areas = { @Area(id = "6000000", coordinates = { @Loc(value = TEST_1),
+                    @Loc(value = TEST_2), @Loc(value = TEST_3), @Loc(value = TEST_4),
+                    @Loc(value = TEST_1) }, tags = { "leisure=swimming_pool" }) })
+    private Atlas mixedAtlas;
+
+    public Atlas mixedAtlas()
+    {
+        return this.mixedAtlas;
+    }
+}
@@ -0,0 +1,141 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.base.checks.BaseTestCheck;
+import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
+import org.openstreetmap.atlas.checks.event.CheckFlagEvent;
+import org.openstreetmap.atlas.checks.event.MetricEvent;
+import org.openstreetmap.atlas.event.EventService;
+import org.openstreetmap.atlas.event.Processor;
+import org.openstreetmap.atlas.event.ShutdownEvent;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.utilities.collections.Iterables;
+import org.openstreetmap.atlas.utilities.scalars.Duration;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Unit tests for the {@link CheckBudget} enforcement of {@link RunnableCheck}.
+ *
+ * @author agent
+ */
+public class RunnableCheckTest
+{
+    private static final long WAIT_MILLISECONDS = 50;
+
+    @Rule
+    public IntegrityChecksCommandArgumentsTestRule setup = new IntegrityChecksCommandArgumentsTestRule();
+
+    private final List<CheckFlagEvent> flags = new CopyOnWriteArrayList<>();
+    private final List<MetricEvent> metrics = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void flagBudgetTest()
+    {
+        final RunnableCheck runnableCheck = this.run("flagBudgetTest",
+                CheckBudget.UNLIMITED.withMaximumFlags(2));
+        Assert.assertTrue(runnableCheck.isBudgetExceeded());
+        Assert.assertEquals(2, this.flags.size());
+        Assert.assertTrue(this.metrics.stream().anyMatch(
+                metric -> metric.getName().equals("BaseTestCheck FLAGS budget exceeded")));
+        // The run time is still posted for the partial run
+        Assert.assertTrue(
+                this.metrics.stream().anyMatch(metric -> metric.getName().equals("BaseTestCheck")));
+    }
+
+    @Test
+    public void runTimeBudgetTest()
+    {
+        final RunnableCheck runnableCheck = this.run("runTimeBudgetTest",
+                CheckBudget.UNLIMITED.withMaximumRunTime(Duration.ZERO));
+        Assert.assertTrue(runnableCheck.isBudgetExceeded());
+        Assert.assertEquals(1, this.flags.size());
+    }
+
+    @Test
+    public void runTimeBudgetWallClockTest() throws InterruptedException
+    {
+        // Time spent before the check runs, like loading the atlas or waiting for other checks,
+        // counts against the budget even though the check itself is fast
+        final RunnableCheck runnableCheck = this.run("runTimeBudgetWallClockTest",
+                CheckBudget.UNLIMITED.withMaximumRunTime(Duration.milliseconds(WAIT_MILLISECONDS)),
+                WAIT_MILLISECONDS * 2);
+        Assert.assertTrue(runnableCheck.isBudgetExceeded());
+        Assert.assertEquals(1, this.flags.size());
+    }
+
+    @Test
+    public void unlimitedBudgetTest()
+    {
+        final RunnableCheck runnableCheck = this.run("unlimitedBudgetTest",
+                CheckBudget.UNLIMITED);
+        Assert.assertFalse(runnableCheck.isBudgetExceeded());
+        Assert.assertEquals(Iterables.size(this.setup.mixedAtlas().entities()), this.flags.size());
+    }
+
+    private RunnableCheck run(final String name, final CheckBudget budget)
+    {
+        try
+        {
+            return this.run(name, budget, 0);
+        }
+        catch (final InterruptedException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RunnableCheck run(final String name, final CheckBudget budget,
+            final long delayMilliseconds) throws InterruptedException
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        final EventService eventService = EventService.get(name);
+        eventService.register(new Processor<CheckFlagEvent>()
+        {
+            @Override
+            public void process(final ShutdownEvent event)
+            {
+                // no-op
+            }
+
+            @Override
+            @Subscribe
+            @AllowConcurrentEvents
+            public void process(final CheckFlagEvent event)
+            {
+                RunnableCheckTest.this.flags.add(event);
+            }
+        });
+        eventService.register(new Processor<MetricEvent>()
+        {
+            @Override
+            public void process(final ShutdownEvent event)
+            {
+                // no-op
+            }
+
+            @Override
+            @Subscribe
+            @AllowConcurrentEvents
+            public void process(final MetricEvent event)
+            {
+                RunnableCheckTest.this.metrics.add(event);
+            }
+        });
+        final RunnableCheck runnableCheck = new RunnableCheck("TST",
+                new BaseTestCheck(ConfigurationResolver.emptyConfiguration()),
+                Iterables.translate(atlas.entities(), entity -> (AtlasObject) entity),
+                eventService).withBudget(budget);
+        Thread.sleep(delayMilliseconds);
+        runnableCheck.run();
+        eventService.complete();
+        return runnableCheck;
+    }
+}
@@ -0,0 +1,80 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Optional;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.sharding.SlippyTile;
+import org.openstreetmap.atlas.streaming.resource.File;
+import org.openstreetmap.atlas.streaming.resource.Resource;
+
+/**
+ * Unit tests for {@link ShardAtlasCache}.
+ *
+ * @author agent
+ */
+public class ShardAtlasCacheTest
+{
+    private static final File FOLDER = File.temporaryFolder();
+    private static final String COUNTRY = "UNK";
+
+    @Rule
+    public IntegrityChecksCommandArgumentsTestRule setup = new IntegrityChecksCommandArgumentsTestRule();
+
+    @AfterClass
+    public static void cleanUp()
+    {
+        FOLDER.deleteRecursively();
+    }
+
+    @Test
+    public void evictionTest()
+    {
+        final File file = this.atlasFile("evictionTest.atlas");
+        // Only one atlas fits
+        final ShardAtlasCache cache = new ShardAtlasCache(file.length() + file.length() / 2);
+        final SlippyTile first = new SlippyTile(0, 0, 1);
+        final SlippyTile second = new SlippyTile(1, 0, 1);
+
+        final Optional<Atlas> loaded = cache.get(COUNTRY, first, shard -> Optional.of(file));
+        Assert.assertTrue(loaded.isPresent());
+        Assert.assertSame(loaded.get(),
+                cache.get(COUNTRY, first, shard -> Optional.of(file)).get());
+        Assert.assertEquals(1, cache.hits());
+        Assert.assertEquals(1, cache.misses());
+
+        Assert.assertTrue(cache.get(COUNTRY, second, shard -> Optional.of(file)).isPresent());
+        Assert.assertEquals(1, cache.evictions());
+        Assert.assertEquals(file.length(), cache.size());
+        Assert.assertNotSame(loaded.get(),
+                cache.get(COUNTRY, first, shard -> Optional.of(file)).get());
+        Assert.assertEquals(3, cache.misses());
+    }
+
+    @Test
+    public void missingShardTest()
+    {
+        final ShardAtlasCache cache = new ShardAtlasCache(Long.MAX_VALUE);
+        Assert.assertFalse(cache.get(COUNTRY, new SlippyTile(0, 0, 1),
+                shard -> Optional.<Resource> empty()).isPresent());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void executorCacheTest()
+    {
+        Assert.assertSame(ShardAtlasCache.executorCache(1L), ShardAtlasCache.executorCache(1L));
+        Assert.assertNotSame(ShardAtlasCache.executorCache(1L),
+                ShardAtlasCache.executorCache(2L));
+    }
+
+    private File atlasFile(final String name)
+    {
+        final File file = FOLDER.child(name);
+        this.setup.mixedAtlas().save(file);
+        return file;
+    }
+}
@@ -0,0 +1,223 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.distributed.ShardOwnership.Decision;
+import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.PolyLine;
+import org.openstreetmap.atlas.geography.Rectangle;
+import org.openstreetmap.atlas.geography.sharding.Shard;
+import org.openstreetmap.atlas.geography.sharding.SlippyTile;
+import org.openstreetmap.atlas.geography.sharding.SlippyTileSharding;
+
+/**
+ * Unit tests for {@link ShardOwnership}.
+ *
+ * @author agent
+ */
+public class ShardOwnershipTest
+{
+    private static final String COUNTRY = "CAN";
+    private static final int ZOOM = 4;
+    private static final int SUBDIVISIONS = 2;
+
+    @Rule
+    public ShardOwnershipTestRule setup = new ShardOwnershipTestRule();
+
+    private final SlippyTileSharding sharding = new SlippyTileSharding(ZOOM);
+    private final List<Shard> shards = StreamSupport
+            .stream(this.sharding.shards(Rectangle.MAXIMUM).spliterator(), false)
+            .collect(Collectors.toList());
+    private final Set<String> shardNames = this.shards.stream().map(Shard::getName)
+            .collect(Collectors.toSet());
+
+    @Test
+    public void anchorOutsideCountryTest()
+    {
+        // The anchor is in the tile containing 1,1, but only the tile containing -1,-1 is part of
+        // the country
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addPoint(Location.forString("-1,-1"));
+        flag.addPoint(Location.forString("3,3"));
+        final Shard southWest = SlippyTile.forLocation(Location.forString("-1,-1"), ZOOM);
+        final ShardOwnership ownership = new ShardOwnership(this.sharding,
+                Collections.singleton(southWest.getName()));
+        Assert.assertEquals(southWest.getName(), ownership.owner(flag).get());
+        Assert.assertEquals(Decision.OWN, ownership.decide(this.task(southWest), flag));
+    }
+
+    @Test
+    public void borderAnchorTest()
+    {
+        // The anchor is on the corner of four tiles
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addPoint(Location.forString("0,0"));
+        this.assertSingleOwner(flag);
+    }
+
+    @Test
+    public void groupedTaskTest()
+    {
+        // The group owns the flag of any of its shards
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(this.setup.atlas().line(2000000L));
+        flag.addObject(this.setup.atlas().line(3000000L));
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        final ShardedCheckFlagsTask group = new ShardedCheckFlagsTask(COUNTRY,
+                Arrays.asList(this.tile("4.5,4.5"), this.tile("-1,-1")), Collections.emptyList());
+        final ShardedCheckFlagsTask otherGroup = new ShardedCheckFlagsTask(COUNTRY,
+                Arrays.asList(this.tile("4.5,-1"), this.tile("-1,4.5")), Collections.emptyList());
+        Assert.assertEquals(Decision.OWN, ownership.decide(group, flag));
+        Assert.assertEquals(Decision.DROP, ownership.decide(otherGroup, flag));
+    }
+
+    @Test
+    public void multipleObjectsTest()
+    {
+        // The flag may come from checking either line, and only the south west tile checks both
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(this.setup.atlas().line(2000000L));
+        flag.addObject(this.setup.atlas().line(3000000L));
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        Assert.assertEquals(this.tile("-1,-1").getName(), ownership.owner(flag).get());
+        for (final String line : Arrays.asList("2000000", "3000000"))
+        {
+            final List<ShardedCheckFlagsTask> producers = this
+                    .tilesOf(this.setup.atlas().line(Long.valueOf(line)).asPolyLine()).stream()
+                    .map(this::task).collect(Collectors.toList());
+            Assert.assertEquals(1, this.owners(ownership, producers, flag));
+        }
+    }
+
+    @Test
+    public void noGeometryTest()
+    {
+        // Every task producing the flag shares it
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        final CheckFlag flag = new CheckFlag("1");
+        Assert.assertTrue(this.shards.stream()
+                .allMatch(shard -> ownership.decide(this.task(shard), flag) == Decision.SHARE));
+    }
+
+    @Test
+    public void nonConvexTest()
+    {
+        // The center of the bounds of the line is in the north east tile, which the line does not
+        // touch, so that tile never produces the flag
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(this.setup.atlas().line(1000000L));
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        final List<Shard> producers = this.tilesOf(this.setup.atlas().line(1000000L).asPolyLine());
+        Assert.assertEquals(3, producers.size());
+        Assert.assertFalse(producers.contains(this.tile("4.5,4.5")));
+        Assert.assertEquals(Decision.DROP,
+                ownership.decide(this.task(this.tile("4.5,4.5")), flag));
+        Assert.assertEquals(1, this.owners(ownership,
+                producers.stream().map(this::task).collect(Collectors.toList()), flag));
+    }
+
+    @Test
+    public void singleOwnerTest()
+    {
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addPoint(Location.forString("10,10"));
+        flag.addPoint(Location.forString("10.1,10.1"));
+        this.assertSingleOwner(flag);
+    }
+
+    @Test
+    public void splitShardProducingCellTest()
+    {
+        // The anchor is in cell 3, but the flag may come from checking the line in cells 0 and 1,
+        // so the owner is cell 1 which checks both lines
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(this.setup.atlas().line(4000000L));
+        flag.addObject(this.setup.atlas().line(5000000L));
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        final List<ShardedCheckFlagsTask> cells = this.cells(this.tile("30,30"));
+        Assert.assertEquals(Decision.DROP, ownership.decide(cells.get(0), flag));
+        Assert.assertEquals(Decision.OWN, ownership.decide(cells.get(1), flag));
+        Assert.assertEquals(Decision.DROP, ownership.decide(cells.get(2), flag));
+        Assert.assertEquals(Decision.DROP, ownership.decide(cells.get(3), flag));
+        Assert.assertEquals(1, this.owners(ownership,
+                Arrays.asList(cells.get(0), cells.get(1)), flag));
+    }
+
+    @Test
+    public void splitShardTest()
+    {
+        // The line is checked by cells 0 and 1, and only one of them owns its flag
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(this.setup.atlas().line(5000000L));
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        final List<ShardedCheckFlagsTask> cells = this.cells(this.tile("30,30"));
+        Assert.assertEquals(Decision.OWN, ownership.decide(cells.get(0), flag));
+        Assert.assertEquals(Decision.DROP, ownership.decide(cells.get(1), flag));
+        Assert.assertEquals(Decision.DROP,
+                ownership.decide(this.task(this.tile("-1,-1")), flag));
+    }
+
+    @Test
+    public void splitShardWithoutCommonCellTest()
+    {
+        // No cell checks both lines, so the cells producing the flag share it
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(this.setup.atlas().line(5000000L));
+        flag.addObject(this.setup.atlas().line(6000000L));
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        final List<ShardedCheckFlagsTask> cells = this.cells(this.tile("30,30"));
+        Assert.assertEquals(Decision.SHARE, ownership.decide(cells.get(0), flag));
+        Assert.assertEquals(Decision.SHARE, ownership.decide(cells.get(1), flag));
+        Assert.assertEquals(Decision.SHARE, ownership.decide(cells.get(2), flag));
+        Assert.assertEquals(Decision.DROP,
+                ownership.decide(this.task(this.tile("-1,-1")), flag));
+    }
+
+    private void assertSingleOwner(final CheckFlag flag)
+    {
+        final ShardOwnership ownership = new ShardOwnership(this.sharding, this.shardNames);
+        Assert.assertEquals(1, this.owners(ownership,
+                this.shards.stream().map(this::task).collect(Collectors.toList()), flag));
+    }
+
+    private List<ShardedCheckFlagsTask> cells(final Shard shard)
+    {
+        return IntStream.range(0, SUBDIVISIONS * SUBDIVISIONS)
+                .mapToObj(cell -> new ShardedCheckFlagsTask(COUNTRY, shard,
+                        Collections.emptyList(), SUBDIVISIONS, cell))
+                .collect(Collectors.toList());
+    }
+
+    private long owners(final ShardOwnership ownership, final List<ShardedCheckFlagsTask> tasks,
+            final CheckFlag flag)
+    {
+        return tasks.stream().filter(task -> ownership.decide(task, flag) == Decision.OWN)
+                .count();
+    }
+
+    private ShardedCheckFlagsTask task(final Shard shard)
+    {
+        return new ShardedCheckFlagsTask(COUNTRY, shard, Collections.emptyList());
+    }
+
+    private Shard tile(final String location)
+    {
+        return SlippyTile.forLocation(Location.forString(location), ZOOM);
+    }
+
+    private List<Shard> tilesOf(final PolyLine polyLine)
+    {
+        return this.shards.stream().filter(shard -> shard.bounds().intersects(polyLine))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,44 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.testing.CoreTestRule;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Line;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Loc;
+
+/**
+ * {@link ShardOwnershipTest} test data. The first lines go around the zoom 4 tile north east of 0,0
+ * without touching it, while the center of their bounds is in it. The other lines are in the cells
+ * of the zoom 4 tile containing 30,30 when split in two by two cells, numbered from the south west.
+ *
+ * @author agent
+ */
+public class ShardOwnershipTestRule extends CoreTestRule
+{
+    private static final String NORTH_WEST = "10,-1";
+    private static final String SOUTH_WEST = "-1,-1";
+    private static final String SOUTH_EAST = "-1,10";
+    private static final String CELL_0 = "25,25";
+    private static final String CELL_1 = "25,40";
+    private static final String CELL_2 = "37,25";
+    private static final String CELL_2_OTHER = "38,26";
+    private static final String CELL_3 = "37,40";
+
+    @TestAtlas(lines = {
+            @Line(id = "1000000", coordinates = { @Loc(value = NORTH_WEST),
+                    @Loc(value = SOUTH_WEST), @Loc(value = SOUTH_EAST) }),
+            @Line(id = "2000000", coordinates = { @Loc(value = SOUTH_EAST),
+                    @Loc(value = SOUTH_WEST) }),
+            @Line(id = "3000000", coordinates = { @Loc(value = NORTH_WEST),
+                    @Loc(value = SOUTH_WEST) }),
+            @Line(id = "4000000", coordinates = { @Loc(value = CELL_3), @Loc(value = CELL_1) }),
+            @Line(id = "5000000", coordinates = { @Loc(value = CELL_0), @Loc(value = CELL_1) }),
+            @Line(id = "6000000", coordinates = { @Loc(value = CELL_2),
+                    @Loc(value = CELL_2_OTHER) }) })
+    private Atlas atlas;
+
+    public Atlas atlas()
+    {
+        return this.atlas;
+    }
+}
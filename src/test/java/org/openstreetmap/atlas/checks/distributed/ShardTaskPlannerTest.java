@@ -0,0 +1,104 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.base.Check;
+import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
+import org.openstreetmap.atlas.checks.validation.tag.InvalidLanesTagCheck;
+import org.openstreetmap.atlas.geography.sharding.Shard;
+import org.openstreetmap.atlas.geography.sharding.SlippyTile;
+
+/**
+ * Unit tests for {@link ShardTaskPlanner}.
+ *
+ * @author agent
+ */
+public class ShardTaskPlannerTest
+{
+    private static final String COUNTRY = "UNK";
+    private static final int ZOOM = 10;
+    private static final long TARGET = 100L;
+    private static final List<Check> CHECKS = Collections
+            .singletonList(new InvalidLanesTagCheck(ConfigurationResolver.emptyConfiguration()));
+
+    private static final Shard FIRST = new SlippyTile(100, 100, ZOOM);
+    private static final Shard SECOND = new SlippyTile(101, 100, ZOOM);
+    private static final Shard THIRD = new SlippyTile(101, 101, ZOOM);
+    private static final Shard FAR = new SlippyTile(500, 500, ZOOM);
+
+    @Test
+    public void groupNeighborsTest()
+    {
+        final Map<String, Long> sizes = new HashMap<>();
+        sizes.put(FIRST.getName(), 30L);
+        sizes.put(SECOND.getName(), 30L);
+        sizes.put(THIRD.getName(), 30L);
+        final List<ShardedCheckFlagsTask> tasks = new ShardTaskPlanner(TARGET,
+                ShardTaskPlanner.DEFAULT_MAXIMUM_SUBDIVISIONS).plan(COUNTRY,
+                        Arrays.asList(FIRST, SECOND, THIRD), sizes, CHECKS);
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertEquals(Arrays.asList(FIRST, SECOND, THIRD), tasks.get(0).getShards());
+    }
+
+    @Test
+    public void groupStopsAtTargetTest()
+    {
+        final Map<String, Long> sizes = new HashMap<>();
+        sizes.put(FIRST.getName(), 60L);
+        sizes.put(SECOND.getName(), 60L);
+        final List<ShardedCheckFlagsTask> tasks = new ShardTaskPlanner(TARGET,
+                ShardTaskPlanner.DEFAULT_MAXIMUM_SUBDIVISIONS).plan(COUNTRY,
+                        Arrays.asList(FIRST, SECOND), sizes, CHECKS);
+        Assert.assertEquals(2, tasks.size());
+        Assert.assertEquals(FIRST, tasks.get(0).getShard());
+        Assert.assertEquals(SECOND, tasks.get(1).getShard());
+    }
+
+    @Test
+    public void groupStopsAtGapTest()
+    {
+        final List<ShardedCheckFlagsTask> tasks = new ShardTaskPlanner(TARGET,
+                ShardTaskPlanner.DEFAULT_MAXIMUM_SUBDIVISIONS).plan(COUNTRY,
+                        Arrays.asList(FIRST, FAR, SECOND), Collections.emptyMap(), CHECKS);
+        Assert.assertEquals(3, tasks.size());
+        Assert.assertEquals(1, tasks.get(0).getShards().size());
+    }
+
+    @Test
+    public void splitDenseShardTest()
+    {
+        final Map<String, Long> sizes = new HashMap<>();
+        sizes.put(FIRST.getName(), 10L);
+        sizes.put(SECOND.getName(), 350L);
+        sizes.put(THIRD.getName(), 10L);
+        final List<ShardedCheckFlagsTask> tasks = new ShardTaskPlanner(TARGET,
+                ShardTaskPlanner.DEFAULT_MAXIMUM_SUBDIVISIONS).plan(COUNTRY,
+                        Arrays.asList(FIRST, SECOND, THIRD), sizes, CHECKS);
+        // The small shard before, 2 by 2 cells of the dense shard, then the small shard after
+        Assert.assertEquals(6, tasks.size());
+        Assert.assertEquals(FIRST, tasks.get(0).getShard());
+        for (int cell = 0; cell < 4; cell++)
+        {
+            final ShardedCheckFlagsTask task = tasks.get(cell + 1);
+            Assert.assertEquals(SECOND, task.getShard());
+            Assert.assertEquals(2, task.getSubdivisions());
+            Assert.assertEquals(cell, task.getCell());
+        }
+        Assert.assertEquals(THIRD, tasks.get(5).getShard());
+    }
+
+    @Test
+    public void splitIsCappedTest()
+    {
+        final List<ShardedCheckFlagsTask> tasks = new ShardTaskPlanner(TARGET, 2).plan(COUNTRY,
+                Collections.singletonList(FIRST),
+                Collections.singletonMap(FIRST.getName(), 100 * TARGET), CHECKS);
+        Assert.assertEquals(4, tasks.size());
+    }
+}
@@ -1,13 +1,18 @@
 package org.openstreetmap.atlas.checks.distributed;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.openstreetmap.atlas.checks.base.Check;
 import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
 import org.openstreetmap.atlas.checks.validation.tag.InvalidLanesTagCheck;
+import org.openstreetmap.atlas.geography.Location;
+import org.openstreetmap.atlas.geography.PolyLine;
 import org.openstreetmap.atlas.geography.sharding.Shard;
 import org.openstreetmap.atlas.geography.sharding.SlippyTile;
 
@@ -19,6 +24,8 @@ import org.openstreetmap.atlas.geography.sharding.SlippyTile;
 public class ShardedCheckFlagsTaskTest
 {
     private static final String COUNTRY = "CAN";
+    private static final int GROUP_WIDTH = 20;
+    private static final int GROUP_ZOOM = 12;
     private static final Shard SHARD = new SlippyTile(0, 0, 0);
     private static final List<Check> CHECKS = Collections
             .singletonList(new InvalidLanesTagCheck(ConfigurationResolver.emptyConfiguration()));
@@ -43,6 +50,60 @@ public class ShardedCheckFlagsTaskTest
         Assert.assertEquals(SHARD, TASK.getShard());
     }
 
+    @Test
+    public void cellTask()
+    {
+        final ShardedCheckFlagsTask cell = new ShardedCheckFlagsTask(COUNTRY, SHARD, CHECKS, 2, 3);
+        Assert.assertEquals(String.format("%s_3of4", SHARD.getName()), cell.getName());
+        Assert.assertTrue(cell.bounds().fullyGeometricallyEncloses(Location.forString("10,10")));
+        Assert.assertFalse(
+                cell.bounds().fullyGeometricallyEncloses(Location.forString("-10,-10")));
+        Assert.assertEquals(Collections.singletonList(cell.bounds()), cell.getBoundaries());
+        Assert.assertTrue(cell.hasShard(SHARD.getName()));
+        Assert.assertFalse(cell.hasShard("1-0-0"));
+        // The owner is the first cell overlapping all the geometries
+        Assert.assertEquals(Optional.of(3), cell.ownerCell(
+                Collections.singletonList(new PolyLine(Location.forString("10,10")))));
+        Assert.assertEquals(Optional.of(1),
+                cell.ownerCell(Arrays.asList(
+                        new PolyLine(Location.forString("10,10"), Location.forString("-10,10")),
+                        new PolyLine(Location.forString("-10,10")))));
+        Assert.assertEquals(Optional.empty(),
+                cell.ownerCell(Arrays.asList(new PolyLine(Location.forString("10,10")),
+                        new PolyLine(Location.forString("-10,-10")))));
+    }
+
+    @Test
+    public void getShardGroupName()
+    {
+        final Shard west = new SlippyTile(0, 0, 1);
+        final Shard east = new SlippyTile(1, 0, 1);
+        final ShardedCheckFlagsTask group = new ShardedCheckFlagsTask(COUNTRY,
+                Arrays.asList(west, east), CHECKS);
+        Assert.assertEquals(west, group.getShard());
+        Assert.assertEquals(String.format("%s+1", west.getName()), group.getName());
+        Assert.assertEquals(2, group.getBoundaries().size());
+        Assert.assertTrue(group.hasShard(east.getName()));
+    }
+
+    @Test
+    public void getLargeShardGroupName()
+    {
+        // The name of a large group stays short enough for a file name
+        final List<Shard> shards = new ArrayList<>();
+        for (int x = 0; x < GROUP_WIDTH; x++)
+        {
+            for (int y = 0; y < GROUP_WIDTH; y++)
+            {
+                shards.add(new SlippyTile(x, y, GROUP_ZOOM));
+            }
+        }
+        final ShardedCheckFlagsTask group = new ShardedCheckFlagsTask(COUNTRY, shards, CHECKS);
+        Assert.assertEquals(
+                String.format("%s+%s", shards.get(0).getName(), GROUP_WIDTH * GROUP_WIDTH - 1),
+                group.getName());
+    }
+
     @Test
     public void getUniqueTaskIdentifier()
     {
@@ -0,0 +1,54 @@
+package org.openstreetmap.atlas.checks.distributed;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.AtlasObject;
+import org.openstreetmap.atlas.utilities.collections.Iterables;
+
+/**
+ * Unit tests for {@link SpatialPartitionTask}.
+ *
+ * @author agent
+ */
+public class SpatialPartitionTaskTest
+{
+    @Rule
+    public IntegrityChecksCommandArgumentsTestRule setup = new IntegrityChecksCommandArgumentsTestRule();
+
+    @Test
+    public void processVisitsEveryObjectOnceTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            for (final int chunkSize : new int[] { 1, SpatialPartitionTask.DEFAULT_CHUNK_SIZE })
+            {
+                final Set<AtlasObject> visited = ConcurrentHashMap.newKeySet();
+                SpatialPartitionTask.process(Iterables.translate(atlas.entities(),
+                        entity -> (AtlasObject) entity), object -> Assert
+                                .assertTrue(visited.add(object)), pool, chunkSize);
+                Assert.assertEquals(Iterables.size(atlas.entities()), visited.size());
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void spatialKeyTest()
+    {
+        final Atlas atlas = this.setup.mixedAtlas();
+        // The points are a few meters apart, far below the resolution of the key
+        Assert.assertEquals(SpatialPartitionTask.spatialKey(atlas.point(4000000L)),
+                SpatialPartitionTask.spatialKey(atlas.point(5000000L)));
+    }
+}
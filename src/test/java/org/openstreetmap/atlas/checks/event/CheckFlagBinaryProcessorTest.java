@@ -0,0 +1,105 @@
+package org.openstreetmap.atlas.checks.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.flag.CheckFlag;
+import org.openstreetmap.atlas.checks.flag.serializer.BinaryFlagReader;
+import org.openstreetmap.atlas.checks.flag.serializer.CheckFlagDeserializer;
+import org.openstreetmap.atlas.event.ShutdownEvent;
+import org.openstreetmap.atlas.generator.tools.filesystem.FileSystemHelper;
+import org.openstreetmap.atlas.streaming.resource.Resource;
+
+import com.google.common.io.Files;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests for {@link CheckFlagBinaryProcessor}.
+ *
+ * @author agent
+ */
+public class CheckFlagBinaryProcessorTest
+{
+    private static final Map<String, String> FILE_SYSTEM_CONFIG = new HashMap<>();
+    private static final int FLAGS_PER_FILE = 25;
+
+    @Rule
+    public CheckFlagGeoJsonProcessorTestRule setup = new CheckFlagGeoJsonProcessorTestRule();
+
+    @Test
+    public void testFlagsPerFileEvent() throws IOException
+    {
+        this.processCompleteAndValidate(FLAGS_PER_FILE);
+    }
+
+    @Test
+    public void testHundredEvent() throws IOException
+    {
+        this.processCompleteAndValidate(100);
+    }
+
+    @Test
+    public void testOneEvent() throws IOException
+    {
+        this.processCompleteAndValidate(1);
+    }
+
+    @Test
+    public void testZeroEvent() throws IOException
+    {
+        this.processCompleteAndValidate(0);
+    }
+
+    private void processCompleteAndValidate(final int eventCount) throws IOException
+    {
+        // Generate
+        final File tempDirectory = Files.createTempDir();
+        final CheckFlagBinaryProcessor processor = new CheckFlagBinaryProcessor(
+                tempDirectory.getAbsolutePath()).withFlagsPerFile(FLAGS_PER_FILE);
+        final List<JsonObject> expected = new ArrayList<>();
+        for (int index = 0; index < eventCount; index++)
+        {
+            final CheckFlagEvent event = this.setup.getCheckFlagEvent();
+            expected.add(new JsonParser().parse(event.toString()).getAsJsonObject());
+            processor.process(event);
+        }
+        processor.process(new ShutdownEvent());
+
+        // Validate
+        final List<Resource> files = FileSystemHelper.resources(tempDirectory.getAbsolutePath(),
+                FILE_SYSTEM_CONFIG);
+        Assert.assertEquals(Math.max((int) Math.ceil(eventCount / (double) FLAGS_PER_FILE), 1),
+                files.size());
+
+        final List<JsonObject> actual = new ArrayList<>();
+        for (final Resource file : files)
+        {
+            Assert.assertTrue(file.getName().endsWith(".flags"));
+            try (BinaryFlagReader reader = new BinaryFlagReader(file.read()))
+            {
+                reader.flags().forEach(actual::add);
+            }
+        }
+
+        // The flags read back are those of the line delimited flag files, in any order of files
+        Assert.assertEquals(eventCount, actual.size());
+        Assert.assertTrue(expected.containsAll(actual));
+        final CheckFlag original = this.setup.getCheckFlagEvent().getCheckFlag();
+        for (final JsonObject flag : actual)
+        {
+            Assert.assertEquals(original.getFlaggedObjects(),
+                    new CheckFlagDeserializer().deserialize(flag, null, null).getFlaggedObjects());
+        }
+
+        // Cleanup
+        tempDirectory.delete();
+    }
+}
@@ -1,6 +1,7 @@
 package org.openstreetmap.atlas.checks.event;
 
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import org.junit.Assert;
 import org.junit.Rule;
@@ -17,6 +18,7 @@ import org.openstreetmap.atlas.geography.atlas.items.AtlasEntity;
 import org.openstreetmap.atlas.tags.LayerTag;
 import org.openstreetmap.atlas.tags.names.NameTag;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 /**
@@ -30,6 +32,36 @@ public class CheckFlagEventTest
     @Rule
     public final CheckFlagEventTestRule rule = new CheckFlagEventTestRule();
 
+    @Test
+    public void eventSerializedOnceTest()
+    {
+        final Atlas atlas = this.rule.getAtlas();
+        final CheckFlag flag = new CheckFlag("1");
+        flag.addObject(atlas.node(1));
+        flag.addObject(atlas.relation(123));
+        flag.addFixSuggestion(FeatureChange
+                .add(CompleteNode.from(atlas.node(1)).withAddedTag(NameTag.KEY, "n"), atlas));
+        final CheckFlagEvent event = new CheckFlagEvent("check", flag);
+
+        Assert.assertSame(event.toGeoJsonFeature(), event.toGeoJsonFeature());
+        Assert.assertSame(event.toString(), event.toString());
+        Assert.assertEquals(event.toGeoJsonFeatureCollection().toString(), event.toString());
+
+        // Shared relation features are copied before being mutated
+        final Consumer<JsonObject> mutator = feature ->
+        {
+            if (!feature.has("visits"))
+            {
+                feature.add("visits", new JsonArray());
+            }
+            feature.getAsJsonArray("visits").add(1);
+        };
+        final String features = event.asLineDelimitedGeoJsonFeatures(mutator);
+        Assert.assertEquals(3, features.split("\n").length);
+        Assert.assertEquals(features, event.asLineDelimitedGeoJsonFeatures(mutator));
+        Assert.assertFalse(event.toGeoJsonFeatureCollection().toString().contains("visits"));
+    }
+
     @Test
     public void flagToFeatureAddTagFixSuggestionTest()
     {
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -55,6 +56,13 @@ public class CheckFlagFileProcessorTest
         this.processCompleteAndValidate(BATCH_SIZE + 1);
     }
 
+    @Test
+    public void testConcurrentEvents() throws IOException
+    {
+        this.processCompleteAndValidate(2 * BATCH_SIZE * FileProcessor.MAXIMUM_PENDING_BATCHES + 1,
+                true);
+    }
+
     @Test
     public void testOneEvent() throws IOException
     {
@@ -92,15 +100,18 @@ public class CheckFlagFileProcessorTest
     }
 
     private void processCompleteAndValidate(final int eventCount)
+    {
+        this.processCompleteAndValidate(eventCount, false);
+    }
+
+    private void processCompleteAndValidate(final int eventCount, final boolean concurrent)
     {
         // Generate
         final File tempDirectory = Files.createTempDir();
         final CheckFlagFileProcessor processor = new CheckFlagFileProcessor(
                 new SparkFileHelper(FILE_SYSTEM_CONFIG), tempDirectory.getAbsolutePath());
-        for (int index = 0; index < eventCount; index++)
-        {
-            processor.process(SAMPLE_EVENT);
-        }
+        final IntStream events = IntStream.range(0, eventCount);
+        (concurrent ? events.parallel() : events).forEach(index -> processor.process(SAMPLE_EVENT));
         processor.process(new ShutdownEvent());
 
         // Validate
@@ -3,10 +3,13 @@ package org.openstreetmap.atlas.checks.event;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Rule;
@@ -29,6 +32,8 @@ public class CheckFlagGeoJsonProcessorTest
 {
     private static final Map<String, String> FILE_SYSTEM_CONFIG = new HashMap<>();
     private static final Gson GSON_BUILDER = new Gson();
+    private static final String CHALLENGE = "sample-name";
+    private static final int EVENTS = 100;
 
     @Rule
     public CheckFlagGeoJsonProcessorTestRule setup = new CheckFlagGeoJsonProcessorTestRule();
@@ -39,6 +44,27 @@ public class CheckFlagGeoJsonProcessorTest
         this.processCompleteAndValidate(100);
     }
 
+    @Test
+    public void testMaximumFileBytes()
+    {
+        // Files are rolled on size long before they hold a batch of features
+        final File tempDirectory = Files.createTempDir();
+        final CheckFlagGeoJsonProcessor processor = new CheckFlagGeoJsonProcessor(
+                new SparkFileHelper(FILE_SYSTEM_CONFIG), tempDirectory.getAbsolutePath())
+                        .withBatchSizeOverride(EVENTS).withMaximumFileBytes(1);
+        for (int index = 0; index < EVENTS; index++)
+        {
+            processor.process(this.setup.getCheckFlagEvent());
+        }
+        processor.process(new ShutdownEvent());
+
+        final List<Resource> files = FileSystemHelper.resources(tempDirectory.getAbsolutePath(),
+                FILE_SYSTEM_CONFIG);
+        Assert.assertTrue(files.size() > 1);
+        Assert.assertEquals(EVENTS, this.countFeatures(files));
+        this.delete(tempDirectory);
+    }
+
     @Test
     public void testOneEvent() throws IOException
     {
@@ -51,6 +77,48 @@ public class CheckFlagGeoJsonProcessorTest
         this.processCompleteAndValidate(10);
     }
 
+    @Test
+    public void testSameMillisecondFileNames()
+    {
+        // Every feature rolls its own file, many of them within the same millisecond
+        final File tempDirectory = Files.createTempDir();
+        final CheckFlagGeoJsonProcessor processor = new CheckFlagGeoJsonProcessor(
+                new SparkFileHelper(FILE_SYSTEM_CONFIG), tempDirectory.getAbsolutePath())
+                        .withBatchSizeOverride(1);
+        for (int index = 0; index < EVENTS; index++)
+        {
+            processor.process(this.setup.getCheckFlagEvent());
+        }
+        processor.process(new ShutdownEvent());
+
+        Assert.assertEquals(EVENTS, this.fileNames(tempDirectory).size());
+        Assert.assertEquals(EVENTS, this.countFeatures(FileSystemHelper
+                .resources(tempDirectory.getAbsolutePath(), FILE_SYSTEM_CONFIG)));
+        this.delete(tempDirectory);
+    }
+
+    @Test
+    public void testTemporaryFileRenamed()
+    {
+        // The open FeatureCollection is hidden from readers until it is complete
+        final File tempDirectory = Files.createTempDir();
+        final CheckFlagGeoJsonProcessor processor = new CheckFlagGeoJsonProcessor(
+                new SparkFileHelper(FILE_SYSTEM_CONFIG), tempDirectory.getAbsolutePath())
+                        .withBatchSizeOverride(EVENTS);
+        processor.process(this.setup.getCheckFlagEvent());
+        final Set<String> openFiles = this.fileNames(tempDirectory);
+        Assert.assertEquals(1, openFiles.size());
+        Assert.assertTrue(openFiles.iterator().next()
+                .matches("_" + CHALLENGE + "-[-0-9a-f]+\\.geojson\\.gz"));
+
+        processor.process(new ShutdownEvent());
+        final Set<String> closedFiles = this.fileNames(tempDirectory);
+        Assert.assertEquals(1, closedFiles.size());
+        Assert.assertTrue(closedFiles.iterator().next()
+                .matches(CHALLENGE + "-\\d+P0-1\\.geojson\\.gz"));
+        this.delete(tempDirectory);
+    }
+
     @Test
     public void testTwoEvent() throws IOException
     {
@@ -63,6 +131,33 @@ public class CheckFlagGeoJsonProcessorTest
         this.processCompleteAndValidate(0);
     }
 
+    private int countFeatures(final List<Resource> files)
+    {
+        int count = 0;
+        for (final Resource file : files)
+        {
+            final JsonObject found = GSON_BUILDER.fromJson(new InputStreamReader(file.read()),
+                    JsonObject.class);
+            if (Objects.nonNull(found))
+            {
+                count += found.getAsJsonArray("features").size();
+            }
+        }
+        return count;
+    }
+
+    private void delete(final File directory)
+    {
+        Arrays.stream(Objects.requireNonNull(directory.listFiles())).forEach(File::delete);
+        directory.delete();
+    }
+
+    private Set<String> fileNames(final File directory)
+    {
+        return Arrays.stream(Objects.requireNonNull(directory.list()))
+                .filter(name -> !name.endsWith(".crc")).collect(Collectors.toSet());
+    }
+
     private void processCompleteAndValidate(final int eventCount)
     {
         // Generate
@@ -0,0 +1,127 @@
+package org.openstreetmap.atlas.checks.flag.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests for {@link BinaryFlagWriter} and {@link BinaryFlagReader}
+ *
+ * @author agent
+ */
+public class BinaryFlagWriterTest
+{
+    private static final String FLAG = "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":"
+            + "\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":"
+            + "[[-122.4194155,37.7749295],[-122.4194,37.77],[1.5,-0.0000001]]},\"properties\":"
+            + "{\"null\":null,\"boolean\":true,\"big\":12345678901234567890123,"
+            + "\"precise\":0.1234567891,\"negative\":-42,\"name\":\"Caf\\u00e9\"}}],"
+            + "\"properties\":{\"generator\":\"SampleCheck\",\"id\":[\"Node1\",\"Node1\"],"
+            + "\"mixed\":[1.0,2,[3,4]],\"empty\":{},\"huge\":[[1e300,2]]}}";
+    private static final String NUMBERS = "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":"
+            + "\"Feature\",\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[[[10,20],"
+            + "[10.5,20.0],[10,21.25],[10,20]]]},\"properties\":{\"pairs\":[[1,2],[3,4]],"
+            + "\"decimals\":[[1.5,2.5]],\"small\":-0.0000001,\"spelled\":1e3,"
+            + "\"padded\":1.50}}],\"properties\":{\"id\":[[100,200]]}}";
+    private static final int FLAGS = 1000;
+
+    @Test
+    public void testCompact() throws IOException
+    {
+        final JsonObject parsed = new JsonParser().parse(FLAG).getAsJsonObject();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryFlagWriter writer = new BinaryFlagWriter(output))
+        {
+            for (int index = 0; index < FLAGS; index++)
+            {
+                writer.write(parsed);
+            }
+        }
+        // Repeated strings are written once per block, and blocks are deflated
+        Assert.assertTrue(output.size() < FLAG.length() * FLAGS / 100);
+    }
+
+    @Test
+    public void testEmpty() throws IOException
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryFlagWriter(output).close();
+        try (BinaryFlagReader reader = new BinaryFlagReader(
+                new ByteArrayInputStream(output.toByteArray())))
+        {
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotBinary() throws IOException
+    {
+        new BinaryFlagReader(new ByteArrayInputStream(FLAG.getBytes(StandardCharsets.UTF_8)))
+                .close();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        final JsonObject parsed = new JsonParser().parse(FLAG).getAsJsonObject();
+        final JsonObject built = new JsonObject();
+        final JsonArray location = new JsonArray();
+        location.add(-122.4194155);
+        location.add(37.7749295);
+        built.add("coordinates", location);
+        built.addProperty("float", 0.1f);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // Small blocks, so that flags are read across blocks
+        try (BinaryFlagWriter writer = new BinaryFlagWriter(output, 2))
+        {
+            writer.write(parsed);
+            writer.write(built);
+            writer.write(parsed);
+            Assert.assertEquals(3, writer.getCount());
+        }
+
+        try (BinaryFlagReader reader = new BinaryFlagReader(
+                new ByteArrayInputStream(output.toByteArray())))
+        {
+            final List<JsonObject> flags = reader.flags().collect(Collectors.toList());
+            Assert.assertEquals(List.of(parsed, built, parsed), flags);
+            Assert.assertEquals(-122.4194155, flags.get(1).getAsJsonArray("coordinates").get(0)
+                    .getAsDouble(), 0.0);
+        }
+    }
+
+    @Test
+    public void testRoundTripText() throws IOException
+    {
+        final List<JsonObject> parsed = List.of(new JsonParser().parse(FLAG).getAsJsonObject(),
+                new JsonParser().parse(NUMBERS).getAsJsonObject());
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryFlagWriter writer = new BinaryFlagWriter(output))
+        {
+            for (final JsonObject flag : parsed)
+            {
+                writer.write(flag);
+            }
+        }
+
+        try (BinaryFlagReader reader = new BinaryFlagReader(
+                new ByteArrayInputStream(output.toByteArray())))
+        {
+            // Integer pairs stay integers, and numbers keep their spelling
+            Assert.assertEquals(
+                    parsed.stream().map(JsonObject::toString).collect(Collectors.toList()),
+                    reader.flags().map(JsonObject::toString).collect(Collectors.toList()));
+        }
+    }
+}
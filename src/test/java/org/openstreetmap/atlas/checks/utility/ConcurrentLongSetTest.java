@@ -0,0 +1,94 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConcurrentLongSet}.
+ *
+ * @author agent
+ */
+public class ConcurrentLongSetTest
+{
+    private static final int KEYS = 100_000;
+    private static final long SEED = 42L;
+
+    @Test
+    public void concurrentAddTest()
+    {
+        final ConcurrentLongSet set = ConcurrentLongSet.longs();
+        // Every key is added twice, only one of the adds can succeed
+        final long added = LongStream.range(0, 2L * KEYS).parallel()
+                .filter(value -> set.add(value % KEYS)).count();
+        Assert.assertEquals(KEYS, added);
+        Assert.assertEquals(KEYS, set.size());
+    }
+
+    @Test
+    public void longsTest()
+    {
+        final ConcurrentLongSet set = ConcurrentLongSet.longs();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertTrue(set.add(0L));
+        Assert.assertTrue(set.add(Long.MIN_VALUE));
+        Assert.assertTrue(set.add(-1L));
+        Assert.assertFalse(set.add(0L));
+        Assert.assertTrue(set.contains(Long.MIN_VALUE));
+        Assert.assertFalse(set.contains(1L));
+        Assert.assertEquals(3, set.size());
+
+        final Set<Long> seen = new HashSet<>();
+        set.forEach(seen::add);
+        Assert.assertEquals(3, seen.size());
+
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.contains(0L));
+    }
+
+    @Test
+    public void pairsTest()
+    {
+        final ConcurrentLongSet set = ConcurrentLongSet.pairs();
+        Assert.assertTrue(set.add(1L, 2L));
+        Assert.assertFalse(set.add(1L, 2L));
+        Assert.assertTrue(set.add(2L, 1L));
+        Assert.assertTrue(set.contains(1L, 2L));
+        Assert.assertFalse(set.contains(1L, 3L));
+        Assert.assertEquals(2, set.size());
+        Assert.assertTrue(set.remove(2L, 1L));
+        Assert.assertFalse(set.contains(2L, 1L));
+        Assert.assertTrue(set.contains(1L, 2L));
+    }
+
+    @Test
+    public void randomOperationsTest()
+    {
+        // Compare with a HashSet, with enough keys to grow the tables and to exercise removals
+        final ConcurrentLongSet set = ConcurrentLongSet.longs();
+        final Set<Long> expected = new HashSet<>();
+        final Random random = new Random(SEED);
+        for (int operation = 0; operation < KEYS; operation++)
+        {
+            final long key = random.nextInt(KEYS / 10);
+            if (random.nextBoolean())
+            {
+                Assert.assertEquals(expected.add(key), set.add(key));
+            }
+            else
+            {
+                Assert.assertEquals(expected.remove(key), set.remove(key));
+            }
+        }
+        Assert.assertEquals(expected.size(), set.size());
+        for (long key = 0; key < KEYS / 10; key++)
+        {
+            Assert.assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+}
@@ -199,6 +199,22 @@ public class ElevationUtilitiesTest
         assertEquals(Distance.MAXIMUM, elevationUtilities.getResolution(Location.CROSSING_85_280));
     }
 
+    /**
+     * Test that only the most recently used files are kept
+     */
+    @Test
+    public void testLeastRecentlyUsedFiles()
+    {
+        final ElevationUtilities oneFile = new ElevationUtilities(1, "hgt", "elevation", 1, null);
+        final short[][] map = new short[][] { { 1 } };
+        oneFile.putMap(Location.CENTER, map);
+        assertEquals(1, oneFile.getElevation(Location.CENTER));
+        oneFile.putMap(Location.CROSSING_85_17, map);
+        assertEquals(1, oneFile.getElevation(Location.CROSSING_85_17));
+        // There is no fetcher to load the dropped file again
+        assertEquals(ElevationUtilities.NO_ELEVATION, oneFile.getElevation(Location.CENTER));
+    }
+
     /**
      * Test method for {@link ElevationUtilities#inSameDataPoint(Location, Location)}.
      */
@@ -0,0 +1,94 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.atlas.checks.utility.FileUtility.LogOutputFileType;
+import org.openstreetmap.atlas.streaming.resource.File;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Unit tests for {@link FileUtility}.
+ *
+ * @author agent
+ */
+public class FileUtilityTest
+{
+    private static final String FLAG = "{\"type\":\"FeatureCollection\",\"features\":[]}";
+
+    @Test
+    public void getFlagsTest() throws IOException
+    {
+        final File folder = File.temporaryFolder();
+        try
+        {
+            this.write(folder, "flags.log", FLAG + "\n\n" + FLAG + "\n");
+            final List<File> readable = folder.listFilesRecursively().stream()
+                    .filter(file -> FileUtility.getOptionalLogOutputType(file).isPresent())
+                    .collect(Collectors.toList());
+            Assert.assertEquals(1, readable.size());
+            try (Stream<JsonObject> flags = FileUtility.getFlags(readable.get(0),
+                    LogOutputFileType.LOG))
+            {
+                Assert.assertEquals(2, flags.count());
+            }
+        }
+        finally
+        {
+            folder.deleteRecursively();
+        }
+    }
+
+    @Test
+    public void hiddenFilesAreSkippedTest() throws IOException
+    {
+        final File folder = File.temporaryFolder();
+        try
+        {
+            // Leftovers of output files written under a temporary name, then renamed
+            this.write(folder, "_0b7c6a5e.flags", FLAG);
+            this.write(folder, "_Check-0b7c6a5e.log", FLAG);
+            this.write(folder, ".flags.log.crc", FLAG);
+            this.write(folder, ".flags.log", FLAG);
+            Assert.assertTrue(folder.listFilesRecursively().stream()
+                    .map(FileUtility::getOptionalLogOutputType).noneMatch(Optional::isPresent));
+        }
+        finally
+        {
+            folder.deleteRecursively();
+        }
+    }
+
+    @Test
+    public void logOutputTypeTest()
+    {
+        Assert.assertEquals(Optional.of(LogOutputFileType.LOG),
+                FileUtility.getOptionalLogOutputType(new File("/output/flags/CAN/flags.log")));
+        Assert.assertEquals(Optional.of(LogOutputFileType.COMPRESSED_LOG), FileUtility
+                .getOptionalLogOutputType(new File("/output/flags/CAN/flags.log.gz")));
+        Assert.assertEquals(Optional.of(LogOutputFileType.BINARY_FLAGS),
+                FileUtility.getOptionalLogOutputType(new File("/output/flags/CAN/0b7c.flags")));
+        Assert.assertEquals(Optional.empty(), FileUtility
+                .getOptionalLogOutputType(new File("/output/geojson/CAN/Check.geojson")));
+        Assert.assertEquals(Optional.empty(),
+                FileUtility.getOptionalLogOutputType(new File("/output/flags/CAN/_0b7c.flags")));
+        Assert.assertEquals(Optional.empty(), FileUtility
+                .getOptionalLogOutputType(new File("/output/flags/CAN/_flags.log.gz")));
+        Assert.assertTrue(FileUtility.isHidden(new File("/output/geojson/_Check-0b7c.geojson")));
+        Assert.assertFalse(FileUtility.isHidden(new File("/output/geojson/Check-0b7c.geojson")));
+    }
+
+    private void write(final File folder, final String name, final String contents)
+            throws IOException
+    {
+        Files.writeString(Paths.get(folder.child(name).getPathString()), contents);
+    }
+}
@@ -0,0 +1,82 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.geography.MultiPolygon;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.Area;
+
+/**
+ * Tests for {@link GeometryCache}
+ *
+ * @author agent
+ */
+public class GeometryCacheTest
+{
+    private static final double DELTA = 1e-9;
+
+    @Rule
+    public GeometryCacheTestRule setup = new GeometryCacheTestRule();
+
+    @Test
+    public void boundedCacheTest()
+    {
+        final Atlas atlas = this.setup.buildingAtlas();
+        final Area building = atlas.area(1000000L);
+        // The polygon does not fit, it is computed again each time
+        final GeometryCache geometries = new GeometryCache(2);
+        assertEquals(building.asPolygon(), geometries.polygon(building));
+        assertNotSame(geometries.polygon(building), geometries.polygon(building));
+        assertEquals(0, geometries.hits());
+        assertEquals(3, geometries.misses());
+    }
+
+    @Test
+    public void geometriesAreSharedTest()
+    {
+        final Atlas atlas = this.setup.buildingAtlas();
+        final Area building = atlas.area(1000000L);
+        final GeometryCache geometries = GeometryCache.of(atlas);
+        assertSame(geometries, GeometryCache.of(atlas));
+        assertSame(geometries.polygon(building), geometries.polygon(building));
+        assertSame(geometries.prepared(building), geometries.prepared(building));
+        assertEquals(building.asPolygon().surface(), geometries.surface(building));
+        final MultiPolygon relation = geometries.multiPolygon(atlas.relation(2000000L));
+        assertSame(relation, geometries.multiPolygon(atlas.relation(2000000L)));
+        assertEquals(1, relation.outers().size());
+    }
+
+    @Test
+    public void hitRateTest()
+    {
+        final Atlas atlas = this.setup.buildingAtlas();
+        final Area building = atlas.area(1000000L);
+        final GeometryCache geometries = new GeometryCache(GeometryCache.DEFAULT_MAXIMUM_LOCATIONS);
+        assertEquals(0.0, geometries.hitRate(), DELTA);
+        geometries.polygon(building);
+        geometries.polygon(building);
+        geometries.polygon(building);
+        geometries.multiPolygon(building);
+        assertEquals(2, geometries.hits());
+        assertEquals(2, geometries.misses());
+        assertEquals(0.5, geometries.hitRate(), DELTA);
+    }
+
+    @Test
+    public void releaseTest()
+    {
+        final Atlas atlas = this.setup.buildingAtlas();
+        final GeometryCache geometries = GeometryCache.of(atlas);
+        assertSame(geometries, GeometryCache.release(atlas).orElse(null));
+        assertFalse(GeometryCache.release(atlas).isPresent());
+        // A later use starts a new cache
+        assertNotSame(geometries, GeometryCache.of(atlas));
+        assertTrue(GeometryCache.release(atlas).isPresent());
+    }
+}
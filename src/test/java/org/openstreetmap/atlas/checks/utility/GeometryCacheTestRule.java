@@ -0,0 +1,35 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.testing.CoreTestRule;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Area;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Loc;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Relation;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Relation.Member;
+
+/**
+ * Test Rule for {@link GeometryCacheTest}
+ *
+ * @author agent
+ */
+public class GeometryCacheTestRule extends CoreTestRule
+{
+    private static final String LOCATION1 = "47.244117672349,-122.396137421285";
+    private static final String LOCATION2 = "47.2434634265599,-122.396147058415";
+    private static final String LOCATION3 = "47.2434634265599,-122.395549556359";
+    private static final String LOCATION4 = "47.2441111299311,-122.395549556359";
+
+    @TestAtlas(areas = { @Area(id = "1000000", coordinates = { @Loc(value = LOCATION1),
+            @Loc(value = LOCATION2), @Loc(value = LOCATION3),
+            @Loc(value = LOCATION4) }, tags = { "building=yes" }) }, relations = {
+                    @Relation(id = "2000000", members = {
+                            @Member(id = "1000000", type = "area", role = "outer") }, tags = {
+                                    "type=multipolygon", "building=yes" }) })
+    private Atlas buildingAtlas;
+
+    public Atlas buildingAtlas()
+    {
+        return this.buildingAtlas;
+    }
+}
@@ -0,0 +1,49 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.atlas.geography.Location;
+
+/**
+ * Unit tests for {@link HilbertCurve}.
+ *
+ * @author agent
+ */
+public class HilbertCurveTest
+{
+    private static final int CELLS = 8;
+
+    @Test
+    public void consecutiveCellsAreAdjacentTest()
+    {
+        final Map<Long, long[]> cellsByIndex = new HashMap<>();
+        for (long xCell = 0; xCell < CELLS; xCell++)
+        {
+            for (long yCell = 0; yCell < CELLS; yCell++)
+            {
+                cellsByIndex.put(HilbertCurve.index(xCell, yCell, CELLS),
+                        new long[] { xCell, yCell });
+            }
+        }
+        Assert.assertEquals(CELLS * CELLS, cellsByIndex.size());
+        for (long index = 0; index < CELLS * CELLS - 1; index++)
+        {
+            final long[] cell = cellsByIndex.get(index);
+            final long[] next = cellsByIndex.get(index + 1);
+            Assert.assertEquals(1, Math.abs(cell[0] - next[0]) + Math.abs(cell[1] - next[1]));
+        }
+    }
+
+    @Test
+    public void locationIndexTest()
+    {
+        Assert.assertEquals(0L, HilbertCurve.index(Location.forString("-90,-180")));
+        Assert.assertEquals(HilbertCurve.index(Location.forString("37.3265,-121.9199")),
+                HilbertCurve.index(Location.forString("37.3266,-121.9198")));
+        Assert.assertNotEquals(HilbertCurve.index(Location.forString("37.3265,-121.9199")),
+                HilbertCurve.index(Location.forString("-37.3260,121.9199")));
+    }
+}
@@ -1,15 +1,19 @@
 package org.openstreetmap.atlas.checks.utility;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import org.junit.Rule;
 import org.junit.Test;
 import org.openstreetmap.atlas.geography.Location;
 import org.openstreetmap.atlas.geography.Polygon;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
 
 /**
  * Tests for {@link IntersectionUtilities}
  *
  * @author bbreithaupt
+ * @author agent
  */
 public class IntersectionUtilitiesTest
 {
@@ -34,6 +38,28 @@ public class IntersectionUtilitiesTest
     private static final Polygon POLYGON1 = new Polygon(LOCATION1, LOCATION2, LOCATION3, LOCATION4);
     private static final Polygon POLYGON2 = new Polygon(LOCATION5, LOCATION6, LOCATION7, LOCATION8);
     private static final Polygon POLYGON3 = new Polygon(LOCATION5, LOCATION6, LOCATION8);
+    private static final double DELTA = 1e-9;
+
+    @Rule
+    public IntersectionUtilitiesTestRule setup = new IntersectionUtilitiesTestRule();
+
+    @Test
+    public void findIntersectionPercentageAreasTest()
+    {
+        final Atlas atlas = this.setup.areasAtlas();
+        // Partial overlaps are still clipped, and match the polygon results
+        assertEquals(IntersectionUtilities.findIntersectionPercentage(POLYGON1, POLYGON2),
+                IntersectionUtilities.findIntersectionPercentage(atlas.area(1000000L),
+                        atlas.area(2000000L)),
+                DELTA);
+        assertEquals(0.0, IntersectionUtilities.findIntersectionPercentage(atlas.area(1000000L),
+                atlas.area(3000000L)), DELTA);
+        // Contained areas fully overlap, both ways
+        assertEquals(1.0, IntersectionUtilities.findIntersectionPercentage(atlas.area(1000000L),
+                atlas.area(4000000L)), DELTA);
+        assertEquals(1.0, IntersectionUtilities.findIntersectionPercentage(atlas.area(4000000L),
+                atlas.area(1000000L)), DELTA);
+    }
 
     @Test
     public void findIntersectionPercentageIntersectingPolygonTest()
@@ -0,0 +1,46 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.testing.CoreTestRule;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Area;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Loc;
+
+/**
+ * Test Rule for {@link IntersectionUtilitiesTest}
+ *
+ * @author agent
+ */
+public class IntersectionUtilitiesTestRule extends CoreTestRule
+{
+    private static final String LOCATION1 = "47.244117672349,-122.396137421285";
+    private static final String LOCATION2 = "47.2434634265599,-122.396147058415";
+    private static final String LOCATION3 = "47.2434634265599,-122.395549556359";
+    private static final String LOCATION4 = "47.2441111299311,-122.395549556359";
+    private static final String LOCATION5 = "47.2449550951688,-122.396469902267";
+    private static final String LOCATION6 = "47.2442158085205,-122.396479539397";
+    private static final String LOCATION7 = "47.2440097223504,-122.395814577432";
+    private static final String LOCATION8 = "47.2449485528544,-122.395809758867";
+    private static final String INNER1 = "47.2437,-122.3960";
+    private static final String INNER2 = "47.2437,-122.3957";
+    private static final String INNER3 = "47.2439,-122.3957";
+    private static final String INNER4 = "47.2439,-122.3960";
+
+    @TestAtlas(areas = {
+            @Area(id = "1000000", coordinates = { @Loc(value = LOCATION1),
+                    @Loc(value = LOCATION2), @Loc(value = LOCATION3),
+                    @Loc(value = LOCATION4) }, tags = { "building=yes" }),
+            @Area(id = "2000000", coordinates = { @Loc(value = LOCATION5),
+                    @Loc(value = LOCATION6), @Loc(value = LOCATION7),
+                    @Loc(value = LOCATION8) }, tags = { "building=yes" }),
+            @Area(id = "3000000", coordinates = { @Loc(value = LOCATION5),
+                    @Loc(value = LOCATION6), @Loc(value = LOCATION8) }, tags = { "building=yes" }),
+            @Area(id = "4000000", coordinates = { @Loc(value = INNER1), @Loc(value = INNER2),
+                    @Loc(value = INNER3), @Loc(value = INNER4) }, tags = { "building=yes" }) })
+    private Atlas areasAtlas;
+
+    public Atlas areasAtlas()
+    {
+        return this.areasAtlas;
+    }
+}
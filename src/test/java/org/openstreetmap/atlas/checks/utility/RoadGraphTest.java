@@ -0,0 +1,87 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.geography.atlas.items.Edge;
+import org.openstreetmap.atlas.geography.atlas.items.Node;
+import org.openstreetmap.atlas.tags.HighwayTag;
+
+/**
+ * Unit tests for {@link RoadGraph}.
+ *
+ * @author agent
+ */
+public class RoadGraphTest
+{
+    @Rule
+    public RoadGraphTestRule setup = new RoadGraphTestRule();
+
+    @Test
+    public void edgeAttributesTest()
+    {
+        final Atlas atlas = this.setup.roadAtlas();
+        final RoadGraph graph = RoadGraph.of(atlas);
+        Assert.assertEquals(4, graph.edges());
+        Assert.assertEquals(4, graph.nodes());
+
+        final int forward = graph.edgeIndex(atlas.edge(1000000L));
+        final int backward = graph.edgeIndex(atlas.edge(-1000000L));
+        Assert.assertEquals(1000000L, graph.edgeIdentifier(forward));
+        Assert.assertEquals(atlas.edge(-1000000L), graph.edge(atlas, backward));
+        Assert.assertTrue(graph.isMainEdge(forward));
+        Assert.assertFalse(graph.isMainEdge(backward));
+        Assert.assertEquals(HighwayTag.PRIMARY, graph.highway(forward));
+        Assert.assertEquals(HighwayTag.RESIDENTIAL,
+                graph.highway(graph.edgeIndex(atlas.edge(2000000L))));
+        Assert.assertNull(graph.highway(graph.edgeIndex(atlas.edge(3000000L))));
+        Assert.assertEquals(graph.nodeIndex(atlas.node(1000000L)), graph.start(forward));
+        Assert.assertEquals(graph.nodeIndex(atlas.node(2000000L)), graph.end(forward));
+    }
+
+    @Test
+    public void matchesAtlasConnectionsTest()
+    {
+        final Atlas atlas = this.setup.roadAtlas();
+        final RoadGraph graph = RoadGraph.of(atlas);
+        for (final Edge edge : atlas.edges())
+        {
+            final int index = graph.edgeIndex(edge);
+            final Set<Edge> outEdges = new HashSet<>();
+            for (int arc = 0; arc < graph.outDegree(index); arc++)
+            {
+                outEdges.add(graph.edge(atlas, graph.outEdge(index, arc)));
+            }
+            Assert.assertEquals(edge.outEdges(), outEdges);
+            final Set<Edge> inEdges = new HashSet<>();
+            for (int arc = 0; arc < graph.inDegree(index); arc++)
+            {
+                inEdges.add(graph.edge(atlas, graph.inEdge(index, arc)));
+            }
+            Assert.assertEquals(edge.inEdges(), inEdges);
+        }
+        for (final Node node : atlas.nodes())
+        {
+            final int index = graph.nodeIndex(node);
+            final Set<Edge> connected = new HashSet<>();
+            for (int arc = 0; arc < graph.nodeValence(index); arc++)
+            {
+                connected.add(graph.edge(atlas, graph.nodeEdge(index, arc)));
+            }
+            Assert.assertEquals(node.connectedEdges(), connected);
+            Assert.assertEquals(node.outEdges().size(), graph.nodeOutDegree(index));
+        }
+    }
+
+    @Test
+    public void sharedPerAtlasTest()
+    {
+        final Atlas atlas = this.setup.roadAtlas();
+        Assert.assertSame(RoadGraph.of(atlas), RoadGraph.of(atlas));
+        Assert.assertNotSame(RoadGraph.of(atlas), new RoadGraph(atlas));
+    }
+}
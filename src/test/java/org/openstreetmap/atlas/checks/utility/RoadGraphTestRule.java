@@ -0,0 +1,45 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import org.openstreetmap.atlas.geography.atlas.Atlas;
+import org.openstreetmap.atlas.utilities.testing.CoreTestRule;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Edge;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Loc;
+import org.openstreetmap.atlas.utilities.testing.TestAtlas.Node;
+
+/**
+ * Test Rule for {@link RoadGraphTest}
+ *
+ * @author agent
+ */
+public class RoadGraphTestRule extends CoreTestRule
+{
+    private static final String NODE_A = "1.0, 1.0";
+    private static final String NODE_B = "1.0, 1.001";
+    private static final String NODE_C = "1.0, 1.002";
+    private static final String NODE_D = "1.001, 1.002";
+
+    @TestAtlas(
+            // nodes
+            nodes = { @Node(id = "1000000", coordinates = @Loc(value = NODE_A)),
+                    @Node(id = "2000000", coordinates = @Loc(value = NODE_B)),
+                    @Node(id = "3000000", coordinates = @Loc(value = NODE_C)),
+                    @Node(id = "4000000", coordinates = @Loc(value = NODE_D)) },
+            // edges
+            edges = {
+                    @Edge(id = "1000000", coordinates = { @Loc(value = NODE_A),
+                            @Loc(value = NODE_B) }, tags = { "highway=primary" }),
+                    @Edge(id = "-1000000", coordinates = { @Loc(value = NODE_B),
+                            @Loc(value = NODE_A) }, tags = { "highway=primary" }),
+                    @Edge(id = "2000000", coordinates = { @Loc(value = NODE_B),
+                            @Loc(value = NODE_C) }, tags = { "highway=residential",
+                                    "oneway=yes" }),
+                    @Edge(id = "3000000", coordinates = { @Loc(value = NODE_C),
+                            @Loc(value = NODE_D) }) })
+    private Atlas roadAtlas;
+
+    public Atlas roadAtlas()
+    {
+        return this.roadAtlas;
+    }
+}
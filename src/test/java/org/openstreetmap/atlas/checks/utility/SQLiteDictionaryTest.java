@@ -0,0 +1,130 @@
+package org.openstreetmap.atlas.checks.utility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openstreetmap.atlas.checks.base.ExternalDataFetcher;
+
+/**
+ * Tests for {@link SQLiteDictionary}
+ *
+ * @author agent
+ */
+public class SQLiteDictionaryTest
+{
+    private static final String JDBC_SQLITE = "jdbc:sqlite:";
+    private static final String TABLE = "tags";
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final String NATURAL = "natural";
+    private static final String COUNT_ALL = "count_all";
+    private static final List<String> COLUMNS = List.of(KEY, VALUE, COUNT_ALL);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String database;
+
+    @Before
+    public void setUp() throws IOException, SQLException
+    {
+        this.database = this.temporaryFolder.newFile("taginfo.db").getCanonicalPath();
+        this.execute("CREATE TABLE tags (key VARCHAR, value VARCHAR, count_all INTEGER)",
+                "INSERT INTO tags VALUES ('natural', 'tree', 101)",
+                "INSERT INTO tags VALUES ('natural', 'coastline', 1042369)",
+                "INSERT INTO tags VALUES ('natural', 'coastline', 1)",
+                "INSERT INTO tags VALUES ('highway', NULL, NULL)");
+    }
+
+    @Test
+    public void testClear() throws SQLException
+    {
+        final SQLiteUtils sqliteUtils = this.sqliteUtils();
+        final SQLiteDictionary dictionary = sqliteUtils.getDictionary(COLUMNS);
+        assertEquals(4, dictionary.size());
+        this.execute("INSERT INTO tags VALUES ('natural', 'wood', 42)");
+        assertSame(dictionary, sqliteUtils.getDictionary(COLUMNS));
+
+        sqliteUtils.clear();
+        assertNotSame(dictionary, sqliteUtils.getDictionary(COLUMNS));
+        assertEquals(5, sqliteUtils.getDictionary(COLUMNS).size());
+        assertEquals(42L, sqliteUtils.getDictionary(COLUMNS)
+                .getRow(Map.of(KEY, NATURAL, VALUE, "wood")).get(COUNT_ALL));
+        sqliteUtils.clear();
+    }
+
+    @Test
+    public void testColumns()
+    {
+        final SQLiteUtils sqliteUtils = this.sqliteUtils();
+        // Only the requested columns the table has are read, whatever their case
+        final SQLiteDictionary dictionary = this.sqliteUtils()
+                .getDictionary(List.of("KEY", COUNT_ALL, "P16"));
+        assertEquals("4 rows of [key, count_all]", dictionary.toString());
+        assertEquals(Map.of(KEY, NATURAL, COUNT_ALL, 101L),
+                dictionary.getRow(Map.of(KEY, NATURAL)));
+        assertTrue(dictionary.getRow(Map.of(VALUE, "tree")).isEmpty());
+        assertNotSame(dictionary, sqliteUtils.getDictionary(COLUMNS));
+        sqliteUtils.clear();
+    }
+
+    @Test
+    public void testGetRow()
+    {
+        final SQLiteDictionary dictionary = this.sqliteUtils().getDictionary(COLUMNS);
+        final Map<String, Object> tree = dictionary.getRow(Map.of(KEY, NATURAL, VALUE, "tree"));
+        assertEquals(Map.of(KEY, NATURAL, VALUE, "tree", COUNT_ALL, 101L), tree);
+        // The first row wins, as with a query
+        assertEquals(1042369L,
+                dictionary.getRow(Map.of(KEY, NATURAL, VALUE, "coastline")).get(COUNT_ALL));
+        assertEquals("tree", dictionary.getRow(Map.of(KEY, NATURAL)).get(VALUE));
+        // Null values are left out of rows, and never match
+        assertEquals(Map.of(KEY, "highway"), dictionary.getRow(Map.of(KEY, "highway")));
+        assertTrue(dictionary.getRow(Map.of(KEY, "highway", VALUE, "null")).isEmpty());
+        assertTrue(dictionary.getRow(Map.of(KEY, "building")).isEmpty());
+        assertTrue(dictionary.getRow(Map.of("P16", NATURAL)).isEmpty());
+        this.sqliteUtils().clear();
+    }
+
+    @Test
+    public void testShared()
+    {
+        final SQLiteUtils sqliteUtils = this.sqliteUtils();
+        assertSame(sqliteUtils.getDictionary(COLUMNS), this.sqliteUtils().getDictionary(COLUMNS));
+        sqliteUtils.clear();
+    }
+
+    private void execute(final String... statements) throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection(JDBC_SQLITE + this.database);
+                Statement statement = connection.createStatement())
+        {
+            for (final String sql : statements)
+            {
+                statement.addBatch(sql);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private SQLiteUtils sqliteUtils()
+    {
+        return new SQLiteUtils(new ExternalDataFetcher("", Collections.emptyMap()), this.database,
+                TABLE);
+    }
+}
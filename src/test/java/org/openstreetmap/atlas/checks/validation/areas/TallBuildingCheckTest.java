@@ -1,5 +1,6 @@
 package org.openstreetmap.atlas.checks.validation.areas;
 
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
@@ -27,6 +28,10 @@ public class TallBuildingCheckTest
                     + "\"magicNumbers\": {" + "\"three\": 3.0, " + "\"four\": 4.0, "
                     + "\"oneQuarter\": 0.25, " + "\"threeQuarters\": 0.75}}"));
 
+    private final TallBuildingCheck smallDatasetCheck = new TallBuildingCheck(
+            ConfigurationResolver.inlineConfiguration(
+                    "{\"TallBuildingCheck\": {\"min.dataset.size.for.stats.computation\": 5.0}}"));
+
     @Test
     public void heightTagDoesNotContainNumericalCharacter()
     {
@@ -41,6 +46,15 @@ public class TallBuildingCheckTest
         this.verifier.verifyExpectedSize(1);
     }
 
+    @Test
+    public void heightTagOutlier()
+    {
+        this.verifier.actual(this.setup.heightTagOutlier(), this.smallDatasetCheck);
+        this.verifier.verifyExpectedSize(1);
+        this.verifier.verify(flag -> Assert.assertTrue(flag.getInstructions()
+                .contains("has an outlying height tag compared to buildings nearby")));
+    }
+
     @Test
     public void invalidHeightTagCharacter()
     {
@@ -62,6 +76,22 @@ public class TallBuildingCheckTest
         this.verifier.verifyExpectedSize(1);
     }
 
+    @Test
+    public void levelsTagOutlier()
+    {
+        this.verifier.actual(this.setup.levelsTagOutlier(), this.smallDatasetCheck);
+        this.verifier.verifyExpectedSize(1);
+        this.verifier.verify(flag -> Assert.assertTrue(flag.getInstructions()
+                .contains("has an outlying levels tag compared to buildings nearby")));
+    }
+
+    @Test
+    public void levelsTagOutlierSmallDataset()
+    {
+        this.verifier.actual(this.setup.levelsTagOutlier(), this.check);
+        this.verifier.verifyEmpty();
+    }
+
     @Test
     public void relationMemberInvalidHeightTag()
     {
@@ -32,6 +32,25 @@ public class TallBuildingCheckTestRule extends CoreTestRule
 
     private Atlas heightTagNeedsSpace;
 
+    @TestAtlas(areas = {
+            @TestAtlas.Area(id = "1000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=3" }),
+            @TestAtlas.Area(id = "2000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=6" }),
+            @TestAtlas.Area(id = "3000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=9" }),
+            @TestAtlas.Area(id = "4000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=12" }),
+            @TestAtlas.Area(id = "5000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=120" }) })
+
+    private Atlas heightTagOutlier;
+
     @TestAtlas(areas = { @TestAtlas.Area(coordinates = { @TestAtlas.Loc(value = NODE_1),
             @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
             @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=3)" }) })
@@ -50,6 +69,25 @@ public class TallBuildingCheckTestRule extends CoreTestRule
 
     private Atlas levelsTagOver100;
 
+    @TestAtlas(areas = {
+            @TestAtlas.Area(id = "1000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "building:levels=1" }),
+            @TestAtlas.Area(id = "2000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "building:levels=2" }),
+            @TestAtlas.Area(id = "3000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "building:levels=3" }),
+            @TestAtlas.Area(id = "4000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "building:levels=4" }),
+            @TestAtlas.Area(id = "5000000", coordinates = { @TestAtlas.Loc(value = NODE_1),
+                    @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
+                    @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "building:levels=40" }) })
+
+    private Atlas levelsTagOutlier;
+
     @TestAtlas(areas = { @TestAtlas.Area(coordinates = { @TestAtlas.Loc(value = NODE_1),
             @TestAtlas.Loc(value = NODE_2), @TestAtlas.Loc(value = NODE_3),
             @TestAtlas.Loc(value = NODE_4) }, tags = { "building=yes", "height=3" }) })
@@ -85,6 +123,11 @@ public class TallBuildingCheckTestRule extends CoreTestRule
         return this.heightTagNeedsSpace;
     }
 
+    public Atlas heightTagOutlier()
+    {
+        return this.heightTagOutlier;
+    }
+
     public Atlas invalidHeightTagCharacter()
     {
         return this.invalidHeightTagCharacter;
@@ -100,6 +143,11 @@ public class TallBuildingCheckTestRule extends CoreTestRule
         return this.levelsTagOver100;
     }
 
+    public Atlas levelsTagOutlier()
+    {
+        return this.levelsTagOutlier;
+    }
+
     public Atlas relationMemberInvalidHeightTag()
     {
         return this.relationMemberInvalidHeightTag;
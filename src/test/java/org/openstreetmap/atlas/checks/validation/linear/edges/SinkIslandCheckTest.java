@@ -1,13 +1,19 @@
 package org.openstreetmap.atlas.checks.validation.linear.edges;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 import org.openstreetmap.atlas.checks.configuration.ConfigurationResolver;
 import org.openstreetmap.atlas.checks.validation.verifier.ConsumerBasedExpectedCheckVerifier;
 
 /**
- * Unit tests for {@link SinkIslandCheck}
+ * Unit tests for {@link SinkIslandCheck}, run with each engine
  *
  * @author matthieun
  * @author gpogulsky
@@ -15,52 +21,73 @@ import org.openstreetmap.atlas.checks.validation.verifier.ConsumerBasedExpectedC
  * @author sayas01
  * @author seancoulter
  * @author bbreithaupt
+ * @author agent
  */
+@RunWith(Parameterized.class)
 public class SinkIslandCheckTest
 {
+    private static final String TREE_SIZE_3 = "\"tree.size\": 3";
+    private static final String TREE_SIZE_6 = "\"tree.size\": 6";
+    private static final String CONFIGURATION = "{\"SinkIslandCheck\": {%s\"engine\": \"%s\"}}";
+
     @Rule
     public SinkIslandCheckTestRule setup = new SinkIslandCheckTestRule();
 
     @Rule
     public ConsumerBasedExpectedCheckVerifier verifier = new ConsumerBasedExpectedCheckVerifier();
 
+    private final String engine;
+
+    /**
+     * @return the engines to run the tests with
+     */
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> parameters()
+    {
+        return Arrays.asList(new Object[][] { { "bfs" }, { "graph" } });
+    }
+
+    /**
+     * @param engine
+     *            the engine of the checks under test
+     */
+    public SinkIslandCheckTest(final String engine)
+    {
+        this.engine = engine;
+    }
+
     @Test
     public void permittedSelectAccessTest()
     {
-        this.verifier.actual(this.setup.permittedSelectAccessAtlas(),
-                new SinkIslandCheck(ConfigurationResolver.emptyConfiguration()));
+        this.verifier.actual(this.setup.permittedSelectAccessAtlas(), this.check(""));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testEdgesEndingInBuilding()
     {
-        this.verifier.actual(this.setup.getEdgesEndingInBuilding(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getEdgesEndingInBuilding(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testEdgesWithinAirport()
     {
-        this.verifier.actual(this.setup.getEdgesWithinAirport(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getEdgesWithinAirport(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testEdgesWithinAreasWithAmenityTags()
     {
-        this.verifier.actual(this.setup.getEdgeWithinAreaWithAmenityTag(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getEdgeWithinAreaWithAmenityTag(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testFerryValid()
     {
-        this.verifier.actual(this.setup.ferryAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 6}")));
+        this.verifier.actual(this.setup.ferryAtlas(), this.check(TREE_SIZE_6));
         this.verifier.verifyEmpty();
     }
 
@@ -68,16 +95,14 @@ public class SinkIslandCheckTest
     public void testHighwayImportanceConfiguration()
     {
         this.verifier.actual(this.setup.getServiceSinkIsland(),
-                new SinkIslandCheck(ConfigurationResolver.inlineConfiguration(
-                        "{\"SinkIslandCheck\": {\"tree.size\": 3, \"minimum.highway.type\": \"RESIDENTIAL\"}}")));
+                this.check("\"tree.size\": 3, \"minimum.highway.type\": \"RESIDENTIAL\""));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testInvalidEdges()
     {
-        this.verifier.actual(this.setup.getInvalidEdges(),
-                new SinkIslandCheck(ConfigurationResolver.emptyConfiguration()));
+        this.verifier.actual(this.setup.getInvalidEdges(), this.check(""));
         this.verifier.verifyExpectedSize(1);
         this.verifier.verify(flag -> Assert.assertEquals(4, flag.getFlaggedObjects().size()));
     }
@@ -85,32 +110,28 @@ public class SinkIslandCheckTest
     @Test
     public void testMotorcarOverrideVehicleAtlas()
     {
-        this.verifier.actual(this.setup.motorcarOverrideVehicleAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.motorcarOverrideVehicleAtlas(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testNonCarNavigableEdges()
     {
-        this.verifier.actual(this.setup.getNonCarNavigableEdges(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getNonCarNavigableEdges(), this.check(TREE_SIZE_3));
         this.verifier.verifyExpectedSize(1);
     }
 
     @Test
     public void testParkingGarageEntranceOrExit()
     {
-        this.verifier.actual(this.setup.getParkingGarageEntranceOrExit(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getParkingGarageEntranceOrExit(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testPedestrianFerry()
     {
-        this.verifier.actual(this.setup.pedestrianFerryAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 6}")));
+        this.verifier.actual(this.setup.pedestrianFerryAtlas(), this.check(TREE_SIZE_6));
         this.verifier.verifyExpectedSize(2);
         this.verifier.verify(flag -> Assert.assertEquals(2, flag.getFlaggedObjects().size()));
     }
@@ -119,16 +140,14 @@ public class SinkIslandCheckTest
     public void testPedestrianRoadAndMotorVehicleYesRoad()
     {
         this.verifier.actual(this.setup.getPedestrianRoadAndMotorVehicleYesRoad(),
-                new SinkIslandCheck(ConfigurationResolver
-                        .inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+                this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testPsvAndMotorVehicleNoRoad()
     {
-        this.verifier.actual(this.setup.getPsvAndMotorVehicleNoRoad(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getPsvAndMotorVehicleNoRoad(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
@@ -136,56 +155,50 @@ public class SinkIslandCheckTest
     public void testServiceInPedestrianNetworkFilterOn()
     {
         this.verifier.actual(this.setup.getEdgeConnectedToPedestrianNetwork(),
-                new SinkIslandCheck(ConfigurationResolver.inlineConfiguration(
-                        "{\"SinkIslandCheck.filter.pedestrian.network\":true}")));
+                this.check("\"filter.pedestrian.network\": true"));
         this.verifier.verifyExpectedSize(1);
     }
 
     @Test
     public void testServiceSinkIsland()
     {
-        this.verifier.actual(this.setup.getServiceSinkIsland(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\":3}")));
+        this.verifier.actual(this.setup.getServiceSinkIsland(), this.check(TREE_SIZE_3));
         this.verifier.verifyExpectedSize(1);
     }
 
     @Test
     public void testSingleEdgeAtlas()
     {
-        this.verifier.actual(this.setup.getSingleEdgeAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getSingleEdgeAtlas(), this.check(TREE_SIZE_3));
         this.verifier.globallyVerify(flags -> Assert.assertEquals(1, flags.size()));
     }
 
     @Test
     public void testSingleEdgePartOfPedestrianNetwork()
     {
-        this.verifier.actual(this.setup.getEdgeConnectedToPedestrianNetwork(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getEdgeConnectedToPedestrianNetwork(),
+                this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testSingleEdgeWithAmenity()
     {
-        this.verifier.actual(this.setup.getSingleEdgeWithAmenityAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getSingleEdgeWithAmenityAtlas(), this.check(TREE_SIZE_3));
         this.verifier.globallyVerify(flags -> Assert.assertEquals(0, flags.size()));
     }
 
     @Test
     public void testSinkDetection()
     {
-        this.verifier.actual(this.setup.getTestAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getTestAtlas(), this.check(TREE_SIZE_3));
         this.verifier.globallyVerify(flags -> Assert.assertEquals(1, flags.size()));
     }
 
     @Test
     public void testTrackAndPrimarySinkIsland()
     {
-        this.verifier.actual(this.setup.getTrackAndPrimarySinkIsland(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getTrackAndPrimarySinkIsland(), this.check(TREE_SIZE_3));
         this.verifier.verifyExpectedSize(1);
         this.verifier.verify(flag -> Assert.assertEquals(2, flag.getFlaggedObjects().size()));
     }
@@ -193,16 +206,26 @@ public class SinkIslandCheckTest
     @Test
     public void testTrackSinkIsland()
     {
-        this.verifier.actual(this.setup.getTrackSinkIsland(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getTrackSinkIsland(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
 
     @Test
     public void testTwoEdgesWithAmenity()
     {
-        this.verifier.actual(this.setup.getTwoEdgesWithAmenityAtlas(), new SinkIslandCheck(
-                ConfigurationResolver.inlineConfiguration("{\"SinkIslandCheck.tree.size\": 3}")));
+        this.verifier.actual(this.setup.getTwoEdgesWithAmenityAtlas(), this.check(TREE_SIZE_3));
         this.verifier.verifyEmpty();
     }
+
+    /**
+     * @param settings
+     *            the settings of the check, as JSON members
+     * @return a {@link SinkIslandCheck} with the settings, running the engine under test
+     */
+    private SinkIslandCheck check(final String settings)
+    {
+        return new SinkIslandCheck(ConfigurationResolver.inlineConfiguration(
+                String.format(CONFIGURATION, settings.isEmpty() ? "" : settings + ", ",
+                        this.engine)));
+    }
 }
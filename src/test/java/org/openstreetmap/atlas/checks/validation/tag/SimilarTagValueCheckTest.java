@@ -71,4 +71,14 @@ public class SimilarTagValueCheckTest
         this.verifier.actual(this.setup.getIgnoreTagSubclassTest(), this.check);
         this.verifier.verifyEmpty();
     }
+
+    @Test
+    public void testRepeatedValues()
+    {
+        this.verifier.actual(this.setup.getRepeatedValuesTest(), this.check);
+        this.verifier.verifyExpectedSize(2);
+        this.verifier.verify(flag -> Assert.assertEquals(
+                "1. The tag \"sport\" contains duplicate values: [(tennis,tennis,0)]. The tag \"sport\" contains similar values: [(volleyball,volleybal,1)]",
+                flag.getInstructions()));
+    }
 }
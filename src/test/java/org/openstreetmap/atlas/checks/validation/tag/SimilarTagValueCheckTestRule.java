@@ -14,6 +14,8 @@ import org.openstreetmap.atlas.utilities.testing.TestAtlas.Node;
 public class SimilarTagValueCheckTestRule extends CoreTestRule
 {
     private static final String TEST_1 = "0, 0";
+    private static final String TEST_2 = "0, 0.001";
+    private static final String LONG_SPORT_LIST = "sport=soccer;tennis;basketball;volleyball;tennis;baseball;volleybal";
 
     @TestAtlas(nodes = {
             @Node(coordinates = @Loc(value = TEST_1), tags = { "cuisine=cake;cake" }) })
@@ -38,6 +40,12 @@ public class SimilarTagValueCheckTestRule extends CoreTestRule
     @TestAtlas(nodes = { @Node(coordinates = @Loc(value = TEST_1), tags = { "ref=dupe;dupe" }) })
     private Atlas ignoreTagTest;
 
+    @TestAtlas(nodes = {
+            @Node(id = "1000000", coordinates = @Loc(value = TEST_1), tags = { LONG_SPORT_LIST }),
+            @Node(id = "2000000", coordinates = @Loc(value = TEST_2), tags = {
+                    LONG_SPORT_LIST }) })
+    private Atlas repeatedValuesTest;
+
     public Atlas getDuplicateCommonSimilarsTest()
     {
         return this.duplicateCommonSimilarsTest;
@@ -67,4 +75,9 @@ public class SimilarTagValueCheckTestRule extends CoreTestRule
     {
         return this.ignoreTagTest;
     }
+
+    public Atlas getRepeatedValuesTest()
+    {
+        return this.repeatedValuesTest;
+    }
 }